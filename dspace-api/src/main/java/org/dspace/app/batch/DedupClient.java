@@ -30,16 +30,19 @@ import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.scripts.handler.impl.CommandLineDSpaceRunnableHandler;
 import org.dspace.utils.DSpace;
 
 /**
  * CLI Tool used to populate the deduplication index of solr dedup core.
  * 
- * Usage: ./dspace index-deduplication [-chfueto[r <item handle/uuid>]]
+ * Usage: ./dspace index-deduplication [-chfuetos[r <item handle/uuid>]]
  */
 public class DedupClient {
     private static Logger log = LogManager.getLogger(DedupClient.class);
 
+    private static final long SHUTDOWN_TIMEOUT = 60000;
+
     private DedupClient() {
     }
 
@@ -59,7 +62,7 @@ public class DedupClient {
         Context context = new Context();
         context.turnOffAuthorisationSystem();
 
-        String usage = "./dspace index-deduplication [-chfueo[r <item handle/uuid>]]"
+        String usage = "./dspace index-deduplication [-chfueos[r <item handle/uuid>]]"
                 + " or nothing to update/clean an existing index.";
         Options options = new Options();
         HelpFormatter formatter = new HelpFormatter();
@@ -86,6 +89,9 @@ public class DedupClient {
 
         options.addOption("e", "readfile", true, "Read the identifier from a file");
 
+        options.addOption("s", "resume", false,
+                "resume the interrupted update of the index from its checkpoint, without cleaning the index");
+
         try {
             line = new PosixParser().parse(options, args);
         } catch (Exception e) {
@@ -153,9 +159,28 @@ public class DedupClient {
                 log.error("Error: " + e.getMessage());
             }
         } else {
-            log.info("Updating and Cleaning Index");
-            indexer.cleanIndex(line.hasOption("f"));
-            indexer.updateIndex(context, line.hasOption("f"));
+            boolean resume = line.hasOption("s");
+            if (!resume) {
+                log.info("Updating and Cleaning Index");
+                indexer.cleanIndex(line.hasOption("f"));
+            }
+            // on interruption let the running chunks of items finish, so that the update can be resumed
+            Thread main = Thread.currentThread();
+            Thread shutdownHook = new Thread(() -> {
+                indexer.cancelIndex();
+                try {
+                    main.join(SHUTDOWN_TIMEOUT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+            indexer.updateIndex(context, line.hasOption("f"), resume, new CommandLineDSpaceRunnableHandler());
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is already shutting down
+            }
         }
 
         log.info("Done with indexing");
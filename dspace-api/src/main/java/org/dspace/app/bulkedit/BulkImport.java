@@ -23,6 +23,7 @@ import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 import static org.dspace.util.WorkbookUtils.getCellValue;
 import static org.dspace.util.WorkbookUtils.getRows;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -36,7 +37,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -45,6 +48,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -60,7 +64,10 @@ import org.dspace.app.bulkimport.model.EntityRow;
 import org.dspace.app.bulkimport.model.ImportAction;
 import org.dspace.app.bulkimport.model.MetadataGroup;
 import org.dspace.app.bulkimport.model.UploadDetails;
+import org.dspace.app.bulkimport.util.ChildRowIndex;
+import org.dspace.app.bulkimport.util.ChildRowIndex.IndexedRow;
 import org.dspace.app.bulkimport.util.ImportFileUtil;
+import org.dspace.app.bulkimport.util.StreamingWorkbookReader;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
 import org.dspace.authority.service.ItemSearchService;
@@ -209,6 +216,8 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
     private boolean abortOnError;
 
+    private boolean streaming;
+
     private Context context;
 
     private ImportFileUtil importFileUtil;
@@ -264,6 +273,10 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (commandLine.hasOption("er")) {
             abortOnError = true;
         }
+
+        if (commandLine.hasOption('s')) {
+            streaming = true;
+        }
     }
 
     @Override
@@ -287,7 +300,11 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
         try {
             context.turnOffAuthorisationSystem();
-            performImport(inputStream);
+            if (streaming) {
+                performStreamingImport(inputStream);
+            } else {
+                performImport(inputStream);
+            }
             context.complete();
             context.restoreAuthSystemState();
         } catch (Exception e) {
@@ -303,6 +320,159 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         performImport(entityRows);
     }
 
+    /**
+     * Perform the import of the given xlsx file reading its rows as a stream,
+     * so that the memory stays flat whatever the size of the file. The rows of
+     * the metadata group and bitstream sheets are validated and stored in a
+     * disk-backed index by parent id, then each valid entity row is joined with
+     * its child rows and imported, committing the items in batches of
+     * bulk-import.streaming.batch-size items.
+     *
+     * @param is the xlsx file input stream
+     */
+    public void performStreamingImport(InputStream is) {
+        File file = copyToTempFile(is);
+        try (StreamingWorkbookReader reader = new StreamingWorkbookReader(file);
+            ChildRowIndex childRows = new ChildRowIndex()) {
+            validateSheetNames(reader.getWorkbook());
+            readChildRows(reader, childRows);
+            importEntityRows(reader, childRows);
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs during the workbook reading", e);
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    private File copyToTempFile(InputStream is) {
+        try {
+            File file = File.createTempFile("bulk-import-", ".xlsx");
+            FileUtils.copyInputStreamToFile(is, file);
+            return file;
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs copying the workbook in a temporary file", e);
+        }
+    }
+
+    private void validateSheetNames(Workbook workbook) {
+        if (workbook.getNumberOfSheets() == 0) {
+            throw new BulkImportException("The Workbook should have at least one sheet");
+        }
+
+        List<String> groups = getSubmissionFormMetadataGroups();
+
+        for (Sheet sheet : workbook) {
+            String name = sheet.getSheetName();
+            if (isMetadataGroupsSheet(sheet) && !groups.contains(name)) {
+                throw new BulkImportException("The sheet name " + name + " is not a valid metadata group");
+            }
+        }
+    }
+
+    /**
+     * Read the not empty rows of the given sheet, validating its header before
+     * handling the first one.
+     */
+    private void readSheet(StreamingWorkbookReader reader, int sheetIndex, Consumer<Row> rowConsumer) {
+
+        Sheet sheet = reader.getWorkbook().getSheetAt(sheetIndex);
+        String name = sheet.getSheetName();
+
+        boolean notEmpty = reader.readSheet(sheetIndex, row -> {
+
+            if (!WorkbookUtils.isNotFirstRow(row)) {
+                if (WorkbookUtils.isNotEmptyRow(row)) {
+                    validateHeaders(sheet);
+                }
+                return;
+            }
+
+            if (WorkbookUtils.isRowEmpty(row)) {
+                return;
+            }
+
+            if (WorkbookUtils.isRowEmpty(sheet.getRow(0))) {
+                throw new BulkImportException("The header of sheet " + name + " of the Workbook is empty");
+            }
+
+            rowConsumer.accept(row);
+        });
+
+        if (!notEmpty) {
+            throw new BulkImportException("The sheet " + name + " of the Workbook is empty");
+        }
+
+        if (WorkbookUtils.isRowEmpty(sheet.getRow(0))) {
+            throw new BulkImportException("The header of sheet " + name + " of the Workbook is empty");
+        }
+    }
+
+    private void readChildRows(StreamingWorkbookReader reader, ChildRowIndex childRows) {
+
+        Workbook workbook = reader.getWorkbook();
+
+        handler.logInfo("Start reading all the metadata group rows");
+        for (Sheet sheet : getAllMetadataGroupSheets(workbook)) {
+            readChildRows(reader, workbook.getSheetIndex(sheet), this::isMetadataGroupRowValid, childRows);
+        }
+        int metadataGroupsCount = childRows.size();
+        handler.logInfo("Found " + metadataGroupsCount + " metadata groups to process");
+
+        Sheet uploadSheet = workbook.getSheet(BITSTREAMS_SHEET_NAME);
+        if (uploadSheet != null) {
+            handler.logInfo("Start reading all the bitstream rows");
+            readChildRows(reader, workbook.getSheetIndex(uploadSheet), this::isUploadRowValid, childRows);
+            handler.logInfo("Found " + (childRows.size() - metadataGroupsCount) + " bitstreams to process");
+        }
+    }
+
+    private void readChildRows(StreamingWorkbookReader reader, int sheetIndex, Predicate<Row> validator,
+        ChildRowIndex childRows) {
+        readSheet(reader, sheetIndex, row -> {
+            if (validator.test(row)) {
+                List<String> values = WorkbookUtils.getRowValues(row, Math.max(row.getLastCellNum(), 0));
+                childRows.add(getParentIdFromRow(row), sheetIndex, row.getRowNum(), values);
+            }
+        });
+    }
+
+    private void importEntityRows(StreamingWorkbookReader reader, ChildRowIndex childRows) {
+        int batchSize = configurationService.getIntProperty("bulk-import.streaming.batch-size", 100);
+        EntityRowBatch batch = new EntityRowBatch(batchSize);
+
+        handler.logInfo("Start importing the items in batches of " + batchSize);
+        readSheet(reader, 0, row -> {
+            if (isEntityRowRowValid(row)) {
+                batch.add(buildEntityRow(row, reader, childRows));
+            }
+        });
+        batch.commit();
+    }
+
+    private EntityRow buildEntityRow(Row row, StreamingWorkbookReader reader, ChildRowIndex childRows) {
+
+        String id = getIdFromRow(row);
+        int rowIndex = row.getRowNum() + 1;
+
+        List<MetadataGroup> metadataGroups = new ArrayList<>();
+        List<UploadDetails> uploadDetails = new ArrayList<>();
+
+        for (IndexedRow indexedRow : childRows.find(id, ROW_ID + ID_SEPARATOR + rowIndex)) {
+            Row childRow = reader.createRow(indexedRow.getSheetIndex(), indexedRow.getRowNum(), indexedRow.getValues());
+            try {
+                if (BulkImportSheetType.getTypeFromSheet(childRow.getSheet()) == BulkImportSheetType.BITSTREAMS) {
+                    uploadDetails.add(buildUploadDetails(childRow));
+                } else {
+                    metadataGroups.add(buildMetadataGroup(childRow, getHeaderMap(childRow.getSheet())));
+                }
+            } finally {
+                reader.removeRow(childRow);
+            }
+        }
+
+        return buildEntityRow(row, getHeaderMap(row.getSheet()), metadataGroups, uploadDetails);
+    }
+
     private Workbook createWorkbook(InputStream is) {
         try {
             return WorkbookFactory.create(is);
@@ -837,6 +1007,20 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     }
 
     private void performImport(EntityRow entityRow) {
+        performImport(entityRow, null);
+    }
+
+    /**
+     * Perform the import of the given entity row.
+     *
+     * @param  entityRow  the entity row to import
+     * @param  batchItems the items imported since the last commit, to which the
+     *                    item of the row is added without committing it, or
+     *                    null to commit the row
+     * @return            true if the row was imported, false if the import
+     *                    failed and the transaction was rolled back
+     */
+    private boolean performImport(EntityRow entityRow, List<Item> batchItems) {
 
         try {
 
@@ -862,11 +1046,19 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
                     break;
             }
 
+            if (batchItems != null) {
+                if (item != null) {
+                    batchItems.add(item);
+                }
+                return true;
+            }
+
             if (item != null) {
                 context.uncacheEntity(item);
             }
 
             context.commit();
+            return true;
 
         } catch (BulkImportException bie) {
             handleException(entityRow, bie);
@@ -875,6 +1067,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             handleException(entityRow, new BulkImportException(e));
         }
 
+        return false;
     }
 
     private Item addItem(EntityRow entityRow)
@@ -1629,6 +1822,70 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         return !configurationService.getBooleanProperty("core.authorization.installitem.inheritance-read.append-mode");
     }
 
+    /**
+     * The entity rows imported by the streaming import since the last commit.
+     */
+    private class EntityRowBatch {
+
+        private final int size;
+
+        private final List<EntityRow> entityRows = new ArrayList<>();
+
+        private final List<Item> items = new ArrayList<>();
+
+        private int processedCount;
+
+        EntityRowBatch(int size) {
+            this.size = size;
+        }
+
+        void add(EntityRow entityRow) {
+
+            if (performImport(entityRow, items)) {
+                entityRows.add(entityRow);
+                if (entityRows.size() >= size) {
+                    commit();
+                }
+                return;
+            }
+
+            // the rollback of the failed row has also discarded the rows not yet committed
+            items.clear();
+            if (!entityRows.isEmpty()) {
+                handler.logInfo("Importing again the " + entityRows.size() + " rows not committed before the "
+                    + "failure of row " + entityRow.getRow());
+            }
+            for (EntityRow rolledBackRow : entityRows) {
+                if (performImport(rolledBackRow, null)) {
+                    processedCount++;
+                }
+            }
+            entityRows.clear();
+        }
+
+        void commit() {
+
+            if (entityRows.isEmpty()) {
+                return;
+            }
+
+            try {
+                context.commit();
+                for (Item item : items) {
+                    context.uncacheEntity(item);
+                }
+            } catch (SQLException e) {
+                throw new SQLRuntimeException(e);
+            }
+
+            processedCount += entityRows.size();
+            entityRows.clear();
+            items.clear();
+            handler.logInfo("Processed " + processedCount + " items");
+        }
+
+    }
+
     public void setImportFileUtil(ImportFileUtil importFileUtil) {
         this.importFileUtil = importFileUtil;
     }
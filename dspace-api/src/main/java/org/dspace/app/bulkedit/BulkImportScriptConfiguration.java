@@ -58,6 +58,11 @@ public class BulkImportScriptConfiguration<T extends BulkImport> extends ScriptC
             options.getOption("er").setType(boolean.class);
             options.getOption("er").setRequired(false);
 
+            options.addOption("s", "streaming", false,
+                "read the xlsx file as a stream and commit the items in batches, to import large files");
+            options.getOption("s").setType(boolean.class);
+            options.getOption("s").setRequired(false);
+
             super.options = options;
         }
         return options;
@@ -0,0 +1,219 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.dspace.app.bulkimport.exception.BulkImportException;
+
+/**
+ * Disk-backed index of the rows of the metadata group and bitstream sheets by
+ * the id of their parent entity row.
+ *
+ * The rows are appended to a temporary file, each one pointing to the previous
+ * row with the same parent id: only the offset of the last row of each parent
+ * id is kept in memory. The rows are added while reading the child sheets and
+ * then found while reading the entity rows, in the order in which they were
+ * added.
+ */
+public class ChildRowIndex implements Closeable {
+
+    private static final long NO_ROW = -1L;
+
+    private final File file;
+
+    private final Map<String, Long> lastOffsets = new HashMap<>();
+
+    private DataOutputStream output;
+
+    private RandomAccessFile input;
+
+    private long size;
+
+    private int count;
+
+    public ChildRowIndex() {
+        try {
+            this.file = File.createTempFile("bulk-import-", ".idx");
+            this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs creating the index of the child rows", e);
+        }
+    }
+
+    /**
+     * Add a row to the index.
+     *
+     * @param parentId   the id of the parent entity row
+     * @param sheetIndex the index of the sheet of the row
+     * @param rowNum     the number of the row
+     * @param values     the formatted values of the cells of the row, null for
+     *                   the missing cells
+     */
+    public void add(String parentId, int sheetIndex, int rowNum, List<String> values) {
+
+        if (output == null) {
+            throw new IllegalStateException("No row can be added to the index once searched");
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream record = new DataOutputStream(bytes);
+            record.writeInt(sheetIndex);
+            record.writeInt(rowNum);
+            record.writeInt(values.size());
+            for (String value : values) {
+                byte[] valueBytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+                record.writeInt(valueBytes != null ? valueBytes.length : -1);
+                if (valueBytes != null) {
+                    record.write(valueBytes);
+                }
+            }
+
+            output.writeLong(lastOffsets.getOrDefault(parentId, NO_ROW));
+            output.writeInt(bytes.size());
+            bytes.writeTo(output);
+
+            lastOffsets.put(parentId, size);
+            size += Long.BYTES + Integer.BYTES + bytes.size();
+            count++;
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs writing the index of the child rows", e);
+        }
+    }
+
+    /**
+     * Find all the rows of the given parent ids, in the order in which they were
+     * added.
+     *
+     * @param  parentIds the parent ids
+     * @return           the found rows
+     */
+    public List<IndexedRow> find(String... parentIds) {
+
+        TreeMap<Long, IndexedRow> rows = new TreeMap<>();
+
+        try {
+            openInput();
+            for (String parentId : parentIds) {
+                long offset = lastOffsets.getOrDefault(parentId, NO_ROW);
+                while (offset != NO_ROW) {
+                    input.seek(offset);
+                    long previousOffset = input.readLong();
+                    byte[] record = new byte[input.readInt()];
+                    input.readFully(record);
+                    rows.put(offset, readRow(record));
+                    offset = previousOffset;
+                }
+            }
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs reading the index of the child rows", e);
+        }
+
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * Returns the number of rows added to the index.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (output != null) {
+                output.close();
+            }
+            if (input != null) {
+                input.close();
+            }
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private void openInput() throws IOException {
+        if (input == null) {
+            output.close();
+            output = null;
+            input = new RandomAccessFile(file, "r");
+        }
+    }
+
+    private IndexedRow readRow(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        int sheetIndex = in.readInt();
+        int rowNum = in.readInt();
+        int valuesCount = in.readInt();
+        List<String> values = new ArrayList<>(valuesCount);
+        for (int i = 0; i < valuesCount; i++) {
+            int length = in.readInt();
+            if (length < 0) {
+                values.add(null);
+                continue;
+            }
+            byte[] valueBytes = new byte[length];
+            in.readFully(valueBytes);
+            values.add(new String(valueBytes, StandardCharsets.UTF_8));
+        }
+        return new IndexedRow(sheetIndex, rowNum, values);
+    }
+
+    /**
+     * A row read from the index.
+     */
+    public static class IndexedRow {
+
+        private final int sheetIndex;
+
+        private final int rowNum;
+
+        private final List<String> values;
+
+        public IndexedRow(int sheetIndex, int rowNum, List<String> values) {
+            this.sheetIndex = sheetIndex;
+            this.rowNum = rowNum;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        public int getSheetIndex() {
+            return sheetIndex;
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+
+    }
+
+}
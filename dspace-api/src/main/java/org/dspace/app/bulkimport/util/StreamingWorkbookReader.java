@@ -0,0 +1,258 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.dspace.app.bulkimport.exception.BulkImportException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reader of the rows of the sheets of an xlsx file with the POI event API, one
+ * row at a time, without loading the workbook in memory.
+ *
+ * Each row read is copied in a scratch workbook with the same sheets, which
+ * only hold their header row and the row being handled: the rows can be
+ * handled with the code working on the POI usermodel, as
+ * {@link org.dspace.util.WorkbookUtils}, while the memory stays flat whatever
+ * the size of the file.
+ */
+public class StreamingWorkbookReader implements Closeable {
+
+    private final OPCPackage xlsxPackage;
+
+    private final XSSFReader xssfReader;
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+
+    private final StylesTable styles;
+
+    private final Workbook scratchWorkbook;
+
+    public StreamingWorkbookReader(File file) {
+        try {
+            this.xlsxPackage = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException e) {
+            throw new BulkImportException("The streaming import only supports xlsx files", e);
+        }
+
+        try {
+            this.xssfReader = new XSSFReader(xlsxPackage);
+            this.sharedStrings = new ReadOnlySharedStringsTable(xlsxPackage);
+            this.styles = xssfReader.getStylesTable();
+            this.scratchWorkbook = new XSSFWorkbook();
+            for (String sheetName : readSheetNames()) {
+                scratchWorkbook.createSheet(sheetName);
+            }
+        } catch (IOException | OpenXML4JException | SAXException e) {
+            xlsxPackage.revert();
+            throw new BulkImportException("An error occurs during the workbook reading", e);
+        }
+    }
+
+    /**
+     * Returns the scratch workbook, with the same sheets of the read one.
+     *
+     * @return the scratch workbook
+     */
+    public Workbook getWorkbook() {
+        return scratchWorkbook;
+    }
+
+    /**
+     * Read all the rows of the sheet with the given index, in order. The header
+     * row is always handled first, even if it is missing from the file, and it
+     * is kept in the scratch sheet while the other rows are removed once
+     * handled.
+     *
+     * @param  sheetIndex  the index of the sheet to read
+     * @param  rowConsumer the consumer of the rows
+     * @return             true if the sheet has at least a not empty cell
+     */
+    public boolean readSheet(int sheetIndex, Consumer<Row> rowConsumer) {
+
+        Sheet sheet = scratchWorkbook.getSheetAt(sheetIndex);
+        removeAllRows(sheet);
+
+        RowCopier rowCopier = new RowCopier(sheet, rowConsumer);
+
+        try (InputStream sheetInputStream = openSheet(sheetIndex)) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            DataFormatter formatter = new DataFormatter();
+            xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings, rowCopier, formatter, false));
+            xmlReader.parse(new InputSource(sheetInputStream));
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BulkImportException("An error occurs reading the sheet " + sheet.getSheetName(), e);
+        }
+
+        rowCopier.ensureHeader();
+        return rowCopier.notEmpty;
+    }
+
+    /**
+     * Create a row in the scratch sheet with the given index, to handle a row
+     * previously read.
+     *
+     * @param  sheetIndex the index of the sheet
+     * @param  rowNum     the number of the row
+     * @param  values     the formatted values of the cells of the row
+     * @return            the created row
+     */
+    public Row createRow(int sheetIndex, int rowNum, List<String> values) {
+        Sheet sheet = scratchWorkbook.getSheetAt(sheetIndex);
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null) {
+                row.createCell(i).setCellValue(values.get(i));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Remove the given row from its scratch sheet.
+     *
+     * @param row the row to remove
+     */
+    public void removeRow(Row row) {
+        row.getSheet().removeRow(row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            scratchWorkbook.close();
+        } finally {
+            xlsxPackage.revert();
+        }
+    }
+
+    private List<String> readSheetNames() throws IOException, OpenXML4JException {
+        List<String> sheetNames = new ArrayList<>();
+        XSSFReader.SheetIterator iterator = getSheetIterator();
+        while (iterator.hasNext()) {
+            try (InputStream sheetInputStream = iterator.next()) {
+                sheetNames.add(iterator.getSheetName());
+            }
+        }
+        return sheetNames;
+    }
+
+    private InputStream openSheet(int sheetIndex) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator iterator = getSheetIterator();
+        for (int i = 0; i < sheetIndex; i++) {
+            iterator.next().close();
+        }
+        return iterator.next();
+    }
+
+    private XSSFReader.SheetIterator getSheetIterator() throws IOException, OpenXML4JException {
+        Iterator<InputStream> sheetsData = xssfReader.getSheetsData();
+        return (XSSFReader.SheetIterator) sheetsData;
+    }
+
+    private void removeAllRows(Sheet sheet) {
+        List<Row> rows = new ArrayList<>();
+        sheet.rowIterator().forEachRemaining(rows::add);
+        rows.forEach(sheet::removeRow);
+    }
+
+    /**
+     * Handler of the events of a sheet that copies each row in the scratch
+     * sheet, passes it to the consumer and then removes it.
+     */
+    private static class RowCopier implements SheetContentsHandler {
+
+        private final Sheet sheet;
+
+        private final Consumer<Row> rowConsumer;
+
+        private Row currentRow;
+
+        private int nextColumn;
+
+        private boolean notEmpty;
+
+        RowCopier(Sheet sheet, Consumer<Row> rowConsumer) {
+            this.sheet = sheet;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            if (rowNum != 0) {
+                ensureHeader();
+            }
+            currentRow = sheet.createRow(rowNum);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            Row row = currentRow;
+            currentRow = null;
+            rowConsumer.accept(row);
+            if (rowNum != 0) {
+                sheet.removeRow(row);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (formattedValue == null) {
+                return;
+            }
+            currentRow.createCell(column).setCellValue(formattedValue);
+            notEmpty = notEmpty || StringUtils.isNotBlank(formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+        }
+
+        /**
+         * Handle an empty header row if the sheet has no first row.
+         */
+        void ensureHeader() {
+            if (sheet.getRow(0) == null) {
+                rowConsumer.accept(sheet.createRow(0));
+            }
+        }
+
+    }
+
+}
@@ -7,11 +7,17 @@
  */
 package org.dspace.app.checker;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.UUID;
 
 import org.apache.commons.cli.CommandLine;
@@ -21,6 +27,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.BitstreamDispatcher;
@@ -37,6 +44,8 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Command line access to the checksum checker. Options are listed in the
@@ -51,6 +60,11 @@ public final class ChecksumChecker {
 
     private static final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
 
+    private static final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private static final String PROCESS_START_KEY = "process.start";
+
     /**
      * Blanked off constructor, this class should be used as a command line
      * tool.
@@ -78,12 +92,17 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>number of threads computing the checksums</dd>
+     * <dt>-r</dt>
+     * <dd>resume an interrupted loop through bitstreams</dd>
      * </dl>
      *
      * @param args the command line arguments given
      * @throws SQLException if error
+     * @throws IOException if the checkpoint file can't be read or written
      */
-    public static void main(String[] args) throws SQLException {
+    public static void main(String[] args) throws SQLException, IOException {
         // set up command line parser
         CommandLineParser parser = new DefaultParser();
         CommandLine line = null;
@@ -99,6 +118,8 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("i", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of threads computing the checksums");
+        options.addOption("r", "resume", false, "Resume the interrupted loop through bitstreams (with -l)");
 
         Option option;
 
@@ -160,6 +181,17 @@ public final class ChecksumChecker {
             }
 
             Instant processStart = Instant.now();
+            if (line.hasOption('l')) {
+                // a loop interrupted before reaching the end can be resumed by starting it again with its
+                // original start time, so that the bitstreams checked since then are not dispatched again
+                Instant checkpoint = readCheckpoint();
+                if (line.hasOption('r') && checkpoint != null) {
+                    System.out.println("Resuming the loop through bitstreams started at " + checkpoint);
+                    processStart = checkpoint;
+                } else {
+                    writeCheckpoint(processStart);
+                }
+            }
 
             BitstreamDispatcher dispatcher = null;
 
@@ -217,10 +249,18 @@ public final class ChecksumChecker {
                 checker.setReportVerbose(true);
             }
 
+            int threads = configurationService.getIntProperty("checker.parallel.threads", 1);
+            if (line.hasOption('t')) {
+                threads = Integer.parseInt(line.getOptionValue('t'));
+            }
+            checker.setThreads(threads);
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
             checker.process();
+            if (line.hasOption('l')) {
+                Files.deleteIfExists(getCheckpointFile().toPath());
+            }
             context.complete();
             context = null;
         } finally {
@@ -255,8 +295,38 @@ public final class ChecksumChecker {
         System.out.println("\nThe following options can be used in combination with others above:");
         System.out.println(" - Report all processing to checker.log (by default logs only errors): checker -v");
         System.out.println(" - Prune old results from the database: checker -p");
+        System.out.println(" - Compute the checksums with 4 threads: checker -t 4");
+        System.out.println(" - Resume an interrupted loop through all bitstreams: checker -l -r");
         System.out.println("\nDefault (no arguments) is equivalent to 'checker -c 1'\n");
         System.exit(0);
     }
 
+    private static Instant readCheckpoint() throws IOException {
+        File file = getCheckpointFile();
+        if (!file.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            properties.load(is);
+        }
+        String value = properties.getProperty(PROCESS_START_KEY);
+        return StringUtils.isNotBlank(value) ? Instant.parse(value) : null;
+    }
+
+    private static void writeCheckpoint(Instant processStart) throws IOException {
+        File file = getCheckpointFile();
+        file.getParentFile().mkdirs();
+        Properties properties = new Properties();
+        properties.setProperty(PROCESS_START_KEY, processStart.toString());
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "Start time of the running loop of the checksum checker");
+        }
+    }
+
+    private static File getCheckpointFile() {
+        String path = configurationService.getProperty("checker.checkpoint-file",
+            configurationService.getProperty("dspace.dir") + "/var/checker/checkpoint.properties");
+        return new File(path);
+    }
 }
@@ -20,6 +20,7 @@ import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.Deduplicat
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 
 /**
  * Service used to handle indexing related to the dedup solr core.
@@ -39,6 +40,21 @@ public interface DedupService {
 
     public void updateIndex(Context context, boolean b);
 
+    /**
+     * Rebuild the index of all the archived or withdrawn items, saving the progress to a checkpoint file.
+     *
+     * @param context the DSpace context
+     * @param force   whether to reindex each item even if up to date
+     * @param resume  whether to resume the interrupted rebuild recorded by the checkpoint file
+     * @param handler the handler to report the progress to, or null to log it
+     */
+    public void updateIndex(Context context, boolean force, boolean resume, DSpaceRunnableHandler handler);
+
+    /**
+     * Stop the running rebuild of the index once the chunks of items being indexed are done, keeping its checkpoint.
+     */
+    public void cancelIndex();
+
     public void optimize();
 
     public void unIndexContent(Context context, String handleOrUuid) throws IllegalStateException, SQLException;
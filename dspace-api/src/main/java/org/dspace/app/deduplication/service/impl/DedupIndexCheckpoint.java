@@ -0,0 +1,100 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Progress of a running rebuild of the deduplication index, saved to a properties file each time the index is
+ * committed, so that an interrupted or cancelled rebuild can be resumed.
+ * <p>
+ * The items of each phase of the rebuild are read ordered by id, the checkpoint holds the current phase and the id
+ * of the last item committed in that phase.
+ */
+public class DedupIndexCheckpoint {
+
+    private static final String PHASE_KEY = "phase";
+
+    private static final String LAST_ID_KEY = "last.id";
+
+    private final File file;
+
+    private String phase;
+
+    private UUID lastId;
+
+    public DedupIndexCheckpoint(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the checkpoint of an interrupted rebuild.
+     *
+     * @return true if the file of an interrupted rebuild exists
+     * @throws IOException if the file can't be read
+     */
+    public boolean load() throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            properties.load(is);
+        }
+        phase = properties.getProperty(PHASE_KEY);
+        String value = properties.getProperty(LAST_ID_KEY);
+        lastId = StringUtils.isNotBlank(value) ? UUID.fromString(value) : null;
+        return true;
+    }
+
+    /**
+     * Record that all the items of the given phase up to the given id have been committed.
+     *
+     * @param phase  the phase of the rebuild
+     * @param lastId the id of the last committed item, null when the phase has just started
+     * @throws IOException if the file can't be written
+     */
+    public void update(String phase, UUID lastId) throws IOException {
+        this.phase = phase;
+        this.lastId = lastId;
+        file.getParentFile().mkdirs();
+        Properties properties = new Properties();
+        properties.setProperty(PHASE_KEY, phase);
+        if (lastId != null) {
+            properties.setProperty(LAST_ID_KEY, lastId.toString());
+        }
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "Progress of the running rebuild of the deduplication index");
+        }
+    }
+
+    /**
+     * Delete the checkpoint once the rebuild is complete.
+     *
+     * @throws IOException if the file can't be deleted
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+}
@@ -9,21 +9,30 @@ package org.dspace.app.deduplication.service.impl;
 
 import static org.apache.commons.collections.CollectionUtils.isNotEmpty;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import jakarta.inject.Named;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.UrlValidator;
@@ -47,7 +56,6 @@ import org.dspace.app.deduplication.service.SolrDedupServiceIndexPlugin;
 import org.dspace.app.deduplication.utils.DuplicateItemInfo;
 import org.dspace.app.deduplication.utils.IDedupUtils;
 import org.dspace.app.deduplication.utils.Signature;
-import org.dspace.app.util.Util;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
@@ -60,6 +68,7 @@ import org.dspace.deduplication.Deduplication;
 import org.dspace.deduplication.service.DeduplicationService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -163,6 +172,18 @@ public class SolrDedupServiceImpl implements DedupService {
     public static final String QUERY_REMOVE = RESOURCE_IDS_FIELD + ":{0}" + " AND " + RESOURCE_RESOURCETYPE_FIELD
             + ":{1}";
 
+    /**
+     * The phases of the rebuild of the index: the FAKE documents of all the items, then their potential matches.
+     */
+    private static final List<String> INDEX_PHASES = List.of("fake", "match");
+
+    /**
+     * Documents of the chunk of items being indexed by the current thread, sent to solr in batches.
+     */
+    private final ThreadLocal<List<SolrInputDocument>> pendingDocuments = new ThreadLocal<>();
+
+    private volatile boolean indexCancelled;
+
     @Autowired(required = true)
     protected ItemService itemService;
 
@@ -525,6 +546,14 @@ public class SolrDedupServiceImpl implements DedupService {
     }
 
     protected void writeDocument(SolrInputDocument doc) throws IOException {
+        List<SolrInputDocument> pending = pendingDocuments.get();
+        if (pending != null) {
+            pending.add(doc);
+            if (pending.size() >= configurationService.getIntProperty("deduplication.indexer.batch-size", 500)) {
+                flushDocuments();
+            }
+            return;
+        }
 
         try {
             if (getSolr() != null) {
@@ -663,7 +692,9 @@ public class SolrDedupServiceImpl implements DedupService {
     @Override
     public void indexContent(Context context, List<UUID> ids, boolean force) {
         try {
-            startMultiThreadIndex(context, force, ids);
+            indexCancelled = false;
+            int chunkSize = configurationService.getIntProperty("deduplication.indexer.chunk-size", 100);
+            startMultiThreadIndex(Iterators.partition(ids.iterator(), chunkSize), force, null, null, null);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -671,16 +702,49 @@ public class SolrDedupServiceImpl implements DedupService {
 
     @Override
     public void updateIndex(Context context, boolean force) {
+        updateIndex(context, force, false, null);
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, boolean resume, DSpaceRunnableHandler handler) {
+        indexCancelled = false;
+        DedupIndexCheckpoint checkpoint = new DedupIndexCheckpoint(getCheckpointFile());
         try {
-            startMultiThreadIndex(context, true, null);
-            commit();
-            startMultiThreadIndex(context, false, null);
-            commit();
+            String resumePhase = null;
+            UUID resumeId = null;
+            if (resume && checkpoint.load()) {
+                resumePhase = checkpoint.getPhase();
+                resumeId = checkpoint.getLastId();
+                logInfo(handler, "Resuming the " + resumePhase + " phase of the rebuild of the deduplication index"
+                    + (resumeId != null ? " after item " + resumeId : ""));
+            }
+            int chunkSize = configurationService.getIntProperty("deduplication.indexer.chunk-size", 100);
+            for (String phase : INDEX_PHASES) {
+                if (resumePhase != null && INDEX_PHASES.indexOf(phase) < INDEX_PHASES.indexOf(resumePhase)) {
+                    continue;
+                }
+                UUID after = phase.equals(resumePhase) ? resumeId : null;
+                checkpoint.update(phase, after);
+                startMultiThreadIndex(new ItemIdChunks(context, after, chunkSize), "fake".equals(phase), checkpoint,
+                    phase, handler);
+                if (indexCancelled) {
+                    logInfo(handler, "The rebuild of the deduplication index has been cancelled, "
+                        + "it can be resumed from " + checkpoint.getPhase() + " phase"
+                        + (checkpoint.getLastId() != null ? " after item " + checkpoint.getLastId() : ""));
+                    return;
+                }
+            }
+            checkpoint.delete();
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    @Override
+    public void cancelIndex() {
+        indexCancelled = true;
+    }
+
     @Override
     public void optimize() {
         try {
@@ -766,82 +830,205 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
-    private void startMultiThreadIndex(Context context, boolean onlyFake, List<UUID> ids) throws SQLException {
+    /**
+     * Index chunks of items with a work-stealing pool of threads: each chunk is indexed by the first idle thread,
+     * with its own context, and its documents are sent to solr in batches. At most two chunks per thread are waiting
+     * or running at the same time, so the ids are read as the indexing goes.
+     * <p>
+     * The index is committed every <code>deduplication.indexer.commit-size</code> items, when the progress is
+     * reported and saved to the checkpoint, if any. The checkpoint only moves past the chunks whose preceding chunks
+     * are all indexed, and a cancellation lets the running chunks finish.
+     */
+    private void startMultiThreadIndex(Iterator<List<UUID>> chunks, boolean onlyFake, DedupIndexCheckpoint checkpoint,
+            String phase, DSpaceRunnableHandler handler) throws IOException, InterruptedException {
         int numThreads = configurationService.getIntProperty("deduplication.indexer.items.threads", 5);
+        int commitSize = configurationService.getIntProperty("deduplication.indexer.commit-size", 10000);
+        ExecutorService executor = Executors.newWorkStealingPool(numThreads);
+        Semaphore permits = new Semaphore(numThreads * 2);
+        Deque<IndexChunk> pending = new ArrayDeque<>();
+        long start = System.currentTimeMillis();
+        long indexed = 0;
+        long uncommitted = 0;
+        UUID lastId = null;
+        try {
+            while ((!indexCancelled && chunks.hasNext()) || !pending.isEmpty()) {
+                boolean more = !indexCancelled && chunks.hasNext();
+                if (more) {
+                    List<UUID> ids = chunks.next();
+                    permits.acquire();
+                    pending.add(new IndexChunk(ids, executor.submit(() -> {
+                        try {
+                            indexChunk(ids, onlyFake);
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    })));
+                }
+                while (!pending.isEmpty() && (pending.peek().future.isDone() || !more)) {
+                    IndexChunk chunk = pending.poll();
+                    chunk.await();
+                    indexed += chunk.ids.size();
+                    uncommitted += chunk.ids.size();
+                    lastId = chunk.ids.get(chunk.ids.size() - 1);
+                }
+                if (uncommitted >= commitSize) {
+                    commit();
+                    if (checkpoint != null) {
+                        checkpoint.update(phase, lastId);
+                    }
+                    uncommitted = 0;
+                    logInfo(handler, String.format("Deduplication index%s: %d items indexed, %d items/s",
+                        phase != null ? " " + phase + " phase" : "", indexed,
+                        indexed * 1000 / Math.max(System.currentTimeMillis() - start, 1)));
+                }
+            }
+            commit();
+            if (checkpoint != null && lastId != null) {
+                checkpoint.update(phase, lastId);
+            }
+            logInfo(handler, String.format("Deduplication index%s: %d items indexed in %d s",
+                phase != null ? " " + phase + " phase" : "", indexed, (System.currentTimeMillis() - start) / 1000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Index a chunk of items with a new context, buffering the documents of the current thread.
+     */
+    private void indexChunk(List<UUID> ids, boolean onlyFake) throws IOException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        pendingDocuments.set(new ArrayList<>());
+        try {
+            // retrieve all search plugin to build search document in the same index
+            SearchDeduplication searchSignature = dspace.getServiceManager().getServiceByName(
+                    "item".toUpperCase() + "SearchDeduplication", SearchDeduplication.class);
+            for (UUID id : ids) {
+                try {
+                    Item item = itemService.find(context, id);
+                    if (item == null) {
+                        continue;
+                    }
+                    Map<String, List<String>> tmpMapFilter = new HashMap<String, List<String>>();
+                    List<String> tmpFilter = new ArrayList<String>();
+                    fillSignature(context, item, tmpMapFilter, tmpFilter);
+                    if (!tmpFilter.isEmpty()) {
+                        if (onlyFake) {
+                            buildFromDedupReject(context, item, tmpMapFilter, tmpFilter, searchSignature);
+                            build(context, item.getID(), item.getID(), DeduplicationFlag.FAKE, tmpMapFilter,
+                                    searchSignature, null);
+                        } else {
+                            buildPotentialMatch(context, item, tmpMapFilter, tmpFilter, searchSignature);
+                        }
+                    }
+                    context.uncacheEntity(item);
+                } catch (Exception ex) {
+                    log.error("Error indexing item " + id + " in the deduplication index: " + ex.getMessage(), ex);
+                }
+            }
+            flushDocuments();
+        } finally {
+            pendingDocuments.remove();
+            context.abort();
+        }
+    }
 
-        if (ids == null) {
-            ids = new ArrayList<>();
-            Iterator<Item> items = itemService.findAllUnfiltered(context);
-            for (Item item : ImmutableList.copyOf(items)) {
-                ids.add(item.getID());
+    private void flushDocuments() throws IOException {
+        List<SolrInputDocument> pending = pendingDocuments.get();
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (getSolr() != null) {
+                getSolr().add(pending);
             }
+        } catch (SolrServerException e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            pending.clear();
+        }
+    }
+
+    private void logInfo(DSpaceRunnableHandler handler, String message) {
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+        }
+    }
+
+    private File getCheckpointFile() {
+        return new File(configurationService.getProperty("deduplication.indexer.checkpoint-file",
+            configurationService.getProperty("dspace.dir") + "/var/dedup/index-checkpoint.properties"));
+    }
+
+    /**
+     * A chunk of items submitted to the pool of threads.
+     */
+    private static class IndexChunk {
+
+        private final List<UUID> ids;
+
+        private final Future<Void> future;
+
+        IndexChunk(List<UUID> ids, Future<Void> future) {
+            this.ids = ids;
+            this.future = future;
         }
-        List<UUID>[] arrayIDList = Util.splitList(ids, numThreads);
-        List<IndexerThread> threads = new ArrayList<IndexerThread>();
-        for (List<UUID> hl : arrayIDList) {
-            IndexerThread thread = new IndexerThread(hl, onlyFake);
-            thread.start();
-            threads.add(thread);
-        }
-        boolean finished = false;
-        while (!finished) {
-            finished = true;
-            for (IndexerThread thread : threads) {
-                finished = finished && !thread.isAlive();
+
+        void await() throws InterruptedException {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error("Error indexing the items from " + ids.get(0) + " in the deduplication index", e.getCause());
             }
         }
     }
 
-    class IndexerThread extends Thread {
-        private boolean onlyFake;
+    /**
+     * Chunks of the ids of the archived or withdrawn items, read from the database one page at a time.
+     */
+    private class ItemIdChunks implements Iterator<List<UUID>> {
+
+        private final Context context;
+
+        private final int chunkSize;
+
+        private UUID lastId;
 
-        private List<UUID> itemids;
+        private List<UUID> next;
 
-        public IndexerThread(List<UUID> itemids, boolean onlyFake) {
-            this.onlyFake = onlyFake;
-            this.itemids = itemids;
+        ItemIdChunks(Context context, UUID lastId, int chunkSize) {
+            this.context = context;
+            this.lastId = lastId;
+            this.chunkSize = chunkSize;
         }
 
         @Override
-        public void run() {
-            Context context = null;
-            try {
-                context = new Context();
-                context.turnOffAuthorisationSystem();
-                int idx = 1;
-                final String head = this.getName() + "#" + this.getId();
-                final int size = itemids.size();
-                for (UUID id : itemids) {
-                    try {
-                        Item item = ContentServiceFactory.getInstance().getItemService().find(context, id);
-                        Map<String, List<String>> tmpMapFilter = new HashMap<String, List<String>>();
-                        List<String> tmpFilter = new ArrayList<String>();
-                        fillSignature(context, (DSpaceObject) item, tmpMapFilter, tmpFilter);
-                        if (!tmpFilter.isEmpty()) {
-                            // retrieve all search plugin to build search document in the same index
-                            SearchDeduplication searchSignature = dspace.getServiceManager().getServiceByName(
-                                    "item".toUpperCase() + "SearchDeduplication", SearchDeduplication.class);
-                            if (onlyFake) {
-                                buildFromDedupReject(context, item, tmpMapFilter, tmpFilter, searchSignature);
-                                build(context, item.getID(), item.getID(), DeduplicationFlag.FAKE, tmpMapFilter,
-                                        searchSignature, null);
-                            } else {
-                                buildPotentialMatch(context, item, tmpMapFilter, tmpFilter, searchSignature);
-                            }
-                        }
-                    } catch (Exception ex) {
-                        System.out.println("ERROR: identifier item:" + id + " identifier thread:" + head + " error:"
-                                + ex.getMessage());
-                    }
-                    System.out.println(head + ":" + (idx++) + " / " + size);
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = itemService.findUnfilteredIds(context, lastId, chunkSize);
+                } catch (SQLException e) {
+                    throw new SQLRuntimeException(e);
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            } finally {
-                if (context != null) {
-                    context.abort();
+                if (!next.isEmpty()) {
+                    lastId = next.get(next.size() - 1);
                 }
             }
+            return !next.isEmpty();
+        }
+
+        @Override
+        public List<UUID> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<UUID> chunk = next;
+            next = null;
+            return chunk;
         }
     }
 
@@ -0,0 +1,202 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MinHash sketches of strings and their locality sensitive hashing (LSH) bands.
+ * <p>
+ * A string is split in overlapping character shingles and the sketch keeps, for each of the hash functions, the
+ * minimum hash of its shingles: the probability that two sketches have the same value for a hash function is the
+ * Jaccard similarity of the shingles of the two strings. The sketch is divided in bands of rows and each band is
+ * hashed in a single token, so that two strings share at least one token with a probability of
+ * <code>1 - (1 - s^rows)^bands</code> for a similarity <code>s</code>: an S-curve whose threshold is about
+ * <code>(1 / bands)^(1 / rows)</code>.
+ * <p>
+ * The hash functions are derived from fixed seeds, so that the tokens are the same across runs and can be stored in
+ * an index.
+ */
+public class MinHash {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int shingleSize;
+
+    private final int bands;
+
+    private final int rows;
+
+    private final long[] seeds;
+
+    /**
+     * @param numHashes   the maximum number of hash functions of the sketches
+     * @param threshold   the Jaccard similarity above which two strings should share a band
+     * @param shingleSize the number of characters of the shingles
+     */
+    public MinHash(int numHashes, double threshold, int shingleSize) {
+        this(bandsFor(numHashes, threshold), numHashes / bandsFor(numHashes, threshold), shingleSize);
+    }
+
+    /**
+     * @param bands       the number of bands
+     * @param rows        the number of hash functions in each band
+     * @param shingleSize the number of characters of the shingles
+     */
+    public MinHash(int bands, int rows, int shingleSize) {
+        if (bands < 1 || rows < 1 || shingleSize < 1) {
+            throw new IllegalArgumentException("The bands, rows and shingle size must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = mix(SEED + (i + 1) * GOLDEN_GAMMA);
+        }
+    }
+
+    /**
+     * Find the number of bands of the given number of hash functions whose threshold is the closest to the
+     * given Jaccard similarity.
+     *
+     * @param numHashes the maximum number of hash functions
+     * @param threshold the Jaccard similarity
+     * @return the number of bands
+     */
+    public static int bandsFor(int numHashes, double threshold) {
+        if (numHashes < 1 || threshold <= 0 || threshold >= 1) {
+            throw new IllegalArgumentException("Invalid number of hashes " + numHashes
+                + " or threshold " + threshold);
+        }
+        int bestBands = 1;
+        double bestError = Double.MAX_VALUE;
+        for (int rows = 1; rows <= numHashes; rows++) {
+            int bands = numHashes / rows;
+            double error = Math.abs(Math.pow(1.0 / bands, 1.0 / rows) - threshold);
+            if (error < bestError) {
+                bestError = error;
+                bestBands = bands;
+            }
+        }
+        return bestBands;
+    }
+
+    /**
+     * @param value the normalized string
+     * @return the MinHash sketch of the string, null if the string is empty
+     */
+    public long[] sketch(String value) {
+        Set<Long> shingles = shingles(value);
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        long[] sketch = new long[seeds.length];
+        Arrays.fill(sketch, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(shingle ^ seeds[i]);
+                if (hash < sketch[i]) {
+                    sketch[i] = hash;
+                }
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Hash each band of the sketch in a token made of the band number and the hash of its rows, in hexadecimal.
+     *
+     * @param sketch the sketch
+     * @param scope  a string mixed in the hashes so that only the strings of the same scope share tokens, or null
+     * @return the tokens of the bands
+     */
+    public List<String> bands(long[] sketch, String scope) {
+        long scopeHash = scope != null ? hash(scope) : 0;
+        List<String> tokens = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            long hash = mix(scopeHash ^ (band + 1) * GOLDEN_GAMMA);
+            for (int row = band * rows; row < (band + 1) * rows; row++) {
+                hash = mix(hash ^ sketch[row]);
+            }
+            tokens.add(String.format("%02x%016x", band, hash));
+        }
+        return tokens;
+    }
+
+    /**
+     * Estimate the Jaccard similarity of the strings of two sketches.
+     *
+     * @param first  the sketch of the first string
+     * @param second the sketch of the second string
+     * @return the fraction of equal values
+     */
+    public static double similarity(long[] first, long[] second) {
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / first.length;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    private Set<Long> shingles(String value) {
+        Set<Long> shingles = new LinkedHashSet<>();
+        if (value == null || value.isEmpty()) {
+            return shingles;
+        }
+        if (value.length() <= shingleSize) {
+            shingles.add(hash(value));
+            return shingles;
+        }
+        for (int i = 0; i + shingleSize <= value.length(); i++) {
+            shingles.add(hash(value.substring(i, i + shingleSize)));
+        }
+        return shingles;
+    }
+
+    /**
+     * 64 bits FNV-1a hash of the characters of a string.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator, used as a family of hash functions by xoring a seed in the input.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
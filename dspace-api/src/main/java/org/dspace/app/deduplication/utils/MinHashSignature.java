@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.ibm.icu.text.Normalizer;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.external.model.ExternalDataObject;
+
+/**
+ * Signature of near-duplicate values, for example titles differing by a typo.
+ * <p>
+ * Instead of the hash of the whole normalized value, the signature is made of the LSH band tokens of the
+ * {@link MinHash} sketch of the value: two items get a potential match as soon as they share a band, which happens
+ * with a high probability when the Jaccard similarity of the character shingles of their values is above the
+ * threshold, and a low one below it. As the exact signatures, the tokens are scoped by the entity type of the item
+ * unless <code>useEntityType</code> is false.
+ * <p>
+ * The values are always compared ignoring the case, and the <code>prefix</code>, <code>ignorePrefix</code> and
+ * <code>useCollection</code> options of the exact signatures are not supported: setting them fails the
+ * configuration instead of being silently ignored.
+ */
+public class MinHashSignature extends MD5ValueSignature {
+
+    private static final String DEFAULT_NORMALIZATION_REGEXP = "[^\\p{L}\\p{N}]";
+
+    private int numHashes = 128;
+
+    private double threshold = 0.8;
+
+    private int shingleSize = 3;
+
+    private volatile MinHash minHash;
+
+    @Override
+    public List<String> getSignature(DSpaceObject item, Context context) {
+        String scope = null;
+        if (isUseEntityType() && item instanceof Item) {
+            scope = getItemService().getMetadataFirstValue((Item) item, "dspace", "entity", "type", null);
+        }
+        return getBands(getMultiValue(item, getMetadata()), scope);
+    }
+
+    /**
+     * The band tokens only make sense as a whole, there is no plain signature.
+     */
+    @Override
+    public List<String> getPlainSignature(DSpaceObject item, Context context) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> getSignature(ExternalDataObject object) {
+        return getBands(getMultiValue(object, getMetadata()), null);
+    }
+
+    private List<String> getBands(List<String> values, String scope) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String value : values) {
+            long[] sketch = getMinHash().sketch(normalizeText(value));
+            if (sketch != null) {
+                result.addAll(getMinHash().bands(sketch, scope));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * @param value the value
+     * @return the value without accents, lower case and without the characters matching the normalization regexp
+     */
+    protected String normalizeText(String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        String regexp = StringUtils.defaultIfBlank(getNormalizationRegexp(), DEFAULT_NORMALIZATION_REGEXP);
+        String norm = Normalizer.normalize(value, Normalizer.NFD).replaceAll(regexp, "");
+        return norm.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void setPrefix(String prefix) {
+        if (StringUtils.isNotEmpty(prefix)) {
+            throw new UnsupportedOperationException("The prefix is not supported by " + getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void setIgnorePrefix(List<String> ignorePrefix) {
+        if (ignorePrefix != null && !ignorePrefix.isEmpty()) {
+            throw new UnsupportedOperationException(
+                "The ignored prefixes are not supported by " + getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void setUseCollection(boolean useCollection) {
+        if (useCollection) {
+            throw new UnsupportedOperationException(
+                "The collection scope is not supported by " + getClass().getSimpleName());
+        }
+    }
+
+    public MinHash getMinHash() {
+        if (minHash == null) {
+            minHash = new MinHash(numHashes, threshold, shingleSize);
+        }
+        return minHash;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public void setNumHashes(int numHashes) {
+        this.numHashes = numHashes;
+        this.minHash = null;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+        this.minHash = null;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+        this.minHash = null;
+    }
+}
@@ -15,6 +15,7 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
@@ -28,8 +29,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -111,6 +116,8 @@ public class ItemExportServiceImpl implements ItemExportService {
 
     private DSpaceRunnableHandler handler;
 
+    private ExecutorService downloadExecutor;
+
     protected ItemExportServiceImpl() {
 
     }
@@ -201,15 +208,36 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, Item i, File destDir, boolean migrate)
         throws Exception {
+        // Save each of the schemas into it's own metadata file
+        for (String schema : getMetadataSchemas(i)) {
+            writeMetadata(c, schema, i, destDir, migrate);
+        }
+    }
+
+    /**
+     * Discover the different schemas in use by the metadata of the item.
+     *
+     * @param i DSpace Item
+     * @return the names of the schemas
+     */
+    protected Set<String> getMetadataSchemas(Item i) {
         Set<String> schemas = new HashSet<>();
         List<MetadataValue> dcValues = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
         for (MetadataValue metadataValue : dcValues) {
             schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
         }
+        return schemas;
+    }
 
-        // Save each of the schemas into it's own metadata file
-        for (String schema : schemas) {
-            writeMetadata(c, schema, i, destDir, migrate);
+    /**
+     * @param schema the metadata schema
+     * @return the name of the file holding the metadata of the given schema
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        } else {
+            return "metadata_" + schema + ".xml";
         }
     }
 
@@ -225,101 +253,106 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
-
-        File outFile = new File(destDir, filename);
+        File outFile = new File(destDir, getMetadataFileName(schema));
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
+            try (BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                writeMetadata(c, schema, i, out, migrate);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
+    /**
+     * output the item's metadata of the given schema to the given stream, which is left open
+     *
+     * @param c       DSpace context
+     * @param schema  schema
+     * @param i       DSpace Item
+     * @param out     the stream receiving the metadata XML
+     * @param migrate Whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeMetadata(Context c, String schema, Item i,
+                                 OutputStream out, boolean migrate) throws Exception {
+        List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                  Item.ANY);
 
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dateIssued = null;
-            String dateAccessioned = null;
+        String dateIssued = null;
+        String dateAccessioned = null;
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                String language = dcv.getLanguage();
+            String language = dcv.getLanguage();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
+                out.write(utf8, 0, utf8.length);
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-                out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
+            }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
             }
+        }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
             out.write(utf8, 0, utf8.length);
-
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
     }
 
     /**
@@ -365,15 +398,8 @@ public class ItemExportServiceImpl implements ItemExportService {
         File outFile = new File(destDir, "collections");
         if (outFile.createNewFile()) {
             try (PrintWriter out = new PrintWriter(new FileWriter(outFile))) {
-                Collection owningCollection = item.getOwningCollection();
-                // The owning collection is null for workspace and workflow items
-                if (owningCollection != null) {
-                    out.println(owningCollection.getHandle());
-                }
-                for (Collection collection : item.getCollections()) {
-                    if (!collection.equals(owningCollection)) {
-                        out.println(collection.getHandle());
-                    }
+                for (String handle : getCollectionHandles(item)) {
+                    out.println(handle);
                 }
             }
         } else {
@@ -381,6 +407,28 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * List handles of all Collections which contain this Item. The "owning"
+     * Collection is listed first.
+     *
+     * @param item list collections holding this Item.
+     * @return the handles of the collections
+     */
+    protected List<String> getCollectionHandles(Item item) {
+        List<String> handles = new ArrayList<>();
+        Collection owningCollection = item.getOwningCollection();
+        // The owning collection is null for workspace and workflow items
+        if (owningCollection != null) {
+            handles.add(owningCollection.getHandle());
+        }
+        for (Collection collection : item.getCollections()) {
+            if (!collection.equals(owningCollection)) {
+                handles.add(collection.getHandle());
+            }
+        }
+        return handles;
+    }
+
     /**
      * Create both the bitstreams and the contents file. Any bitstreams that
      * were originally registered will be marked in the contents file as such.
@@ -407,24 +455,10 @@ public class ItemExportServiceImpl implements ItemExportService {
                 // bundles can have multiple bitstreams now...
                 List<Bitstream> bitstreams = bundle.getBitstreams();
 
-                String bundleName = bundle.getName();
-
                 for (Bitstream bitstream : bitstreams) {
                     String myName = bitstream.getName();
                     String oldName = myName;
 
-                    String description = bitstream.getDescription();
-                    if (!StringUtils.isEmpty(description)) {
-                        description = "\tdescription:" + description;
-                    } else {
-                        description = "";
-                    }
-
-                    String primary = "";
-                    if (bitstream.equals(bundle.getPrimaryBitstream())) {
-                        primary = "\tprimary:true ";
-                    }
-
                     int myPrefix = 1; // only used with name conflict
 
                     boolean isDone = false; // done when bitstream is finally
@@ -463,15 +497,7 @@ public class ItemExportServiceImpl implements ItemExportService {
                     }
 
                     // write the manifest file entry
-                    if (bitstreamService.isRegisteredBitstream(bitstream)) {
-                        out.println("-r -s " + bitstream.getStoreNumber()
-                                        + " -f " + myName +
-                                        "\tbundle:" + bundleName +
-                                        primary + description);
-                    } else {
-                        out.println(myName + "\tbundle:" + bundleName +
-                                        primary + description);
-                    }
+                    out.println(getContentsLine(bundle, bitstream, myName));
 
                 }
             }
@@ -483,37 +509,187 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Build the line of the 'contents' file describing the given bitstream.
+     *
+     * @param bundle    the bundle holding the bitstream
+     * @param bitstream the bitstream
+     * @param name      the name of the exported file
+     * @return the manifest entry of the bitstream
+     * @throws Exception if error
+     */
+    protected String getContentsLine(Bundle bundle, Bitstream bitstream, String name) throws Exception {
+        String description = bitstream.getDescription();
+        if (!StringUtils.isEmpty(description)) {
+            description = "\tdescription:" + description;
+        } else {
+            description = "";
+        }
+
+        String primary = "";
+        if (bitstream.equals(bundle.getPrimaryBitstream())) {
+            primary = "\tprimary:true ";
+        }
+
+        if (bitstreamService.isRegisteredBitstream(bitstream)) {
+            return "-r -s " + bitstream.getStoreNumber()
+                + " -f " + name +
+                "\tbundle:" + bundle.getName() +
+                primary + description;
+        } else {
+            return name + "\tbundle:" + bundle.getName() +
+                primary + description;
+        }
+    }
+
+    /**
+     * Write the items into the given zip archive, with the same layout of
+     * {@link #exportItem(Context, Iterator, String, int, boolean, boolean)}:
+     * one folder per item, named after its sequence number, below the given
+     * prefix. The metadata and the bitstreams are streamed straight into the
+     * archive, without copying them to a work directory.
+     *
+     * @param c                 DSpace context
+     * @param i                 the items to export
+     * @param prefix            the folder of the archive holding the items, empty for its root
+     * @param zip               the archive
+     * @param seqStart          the sequence number of the first item
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void zipItems(Context c, Iterator<Item> i, String prefix, ZipOutputStream zip,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        int mySequenceNumber = seqStart;
+        int counter = SUBDIR_LIMIT - 1;
+        int subDirSuffix = 0;
+        String fullPath = prefix;
+
+        while (i.hasNext()) {
+            if (SUBDIR_LIMIT > 0 && ++counter == SUBDIR_LIMIT) {
+                fullPath = prefix + subDirSuffix++ + "/";
+                counter = 0;
+            }
+
+            Item item = i.next();
+            logInfo("Exporting Item " + item.getID() +
+                        (item.getHandle() != null ? ", handle " + item.getHandle() : "") +
+                        " to " + fullPath + mySequenceNumber);
+            zipItem(c, item, fullPath + mySequenceNumber + "/", zip, migrate, excludeBitstreams);
+            c.uncacheEntity(item);
+            mySequenceNumber++;
+        }
+    }
+
+    /**
+     * Write the metadata files, the bitstreams, the 'contents', 'collections'
+     * and 'handle' files of the item into the given folder of the zip archive.
+     *
+     * @param c                 DSpace context
+     * @param i                 DSpace Item
+     * @param itemDir           the folder of the archive holding the item, ending with a slash
+     * @param zip               the archive
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams whether to exclude bitstreams
+     * @throws Exception if error
+     */
+    protected void zipItem(Context c, Item i, String itemDir, ZipOutputStream zip,
+                           boolean migrate, boolean excludeBitstreams) throws Exception {
+        for (String schema : getMetadataSchemas(i)) {
+            zip.putNextEntry(new ZipEntry(itemDir + getMetadataFileName(schema)));
+            writeMetadata(c, schema, i, zip, migrate);
+            zip.closeEntry();
+        }
+
+        StringBuilder contents = new StringBuilder();
+        Set<String> names = new HashSet<>();
+        for (Bundle bundle : i.getBundles()) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                String myName = bitstream.getName();
+                if (!excludeBitstreams) {
+                    // keep prepending numbers to the filename until unique, as the directory export does
+                    int myPrefix = 1;
+                    while (!names.add(myName)) {
+                        myName = myPrefix++ + "_" + bitstream.getName();
+                    }
+                    zip.putNextEntry(new ZipEntry(itemDir + myName));
+                    try (InputStream is = bitstreamService.retrieve(c, bitstream)) {
+                        Utils.bufferedCopy(is, zip);
+                    }
+                    zip.closeEntry();
+                }
+                contents.append(getContentsLine(bundle, bitstream, myName)).append(System.lineSeparator());
+            }
+        }
+        writeZipEntry(zip, itemDir + "contents", contents.toString());
+
+        StringBuilder collections = new StringBuilder();
+        for (String handle : getCollectionHandles(i)) {
+            collections.append(handle).append(System.lineSeparator());
+        }
+        writeZipEntry(zip, itemDir + "collections", collections.toString());
+
+        if (!migrate && i.getHandle() != null) {
+            writeZipEntry(zip, itemDir + "handle", i.getHandle() + System.lineSeparator());
+        }
+    }
+
+    private void writeZipEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Create the zip archive at the given path, writing it to a temporary file
+     * renamed once the archive is complete.
+     *
+     * @param target the path of the archive
+     * @param writer the callback writing the entries of the archive
+     * @throws Exception if error
+     */
+    protected void writeZip(String target, ZipWriter writer) throws Exception {
+        File tempFile = new File(target + "_tmp");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            zip.setLevel(configurationService.getIntProperty("org.dspace.app.itemexport.zip.level", 9));
+            writer.write(zip);
+            zip.finish();
+        } catch (Exception e) {
+            if (tempFile.exists() && !tempFile.delete()) {
+                logError("Unable to delete file: " + tempFile.getName());
+            }
+            throw e;
+        }
+        if (!tempFile.renameTo(new File(target))) {
+            logError("Unable to rename file");
+        }
+    }
+
+    /**
+     * Callback writing the entries of a zip archive.
+     */
+    @FunctionalInterface
+    protected interface ZipWriter {
+
+        void write(ZipOutputStream zip) throws Exception;
+
+    }
+
     @Override
     public void exportAsZip(Context context, Iterator<Item> items,
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
-        String workDir = getExportWorkDirectory() +
-            System.getProperty("file.separator") +
-            zipFileName;
-
-        File wkDir = new File(workDir);
-        if (!wkDir.exists() && !wkDir.mkdirs()) {
-            logError("Unable to create working directory");
-        }
-
         File dnDir = new File(destDirName);
         if (!dnDir.exists() && !dnDir.mkdirs()) {
             logError("Unable to create destination directory");
         }
 
-        try {
-            // export the items using normal export method (this exports items to our workDir)
-            exportItem(context, items, workDir, seqStart, migrate, excludeBitstreams);
+        logInfo("Beginning export");
 
-            // now zip up the workDir directory created above
-            zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
-        } finally {
-            // Cleanup workDir created above, if it still exists
-            if (wkDir.exists()) {
-                deleteDirectory(wkDir);
-            }
-        }
+        // stream the items straight into the archive, no copy of them is written to the work directory
+        writeZip(destDirName + System.getProperty("file.separator") + zipFileName,
+                 zip -> zipItems(context, items, "", zip, seqStart, migrate, excludeBitstreams));
     }
 
     @Override
@@ -550,8 +726,8 @@ public class ItemExportServiceImpl implements ItemExportService {
 
     /**
      * Does the work creating a List with all the Items in the Community or
-     * Collection It then kicks off a new Thread to export the items, zip the
-     * export directory and send confirmation email
+     * Collection It then queues the export on the download executor, which
+     * streams the items into the zip archive and sends the confirmation email
      *
      * @param dsObjects       - List of dspace objects to process
      * @param context         - the dspace context
@@ -670,88 +846,87 @@ public class ItemExportServiceImpl implements ItemExportService {
             }
         }
 
-        // if we have any items to process then kick off anonymous thread
+        // if we have any items to process then queue the export on the download executor
         if (itemsMap.size() > 0) {
-            Thread go = new Thread() {
-                @Override
-                public void run() {
-                    Context context = new Context();
-                    Iterator<Item> iitems = null;
-                    try {
-                        // ignore auths
-                        context.turnOffAuthorisationSystem();
-
-                        String fileName = assembleFileName("item", eperson,
-                                                           LocalDate.now());
-                        String workParentDir = getExportWorkDirectory()
-                            + System.getProperty("file.separator")
-                            + fileName;
-                        String downloadDir = getExportDownloadDirectory(eperson);
-                        File dnDir = new File(downloadDir);
-                        if (!dnDir.exists() && !dnDir.mkdirs()) {
-                            logError("Unable to create download directory");
-                        }
-
-                        Iterator<String> iter = itemsMap.keySet().iterator();
-                        while (iter.hasNext()) {
-                            String keyName = iter.next();
-                            List<UUID> uuids = itemsMap.get(keyName);
-                            List<Item> items = new ArrayList<>();
-                            for (UUID uuid : uuids) {
-                                items.add(itemService.find(context, uuid));
-                            }
-                            iitems = items.iterator();
-
-                            String workDir = workParentDir
-                                + System.getProperty("file.separator")
-                                + keyName;
-
-                            File wkDir = new File(workDir);
-                            if (!wkDir.exists() && !wkDir.mkdirs()) {
-                                logError("Unable to create working directory");
-                            }
-
-
-                            // export the items using normal export method
-                            exportItem(context, iitems, workDir, 1, migrate, false);
-                        }
+            getDownloadExecutor().execute(() -> {
+                Context exportContext = new Context();
+                try {
+                    // ignore auths
+                    exportContext.turnOffAuthorisationSystem();
+
+                    String fileName = assembleFileName("item", eperson,
+                                                       LocalDate.now());
+                    String downloadDir = getExportDownloadDirectory(eperson);
+                    File dnDir = new File(downloadDir);
+                    if (!dnDir.exists() && !dnDir.mkdirs()) {
+                        logError("Unable to create download directory");
+                    }
 
-                        // now zip up the export directory created above
-                        zip(workParentDir, downloadDir
-                            + System.getProperty("file.separator")
-                            + fileName + ".zip");
-                        // email message letting user know the file is ready for
-                        // download
-                        emailSuccessMessage(context, eperson, fileName + ".zip");
-                        // return to enforcing auths
-                        context.restoreAuthSystemState();
-                    } catch (Exception e1) {
-                        try {
-                            emailErrorMessage(eperson, e1.getMessage());
-                        } catch (Exception e) {
-                            // won't throw here
-                        }
-                        throw new IllegalStateException(e1);
-                    } finally {
-                        // Make sure the database connection gets closed in all conditions.
-                        try {
-                            context.complete();
-                        } catch (SQLException sqle) {
-                            context.abort();
+                    // stream the items of each collection into their own folder of the archive
+                    writeZip(downloadDir + System.getProperty("file.separator") + fileName + ".zip", zip -> {
+                        for (Map.Entry<String, List<UUID>> entry : itemsMap.entrySet()) {
+                            Iterator<Item> iitems = entry.getValue().stream()
+                                .map(uuid -> findItem(exportContext, uuid))
+                                .iterator();
+                            zipItems(exportContext, iitems, entry.getKey() + "/", zip, 1, migrate, false);
                         }
+                    });
+                    // email message letting user know the file is ready for
+                    // download
+                    emailSuccessMessage(exportContext, eperson, fileName + ".zip");
+                    // return to enforcing auths
+                    exportContext.restoreAuthSystemState();
+                } catch (Exception e1) {
+                    try {
+                        emailErrorMessage(eperson, e1.getMessage());
+                    } catch (Exception e) {
+                        // won't throw here
+                    }
+                    throw new IllegalStateException(e1);
+                } finally {
+                    // Make sure the database connection gets closed in all conditions.
+                    try {
+                        exportContext.complete();
+                    } catch (SQLException sqle) {
+                        exportContext.abort();
                     }
                 }
-
-            };
-
-            go.isDaemon();
-            go.start();
+            });
         } else {
             Locale supportedLocale = I18nUtil.getEPersonLocale(eperson);
             emailErrorMessage(eperson, I18nUtil.getMessage("org.dspace.app.itemexport.no-result", supportedLocale));
         }
     }
 
+    private Item findItem(Context context, UUID uuid) {
+        try {
+            return itemService.find(context, uuid);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Return the executor running the downloadable exports. At most
+     * org.dspace.app.itemexport.download.threads exports run at the same
+     * time, the others wait in its queue.
+     *
+     * @return the executor of the downloadable exports
+     */
+    protected synchronized ExecutorService getDownloadExecutor() {
+        if (downloadExecutor == null) {
+            int threads = Math.max(configurationService.getIntProperty("org.dspace.app.itemexport.download.threads",
+                                                                       2), 1);
+            AtomicInteger count = new AtomicInteger();
+            downloadExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "item-export-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return downloadExecutor;
+    }
+
     @Override
     public String assembleFileName(String type, EPerson eperson,
                                    LocalDate date) throws Exception {
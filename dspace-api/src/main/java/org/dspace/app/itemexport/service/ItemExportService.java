@@ -52,7 +52,9 @@ public interface ItemExportService {
                            boolean excludeBitstreams) throws Exception;
 
     /**
-     * Method to perform an export and save it as a zip file.
+     * Method to perform an export and save it as a zip file. The items are
+     * streamed straight into the zip file, without an intermediate copy in the
+     * work directory.
      *
      * @param context           The DSpace Context
      * @param items             The items to export
@@ -40,6 +40,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -84,6 +85,8 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
     protected boolean help = false;
     protected File workDir = null;
     protected File workFile = null;
+    protected int threads = 1;
+    protected File zipFile = null;
 
     protected static final CollectionService collectionService =
             ContentServiceFactory.getInstance().getCollectionService();
@@ -148,6 +151,15 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             isQuiet = true;
         }
 
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService().getIntProperty("itemimport.threads", 1);
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+        }
+        if (threads < 1) {
+            handler.logWarning("Invalid number of threads '" + threads + "' - ignoring");
+            threads = 1;
+        }
+
         setZip();
     }
 
@@ -308,7 +320,9 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
             List<Collection> collections) throws Exception {
         readMapfile(context);
 
-        if ("add".equals(command)) {
+        if ("add".equals(command) && zipFile != null) {
+            itemImportService.addItemsFromZip(context, collections, zipFile, mapfile, template, threads);
+        } else if ("add".equals(command)) {
             itemImportService.addItems(context, collections, sourcedir, mapfile, template);
         } else if ("replace".equals(command)) {
             itemImportService.replaceItems(context, collections, sourcedir, mapfile, template);
@@ -359,6 +373,12 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
                         "Error reading file, the file couldn't be found for filename: " + zipfilename);
             }
 
+            if (isParallelZipImport()) {
+                // the items are read straight from the zip file
+                zipFile = workFile;
+                return;
+            }
+
             workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                            + File.separator + UUID.randomUUID());
             sourcedir = itemImportService.unzip(workFile, workDir.getAbsolutePath());
@@ -368,6 +388,14 @@ public class ItemImport extends DSpaceRunnable<ItemImportScriptConfiguration> {
         }
     }
 
+    /**
+     * Whether the items must be imported by {@link ItemImportService#addItemsFromZip}, reading them from the zip
+     * file with more than one thread, instead of extracting the whole zip file
+     */
+    protected boolean isParallelZipImport() {
+        return threads > 1 && "add".equals(command);
+    }
+
     /**
      * Confirm that the zip file has the correct MIME type
      * @param inputStream
@@ -89,7 +89,9 @@ public class ItemImportCLI extends ItemImport {
     @Override
     protected void process(Context context, ItemImportService itemImportService,
             List<Collection> collections) throws Exception {
-        if ("add".equals(command)) {
+        if ("add".equals(command) && zipFile != null) {
+            itemImportService.addItemsFromZip(context, collections, zipFile, mapfile, template, threads);
+        } else if ("add".equals(command)) {
             itemImportService.addItems(context, collections, sourcedir, mapfile, template);
         } else if ("replace".equals(command)) {
             itemImportService.replaceItems(context, collections, sourcedir, mapfile, template);
@@ -118,6 +120,12 @@ public class ItemImportCLI extends ItemImport {
                     IOUtils.closeQuietly(validationFileStream);
                 }
 
+                if (isParallelZipImport()) {
+                    // the items are read straight from the zip file
+                    zipFile = myZipFile;
+                    return;
+                }
+
                 workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                         + File.separator + context.getCurrentUser().getID());
                 sourcedir = itemImportService.unzip(
@@ -137,6 +145,11 @@ public class ItemImportCLI extends ItemImport {
                         workFile = new File(itemImportService.getTempWorkDir() + File.separator
                                 + zipfilename + "-" + context.getCurrentUser().getID());
                         FileUtils.copyInputStreamToFile(optionalFileStream.get(), workFile);
+                        if (isParallelZipImport()) {
+                            // the items are read straight from the zip file
+                            zipFile = workFile;
+                            return;
+                        }
                         workDir = new File(itemImportService.getTempWorkDir() + File.separator + TEMP_DIR
                                 + File.separator + context.getCurrentUser().getID());
                         sourcedir = itemImportService.unzip(workFile, workDir.getAbsolutePath());
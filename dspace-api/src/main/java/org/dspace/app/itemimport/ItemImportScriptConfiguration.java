@@ -95,6 +95,10 @@ public class ItemImportScriptConfiguration<T extends ItemImport> extends ScriptC
         options.addOption(Option.builder("q").longOpt("quiet")
                 .desc("don't display metadata")
                 .hasArg(false).required(false).build());
+        options.addOption(Option.builder("t").longOpt("threads")
+                .desc("number of threads importing the items of a zip file without extracting it (add only, " +
+                    "default itemimport.threads in dspace.cfg, or 1)")
+                .hasArg().required(false).build());
 
         options.addOption(Option.builder("h").longOpt("help")
                 .desc("help")
@@ -29,8 +29,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -40,13 +43,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.xml.parsers.DocumentBuilder;
@@ -103,6 +117,10 @@ import org.dspace.core.Context;
 import org.dspace.core.Email;
 import org.dspace.core.I18nUtil;
 import org.dspace.core.LogHelper;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.EPersonService;
@@ -181,6 +199,10 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     protected RelationshipTypeService relationshipTypeService;
     @Autowired(required = true)
     protected MetadataValueService metadataValueService;
+    @Autowired(required = true)
+    protected IndexingService indexingService;
+    @Autowired(required = true)
+    protected IndexObjectFactoryFactory indexObjectFactoryFactory;
 
     protected DocumentBuilder builder;
 
@@ -334,6 +356,18 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    @Override
+    public void addItemsFromZip(Context c, List<Collection> mycollections, File zipfile, String mapFile,
+                                boolean template, int threads) throws Exception {
+        logDebug("Adding items from zip file: " + zipfile.getAbsolutePath() + " with " + threads + " threads");
+        File stagingDir = new File(tempWorkDir + File.separator + "zipimport-" + UUID.randomUUID());
+        try (ZipFile zf = new ZipFile(zipfile)) {
+            new ZipImport(c, zf, stagingDir, mycollections, template, Math.max(threads, 1)).run(mapFile);
+        } finally {
+            FileUtils.deleteQuietly(stagingDir);
+        }
+    }
+
      /**
       * Add relationships from a 'relationships' manifest file.
       * 
@@ -2481,4 +2515,335 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         }
     }
 
+    /**
+     * Import of the items of a zip archive in the Simple Archive Format by a pool of threads.
+     * <p>
+     * The archive is never extracted as a whole: each worker takes the next item folder, extracts only its entries
+     * in a staging directory, imports it with its own context and deletes the extracted files, so the disk used is
+     * bounded by the items in progress. The items are committed every
+     * <code>itemimport.parallel.batch-size</code> items and the mapfile lines are written only after the commit,
+     * so an interrupted run can be resumed with the mapfile. The workers dispatch their events with the
+     * <code>itemimport.parallel.dispatcher</code>, which excludes the discovery consumer, and the imported items
+     * are indexed in a single pass at the end.
+     */
+    protected class ZipImport {
+
+        private static final String RELATIONSHIPS_FILE = "relationships";
+
+        private final Context context;
+
+        private final ZipFile zipFile;
+
+        private final File stagingDir;
+
+        private final List<Collection> collections;
+
+        private final boolean template;
+
+        private final int threads;
+
+        private final int batchSize;
+
+        private final String dispatcher;
+
+        private final EPerson currentUser;
+
+        private final Set<UUID> specialGroupIds;
+
+        private final boolean ignoreAuthorization;
+
+        private final Map<String, UUID> importedItems = new ConcurrentHashMap<>();
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private Map<String, List<ZipEntry>> items;
+
+        private int itemDepth;
+
+        private PrintWriter mapOut;
+
+        ZipImport(Context context, ZipFile zipFile, File stagingDir, List<Collection> collections, boolean template,
+                  int threads) {
+            this.context = context;
+            this.zipFile = zipFile;
+            this.stagingDir = stagingDir;
+            this.collections = collections;
+            this.template = template;
+            this.threads = threads;
+            this.batchSize = Math.max(configurationService.getIntProperty("itemimport.parallel.batch-size", 100), 1);
+            this.dispatcher = configurationService.getProperty("itemimport.parallel.dispatcher",
+                                                               "exclude-discovery");
+            this.currentUser = context.getCurrentUser();
+            this.specialGroupIds = new HashSet<>(context.getSpecialGroupUuids());
+            this.ignoreAuthorization = context.ignoreAuthorization();
+        }
+
+        void run(String mapFile) throws Exception {
+            itemFolderMap = new HashMap<>();
+            Map<String, String> skipItems = isResume && !isTest ? readMapFile(mapFile) : new HashMap<>();
+            Map<String, List<ZipEntry>> items = findItems();
+            Queue<String> pending = new ConcurrentLinkedQueue<>();
+            for (Map.Entry<String, List<ZipEntry>> item : items.entrySet()) {
+                if (skipItems.containsKey(item.getKey())) {
+                    logInfo("Skipping import of " + item.getKey());
+                    //we still need the item in the map for relationship linking
+                    stage(item.getKey(), item.getValue(), true);
+                    itemFolderMap.put(item.getKey(),
+                        (Item) handleService.resolveToObject(context, skipItems.get(item.getKey())));
+                } else {
+                    pending.add(item.getKey());
+                }
+            }
+
+            Exception failure = null;
+            int workers = Math.max(Math.min(threads, pending.size()), 1);
+            ExecutorService executor = Executors.newFixedThreadPool(workers);
+            try {
+                if (!isTest) {
+                    // sneaky isResume == true means open file in append mode
+                    mapOut = new PrintWriter(new FileWriter(mapFile, isResume));
+                }
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < workers && !pending.isEmpty(); i++) {
+                    futures.add(executor.submit(() -> {
+                        work(pending);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        }
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+                if (mapOut != null) {
+                    mapOut.flush();
+                    mapOut.close();
+                }
+            }
+
+            // the committed items are indexed even if the import failed, they are listed in the mapfile
+            indexImportedItems();
+            if (failure != null) {
+                throw failure;
+            }
+
+            for (Map.Entry<String, UUID> importedItem : importedItems.entrySet()) {
+                itemFolderMap.put(importedItem.getKey(), itemService.find(context, importedItem.getValue()));
+            }
+            //now that all items are imported, iterate again to link relationships
+            addRelationships(context, stagingDir.getAbsolutePath());
+        }
+
+        /**
+         * Import the pending items with a new context, until there are no more items or another worker failed.
+         */
+        private void work(Queue<String> pending) throws Exception {
+            Context workerContext = new Context(Context.Mode.BATCH_EDIT);
+            try {
+                if (currentUser != null) {
+                    workerContext.setCurrentUser(workerContext.reloadEntity(currentUser));
+                }
+                for (UUID specialGroupId : specialGroupIds) {
+                    workerContext.setSpecialGroup(specialGroupId);
+                }
+                if (ignoreAuthorization) {
+                    workerContext.turnOffAuthorisationSystem();
+                }
+                if (StringUtils.isNotBlank(dispatcher)) {
+                    workerContext.setDispatcher(dispatcher);
+                }
+
+                StringWriter batchMap = new StringWriter();
+                PrintWriter batchMapOut = isTest ? null : new PrintWriter(batchMap);
+                Map<String, UUID> batchItems = new LinkedHashMap<>();
+                String itemName;
+                while (!failed.get() && (itemName = pending.poll()) != null) {
+                    Item item = importItem(workerContext, itemName, batchMapOut);
+                    if (item != null) {
+                        batchItems.put(itemName, item.getID());
+                        workerContext.uncacheEntity(item);
+                    }
+                    if (batchItems.size() >= batchSize) {
+                        commitBatch(workerContext, batchMap, batchItems);
+                    }
+                }
+                commitBatch(workerContext, batchMap, batchItems);
+                workerContext.complete();
+            } catch (Exception e) {
+                failed.set(true);
+                throw e;
+            } finally {
+                // the items of the current batch are rolled back, they are not in the mapfile
+                if (workerContext.isValid()) {
+                    workerContext.abort();
+                }
+            }
+        }
+
+        private Item importItem(Context workerContext, String itemName, PrintWriter batchMapOut) throws Exception {
+            List<ZipEntry> entries = findItems().get(itemName);
+            File itemDir = stage(itemName, entries, false);
+            try {
+                List<Collection> clist;
+                if (collections == null) {
+                    try {
+                        clist = processCollectionFile(workerContext, itemDir.getAbsolutePath(), "collections");
+                        if (clist == null) {
+                            logError("No collections specified for item " + itemName + ". Skipping.");
+                            return null;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        logError(e.getMessage() + " Skipping.");
+                        return null;
+                    }
+                } else {
+                    clist = new ArrayList<>(collections.size());
+                    for (Collection collection : collections) {
+                        clist.add(workerContext.reloadEntity(collection));
+                    }
+                }
+                Item item = addItem(workerContext, clist, stagingDir.getAbsolutePath(), itemName, batchMapOut,
+                                    template);
+                logInfo(itemName);
+                return item;
+            } finally {
+                removeStagedContent(itemDir);
+            }
+        }
+
+        private void commitBatch(Context workerContext, StringWriter batchMap, Map<String, UUID> batchItems)
+            throws SQLException {
+            if (batchItems.isEmpty()) {
+                return;
+            }
+            workerContext.commit();
+            if (mapOut != null) {
+                synchronized (mapOut) {
+                    mapOut.print(batchMap);
+                    mapOut.flush();
+                }
+            }
+            batchMap.getBuffer().setLength(0);
+            importedItems.putAll(batchItems);
+            batchItems.clear();
+            workerContext.uncacheEntities();
+        }
+
+        /**
+         * Index in a single pass the items committed by the workers, whose events skipped the discovery consumer.
+         */
+        private void indexImportedItems() throws SQLException, SearchServiceException {
+            if (isTest || importedItems.isEmpty() || StringUtils.isBlank(dispatcher)) {
+                return;
+            }
+            logInfo("Indexing " + importedItems.size() + " imported items");
+            for (UUID id : importedItems.values()) {
+                Item item = itemService.find(context, id);
+                if (item == null) {
+                    continue;
+                }
+                for (IndexableObject indexableObject : indexObjectFactoryFactory.getIndexableObjects(context, item)) {
+                    indexingService.indexContent(context, indexableObject, true, false);
+                }
+                context.uncacheEntity(item);
+            }
+            indexingService.commit();
+        }
+
+        /**
+         * Group the file entries of the archive by item folder, sorted as the folders of a source directory. The
+         * item folders can be at the root of the archive or inside a single root folder.
+         */
+        private Map<String, List<ZipEntry>> findItems() {
+            if (items != null) {
+                return items;
+            }
+            List<ZipEntry> files = new ArrayList<>();
+            String root = null;
+            boolean nested = true;
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String[] chunks = getPath(entry);
+                if (entry.isDirectory() || "__MACOSX".equals(chunks[0])) {
+                    continue;
+                }
+                files.add(entry);
+                if (chunks.length < 3 || (root != null && !root.equals(chunks[0]))) {
+                    nested = false;
+                }
+                root = chunks[0];
+            }
+            itemDepth = nested ? 1 : 0;
+            Map<String, List<ZipEntry>> result = new TreeMap<>(ComparatorUtils.naturalComparator());
+            for (ZipEntry entry : files) {
+                String[] chunks = getPath(entry);
+                if (chunks.length > itemDepth + 1) {
+                    result.computeIfAbsent(chunks[itemDepth], name -> new ArrayList<>()).add(entry);
+                }
+            }
+            items = result;
+            return items;
+        }
+
+        private String[] getPath(ZipEntry entry) {
+            //regex supports either windows or *nix file paths
+            return entry.getName().split("/|\\\\");
+        }
+
+        /**
+         * Extract the entries of the given item folder in the staging directory.
+         *
+         * @param relationshipsOnly whether to extract only the relationships manifest
+         * @return the staged item folder
+         */
+        private File stage(String itemName, List<ZipEntry> entries, boolean relationshipsOnly) throws IOException {
+            Path stagingPath = stagingDir.toPath().normalize();
+            File itemDir = new File(stagingDir, itemName);
+            for (ZipEntry entry : entries) {
+                String[] chunks = getPath(entry);
+                String relativePath = String.join(File.separator,
+                    Arrays.copyOfRange(chunks, itemDepth + 1, chunks.length));
+                if (relationshipsOnly && !RELATIONSHIPS_FILE.equals(relativePath)) {
+                    continue;
+                }
+                File outFile = new File(itemDir, relativePath);
+                // Verify that this file will be extracted into our staging directory (and not somewhere else!)
+                if (!outFile.toPath().normalize().startsWith(stagingPath)) {
+                    throw new IOException("Bad zip entry: '" + entry.getName() + "' in file '" + zipFile.getName()
+                                              + "'! Cannot process this file or directory.");
+                }
+                File parent = outFile.getParentFile();
+                if (!parent.exists() && !parent.mkdirs()) {
+                    throw new IOException("Unable to create directory: " + parent.getAbsolutePath());
+                }
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    Files.copy(in, outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return itemDir;
+        }
+
+        /**
+         * Delete the extracted files of an imported item, keeping its relationships manifest for the linking of
+         * the relationships at the end of the import.
+         */
+        private void removeStagedContent(File itemDir) {
+            File[] files = itemDir.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                if (!RELATIONSHIPS_FILE.equals(file.getName())) {
+                    FileUtils.deleteQuietly(file);
+                }
+            }
+        }
+    }
 }
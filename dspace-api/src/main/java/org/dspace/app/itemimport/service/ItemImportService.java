@@ -61,6 +61,22 @@ public interface ItemImportService {
     public void addItems(Context c, List<Collection> mycollections,
                          String sourceDir, String mapFile, boolean template) throws Exception;
 
+    /**
+     * Add the items of a zip archive in the Simple Archive Format, without extracting the whole archive. The items
+     * are imported by a pool of threads, each with its own context, committed in batches and indexed in a single
+     * pass at the end. The mapfile is written after each committed batch, so the import can be resumed.
+     *
+     * @param c             DSpace Context
+     * @param mycollections List of Collections, null to read the collections file of each item
+     * @param zipfile       the zip archive
+     * @param mapFile       map file
+     * @param template      whether to use template item
+     * @param threads       the number of threads importing the items
+     * @throws Exception if error
+     */
+    public void addItemsFromZip(Context c, List<Collection> mycollections, File zipfile, String mapFile,
+                                boolean template, int threads) throws Exception;
+
     /**
      * Unzip a file
      *
@@ -46,7 +46,8 @@ import org.dspace.utils.DSpace;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; -m [max] limits processing to a
  * maximum number of items; -fd [fromdate] takes only items starting from this date,
- * filtering by last_modified in the item table.
+ * filtering by last_modified in the item table; -t [threads] filters the bitstreams
+ * with the given number of threads for each filter.
  */
 public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfiguration> {
 
@@ -68,6 +69,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private int threads = 1;
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -130,6 +132,15 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService().getIntProperty("filter.threads", 1);
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+        }
+        if (threads < 1) {
+            handler.logWarning("Invalid number of threads '" + threads + "' - ignoring");
+            threads = 1;
+        }
+
 
     }
 
@@ -145,6 +156,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -59,6 +59,8 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
             "ONLY process bistreams that have no bundles with the specified names");
 
         options.addOption("m", "maximum", true, "process no more than maximum items");
+        options.addOption("t", "threads", true,
+            "number of threads filtering the bitstreams of each filter (default filter.threads in dspace.cfg, or 1)");
         options.addOption("h", "help", false, "help");
 
         Option pluginOption = Option.builder("p")
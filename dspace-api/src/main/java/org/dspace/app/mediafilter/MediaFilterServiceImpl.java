@@ -7,6 +7,9 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -14,14 +17,24 @@ import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
@@ -53,12 +66,14 @@ import org.dspace.core.SelfNamedPlugin;
 import org.dspace.core.UUIDIterator;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.discovery.SearchUtils;
+import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.ThrowableUtils;
+import org.dspace.util.ThrowingConsumer;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -70,6 +85,10 @@ import org.springframework.beans.factory.annotation.Autowired;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; and -m [max] limits processing to a
  * maximum number of items.
+ * <p>
+ * With more than one thread the bitstreams are filtered by a {@link FilterPipeline}:
+ * the items are scanned by the calling thread, each filter runs in its own pool
+ * of threads and the derivative bitstreams are stored back by the calling thread.
  */
 public class MediaFilterServiceImpl implements MediaFilterService, InitializingBean {
 
@@ -120,6 +139,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
 
+    protected int threads = 1; // number of threads filtering the bitstreams
+
+    protected FilterPipeline pipeline = null; // pipeline of the running filtering, if any
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -138,6 +161,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context, int sinceLastDays, String[] skipBundles) throws Exception {
+        if (isPipelineToStart()) {
+            runPipeline(context, c -> applyFiltersAllItems(c, sinceLastDays, skipBundles));
+            return;
+        }
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
@@ -152,7 +179,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             context,
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore(context)) {
                 applyFiltersItem(context, itemIterator.next());
             }
         } else {
@@ -185,7 +212,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 new UUIDIterator<>(
                     context, results, Item.class,(ItemDAOImpl) itemDAO
                 );
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore(context)) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
@@ -194,6 +221,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
+        if (isPipelineToStart()) {
+            runPipeline(context, c -> applyFiltersCommunity(c, community));
+            return;
+        }
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
         // collections are lazy attributes)
@@ -216,13 +247,17 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCollection(Context context, Collection collection)
         throws Exception {
+        if (isPipelineToStart()) {
+            runPipeline(context, c -> applyFiltersCollection(c, collection));
+            return;
+        }
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
         collection = context.reloadEntity(collection);
         //only apply filters if collection not in skip-list
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore(context)) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
@@ -230,6 +265,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersItem(Context c, Item item) throws Exception {
+        if (isPipelineToStart()) {
+            runPipeline(c, context -> applyFiltersItem(context, item));
+            return;
+        }
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
             //cache this item in MediaFilterManager
@@ -242,8 +281,13 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             }
             // clear item objects from context cache and internal cache
             c.uncacheEntity(currentItem);
-            // commit after each item to release DB resources
-            c.commit();
+            if (pipeline != null) {
+                // store the bitstreams filtered meanwhile, the pipeline commits in batches
+                pipeline.itemScanned(c);
+            } else {
+                // commit after each item to release DB resources
+                c.commit();
+            }
             currentItem = null;
         }
     }
@@ -295,8 +339,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 try {
                     // only update item if bitstream not skipped
                     if (processBitstream(context, myItem, myBitstream, filterClass)) {
-                        itemService.update(context, myItem); // Make sure new bitstream has a sequence
-                        // number
+                        if (pipeline == null) {
+                            itemService.update(context, myItem); // Make sure new bitstream has a sequence
+                            // number
+                        }
                         filtered = true;
                     }
                 } catch (Exception e) {
@@ -350,8 +396,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                     try {
                         // only update item if bitstream not skipped
                         if (processBitstream(context, myItem, myBitstream, filterClass)) {
-                            itemService.update(context, myItem); // Make sure new bitstream has a sequence
-                            // number
+                            if (pipeline == null) {
+                                itemService.update(context, myItem); // Make sure new bitstream has a sequence
+                                // number
+                            }
                             filtered = true;
                         }
                     } catch (Exception e) {
@@ -379,23 +427,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         String newName = formatFilter.getFilteredName(source.getName());
 
         // check if destination bitstream exists
-        Bundle existingBundle = null;
-        List<Bitstream> existingBitstreams = new ArrayList<>();
-        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
-
-        if (!bundles.isEmpty()) {
-            // only finds the last matching bundle and all matching bitstreams in the proper bundle(s)
-            for (Bundle bundle : bundles) {
-                List<Bitstream> bitstreams = bundle.getBitstreams();
-
-                for (Bitstream bitstream : bitstreams) {
-                    if (bitstream.getName().trim().equals(newName.trim())) {
-                        existingBundle = bundle;
-                        existingBitstreams.add(bitstream);
-                    }
-                }
-            }
-        }
+        Map<Bitstream, Bundle> existingBitstreams = findDerivativeBitstreams(item, formatFilter, newName);
 
         // if exists and overwrite = false, exit
         if (!overWrite && (!existingBitstreams.isEmpty())) {
@@ -414,6 +446,13 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
         logInfo("File: " + newName);
 
+        if (pipeline != null) {
+            // the bitstream is filtered by the pool of the filter and stored back by storeFilteredBitstream,
+            // which counts the item as processed once its first derivative bitstream is stored
+            pipeline.submit(context, item, source, formatFilter, newName);
+            return false;
+        }
+
         // start filtering of the bitstream, using try with resource to close all InputStreams properly
         try (
                 // get the source stream
@@ -430,33 +469,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
-
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+            createDerivativeBitstream(context, item, source, formatFilter, newName, destStream);
 
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
@@ -464,9 +477,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
 
         // we are overwriting, so remove old bitstream
-        for (Bitstream existingBitstream : existingBitstreams) {
-            bundleService.removeBitstream(context, existingBundle, existingBitstream);
-        }
+        removeDerivativeBitstreams(context, existingBitstreams);
 
         if (!isQuiet) {
             logInfo("FILTERED: bitstream " + source.getID()
@@ -476,6 +487,94 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Store the derivative bitstream produced by a filter of the pipeline.
+     *
+     * @param context      context
+     * @param item         item containing the source bitstream
+     * @param source       source bitstream
+     * @param formatFilter the filter that produced the derivative bitstream
+     * @param newName      the name of the derivative bitstream
+     * @param destStream   the content of the derivative bitstream
+     * @throws Exception if error occurs
+     */
+    protected void storeFilteredBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+        String newName, InputStream destStream) throws Exception {
+
+        Map<Bitstream, Bundle> existingBitstreams = findDerivativeBitstreams(item, formatFilter, newName);
+
+        createDerivativeBitstream(context, item, source, formatFilter, newName, destStream);
+
+        // we are overwriting, so remove old bitstream
+        removeDerivativeBitstreams(context, existingBitstreams);
+
+        itemService.update(context, item); // Make sure new bitstream has a sequence number
+
+        if (!isQuiet) {
+            logInfo("FILTERED: bitstream " + source.getID()
+                                   + " (item: " + item.getHandle() + ") and created '" + newName + "'");
+        }
+    }
+
+    /**
+     * Find the bitstreams with the given name in the bundles of the filter.
+     *
+     * @return the found bitstreams with their bundle
+     */
+    private Map<Bitstream, Bundle> findDerivativeBitstreams(Item item, FormatFilter formatFilter, String newName)
+        throws SQLException {
+        Map<Bitstream, Bundle> existingBitstreams = new LinkedHashMap<>();
+        for (Bundle bundle : itemService.getBundles(item, formatFilter.getBundleName())) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                if (bitstream.getName().trim().equals(newName.trim())) {
+                    existingBitstreams.put(bitstream, bundle);
+                }
+            }
+        }
+        return existingBitstreams;
+    }
+
+    private void createDerivativeBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+        String newName, InputStream destStream) throws Exception {
+
+        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
+
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+    }
+
+    private void removeDerivativeBitstreams(Context context, Map<Bitstream, Bundle> existingBitstreams)
+        throws SQLException, AuthorizeException, IOException {
+        for (Map.Entry<Bitstream, Bundle> existingBitstream : existingBitstreams.entrySet()) {
+            bundleService.removeBitstream(context, existingBitstream.getValue(), existingBitstream.getKey());
+        }
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source) {
         if (this.policyUpdaters == null || this.policyUpdaters.isEmpty()) {
@@ -522,6 +621,348 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
     }
 
+    /**
+     * Check whether more items can be processed before reaching the maximum.
+     * With a pipeline, the items whose bitstreams are still being filtered
+     * could reach the maximum, so their results are awaited first.
+     *
+     * @param context context
+     * @return true if the maximum number of items to process is not reached
+     * @throws Exception if error occurs
+     */
+    private boolean canProcessMore(Context context) throws Exception {
+        if (pipeline != null) {
+            while (processed < max2Process && processed + pipeline.getItemsInFlight() >= max2Process) {
+                pipeline.storeNext(context);
+            }
+        }
+        return processed < max2Process;
+    }
+
+    /**
+     * @return true if the filters must run in a new pipeline
+     */
+    private boolean isPipelineToStart() {
+        return threads > 1 && pipeline == null;
+    }
+
+    /**
+     * Run the given scan of the items in a new {@link FilterPipeline}, waiting
+     * for all the submitted bitstreams to be filtered and stored.
+     *
+     * @param context context
+     * @param scan    the scan of the items to filter
+     * @throws Exception if error occurs
+     */
+    private void runPipeline(Context context, ThrowingConsumer<Context, Exception> scan) throws Exception {
+        pipeline = new FilterPipeline(context);
+        try {
+            scan.accept(context);
+            pipeline.finish(context);
+        } finally {
+            pipeline.close();
+            pipeline = null;
+        }
+    }
+
+    /**
+     * Returns the number of threads of the given filter, configured with
+     * filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].threads and defaulting to the
+     * number of threads of the service.
+     */
+    private int getFilterThreads(FormatFilter formatFilter) {
+        String pluginName = null;
+        if (formatFilter instanceof SelfNamedPlugin) {
+            pluginName = ((SelfNamedPlugin) formatFilter).getPluginInstanceName();
+        }
+        int filterThreads = configurationService.getIntProperty("filter." + formatFilter.getClass().getName() +
+            (pluginName != null ? "." + pluginName : "") + ".threads", threads);
+        return Math.max(filterThreads, 1);
+    }
+
+    /**
+     * Pipeline filtering the bitstreams with a pool of threads for each filter.
+     * <p>
+     * The bitstreams are submitted while the items are scanned; each task reads
+     * the source bitstream with its own read-only context and spools the output
+     * of the filter to a temporary file. The derivative bitstreams are then
+     * stored by the thread scanning the items, with its context, and committed
+     * every filter.pipeline.commit-size items: only that thread writes to the
+     * database. The tasks waiting in each pool are bounded to twice its threads,
+     * so a slow filter does not fill the memory with pending bitstreams. An item
+     * is counted as processed once its first derivative bitstream is stored.
+     */
+    protected class FilterPipeline {
+
+        private final Map<FormatFilter, FilterPool> pools = new HashMap<>();
+
+        private final BlockingQueue<FilterResult> results = new LinkedBlockingQueue<>();
+
+        private final List<Item> storedItems = new ArrayList<>();
+
+        private final Map<UUID, Integer> pendingBitstreams = new HashMap<>();
+
+        private final Set<UUID> countedItems = new HashSet<>();
+
+        private final EPerson currentUser;
+
+        private final Set<UUID> specialGroupIds;
+
+        private final boolean ignoreAuthorization;
+
+        private final int commitSize;
+
+        private int pending = 0;
+
+        private int uncommittedItems = 0;
+
+        private boolean closed = false;
+
+        FilterPipeline(Context context) {
+            this.currentUser = context.getCurrentUser();
+            this.specialGroupIds = new HashSet<>(context.getSpecialGroupUuids());
+            this.ignoreAuthorization = context.ignoreAuthorization();
+            this.commitSize = Math.max(configurationService.getIntProperty("filter.pipeline.commit-size", 100), 1);
+        }
+
+        /**
+         * Submit the given bitstream to the pool of the filter, storing the
+         * bitstreams already filtered while the pool is full.
+         */
+        void submit(Context context, Item item, Bitstream source, FormatFilter formatFilter, String newName)
+            throws Exception {
+            FilterPool pool = pools.computeIfAbsent(formatFilter, filter -> new FilterPool(getFilterThreads(filter)));
+            while (!pool.permits.tryAcquire()) {
+                store(context, results.poll(1, TimeUnit.SECONDS));
+            }
+            FilterResult result = new FilterResult(pool, item.getID(), item.getHandle(), source.getID(),
+                formatFilter, newName);
+            try {
+                pool.executor.submit(() -> {
+                    try {
+                        filter(result);
+                    } finally {
+                        complete(result);
+                    }
+                });
+            } catch (RuntimeException e) {
+                pool.permits.release();
+                throw e;
+            }
+            pending++;
+            pendingBitstreams.merge(result.itemId, 1, Integer::sum);
+        }
+
+        /**
+         * @return the number of items with bitstreams still being filtered and
+         *         without a stored derivative bitstream yet
+         */
+        int getItemsInFlight() {
+            return (int) pendingBitstreams.keySet().stream().filter(id -> !countedItems.contains(id)).count();
+        }
+
+        /**
+         * Wait for the next filtered bitstream and store it.
+         */
+        void storeNext(Context context) throws Exception {
+            if (pending > 0) {
+                store(context, results.take());
+            }
+        }
+
+        /**
+         * Store the bitstreams already filtered once the given item has been
+         * scanned, committing every filter.pipeline.commit-size items.
+         */
+        void itemScanned(Context context) throws Exception {
+            FilterResult result;
+            while ((result = results.poll()) != null) {
+                store(context, result);
+            }
+            if (++uncommittedItems >= commitSize) {
+                commit(context);
+            }
+        }
+
+        /**
+         * Wait for all the submitted bitstreams to be filtered, storing them.
+         */
+        void finish(Context context) throws Exception {
+            while (pending > 0) {
+                store(context, results.take());
+            }
+            commit(context);
+        }
+
+        void close() {
+            synchronized (results) {
+                closed = true;
+                FilterResult result;
+                while ((result = results.poll()) != null) {
+                    FileUtils.deleteQuietly(result.file);
+                }
+            }
+            pools.values().forEach(pool -> pool.executor.shutdownNow());
+        }
+
+        /**
+         * Hand the filtered bitstream to the thread storing them, or delete its
+         * output if the pipeline has been closed in the meantime.
+         */
+        private void complete(FilterResult result) {
+            synchronized (results) {
+                if (closed) {
+                    FileUtils.deleteQuietly(result.file);
+                } else {
+                    results.add(result);
+                }
+            }
+        }
+
+        private void commit(Context context) throws SQLException {
+            context.commit();
+            // clear the items stored since the last commit from the context cache
+            for (Item item : storedItems) {
+                context.uncacheEntity(item);
+            }
+            storedItems.clear();
+            uncommittedItems = 0;
+        }
+
+        private void filter(FilterResult result) {
+            Context context = null;
+            try {
+                context = new Context(Context.Mode.READ_ONLY);
+                if (currentUser != null) {
+                    context.setCurrentUser(context.reloadEntity(currentUser));
+                }
+                for (UUID specialGroupId : specialGroupIds) {
+                    context.setSpecialGroup(specialGroupId);
+                }
+                if (ignoreAuthorization) {
+                    context.turnOffAuthorisationSystem();
+                }
+
+                Item item = itemService.find(context, result.itemId);
+                Bitstream source = bitstreamService.find(context, result.sourceId);
+                try (InputStream srcStream = bitstreamService.retrieve(context, source);
+                     InputStream destStream = result.formatFilter.getDestinationStream(item, srcStream, isVerbose)) {
+                    if (destStream != null) {
+                        result.file = File.createTempFile("filter-media-", ".tmp");
+                        FileUtils.copyInputStreamToFile(destStream, result.file);
+                    }
+                }
+            } catch (Throwable e) {
+                // any error, e.g. a StackOverflowError of a parser, is reported by store
+                FileUtils.deleteQuietly(result.file);
+                result.file = null;
+                result.error = e;
+            } finally {
+                if (context != null && context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+
+        private void store(Context context, FilterResult result) throws Exception {
+            if (result == null) {
+                return;
+            }
+            pending--;
+            result.pool.permits.release();
+            boolean stored = false;
+            try {
+                Item item = itemService.find(context, result.itemId);
+                Bitstream source = bitstreamService.find(context, result.sourceId);
+                if (result.error != null) {
+                    if (result.error instanceof OutOfMemoryError) {
+                        logError("!!! OutOfMemoryError !!!");
+                    }
+                    logError(formatBitstreamDetails(result.itemHandle, source));
+                    logError(ThrowableUtils.formatCauseChain(result.error));
+                } else if (result.file == null) {
+                    if (!isQuiet) {
+                        logInfo("SKIPPED: bitstream " + result.sourceId
+                                + " (item: " + result.itemHandle + ") because filtering was unsuccessful");
+                    }
+                } else {
+                    try (InputStream destStream = new FileInputStream(result.file)) {
+                        storeFilteredBitstream(context, item, source, result.formatFilter, result.newName,
+                            destStream);
+                    }
+                    storedItems.add(item);
+                    stored = true;
+                }
+            } catch (Exception e) {
+                logError("ERROR filtering, skipping bitstream #" + result.sourceId + " " + e);
+            } finally {
+                FileUtils.deleteQuietly(result.file);
+                countStored(result.itemId, stored);
+            }
+        }
+
+        private void countStored(UUID itemId, boolean stored) {
+            if (stored && countedItems.add(itemId)) {
+                ++processed;
+            }
+            if (pendingBitstreams.merge(itemId, -1, (count, delta) -> count + delta == 0 ? null : count + delta)
+                == null) {
+                countedItems.remove(itemId);
+            }
+        }
+
+    }
+
+    /**
+     * The pool of threads of a filter, with the permits of the tasks that can
+     * wait to be stored.
+     */
+    private static class FilterPool {
+
+        private final ExecutorService executor;
+
+        private final Semaphore permits;
+
+        FilterPool(int threads) {
+            this.executor = Executors.newFixedThreadPool(threads);
+            this.permits = new Semaphore(threads * 2);
+        }
+
+    }
+
+    /**
+     * A bitstream submitted to the pipeline and the output of its filter.
+     */
+    private static class FilterResult {
+
+        private final FilterPool pool;
+
+        private final UUID itemId;
+
+        private final String itemHandle;
+
+        private final UUID sourceId;
+
+        private final FormatFilter formatFilter;
+
+        private final String newName;
+
+        private File file;
+
+        private Throwable error;
+
+        FilterResult(FilterPool pool, UUID itemId, String itemHandle, UUID sourceId, FormatFilter formatFilter,
+            String newName) {
+            this.pool = pool;
+            this.itemId = itemId;
+            this.itemHandle = itemHandle;
+            this.sourceId = sourceId;
+            this.formatFilter = formatFilter;
+            this.newName = newName;
+        }
+
+    }
+
     @Override
     public Item getCurrentItem() {
         return currentItem;
@@ -664,4 +1105,9 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
 }
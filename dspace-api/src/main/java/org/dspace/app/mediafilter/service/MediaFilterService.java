@@ -153,4 +153,13 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the number of threads filtering the bitstreams: with more than one
+     * thread, each filter runs in its own pool of threads while the derivative
+     * bitstreams are stored by the calling thread.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads);
 }
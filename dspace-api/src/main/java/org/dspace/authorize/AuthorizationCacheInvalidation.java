@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
+
+/**
+ * The shared authorization decisions to invalidate once the transaction of a {@link org.dspace.core.Context} is
+ * committed: either the decisions related to a set of objects and epersons, or all of them.
+ *
+ * @see AuthorizationDecisionCacheService
+ */
+public class AuthorizationCacheInvalidation {
+
+    private final Set<UUID> ids = new HashSet<>();
+
+    private boolean all = false;
+
+    /**
+     * Invalidate the decisions taken on or for the object with the given id.
+     *
+     * @param id the id of an object or eperson, ignored if null
+     */
+    public void add(UUID id) {
+        if (id != null && !all) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Invalidate all the decisions.
+     */
+    public void addAll() {
+        all = true;
+        ids.clear();
+    }
+
+    public Set<UUID> getIds() {
+        return Collections.unmodifiableSet(ids);
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public boolean isEmpty() {
+        return !all && ids.isEmpty();
+    }
+
+    public void reset() {
+        all = false;
+        ids.clear();
+    }
+}
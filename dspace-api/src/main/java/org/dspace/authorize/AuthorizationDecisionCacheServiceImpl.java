@@ -0,0 +1,379 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link AuthorizationDecisionCacheService} holding a bounded number of decisions in memory.
+ * <p>
+ * Each decision is tagged with the ids it depends on: the eperson, the object and, for bundles and bitstreams, the
+ * items (and bundles) containing them. The events of a committed transaction invalidate the decisions tagged with
+ * the ids of the changed items, bundles, bitstreams and of the epersons added to or removed from a group. Changes
+ * that can affect the decisions on many objects or for many epersons, like the policies of a collection, a
+ * community or the nesting of groups, invalidate the whole cache.
+ * <p>
+ * Every invalidation increments the generation of the cache, and a decision is stored only if the generation did
+ * not change while it was computed, so that a decision computed from data changed concurrently is never cached.
+ * <p>
+ * Only the events of this JVM invalidate the cache: the changes committed by other processes are seen once the
+ * cached decisions expire, after the configured time to live.
+ */
+public class AuthorizationDecisionCacheServiceImpl implements AuthorizationDecisionCacheService {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationDecisionCacheServiceImpl.class);
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    /**
+     * The cached decisions, in insertion order so that lookups don't modify the map.
+     */
+    private final LinkedHashMap<Key, Decision> decisions = new LinkedHashMap<>();
+
+    /**
+     * The keys of the cached decisions by the ids they depend on.
+     */
+    private final Map<UUID, Set<Key>> keysById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    protected AuthorizationDecisionCacheServiceImpl() {
+
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("core.authorization.cache.enabled", false);
+    }
+
+    @Override
+    public boolean isCacheable(Context context) {
+        return isEnabled() && !context.hasEvents() && context.getSpecialGroupUuids().isEmpty();
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public Boolean get(EPerson eperson, DSpaceObject dso, int action, boolean useInheritance) {
+        Decision decision;
+        lock.readLock().lock();
+        try {
+            decision = decisions.get(Key.of(eperson, dso, action, useInheritance));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (decision == null || decision.isExpired()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return decision.authorized;
+    }
+
+    @Override
+    public void put(long generation, EPerson eperson, DSpaceObject dso, int action, boolean useInheritance,
+                    boolean authorized) {
+        int maxEntries = configurationService.getIntProperty("core.authorization.cache.max-entries", 10000);
+        long ttl = configurationService.getLongProperty("core.authorization.cache.ttl", 60);
+        Key key = Key.of(eperson, dso, action, useInheritance);
+        Set<UUID> tags = getTags(eperson, dso);
+        Decision decision = new Decision(authorized, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl), tags);
+
+        lock.writeLock().lock();
+        try {
+            if (generation != this.generation.get()) {
+                // the data used to compute the decision may have been changed in the meantime
+                return;
+            }
+            Decision previous = decisions.remove(key);
+            if (previous != null) {
+                untag(key, previous);
+            }
+            decisions.put(key, decision);
+            for (UUID tag : tags) {
+                keysById.computeIfAbsent(tag, id -> new HashSet<>()).add(key);
+            }
+            evict(maxEntries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void collect(Event event, AuthorizationCacheInvalidation invalidation) {
+        int eventType = event.getEventType();
+        switch (event.getSubjectType()) {
+            case Constants.BITSTREAM:
+            case Constants.BUNDLE:
+            case Constants.ITEM:
+                invalidation.add(event.getSubjectID());
+                invalidation.add(event.getObjectID());
+                break;
+            case Constants.COLLECTION:
+            case Constants.COMMUNITY:
+            case Constants.SITE:
+                if (eventType == Event.MODIFY_METADATA || eventType == Event.CREATE) {
+                    break;
+                }
+                if ((eventType == Event.ADD || eventType == Event.REMOVE) && event.getObjectType() == Constants.ITEM) {
+                    // an item has been moved or mapped
+                    invalidation.add(event.getObjectID());
+                } else {
+                    // the policies or the administrators of a container are inherited by its content
+                    invalidation.addAll();
+                }
+                break;
+            case Constants.GROUP:
+                if (eventType == Event.MODIFY_METADATA || eventType == Event.CREATE) {
+                    break;
+                }
+                if ((eventType == Event.ADD || eventType == Event.REMOVE)
+                    && event.getObjectType() == Constants.EPERSON) {
+                    invalidation.add(event.getObjectID());
+                } else {
+                    // the members of a subgroup or of a deleted group are not known anymore
+                    invalidation.addAll();
+                }
+                break;
+            case Constants.EPERSON:
+                if (eventType == Event.MODIFY || eventType == Event.DELETE) {
+                    invalidation.add(event.getSubjectID());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void invalidate(AuthorizationCacheInvalidation invalidation) {
+        if (invalidation.isEmpty()) {
+            return;
+        }
+        if (invalidation.isAll()) {
+            clear();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            for (UUID id : invalidation.getIds()) {
+                Set<Key> keys = keysById.remove(id);
+                if (keys == null) {
+                    continue;
+                }
+                for (Key key : keys) {
+                    Decision decision = decisions.remove(key);
+                    if (decision != null) {
+                        untag(key, decision);
+                    }
+                }
+            }
+            invalidations.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            decisions.clear();
+            keysById.clear();
+            invalidations.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Cleared the shared authorization decision cache");
+    }
+
+    @Override
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return decisions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Remove the oldest decisions until the cache fits the given size.
+     * Must be called holding the write lock.
+     */
+    private void evict(int maxEntries) {
+        Iterator<Map.Entry<Key, Decision>> iterator = decisions.entrySet().iterator();
+        while (decisions.size() > maxEntries && iterator.hasNext()) {
+            Map.Entry<Key, Decision> entry = iterator.next();
+            iterator.remove();
+            untag(entry.getKey(), entry.getValue());
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Must be called holding the write lock.
+     */
+    private void untag(Key key, Decision decision) {
+        for (UUID tag : decision.tags) {
+            Set<Key> keys = keysById.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysById.remove(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the ids the decision on the given object for the given eperson depends on. The bundles and the items
+     * of a bitstream are loaded by the authorization check itself, so they are usually already in the session.
+     */
+    private Set<UUID> getTags(EPerson eperson, DSpaceObject dso) {
+        Set<UUID> tags = new HashSet<>();
+        tags.add(dso.getID());
+        if (eperson != null) {
+            tags.add(eperson.getID());
+        }
+        if (dso instanceof Bitstream bitstream) {
+            for (Bundle bundle : bitstream.getBundles()) {
+                tags.add(bundle.getID());
+                for (Item item : bundle.getItems()) {
+                    tags.add(item.getID());
+                }
+            }
+        } else if (dso instanceof Bundle bundle) {
+            for (Item item : bundle.getItems()) {
+                tags.add(item.getID());
+            }
+        }
+        return tags;
+    }
+
+    private static final class Key {
+
+        private final UUID eperson;
+
+        private final UUID dso;
+
+        private final int action;
+
+        private final boolean inheritance;
+
+        private Key(UUID eperson, UUID dso, int action, boolean inheritance) {
+            this.eperson = eperson;
+            this.dso = dso;
+            this.action = action;
+            this.inheritance = inheritance;
+        }
+
+        private static Key of(EPerson eperson, DSpaceObject dso, int action, boolean inheritance) {
+            return new Key(eperson != null ? eperson.getID() : null, dso.getID(), action, inheritance);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eperson, dso, action, inheritance);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return action == other.action && inheritance == other.inheritance
+                && Objects.equals(dso, other.dso) && Objects.equals(eperson, other.eperson);
+        }
+    }
+
+    private static final class Decision {
+
+        private final boolean authorized;
+
+        private final long expiresAt;
+
+        private final Set<UUID> tags;
+
+        private Decision(boolean authorized, long expiresAt, Set<UUID> tags) {
+            this.authorized = authorized;
+            this.expiresAt = expiresAt;
+            this.tags = tags;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -15,7 +15,11 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -26,6 +30,7 @@ import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.relationship.RelationshipAuthorizer;
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Bitstream;
@@ -95,6 +100,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     private ConfigurationService configurationService;
     @Autowired(required = true)
     private List<RelationshipAuthorizer> relationshipAuthorizers;
+    @Autowired(required = true)
+    private AuthorizationDecisionCacheService authorizationDecisionCacheService;
 
 
     protected AuthorizeServiceImpl() {
@@ -228,6 +235,91 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         return isAuthorized;
     }
 
+    @Override
+    public Map<UUID, Boolean> authorizeActionBoolean(Context c, List<? extends DSpaceObject> dsos, int a)
+        throws SQLException {
+        Map<UUID, Boolean> decisions = new HashMap<>();
+        EPerson e = c.getCurrentUser();
+        boolean sharedCache = authorizationDecisionCacheService.isCacheable(c);
+        long generation = authorizationDecisionCacheService.getGeneration();
+
+        // first answer from the caches, keeping the order of the objects for the remaining checks
+        Map<UUID, DSpaceObject> toCheck = new LinkedHashMap<>();
+        for (DSpaceObject dso : dsos) {
+            if (dso == null || decisions.containsKey(dso.getID()) || toCheck.containsKey(dso.getID())) {
+                continue;
+            }
+            Boolean decision = c.ignoreAuthorization() ? Boolean.TRUE : c.getCachedAuthorizationResult(dso, a, e, true);
+            if (decision == null && sharedCache) {
+                decision = authorizationDecisionCacheService.get(e, dso, a, true);
+            }
+            if (decision != null) {
+                decisions.put(dso.getID(), decision);
+            } else {
+                toCheck.put(dso.getID(), dso);
+            }
+        }
+        if (toCheck.isEmpty()) {
+            return decisions;
+        }
+
+        boolean admin = e != null && isAdmin(c, e);
+        Set<UUID> groupIds = new HashSet<>();
+        Map<UUID, List<ResourcePolicy>> policies = new HashMap<>();
+        if (!admin) {
+            for (Group group : groupService.allMemberGroupsSet(c, e)) {
+                groupIds.add(group.getID());
+            }
+            for (ResourcePolicy rp : resourcePolicyService.findByResourceUuidsAndActionId(c,
+                new ArrayList<>(toCheck.keySet()), a)) {
+                policies.computeIfAbsent(rp.getdSpaceObject().getID(), id -> new ArrayList<>()).add(rp);
+            }
+        }
+
+        for (DSpaceObject dso : toCheck.values()) {
+            Boolean decision = admin ? Boolean.TRUE : authorizeWithLoadedPolicies(dso, e, groupIds,
+                                                                                   policies.get(dso.getID()));
+            if (decision == null) {
+                // the decision depends on more than the policies of the object, do the complete check
+                decision = authorize(c, dso, a, e, true);
+            } else if (sharedCache) {
+                authorizationDecisionCacheService.put(generation, e, dso, a, true, decision);
+            }
+            c.cachePrefetchedAuthorization(dso, a, e, true, decision);
+            decisions.put(dso.getID(), decision);
+        }
+        return decisions;
+    }
+
+    /**
+     * Decide if the given user can perform an action on the given object using only the policies of the object for
+     * that action, as done by {@link #authorize(Context, DSpaceObject, int, EPerson, boolean)}.
+     *
+     * @param o        the object
+     * @param e        the user, null for anonymous
+     * @param groupIds the ids of all the groups of the user
+     * @param policies the policies of the object for the action, can be null
+     * @return the decision, or null if it depends on more than the policies of the object
+     */
+    private Boolean authorizeWithLoadedPolicies(DSpaceObject o, EPerson e, Set<UUID> groupIds,
+                                                List<ResourcePolicy> policies) {
+        // the custom policies are ignored for the bundles, the bitstreams and the items still in submission
+        boolean customPoliciesApply = !(o instanceof Bitstream) && !(o instanceof Bundle)
+            && (!(o instanceof Item) || ((Item) o).isArchived());
+        for (ResourcePolicy rp : CollectionUtils.emptyIfNull(policies)) {
+            if (!resourcePolicyService.isDateValid(rp)) {
+                continue;
+            }
+            boolean matches = (rp.getEPerson() != null && rp.getEPerson().equals(e))
+                || (rp.getGroup() != null && groupIds.contains(rp.getGroup().getID()));
+            if (matches) {
+                return customPoliciesApply || !ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType()) ? Boolean.TRUE : null;
+            }
+        }
+        // without a matching policy only the ADMIN rights can grant the action, and anonymous users have none
+        return e == null ? Boolean.FALSE : null;
+    }
+
     /**
      * Check to see if the given user can perform the given action on the given
      * object. Always returns true if the ignore authorization flat is set in
@@ -263,6 +355,40 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        if (!authorizationDecisionCacheService.isCacheable(c)) {
+            return authorizeWithPolicies(c, o, action, e, useInheritance);
+        }
+
+        // If authorization was given before by another context
+        Boolean sharedResult = authorizationDecisionCacheService.get(e, o, action, useInheritance);
+        if (sharedResult != null) {
+            c.cacheAuthorizedAction(o, action, e, useInheritance, sharedResult, null);
+            return sharedResult;
+        }
+
+        long generation = authorizationDecisionCacheService.getGeneration();
+        boolean result = authorizeWithPolicies(c, o, action, e, useInheritance);
+        authorizationDecisionCacheService.put(generation, e, o, action, useInheritance, result);
+        return result;
+    }
+
+    /**
+     * Check the admin rights and the resource policies to see if the given user can perform the given action on
+     * the given object, without looking at the caches.
+     *
+     * @param c              current context
+     * @param o              object action is being attempted on
+     * @param action         ID of action being attempted, from
+     *                       <code>org.dspace.core.Constants</code>
+     * @param e              user attempting action
+     * @param useInheritance flag to say if ADMIN action on the current object or parent
+     *                       object can be used
+     * @return <code>true</code> if user is authorized to perform the given
+     * action, <code>false</code> otherwise
+     * @throws SQLException if database error
+     */
+    protected boolean authorizeWithPolicies(Context c, DSpaceObject o, int action, EPerson e,
+                                            boolean useInheritance) throws SQLException {
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -9,6 +9,7 @@ package org.dspace.authorize;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.dao.ResourcePolicyDAO;
@@ -43,6 +45,11 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ResourcePolicyServiceImpl.class);
 
+    /**
+     * Maximum number of object ids bound to a single query, to stay below the limits of the database drivers
+     */
+    private static final int DSO_IDS_CHUNK_SIZE = 1000;
+
     @Autowired(required = true)
     protected ContentServiceFactory contentServiceFactory;
 
@@ -437,4 +444,14 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         throws SQLException {
         return resourcePolicyDAO.findValidPolicyOwners(c, dsoIds, actionID);
     }
+
+    @Override
+    public List<ResourcePolicy> findByResourceUuidsAndActionId(Context c, List<UUID> dsoIds, int actionID)
+        throws SQLException {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        for (List<UUID> chunk : ListUtils.partition(dsoIds, DSO_IDS_CHUNK_SIZE)) {
+            policies.addAll(resourcePolicyDAO.findByDsoIdsAndAction(c, chunk, actionID));
+        }
+        return policies;
+    }
 }
@@ -466,4 +466,25 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return query.getResultList();
 
     }
+
+    @Override
+    public List<ResourcePolicy> findByDsoIdsAndAction(Context context, List<UUID> dsoIds, int actionID)
+        throws SQLException {
+
+        if (CollectionUtils.isEmpty(dsoIds)) {
+            return emptyList();
+        }
+
+        String sqlQuery = ""
+            + " SELECT policy FROM ResourcePolicy policy "
+            + "   LEFT JOIN FETCH policy.eperson "
+            + "   LEFT JOIN FETCH policy.epersonGroup "
+            + "  WHERE policy.dSpaceObject.id in (:dsoIds) "
+            + "    AND policy.actionId = :actionId";
+
+        Query query = createQuery(context, sqlQuery);
+        query.setParameter("dsoIds", dsoIds);
+        query.setParameter("actionId", actionID);
+        return list(query);
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.authorize.factory;
 
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -26,6 +27,8 @@ public abstract class AuthorizeServiceFactory {
 
     public abstract UploadConfigurationService getUploadConfigurationService();
 
+    public abstract AuthorizationDecisionCacheService getAuthorizationDecisionCacheService();
+
     public static AuthorizeServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("authorizeServiceFactory", AuthorizeServiceFactory.class);
@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.service;
+
+import org.dspace.authorize.AuthorizationCacheInvalidation;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.event.Event;
+
+/**
+ * Service interface of the authorization decision cache shared by all the contexts of the JVM.
+ * <p>
+ * Unlike the cache of a read-only {@link Context}, the decisions stored here outlive the request that computed
+ * them, so they are invalidated when the transactions changing resource policies, group memberships or the position
+ * of objects are committed. The changes are tracked through the events added to the {@link Context}.
+ */
+public interface AuthorizationDecisionCacheService {
+
+    /**
+     * @return true if the shared authorization decision cache is enabled
+     */
+    public boolean isEnabled();
+
+    /**
+     * Check if the decisions taken in the given context can be read from and stored in the shared cache. This is
+     * not the case if the context has special groups, which are bound to the request, or uncommitted changes.
+     *
+     * @param context the DSpace context
+     * @return true if the shared cache can be used for the given context
+     */
+    public boolean isCacheable(Context context);
+
+    /**
+     * Get the current generation of the cache, to be passed to
+     * {@link #put(long, EPerson, DSpaceObject, int, boolean, boolean)} once the decision is computed.
+     *
+     * @return the current generation of the cache
+     */
+    public long getGeneration();
+
+    /**
+     * Get a cached authorization decision.
+     *
+     * @param eperson        the eperson, null for anonymous
+     * @param dso            the object
+     * @param action         the action
+     * @param useInheritance whether the ADMIN rights on the parent objects were considered
+     * @return the cached decision, null if unknown
+     */
+    public Boolean get(EPerson eperson, DSpaceObject dso, int action, boolean useInheritance);
+
+    /**
+     * Store an authorization decision. The decision is discarded if any invalidation happened since the given
+     * generation was read, as it could have been computed from stale data.
+     *
+     * @param generation     the generation of the cache read before computing the decision
+     * @param eperson        the eperson, null for anonymous
+     * @param dso            the object
+     * @param action         the action
+     * @param useInheritance whether the ADMIN rights on the parent objects were considered
+     * @param authorized     the decision
+     */
+    public void put(long generation, EPerson eperson, DSpaceObject dso, int action, boolean useInheritance,
+                    boolean authorized);
+
+    /**
+     * Record in the given invalidation the cached decisions that can be affected by the given event.
+     *
+     * @param event        the event added to a context
+     * @param invalidation the pending invalidation of the context
+     */
+    public void collect(Event event, AuthorizationCacheInvalidation invalidation);
+
+    /**
+     * Invalidate the cached decisions recorded in the given invalidation. To be called once the changes are
+     * committed to the database.
+     *
+     * @param invalidation the invalidation to apply
+     */
+    public void invalidate(AuthorizationCacheInvalidation invalidation);
+
+    /**
+     * Invalidate all the cached decisions.
+     */
+    public void clear();
+
+    /**
+     * @return the number of cached decisions
+     */
+    public long size();
+
+    /**
+     * @return the number of lookups answered by the cache
+     */
+    public long getHits();
+
+    /**
+     * @return the number of lookups not answered by the cache
+     */
+    public long getMisses();
+
+    /**
+     * @return the number of decisions evicted because the cache was full
+     */
+    public long getEvictions();
+
+    /**
+     * @return the number of invalidations applied to the cache
+     */
+    public long getInvalidations();
+}
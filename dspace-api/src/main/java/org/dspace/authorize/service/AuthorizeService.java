@@ -10,6 +10,7 @@ package org.dspace.authorize.service;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -156,6 +157,25 @@ public interface AuthorizeService {
     public boolean authorizeActionBoolean(Context c, EPerson e, DSpaceObject o, int a, boolean useInheritance)
         throws SQLException;
 
+    /**
+     * Bulk version of {@link #authorizeActionBoolean(Context, DSpaceObject, int)}, meant for the lists of objects
+     * shown in a page. The policies of all the objects and the groups of the current user are loaded with a few
+     * queries instead of some queries per object; only the objects whose decision depends on more than their own
+     * policies (e.g. inherited ADMIN rights or items still in submission) are then checked one by one.
+     * <p>
+     * The decisions are cached in the context, so that the following single object checks for the same action
+     * and user are answered without queries until the context is changed.
+     *
+     * @param c    DSpace context, containing current user
+     * @param dsos the objects to check, null elements are ignored
+     * @param a    action being attempted, from
+     *             <code>org.dspace.core.Constants</code>
+     * @return the decisions by object id
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Map<UUID, Boolean> authorizeActionBoolean(Context c, List<? extends DSpaceObject> dsos, int a)
+        throws SQLException;
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
@@ -326,4 +326,17 @@ public interface ResourcePolicyService {
      */
     List<ResourcePolicyOwnerVO> findValidPolicyOwners(Context c, List<UUID> dsoIds, int actionID) throws SQLException;
 
+
+    /**
+     * Return all the policies for a list of objects that match the action. The
+     * objects are queried in chunks, so the list can be of any size.
+     *
+     * @param  c            context
+     * @param  dsoIds       DSpaceObject ids policies relate to
+     * @param  actionID     action (defined in class Constants)
+     * @return              list of resource policies
+     * @throws SQLException if there's a database problem
+     */
+    List<ResourcePolicy> findByResourceUuidsAndActionId(Context c, List<UUID> dsoIds, int actionID)
+        throws SQLException;
 }
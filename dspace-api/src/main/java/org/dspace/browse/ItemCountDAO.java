@@ -7,6 +7,10 @@
  */
 package org.dspace.browse;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 
@@ -26,4 +30,19 @@ public interface ItemCountDAO {
      * @return count
      */
     int getCount(Context context, DSpaceObject dso);
+
+    /**
+     * Get the number of items in each of the given DSpaceObject containers.
+     *
+     * @param context DSpace context
+     * @param dsos the communities and collections
+     * @return the count of each container, by id
+     */
+    default Map<UUID, Integer> getCounts(Context context, java.util.Collection<? extends DSpaceObject> dsos) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (DSpaceObject dso : dsos) {
+            counts.put(dso.getID(), getCount(context, dso));
+        }
+        return counts;
+    }
 }
@@ -7,9 +7,16 @@
  */
 package org.dspace.browse;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
@@ -24,12 +31,21 @@ import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Discovery (Solr) driver implementing ItemCountDAO interface to look up item
- * count information in communities and collections. Caching operations are
- * intentionally not implemented because Solr already is our cache.
+ * count information in communities and collections.
+ * <p>
+ * The counts of all the communities and collections are obtained with a single facet query and kept in an
+ * immutable snapshot shared by all the instances of this bean. The snapshot is loaded again when it is older than
+ * <code>webui.strengths.cache.max-age</code> seconds, or after the next lookup once the discovery index has been
+ * committed (see {@link #invalidateCounts()}).
+ * <p>
+ * As the snapshot is shared by all the users, it is loaded as an anonymous user, whatever the user of the context
+ * of the lookup. The query runs on a dedicated thread with its own context, so that it does not touch the database
+ * session of the caller. If the query fails, the previous snapshot is kept.
  */
 public class ItemCountDAOSolr implements ItemCountDAO {
     /**
@@ -38,18 +54,23 @@ public class ItemCountDAOSolr implements ItemCountDAO {
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemCountDAOSolr.class);
 
     /**
-     * Hold the communities item count obtained from SOLR after the first query. This only works
-     * well if the ItemCountDAO lifecycle is bound to the request lifecycle as
-     * it is now. If we switch to a Spring-based instantiation we should mark
-     * this bean as prototype
-     **/
-    private Map<String, Integer> communitiesCount = null;
+     * The counts shared by all the instances, null until loaded.
+     */
+    private static volatile Snapshot snapshot = null;
 
     /**
-     * Hold the collection item count obtained from SOLR after the first query
-     **/
-    private Map<String, Integer> collectionsCount = null;
+     * Incremented by each invalidation, so that counts queried before a commit of the index are loaded again.
+     */
+    private static final AtomicLong generation = new AtomicLong();
 
+    /**
+     * The thread loading the snapshots with an anonymous context.
+     */
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-count-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Solr search service
@@ -57,6 +78,9 @@ public class ItemCountDAOSolr implements ItemCountDAO {
     @Autowired
     protected SearchService searchService;
 
+    @Autowired
+    protected ConfigurationService configurationService;
+
     /**
      * Get the count of the items in the given container.
      *
@@ -66,34 +90,86 @@ public class ItemCountDAOSolr implements ItemCountDAO {
      */
     @Override
     public int getCount(Context context, DSpaceObject dso) {
-        loadCount(context);
-        Integer val = null;
-        if (dso instanceof Collection) {
-            val = collectionsCount.get(dso.getID().toString());
-        } else if (dso instanceof Community) {
-            val = communitiesCount.get(dso.getID().toString());
-        }
+        return loadCount().getCount(dso);
+    }
 
-        if (val != null) {
-            return val;
-        } else {
-            return 0;
+    @Override
+    public Map<UUID, Integer> getCounts(Context context, java.util.Collection<? extends DSpaceObject> dsos) {
+        Snapshot counts = loadCount();
+        Map<UUID, Integer> result = new HashMap<>();
+        for (DSpaceObject dso : dsos) {
+            result.put(dso.getID(), counts.getCount(dso));
         }
+        return result;
+    }
+
+    /**
+     * Mark the shared counts as stale, so that they are loaded again from Solr by the next lookup. Called when the
+     * discovery index is committed.
+     */
+    public static void invalidateCounts() {
+        generation.incrementAndGet();
     }
 
     /**
-     * make sure that the counts are actually fetched from Solr (if haven't been
-     * cached in a Map yet)
+     * make sure that the counts are actually fetched from Solr (if the shared snapshot is missing or stale)
      *
-     * @param context DSpace Context
+     * @return the current counts
+     */
+    private Snapshot loadCount() {
+        long maxAge = TimeUnit.SECONDS.toNanos(configurationService.getLongProperty("webui.strengths.cache.max-age",
+                                                                                   300));
+        Snapshot current = snapshot;
+        if (isFresh(current, maxAge)) {
+            return current;
+        }
+        synchronized (ItemCountDAOSolr.class) {
+            current = snapshot;
+            if (isFresh(current, maxAge)) {
+                // loaded by another thread in the meantime
+                return current;
+            }
+            long queriedGeneration = generation.get();
+            try {
+                // an invalidation during the query leaves the new snapshot stale, so it is loaded again next time
+                snapshot = loadAsAnonymous(queriedGeneration);
+                return snapshot;
+            } catch (SearchServiceException e) {
+                log.error("Could not load Community/Collection Item Counts from Solr, using the previous ones: ", e);
+                return current != null ? current : Snapshot.EMPTY;
+            }
+        }
+    }
+
+    private boolean isFresh(Snapshot current, long maxAge) {
+        return current != null && current.generation == generation.get() && !current.isOlderThan(maxAge);
+    }
+
+    /**
+     * Query the counts on the loader thread, with a new anonymous context.
      */
-    private void loadCount(Context context) {
-        if (communitiesCount != null || collectionsCount != null) {
-            return;
+    private Snapshot loadAsAnonymous(long queriedGeneration) throws SearchServiceException {
+        try {
+            return loader.submit(() -> {
+                try (Context context = new Context(Context.Mode.READ_ONLY)) {
+                    return querySolr(context, queriedGeneration);
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SearchServiceException) {
+                throw (SearchServiceException) e.getCause();
+            }
+            throw new SearchServiceException(e.getCause());
         }
+    }
 
-        communitiesCount = new HashMap<>();
-        collectionsCount = new HashMap<>();
+    private Snapshot querySolr(Context context, long queriedGeneration) throws SearchServiceException {
+        Map<String, Integer> communitiesCount = new HashMap<>();
+        Map<String, Integer> collectionsCount = new HashMap<>();
+        long loadedAt = System.nanoTime();
 
         DiscoverQuery query = new DiscoverQuery();
         query.setFacetMinCount(1);
@@ -109,19 +185,59 @@ public class ItemCountDAOSolr implements ItemCountDAO {
         query.addFilterQueries("archived:true");  // only archived
         query.setMaxResults(0);
 
-        DiscoverResult sResponse;
-        try {
-            sResponse = searchService.search(context, query);
-            List<FacetResult> commCount = sResponse.getFacetResult("location.comm");
-            List<FacetResult> collCount = sResponse.getFacetResult("location.coll");
-            for (FacetResult c : commCount) {
-                communitiesCount.put(c.getAsFilterQuery(), (int) c.getCount());
-            }
-            for (FacetResult c : collCount) {
-                collectionsCount.put(c.getAsFilterQuery(), (int) c.getCount());
+        DiscoverResult sResponse = searchService.search(context, query);
+        List<FacetResult> commCount = sResponse.getFacetResult("location.comm");
+        List<FacetResult> collCount = sResponse.getFacetResult("location.coll");
+        for (FacetResult c : commCount) {
+            communitiesCount.put(c.getAsFilterQuery(), (int) c.getCount());
+        }
+        for (FacetResult c : collCount) {
+            collectionsCount.put(c.getAsFilterQuery(), (int) c.getCount());
+        }
+        return new Snapshot(communitiesCount, collectionsCount, loadedAt, queriedGeneration);
+    }
+
+    /**
+     * Immutable item counts of all the communities and collections at a given time.
+     */
+    private static final class Snapshot {
+
+        /**
+         * No counts, returned when nothing could be loaded from Solr yet.
+         */
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), 0, -1);
+
+        private final Map<String, Integer> communitiesCount;
+
+        private final Map<String, Integer> collectionsCount;
+
+        private final long loadedAt;
+
+        /**
+         * The invalidation generation at the time of the query.
+         */
+        private final long generation;
+
+        private Snapshot(Map<String, Integer> communitiesCount, Map<String, Integer> collectionsCount,
+                         long loadedAt, long generation) {
+            this.communitiesCount = Collections.unmodifiableMap(communitiesCount);
+            this.collectionsCount = Collections.unmodifiableMap(collectionsCount);
+            this.loadedAt = loadedAt;
+            this.generation = generation;
+        }
+
+        private boolean isOlderThan(long maxAge) {
+            return System.nanoTime() - loadedAt > maxAge;
+        }
+
+        private int getCount(DSpaceObject dso) {
+            Integer val = null;
+            if (dso instanceof Collection) {
+                val = collectionsCount.get(dso.getID().toString());
+            } else if (dso instanceof Community) {
+                val = communitiesCount.get(dso.getID().toString());
             }
-        } catch (SearchServiceException e) {
-            log.error("Could not initialize Community/Collection Item Counts from Solr: ", e);
+            return val != null ? val : 0;
         }
     }
 }
@@ -8,6 +8,9 @@
 package org.dspace.browse;
 
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
@@ -65,15 +68,43 @@ public class ItemCounter {
         }
 
         if (useCache) {
-            // NOTE: This bean is NOT Autowired above because it's a "prototype" bean which we want to reload
-            // occasionally. Each time the bean reloads it will update the cached item counts.
-            ItemCountDAO dao =
-                DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName("itemCountDAO",
-                                                                                         ItemCountDAO.class);
-            return dao.getCount(context, dso);
+            return getItemCountDAO().getCount(context, dso);
         }
 
-        // if we make it this far, we need to manually count
+        return countItems(context, dso);
+    }
+
+    /**
+     * Get the counts of the items in the given containers, with the same rules as
+     * {@link #getCount(Context, DSpaceObject)}. When the cache is used, all the counts
+     * are read from the same snapshot.
+     *
+     * @param context DSpace Context
+     * @param dsos the communities and collections
+     * @return the count of each container by id (-1 if it could not be determined or is disabled)
+     */
+    public Map<UUID, Integer> getCounts(Context context, java.util.Collection<? extends DSpaceObject> dsos) {
+        boolean showStrengths = configurationService.getBooleanProperty("webui.strengths.show", false);
+        boolean useCache = configurationService.getBooleanProperty("webui.strengths.cache", true);
+        if (showStrengths && useCache) {
+            return getItemCountDAO().getCounts(context, dsos);
+        }
+
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (DSpaceObject dso : dsos) {
+            counts.put(dso.getID(), showStrengths ? countItems(context, dso) : -1);
+        }
+        return counts;
+    }
+
+    private ItemCountDAO getItemCountDAO() {
+        // NOTE: This bean is NOT Autowired above because it's a "prototype" bean. The Solr implementation shares
+        // its counts between instances and reloads them when they are too old or the index has been committed.
+        return DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName("itemCountDAO",
+                                                                                        ItemCountDAO.class);
+    }
+
+    private int countItems(Context context, DSpaceObject dso) {
         if (dso instanceof Collection) {
             try {
                 return itemService.countItems(context, (Collection) dso);
@@ -10,7 +10,13 @@ package org.dspace.checker;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.logging.log4j.Logger;
@@ -20,7 +26,7 @@ import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
-import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
 /**
@@ -55,7 +61,6 @@ public final class CheckerCommand {
      * Checksum history Data access object
      */
     private ChecksumHistoryService checksumHistoryService = null;
-    private BitstreamStorageService bitstreamStorageService = null;
     private ChecksumResultService checksumResultService = null;
 
     /**
@@ -78,6 +83,16 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of threads computing the checksums, 1 to check the bitstreams one at a time
+     */
+    private int threads = 1;
+
+    /**
+     * Computes the checksums within the configured throughput and IOPS limits
+     */
+    private final ChecksumCalculator calculator;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -86,8 +101,8 @@ public final class CheckerCommand {
     public CheckerCommand(Context context) {
         checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
-        bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
+        calculator = new ChecksumCalculator();
         this.context = context;
     }
 
@@ -120,6 +135,11 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processInParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
@@ -136,6 +156,75 @@ public final class CheckerCommand {
         }
     }
 
+    /**
+     * Check the bitstreams returned by the dispatcher in batches of <code>checker.parallel.batch-size</code>
+     * bitstreams. The checksums of a batch are computed by the worker threads while the dispatcher, the database and
+     * the collector are only used by the calling thread, and the results of each batch are committed together.
+     * <p>
+     * Each bitstream is reserved as soon as it is dispatched by setting its process dates, so that the dispatcher
+     * doesn't return it again before its checksum has been recorded.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        int batchSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                             .getIntProperty("checker.parallel.batch-size", 100);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null) {
+                List<MostRecentChecksum> batch = new ArrayList<>(batchSize);
+                List<Future<Map<String, Object>>> checksums = new ArrayList<>(batchSize);
+                while (bitstream != null && batch.size() < batchSize) {
+                    LOG.debug("Dispatching bitstream id = " + bitstream.getID());
+                    MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                    if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                        Instant now = Instant.now();
+                        info.setProcessStartDate(now);
+                        info.setProcessEndDate(now);
+                        Bitstream toCheck = info.getBitstream();
+                        checksums.add(executor.submit(() -> calculator.computeChecksum(context, toCheck)));
+                    } else {
+                        info = checkBitstream(bitstream);
+                        checksums.add(null);
+                    }
+                    batch.add(info);
+                    bitstream = dispatcher.next();
+                }
+
+                for (int i = 0; i < batch.size(); i++) {
+                    MostRecentChecksum info = batch.get(i);
+                    Future<Map<String, Object>> checksum = checksums.get(i);
+                    if (checksum != null) {
+                        recordChecksum(info, () -> getChecksum(checksum));
+                    }
+                    if (reportVerbose
+                        || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+                        collector.collect(context, info);
+                    }
+                }
+
+                context.commit();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> getChecksum(Future<Map<String, Object>> checksum) throws IOException {
+        try {
+            return checksum.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -243,9 +332,19 @@ public final class CheckerCommand {
      */
     protected void processBitstream(MostRecentChecksum info) throws SQLException {
         info.setProcessStartDate(Instant.now());
+        recordChecksum(info, () -> calculator.computeChecksum(context, info.getBitstream()));
+    }
 
+    /**
+     * Compare the checksum computed by the given supplier with the expected one, and record the result in db.
+     *
+     * @param info     BitstreamInfo to handle
+     * @param checksum supplier of the checksum map of the bitstream
+     * @throws SQLException if database error
+     */
+    protected void recordChecksum(MostRecentChecksum info, ChecksumSupplier checksum) throws SQLException {
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
+            Map<String, Object> checksumMap = checksum.get();
             if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
                 if (checksumMap.containsKey("checksum")) {
@@ -345,6 +444,25 @@ public final class CheckerCommand {
         processStartDate = startDate;
     }
 
+    /**
+     * Get the number of threads computing the checksums.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of threads computing the checksums. With more than one thread the bitstreams are checked
+     * in batches, see {@link #processInParallel()}.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * Determine if any errors are reported
      *
@@ -362,4 +480,13 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Supplier of the checksum map of a bitstream, as returned by
+     * {@link BitstreamStorageService#computeChecksum(Context, Bitstream)}.
+     */
+    @FunctionalInterface
+    protected interface ChecksumSupplier {
+        Map<String, Object> get() throws IOException, SQLException;
+    }
 }
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+
+/**
+ * Computes the checksums of bitstreams on behalf of the checksum checker, serial or parallel.
+ * <p>
+ * The bitstreams kept in local files are read through a {@link FileChannel} into a large direct buffer owned by
+ * each thread, the others are delegated to their store. The reads of all the threads share the throughput and
+ * IOPS limits configured by <code>checker.throttle.mb-per-second</code> and <code>checker.throttle.iops</code>,
+ * so that the checker doesn't starve the other users of the assetstore. Instances are thread-safe.
+ */
+public class ChecksumCalculator {
+
+    private static final String DEFAULT_ALGORITHM = "MD5";
+
+    private final BitstreamStorageService bitstreamStorageService =
+        StorageServiceFactory.getInstance().getBitstreamStorageService();
+
+    private final int bufferSize;
+
+    private final RateLimiter bytesLimiter;
+
+    private final RateLimiter readsLimiter;
+
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    public ChecksumCalculator() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        bufferSize = configurationService.getIntProperty("checker.parallel.buffer-size", 1024 * 1024);
+        int mbPerSecond = configurationService.getIntProperty("checker.throttle.mb-per-second", 0);
+        int iops = configurationService.getIntProperty("checker.throttle.iops", 0);
+        bytesLimiter = mbPerSecond > 0 ? RateLimiter.create(mbPerSecond * 1024.0 * 1024.0) : null;
+        readsLimiter = iops > 0 ? RateLimiter.create(iops) : null;
+        buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+    }
+
+    /**
+     * Compute the checksum of the given bitstream.
+     *
+     * @param context   the DSpace context, not used for local files
+     * @param bitstream the bitstream
+     * @return a map with the checksum and the checksum algorithm, null or empty if the bitstream was not found
+     * @throws IOException if the bitstream can't be read
+     * @see BitstreamStorageService#computeChecksum(Context, Bitstream)
+     */
+    public Map<String, Object> computeChecksum(Context context, Bitstream bitstream) throws IOException {
+        Path path = bitstreamStorageService.getLocalPath(context, bitstream);
+        if (path == null) {
+            acquireRead(0);
+            return bitstreamStorageService.computeChecksum(context, bitstream);
+        }
+
+        String algorithm = StringUtils.defaultIfBlank(bitstream.getChecksumAlgorithm(), DEFAULT_ALGORITHM);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Invalid checksum algorithm " + algorithm, e);
+        }
+
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                acquireRead(read);
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+
+        Map<String, Object> checksumMap = new HashMap<>();
+        checksumMap.put("checksum", Utils.toHex(digest.digest()));
+        checksumMap.put("checksum_algorithm", algorithm);
+        return checksumMap;
+    }
+
+    private void acquireRead(int bytes) {
+        if (readsLimiter != null) {
+            readsLimiter.acquire();
+        }
+        if (bytesLimiter != null && bytes > 0) {
+            bytesLimiter.acquire(bytes);
+        }
+    }
+}
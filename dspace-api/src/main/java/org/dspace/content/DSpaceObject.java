@@ -85,6 +85,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modifiedMetadata = false;
 
+    /**
+     * Index of the metadata values by field, built on demand and discarded when the metadata are modified
+     */
+    @Transient
+    private transient MetadataIndex metadataIndex;
+
     /**
      * Flag set when data is modified, for events
      */
@@ -220,6 +226,28 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        this.metadataIndex = null;
+    }
+
+    /**
+     * Get the index of the metadata values by field, (re)building it if the metadata have been modified since it
+     * was built.
+     *
+     * @return the index of the current metadata values
+     */
+    protected MetadataIndex getMetadataIndex() {
+        List<MetadataValue> values = getMetadata();
+        if (metadataIndex == null || !metadataIndex.isValidFor(values)) {
+            metadataIndex = new MetadataIndex(values);
+        }
+        return metadataIndex;
+    }
+
+    /**
+     * Discard the index of the metadata values, e.g. when the field of a value changes.
+     */
+    protected void invalidateMetadataIndex() {
+        metadataIndex = null;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -249,6 +277,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        invalidateMetadataIndex();
     }
 
     public boolean isModified() {
@@ -126,11 +126,14 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
-        // Build up list of matching values
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
-            if (match(schema, element, qualifier, dcv)) {
-                values.add(dcv);
+        // Look up the matching values in the index, or scan them for wildcard schemas and elements
+        List<MetadataValue> values = dso.getMetadataIndex().find(schema, element, qualifier);
+        if (values == null) {
+            values = new ArrayList<>();
+            for (MetadataValue dcv : dso.getMetadata()) {
+                if (match(schema, element, qualifier, dcv)) {
+                    values.add(dcv);
+                }
             }
         }
 
@@ -113,6 +113,9 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private List<MetadataValue> cachedMetadata = new ArrayList<>();
 
+    @Transient
+    private transient MetadataIndex cachedMetadataIndex;
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.content.service.ItemService#create(Context, WorkspaceItem)}
@@ -398,6 +401,25 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
 
     protected void setCachedMetadata(List<MetadataValue> cachedMetadata) {
         this.cachedMetadata = cachedMetadata;
+        this.cachedMetadataIndex = null;
         modifiedMetadataCache = false;
     }
+
+    /**
+     * Get the index by field of the cached metadata values, including the virtual ones.
+     *
+     * @return the index of the cached metadata values
+     */
+    protected MetadataIndex getCachedMetadataIndex() {
+        if (cachedMetadataIndex == null || !cachedMetadataIndex.isValidFor(cachedMetadata)) {
+            cachedMetadataIndex = new MetadataIndex(cachedMetadata);
+        }
+        return cachedMetadataIndex;
+    }
+
+    @Override
+    protected void invalidateMetadataIndex() {
+        super.invalidateMetadataIndex();
+        cachedMetadataIndex = null;
+    }
 }
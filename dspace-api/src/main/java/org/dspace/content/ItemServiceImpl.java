@@ -2056,6 +2056,17 @@ prevent the generation of resource policy entry values with null dspace_object a
         return itemDAO.findByLastModifiedSince(context, last);
     }
 
+    @Override
+    public List<Item> findByLastModifiedSince(Context context, Instant since, UUID lastId, int pageSize)
+        throws SQLException {
+        return itemDAO.findByLastModifiedSince(context, since, lastId, pageSize);
+    }
+
+    @Override
+    public List<UUID> findUnfilteredIds(Context context, UUID lastId, int pageSize) throws SQLException {
+        return itemDAO.findUnfilteredIds(context, lastId, pageSize);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return itemDAO.countRows(context);
@@ -2165,10 +2176,13 @@ prevent the generation of resource policy entry values with null dspace_object a
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
         // Build up list of matching values based on the cache
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
-            if (match(schema, element, qualifier, dcv)) {
-                values.add(dcv);
+        List<MetadataValue> values = item.getCachedMetadataIndex().find(schema, element, qualifier);
+        if (values == null) {
+            values = new ArrayList<>();
+            for (MetadataValue dcv : item.getCachedMetadata()) {
+                if (match(schema, element, qualifier, dcv)) {
+                    values.add(dcv);
+                }
             }
         }
 
@@ -0,0 +1,108 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of the metadata values of a {@link DSpaceObject} by field, so that looking up the values of a field
+ * doesn't scan all the values of the object. The values of each field keep the order of the indexed list.
+ * <p>
+ * Lookups with a wildcard qualifier are answered from the index, lookups with a wildcard schema or element are
+ * not and need a scan of the values. An index is built for a given list of values and must be discarded when the
+ * list is modified, see {@link #isValidFor(List)}.
+ */
+public class MetadataIndex {
+
+    private final List<MetadataValue> values;
+
+    private final int size;
+
+    /**
+     * Values by schema, element and qualifier.
+     */
+    private final Map<String, List<MetadataValue>> valuesByField = new HashMap<>();
+
+    /**
+     * Values by schema and element, whatever their qualifier.
+     */
+    private final Map<String, List<MetadataValue>> valuesByElement = new HashMap<>();
+
+    /**
+     * False if some value can't be indexed, e.g. because its field or schema isn't set yet.
+     */
+    private boolean indexed = true;
+
+    public MetadataIndex(List<MetadataValue> values) {
+        this.values = values;
+        this.size = values.size();
+        for (MetadataValue value : values) {
+            MetadataField field = value.getMetadataField();
+            if (field == null || field.getMetadataSchema() == null) {
+                indexed = false;
+                valuesByField.clear();
+                valuesByElement.clear();
+                return;
+            }
+            String element = elementKey(field.getMetadataSchema().getName(), field.getElement());
+            valuesByElement.computeIfAbsent(element, key -> new ArrayList<>()).add(value);
+            valuesByField.computeIfAbsent(fieldKey(element, field.getQualifier()), key -> new ArrayList<>())
+                         .add(value);
+        }
+    }
+
+    /**
+     * Check that the index still matches the given list of values.
+     *
+     * @param values the current metadata values of the object
+     * @return true if the index has been built from this list, and the list hasn't grown or shrunk since then
+     */
+    public boolean isValidFor(List<MetadataValue> values) {
+        return this.values == values && this.size == values.size();
+    }
+
+    /**
+     * Find the values of the given field, with the semantics of the scan done by
+     * {@link DSpaceObjectServiceImpl#match(String, String, String, MetadataValue)}: a blank qualifier matches
+     * unqualified values only and {@link Item#ANY} matches any qualifier.
+     *
+     * @param schema    the schema name
+     * @param element   the element
+     * @param qualifier the qualifier
+     * @return a new list with the matching values, or null if the lookup can't be answered by the index
+     */
+    public List<MetadataValue> find(String schema, String element, String qualifier) {
+        if (!indexed || schema == null || element == null || Item.ANY.equals(schema) || Item.ANY.equals(element)) {
+            return null;
+        }
+        String elementKey = elementKey(schema, element);
+        List<MetadataValue> found;
+        if (StringUtils.isBlank(qualifier)) {
+            found = valuesByField.get(fieldKey(elementKey, null));
+        } else if (Item.ANY.equals(qualifier)) {
+            found = valuesByElement.get(elementKey);
+        } else {
+            found = valuesByField.get(fieldKey(elementKey, qualifier));
+        }
+        return found != null ? new ArrayList<>(found) : new ArrayList<>();
+    }
+
+    private static String elementKey(String schema, String element) {
+        return schema + "." + element;
+    }
+
+    private static String fieldKey(String elementKey, String qualifier) {
+        // values without qualifier don't share the key of the values with an empty qualifier
+        return qualifier == null ? elementKey : elementKey + ".." + qualifier;
+    }
+}
@@ -178,6 +178,10 @@ public class MetadataValue implements ReloadableEntity<Integer> {
 
     public void setMetadataField(MetadataField metadataField) {
         this.metadataField = metadataField;
+        if (dSpaceObject != null) {
+            // the value moves to another field of the index
+            dSpaceObject.invalidateMetadataIndex();
+        }
     }
 
     /**
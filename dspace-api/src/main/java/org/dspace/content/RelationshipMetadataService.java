@@ -8,7 +8,9 @@
 package org.dspace.content;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Context;
@@ -30,6 +32,38 @@ public interface RelationshipMetadataService {
      */
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata);
 
+    /**
+     * Retrieves a page of the virtual metadata values of one field of the given Item, ordered by place, so that
+     * the values of items with many relationships can be read in chunks (e.g. by the REST API).
+     *
+     * @param context The context
+     * @param item    The Item whose virtual metadata is requested
+     * @param field   The field of the values, as schema.element or schema.element.qualifier
+     * @param offset  The index of the first value to return
+     * @param limit   The maximum number of values to return, -1 for all of them
+     * @return        The requested values of the field
+     */
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item, String field,
+                                                                   int offset, int limit);
+
+    /**
+     * Counts the virtual metadata values of one field of the given Item.
+     *
+     * @param context The context
+     * @param item    The Item whose virtual metadata is requested
+     * @param field   The field of the values, as schema.element or schema.element.qualifier
+     * @return        The number of values of the field
+     */
+    public int countRelationshipMetadata(Context context, Item item, String field);
+
+    /**
+     * Invalidates the cached virtual metadata of the given Items and of the Items related to them, when the
+     * virtual metadata cache is enabled with <code>item.virtual-metadata.cache.enabled</code>.
+     *
+     * @param itemIds The ids of the Items whose relationships or metadata changed
+     */
+    public void invalidateRelationshipMetadata(Collection<UUID> itemIds);
+
     /**
      * Retrieves the list of RelationshipMetadataValue objects specific to only one Relationship of the item.
      *
@@ -11,11 +11,17 @@ import static org.dspace.content.RelationshipType.Tilted.LEFT;
 import static org.dspace.content.RelationshipType.Tilted.RIGHT;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -26,10 +32,13 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.content.virtual.VirtualMetadataCache;
 import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class RelationshipMetadataServiceImpl implements RelationshipMetadataService {
@@ -54,9 +63,149 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
     @Autowired(required = true)
     protected MetadataFieldService metadataFieldService;
 
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    /**
+     * The shared cache of the virtual metadata, created the first time it is enabled.
+     */
+    private volatile VirtualMetadataCache virtualMetadataCache;
+
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
         Context context = new Context();
+        VirtualMetadataCache cache = getVirtualMetadataCache();
+        // only the full virtual metadata, as read by ItemService#getMetadata, is cached
+        if (cache == null || !enableVirtualMetadata) {
+            return computeRelationshipMetadata(context, item, enableVirtualMetadata);
+        }
+        return getCachedRelationshipMetadata(context, cache, item);
+    }
+
+    @Override
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item, String field,
+                                                                   int offset, int limit) {
+        List<RelationshipMetadataValue> values = getFieldRelationshipMetadata(context, item, field);
+        int from = Math.min(Math.max(offset, 0), values.size());
+        int to = limit < 0 ? values.size() : (int) Math.min((long) from + limit, values.size());
+        return new ArrayList<>(values.subList(from, to));
+    }
+
+    @Override
+    public int countRelationshipMetadata(Context context, Item item, String field) {
+        return getFieldRelationshipMetadata(context, item, field).size();
+    }
+
+    @Override
+    public void invalidateRelationshipMetadata(Collection<UUID> itemIds) {
+        VirtualMetadataCache cache = virtualMetadataCache;
+        if (cache != null) {
+            cache.invalidate(itemIds);
+        }
+    }
+
+    /**
+     * Get the virtual metadata of the given field, ordered by place.
+     */
+    private List<RelationshipMetadataValue> getFieldRelationshipMetadata(Context context, Item item, String field) {
+        VirtualMetadataCache cache = getVirtualMetadataCache();
+        List<RelationshipMetadataValue> values = cache != null ? getCachedRelationshipMetadata(context, cache, item)
+            : computeRelationshipMetadata(context, item, true);
+        return values.stream()
+                     .filter(value -> Objects.equals(value.getMetadataField().toString('.'), field))
+                     .sorted(Comparator.comparingInt(RelationshipMetadataValue::getPlace))
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the virtual metadata of the item from the shared cache, computing and caching it if needed.
+     */
+    private List<RelationshipMetadataValue> getCachedRelationshipMetadata(Context context, VirtualMetadataCache cache,
+                                                                          Item item) {
+        List<VirtualMetadataCache.Value> cached = cache.get(item.getID());
+        if (cached != null) {
+            List<RelationshipMetadataValue> values = toRelationshipMetadataValues(context, item, cached);
+            if (values != null) {
+                return values;
+            }
+        }
+        long generation = cache.getGeneration();
+        // the items read by the computation, also through more than one relationship
+        Set<UUID> relatedItems = new HashSet<>();
+        List<RelationshipMetadataValue> values = VirtualMetadataCache.trackDependencies(relatedItems,
+            () -> computeRelationshipMetadata(context, item, true));
+        relatedItems.remove(item.getID());
+        List<VirtualMetadataCache.Value> projection = new ArrayList<>(values.size());
+        for (RelationshipMetadataValue value : values) {
+            projection.add(new VirtualMetadataCache.Value(value.getMetadataField().getID(), value.getValue(),
+                value.getAuthority(), value.getConfidence(), value.getPlace(), value.isUseForPlace()));
+            // the relation.* values hold the ids of the related items whose metadata is copied to this item
+            if (MetadataSchemaEnum.RELATION.getName().equals(value.getMetadataField().getMetadataSchema().getName())) {
+                UUID relatedItem = UUIDUtils.fromString(value.getValue());
+                if (relatedItem != null) {
+                    relatedItems.add(relatedItem);
+                }
+            }
+        }
+        cache.put(generation, item.getID(), projection, relatedItems);
+        return values;
+    }
+
+    /**
+     * Rebuild the metadata values of the item from their cached projection.
+     *
+     * @return the values, or null if some of their fields don't exist anymore
+     */
+    private List<RelationshipMetadataValue> toRelationshipMetadataValues(Context context, Item item,
+                                                                         List<VirtualMetadataCache.Value> cached) {
+        List<RelationshipMetadataValue> values = new LinkedList<>();
+        try {
+            for (VirtualMetadataCache.Value value : cached) {
+                MetadataField metadataField = metadataFieldService.find(context, value.getFieldId());
+                if (metadataField == null) {
+                    return null;
+                }
+                RelationshipMetadataValue metadataValue = new RelationshipMetadataValue();
+                metadataValue.setMetadataField(metadataField);
+                metadataValue.setValue(value.getValue());
+                metadataValue.setAuthority(value.getAuthority());
+                metadataValue.setConfidence(value.getConfidence());
+                metadataValue.setPlace(value.getPlace());
+                metadataValue.setUseForPlace(value.isUseForPlace());
+                metadataValue.setDSpaceObject(item);
+                values.add(metadataValue);
+            }
+        } catch (SQLException e) {
+            log.error("Lookup of the cached virtual metadata of item with uuid: " + item.getID() + " failed", e);
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * Get the shared virtual metadata cache, if enabled by <code>item.virtual-metadata.cache.enabled</code>.
+     */
+    private VirtualMetadataCache getVirtualMetadataCache() {
+        if (!configurationService.getBooleanProperty("item.virtual-metadata.cache.enabled", false)) {
+            return null;
+        }
+        if (virtualMetadataCache == null) {
+            synchronized (this) {
+                if (virtualMetadataCache == null) {
+                    virtualMetadataCache = new VirtualMetadataCache(
+                        configurationService.getIntProperty("item.virtual-metadata.cache.max-entries", 10000),
+                        configurationService.getLongProperty("item.virtual-metadata.cache.ttl", 3600));
+                }
+            }
+        }
+        return virtualMetadataCache;
+    }
+
+    /**
+     * Load the relationships of the item and compute their virtual metadata.
+     */
+    protected List<RelationshipMetadataValue> computeRelationshipMetadata(Context context, Item item,
+                                                                          boolean enableVirtualMetadata) {
         List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
         try {
             EntityType entityType = itemService.getEntityType(context, item);
@@ -59,6 +59,34 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     Iterator<Item> findByLastModifiedSince(Context context, Instant since)
         throws SQLException;
 
+    /**
+     * Find a page of the Items modified since a Date, ordered by last-modified date and id. The pages are
+     * identified by the last-modified date and the id of the last item of the previous page (keyset pagination), so
+     * that the cost of each page doesn't depend on the number of the items already read.
+     *
+     * @param context  Context
+     * @param since    Last-modified date of the last item of the previous page, or earliest interesting
+     *                 last-modified date (inclusive) for the first page
+     * @param lastId   Id of the last item of the previous page, null for the first page
+     * @param pageSize Max number of items to return
+     * @return the page of items
+     * @throws SQLException if database error
+     */
+    List<Item> findByLastModifiedSince(Context context, Instant since, UUID lastId, int pageSize)
+        throws SQLException;
+
+    /**
+     * Find a page of the ids of the archived or withdrawn Items, ordered by id. The pages are identified by the id
+     * of the last item of the previous page (keyset pagination).
+     *
+     * @param context  Context
+     * @param lastId   Id of the last item of the previous page, null for the first page
+     * @param pageSize Max number of ids to return
+     * @return the page of ids
+     * @throws SQLException if database error
+     */
+    List<UUID> findUnfilteredIds(Context context, UUID lastId, int pageSize) throws SQLException;
+
     Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException;
 
     /**
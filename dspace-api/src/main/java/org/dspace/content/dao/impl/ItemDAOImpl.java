@@ -511,6 +511,39 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     }
 
+    @Override
+    public List<Item> findByLastModifiedSince(Context context, Instant since, UUID lastId, int pageSize)
+        throws SQLException {
+        Query query;
+        if (lastId == null) {
+            query = createQuery(context,
+                "SELECT i FROM Item i WHERE i.lastModified >= :last_modified ORDER BY i.lastModified, i.id");
+        } else {
+            query = createQuery(context, "SELECT i FROM Item i WHERE i.lastModified > :last_modified " +
+                "OR (i.lastModified = :last_modified AND i.id > :last_id) ORDER BY i.lastModified, i.id");
+            query.setParameter("last_id", lastId);
+        }
+        query.setParameter("last_modified", since);
+        return list(query, pageSize, 0);
+    }
+
+    @Override
+    public List<UUID> findUnfilteredIds(Context context, UUID lastId, int pageSize) throws SQLException {
+        Query query;
+        if (lastId == null) {
+            query = createQuery(context,
+                "SELECT i.id FROM Item i WHERE i.inArchive=true OR i.withdrawn=true ORDER BY i.id");
+        } else {
+            query = createQuery(context, "SELECT i.id FROM Item i WHERE (i.inArchive=true OR i.withdrawn=true) " +
+                "AND i.id > :last_id ORDER BY i.id");
+            query.setParameter("last_id", lastId);
+        }
+        query.setMaxResults(pageSize);
+        @SuppressWarnings("unchecked")
+        List<UUID> uuids = query.getResultList();
+        return uuids;
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         return count(createQuery(context, "SELECT count(*) FROM Item"));
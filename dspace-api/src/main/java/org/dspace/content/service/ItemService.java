@@ -878,6 +878,33 @@ public interface ItemService
     Iterator<Item> findByLastModifiedSince(Context context, Instant last)
         throws SQLException;
 
+    /**
+     * Find a page of the Items modified since a Date, ordered by last-modified date and id, see
+     * {@link org.dspace.content.dao.ItemDAO#findByLastModifiedSince(Context, Instant, UUID, int)}.
+     *
+     * @param context  DSpace context object
+     * @param since    Last-modified date of the last item of the previous page, or earliest interesting
+     *                 last-modified date for the first page
+     * @param lastId   Id of the last item of the previous page, null for the first page
+     * @param pageSize Max number of items to return
+     * @return the page of items
+     * @throws SQLException if database error
+     */
+    List<Item> findByLastModifiedSince(Context context, Instant since, UUID lastId, int pageSize)
+        throws SQLException;
+
+    /**
+     * Find a page of the ids of the archived or withdrawn items, ordered by id, see
+     * {@link org.dspace.content.dao.ItemDAO#findUnfilteredIds(Context, UUID, int)}.
+     *
+     * @param context  DSpace context object
+     * @param lastId   Id of the last item of the previous page, null for the first page
+     * @param pageSize Max number of ids to return
+     * @return the page of ids
+     * @throws SQLException if database error
+     */
+    List<UUID> findUnfilteredIds(Context context, UUID lastId, int pageSize) throws SQLException;
+
     /**
      * counts items in the given community
      *
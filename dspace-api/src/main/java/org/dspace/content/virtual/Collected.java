@@ -95,6 +95,7 @@ public class Collected implements VirtualMetadataConfiguration {
      * @return The String values for all of the retrieved metadatavalues
      */
     public List<String> getValues(Context context, Item item) {
+        VirtualMetadataCache.recordDependency(item.getID());
         List<String> resultValues = new LinkedList<>();
         List<String> value = this.getFields();
         for (String s : value) {
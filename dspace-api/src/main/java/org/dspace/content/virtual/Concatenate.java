@@ -115,6 +115,7 @@ public class Concatenate implements VirtualMetadataConfiguration {
      */
     @Override
     public List<String> getValues(Context context, Item item) {
+        VirtualMetadataCache.recordDependency(item.getID());
 
         List<String> resultValues = new LinkedList<>();
         List<String> value = this.getFields();
@@ -146,6 +146,7 @@ public class Related implements VirtualMetadataConfiguration {
      */
     @Override
     public List<String> getValues(Context context, Item item) throws SQLException {
+        VirtualMetadataCache.recordDependency(item.getID());
         Entity entity = entityService.findByItemId(context, item.getID());
         EntityType entityType = entityService.getType(context, entity);
 
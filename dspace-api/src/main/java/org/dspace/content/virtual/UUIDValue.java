@@ -23,6 +23,7 @@ public class UUIDValue implements VirtualMetadataConfiguration {
 
     @Override
     public List<String> getValues(Context context, Item item) throws SQLException {
+        VirtualMetadataCache.recordDependency(item.getID());
         return List.of(String.valueOf(item.getID()));
     }
 
@@ -0,0 +1,342 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * JVM wide cache of the virtual metadata of the items, i.e. the metadata derived from their relationships, so that
+ * the relationships of an item and the metadata of the related items are not loaded again every time the metadata
+ * of the item is read.
+ * <p>
+ * The values are stored as detached {@link Value} projections, holding the id of their field instead of the field
+ * itself, and each entry is tagged with the ids of the related items it has been computed from. Invalidating an
+ * item removes its own entry and the entries of the items depending on it. Every invalidation increments the
+ * generation of the cache, and an entry is stored only if the generation did not change while it was computed.
+ * <p>
+ * The related items of an entry are the items whose metadata or relationships have been read to compute it, also
+ * more than one relationship away: the {@link VirtualMetadataConfiguration} beans report the items they read with
+ * {@link #recordDependency(UUID)} while the computation is tracked by
+ * {@link #trackDependencies(Set, Supplier)}.
+ *
+ * @see org.dspace.core.Context#commit()
+ */
+public class VirtualMetadataCache {
+
+    /**
+     * The items read by the virtual metadata computation running on the thread, if tracked.
+     */
+    private static final ThreadLocal<Set<UUID>> trackedDependencies = new ThreadLocal<>();
+
+    private final int maxEntries;
+
+    private final long ttl;
+
+    /**
+     * The cached entries, in insertion order so that lookups don't modify the map.
+     */
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * The items whose entries depend on the metadata of another item, by the id of that item.
+     */
+    private final Map<UUID, Set<UUID>> dependents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param maxEntries the maximum number of cached items, the oldest entries are evicted first
+     * @param ttl        the time to live of an entry, in seconds
+     */
+    public VirtualMetadataCache(int maxEntries, long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Get the cached virtual metadata of an item.
+     *
+     * @param itemId the id of the item
+     * @return the values, or null if they are not cached
+     */
+    public List<Value> get(UUID itemId) {
+        Entry entry;
+        lock.readLock().lock();
+        try {
+            entry = entries.get(itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (entry == null || entry.isExpired()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // an entry read while computing another one makes the latter depend on the same items
+        recordDependencies(entry.relatedItems);
+        return entry.values;
+    }
+
+    /**
+     * Store the virtual metadata of an item, unless the cache has been invalidated since the given generation.
+     *
+     * @param generation   the generation of the cache read before computing the values
+     * @param itemId       the id of the item
+     * @param values       the virtual metadata of the item
+     * @param relatedItems the ids of the items the values have been computed from
+     */
+    public void put(long generation, UUID itemId, List<Value> values, Set<UUID> relatedItems) {
+        Entry entry = new Entry(Collections.unmodifiableList(values), relatedItems,
+                                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl));
+        lock.writeLock().lock();
+        try {
+            if (generation != this.generation.get()) {
+                // the relationships or the related items may have been changed in the meantime
+                return;
+            }
+            remove(itemId);
+            entries.put(itemId, entry);
+            for (UUID relatedItem : relatedItems) {
+                dependents.computeIfAbsent(relatedItem, id -> new HashSet<>()).add(itemId);
+            }
+            Iterator<Map.Entry<UUID, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                Map.Entry<UUID, Entry> eldest = iterator.next();
+                iterator.remove();
+                untag(eldest.getKey(), eldest.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invalidate the virtual metadata of the given items and of the items related to them.
+     *
+     * @param itemIds the ids of the changed items
+     */
+    public void invalidate(Collection<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            for (UUID itemId : itemIds) {
+                remove(itemId);
+                Set<UUID> dependentItems = dependents.remove(itemId);
+                if (dependentItems != null) {
+                    for (UUID dependentItem : dependentItems) {
+                        remove(dependentItem);
+                    }
+                }
+            }
+            invalidations.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Run the given computation of virtual metadata, collecting the items it reads into the given set. The items
+     * read by a nested computation are also added to the set of the outer one.
+     *
+     * @param dependencies the set receiving the ids of the read items
+     * @param computation  the computation to run
+     * @return the result of the computation
+     */
+    public static <T> T trackDependencies(Set<UUID> dependencies, Supplier<T> computation) {
+        Set<UUID> outer = trackedDependencies.get();
+        trackedDependencies.set(dependencies);
+        try {
+            return computation.get();
+        } finally {
+            if (outer != null) {
+                outer.addAll(dependencies);
+                trackedDependencies.set(outer);
+            } else {
+                trackedDependencies.remove();
+            }
+        }
+    }
+
+    /**
+     * Record that the tracked computation running on the thread, if any, reads the metadata or the relationships
+     * of the given item.
+     *
+     * @param itemId the id of the read item
+     */
+    public static void recordDependency(UUID itemId) {
+        Set<UUID> dependencies = trackedDependencies.get();
+        if (dependencies != null && itemId != null) {
+            dependencies.add(itemId);
+        }
+    }
+
+    private static void recordDependencies(Set<UUID> itemIds) {
+        Set<UUID> dependencies = trackedDependencies.get();
+        if (dependencies != null) {
+            dependencies.addAll(itemIds);
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+            dependents.clear();
+            invalidations.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Must be called holding the write lock.
+     */
+    private void remove(UUID itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry != null) {
+            untag(itemId, entry);
+        }
+    }
+
+    /**
+     * Must be called holding the write lock.
+     */
+    private void untag(UUID itemId, Entry entry) {
+        for (UUID relatedItem : entry.relatedItems) {
+            Set<UUID> dependentItems = dependents.get(relatedItem);
+            if (dependentItems != null) {
+                dependentItems.remove(itemId);
+                if (dependentItems.isEmpty()) {
+                    dependents.remove(relatedItem);
+                }
+            }
+        }
+    }
+
+    /**
+     * A virtual metadata value detached from the database session that computed it.
+     */
+    public static final class Value {
+
+        private final int fieldId;
+
+        private final String value;
+
+        private final String authority;
+
+        private final int confidence;
+
+        private final int place;
+
+        private final boolean useForPlace;
+
+        public Value(int fieldId, String value, String authority, int confidence, int place, boolean useForPlace) {
+            this.fieldId = fieldId;
+            this.value = value;
+            this.authority = authority;
+            this.confidence = confidence;
+            this.place = place;
+            this.useForPlace = useForPlace;
+        }
+
+        public int getFieldId() {
+            return fieldId;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        public int getConfidence() {
+            return confidence;
+        }
+
+        public int getPlace() {
+            return place;
+        }
+
+        public boolean isUseForPlace() {
+            return useForPlace;
+        }
+    }
+
+    private static final class Entry {
+
+        private final List<Value> values;
+
+        private final Set<UUID> relatedItems;
+
+        private final long expiresAt;
+
+        private Entry(List<Value> values, Set<UUID> relatedItems, long expiresAt) {
+            this.values = values;
+            this.relatedItems = relatedItems;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -11,10 +11,12 @@ import java.lang.ref.Cleaner;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -23,11 +25,17 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizationCacheInvalidation;
 import org.dspace.authorize.ResourcePolicy;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.RelationshipMetadataService;
+import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.GroupNestingChanges;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
@@ -146,6 +154,30 @@ public class Context implements AutoCloseable {
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * The shared authorization decisions to invalidate when the current transaction is committed
+     */
+    private final AuthorizationCacheInvalidation authorizationCacheInvalidation = new AuthorizationCacheInvalidation();
+
+    private AuthorizationDecisionCacheService authorizationDecisionCacheService;
+
+    /**
+     * The items whose shared virtual metadata must be invalidated when the current transaction ends
+     */
+    private final Set<UUID> virtualMetadataInvalidation = new HashSet<>();
+
+    private RelationshipMetadataService relationshipMetadataService;
+
+    /**
+     * Authorization decisions computed in bulk, used when the context is not read-only until the next change
+     */
+    private final Map<AuthorizedActionKey, Boolean> prefetchedAuthorizations = new HashMap<>();
+
+    /**
+     * Changes to the nesting of groups not yet applied to the group2groupcache table
+     */
+    private final GroupNestingChanges groupNestingChanges = new GroupNestingChanges();
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -474,7 +506,52 @@ public class Context implements AutoCloseable {
                 dbConnection.commit();
                 reloadContextBoundEntities();
             }
+            prefetchedAuthorizations.clear();
+            // Only now other contexts can see the changes, invalidate the decisions they may have cached
+            invalidateSharedAuthorizationCache();
+            invalidateVirtualMetadataCache();
+        }
+    }
+
+    /**
+     * Invalidate the shared virtual metadata of the items changed in the transaction. Also called when the
+     * transaction is rolled back, as this context may have cached the virtual metadata of its own changes.
+     */
+    private void invalidateVirtualMetadataCache() {
+        if (!virtualMetadataInvalidation.isEmpty()) {
+            try {
+                getRelationshipMetadataService().invalidateRelationshipMetadata(virtualMetadataInvalidation);
+            } catch (RuntimeException e) {
+                log.error("Error invalidating the cached virtual metadata", e);
+            } finally {
+                virtualMetadataInvalidation.clear();
+            }
+        }
+    }
+
+    private RelationshipMetadataService getRelationshipMetadataService() {
+        if (relationshipMetadataService == null) {
+            relationshipMetadataService = ContentServiceFactory.getInstance().getRelationshipMetadataService();
+        }
+        return relationshipMetadataService;
+    }
+
+    private void invalidateSharedAuthorizationCache() {
+        if (!authorizationCacheInvalidation.isEmpty()) {
+            try {
+                getAuthorizationDecisionCacheService().invalidate(authorizationCacheInvalidation);
+            } finally {
+                authorizationCacheInvalidation.reset();
+            }
+        }
+    }
+
+    private AuthorizationDecisionCacheService getAuthorizationDecisionCacheService() {
+        if (authorizationDecisionCacheService == null) {
+            authorizationDecisionCacheService = AuthorizeServiceFactory.getInstance()
+                                                                       .getAuthorizationDecisionCacheService();
         }
+        return authorizationDecisionCacheService;
     }
 
     public void clear() {
@@ -544,6 +621,19 @@ public class Context implements AutoCloseable {
         }
 
         events.add(event);
+        prefetchedAuthorizations.clear();
+
+        AuthorizationDecisionCacheService cacheService = getAuthorizationDecisionCacheService();
+        if (cacheService != null && cacheService.isEnabled()) {
+            cacheService.collect(event, authorizationCacheInvalidation);
+        }
+
+        // a change of the relationships or of the metadata of an item changes the virtual metadata of the items
+        // related to it
+        if (event.getSubjectType() == Constants.ITEM && event.getSubjectID() != null
+            && (event.getEventType() & (Event.MODIFY | Event.MODIFY_METADATA | Event.DELETE)) != 0) {
+            virtualMetadataInvalidation.add(event.getSubjectID());
+        }
     }
 
     /**
@@ -564,6 +654,16 @@ public class Context implements AutoCloseable {
         return !CollectionUtils.isEmpty(events);
     }
 
+    /**
+     * Get the changes to the nesting of groups made in this context and not yet applied to the group2groupcache
+     * table. They are discarded if the context is rolled back or aborted.
+     *
+     * @return the pending group nesting changes
+     */
+    public GroupNestingChanges getGroupNestingChanges() {
+        return groupNestingChanges;
+    }
+
     /**
      * Retrieves the first element in the events list and removes it from the list of events once retrieved
      *
@@ -604,6 +704,10 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            authorizationCacheInvalidation.reset();
+            prefetchedAuthorizations.clear();
+            groupNestingChanges.reset();
+            invalidateVirtualMetadataCache();
         }
     }
 
@@ -642,6 +746,9 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            authorizationCacheInvalidation.reset();
+            groupNestingChanges.reset();
+            invalidateVirtualMetadataCache();
 
             // Clear the holder and unregister the Cleaner to prevent double-cleanup
             dbConnectionHolder.set(null);
@@ -872,6 +979,7 @@ public class Context implements AutoCloseable {
             //clear our read-only cache to prevent any inconsistencies
             readOnlyCache.clear();
         }
+        prefetchedAuthorizations.clear();
 
         // When going to READ_ONLY, flush database changes to ensure that the current data is retrieved
         if (newMode == Mode.READ_ONLY && mode != Mode.READ_ONLY) {
@@ -981,11 +1089,33 @@ public class Context implements AutoCloseable {
         EPerson eperson, Boolean inheritance) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson, inheritance);
+        } else if (!prefetchedAuthorizations.isEmpty() && !hasEvents()) {
+            return prefetchedAuthorizations.get(AuthorizedActionKey.of(dspaceObject, action, eperson, inheritance));
         } else {
             return null;
         }
     }
 
+    /**
+     * Cache an authorization decision computed in bulk, ahead of the checks that will need it. Unlike
+     * {@link #cacheAuthorizedAction(DSpaceObject, int, EPerson, Boolean, Boolean, ResourcePolicy)}, the decision is
+     * cached also when the context is not read-only, until the next change, commit or rollback.
+     *
+     * @param dspaceObject the object
+     * @param action       the action
+     * @param eperson      the eperson, null for anonymous
+     * @param inheritance  whether the ADMIN rights on the parent objects were considered
+     * @param result       the decision
+     */
+    public void cachePrefetchedAuthorization(DSpaceObject dspaceObject, int action, EPerson eperson,
+                                             Boolean inheritance, Boolean result) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, inheritance, result);
+        } else if (!hasEvents()) {
+            prefetchedAuthorizations.put(AuthorizedActionKey.of(dspaceObject, action, eperson, inheritance), result);
+        }
+    }
+
     public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
                                       ResourcePolicy rp) {
         cacheAuthorizedAction(dspaceObject, action, eperson, null, result, rp);
@@ -344,11 +344,14 @@ public abstract class AbstractCurationTask implements CurationTask {
      * @param result the result string
      */
     protected void setResult(String result) {
-        String current = curator.getResult(taskId);
-        if (StringUtils.isNotBlank(current)) {
-            curator.setResult(taskId, current + System.lineSeparator() + result);
-        } else {
-            curator.setResult(taskId, result);
+        // the results of concurrent tasks are appended by several threads
+        synchronized (curator) {
+            String current = curator.getResult(taskId);
+            if (StringUtils.isNotBlank(current)) {
+                curator.setResult(taskId, current + System.lineSeparator() + result);
+            } else {
+                curator.setResult(taskId, result);
+            }
         }
     }
 
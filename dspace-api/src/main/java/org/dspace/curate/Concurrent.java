@@ -0,0 +1,32 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation type for CurationTasks. A task is concurrent if a single
+ * instance of it can be performed on several items at the same time, each
+ * one in its own thread with its own curation context. The items of a
+ * collection are then curated by a pool of threads when the curator is
+ * given more than one thread.
+ *
+ * @see Curator#setThreads(int)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Concurrent {
+
+    /**
+     * @return the maximum number of items the task may be performed on at the
+     * same time, 0 to use all the threads of the curator
+     */
+    int maxThreads() default 0;
+}
@@ -65,6 +65,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private boolean verbose;
     private boolean force;
     private int modifiedSinceDays = -1;
+    private int threads = -1;
 
     @Override
     public void internalRun() throws Exception {
@@ -212,6 +213,9 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
         curator.addParameters(parameters);
         curator.setForce(this.force);
         curator.setModifiedSinceDays(this.modifiedSinceDays);
+        if (this.threads > 0) {
+            curator.setThreads(this.threads);
+        }
         // we are operating in batch mode, if anyone cares.
         curator.setInvoked(Curator.Invoked.BATCH);
         return curator;
@@ -338,6 +342,11 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             modifiedSinceDays = Integer.parseInt(commandLine.getOptionValue('l'));
         }
 
+        // threads
+        if (commandLine.hasOption('n')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('n'));
+        }
+
     }
 
     /**
@@ -71,6 +71,9 @@ public enum CurationClientOptions {
                               "tasks");
         options.addOption("v", "verbose", false, "report activity to stdout");
         options.addOption("f", "force", false, "force curation process even if it is already processed");
+        options.addOption("n", "threads", true,
+                          "number of threads curating the items of a collection with the concurrent tasks. If " +
+                              "absent, curate.threads applies");
         options.addOption("h", "help", false, "help");
 
         return options;
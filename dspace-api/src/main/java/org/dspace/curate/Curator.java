@@ -16,6 +16,16 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,6 +43,7 @@ import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Curator orchestrates and manages the application of a one or more curation
@@ -96,6 +107,7 @@ public class Curator {
     protected DSpaceRunnableHandler handler;
     protected boolean force;
     protected int modifiedSinceDays;
+    protected int threads;
 
     /**
      * constructor that uses an handler for logging
@@ -115,6 +127,7 @@ public class Curator {
         itemService = ContentServiceFactory.getInstance().getItemService();
         handleService = HandleServiceFactory.getInstance().getHandleService();
         resolver = new TaskResolver();
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService().getIntProperty("curate.threads", 1);
     }
 
     public boolean isForce() {
@@ -133,6 +146,21 @@ public class Curator {
         this.modifiedSinceDays = modifiedSinceDays;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads curating the items of a collection with the
+     * tasks annotated as {@link Concurrent}. The other tasks always curate
+     * the items one at a time.
+     *
+     * @param threads number of threads, 1 to curate the items one at a time
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     /**
      * Set a parameter visible to all tasks in this Curator instance.
      * @param name the parameter's name.
@@ -377,7 +405,10 @@ public class Curator {
         }
 
         try {
-            reporter.append(message);
+            // the message of each object is appended at once when tasks run concurrently
+            synchronized (reporter) {
+                reporter.append(message);
+            }
         } catch (IOException ex) {
             System.out.println("Task reporting failure: " +  ex);
         }
@@ -544,13 +575,20 @@ public class Curator {
             }
             Context context = curationContext();
             Iterator<Item> iter = itemService.findByCollection(context, coll);
-            while (iter.hasNext()) {
-                Item item = iter.next();
-                boolean shouldContinue = tr.run(item);
-                context.uncacheEntity(item);
-                if (!shouldContinue) {
+            int poolSize = getPoolSize(tr.task);
+            if (poolSize > 1) {
+                if (!doItemsConcurrently(tr, iter, poolSize)) {
                     return false;
                 }
+            } else {
+                while (iter.hasNext()) {
+                    Item item = iter.next();
+                    boolean shouldContinue = tr.run(item);
+                    context.uncacheEntity(item);
+                    if (!shouldContinue) {
+                        return false;
+                    }
+                }
             }
             context.uncacheEntity(coll);
         } catch (SQLException sqlE) {
@@ -559,6 +597,96 @@ public class Curator {
         return true;
     }
 
+    /**
+     * Returns the number of threads curating the items of a collection with
+     * the given task: 1 unless the task is concurrent and, for a mutative
+     * task, the transaction scope commits after each object. The contexts of
+     * the threads can't share the single transaction of the 'curation' scope
+     * nor leave their changes open for the 'open' scope.
+     *
+     * @param task the task
+     * @return the number of threads
+     */
+    protected int getPoolSize(ResolvedTask task) {
+        if (threads <= 1 || !task.isConcurrent()) {
+            return 1;
+        }
+        if (!txScope.equals(TxScope.OBJECT) && task.isMutative()) {
+            logWarning("Task " + task.getName() + " is performed on one item at a time, " +
+                           "its changes can only be committed after each object by several threads");
+            return 1;
+        }
+        return task.getMaxThreads() > 0 ? Math.min(threads, task.getMaxThreads()) : threads;
+    }
+
+    /**
+     * Run task for the given items with a pool of threads. Each thread curates
+     * its items with its own context, committed after each item for the
+     * 'object' scope and discarded otherwise, which is why mutative tasks only
+     * run concurrently with that scope.
+     * <p>
+     * As when the items are curated one at a time, the status of the task is
+     * the status of the last item or of the item that suspended the curation.
+     *
+     * @param tr       TaskRunner
+     * @param items    the items to curate
+     * @param poolSize the number of threads
+     * @return true if successful, false if the task suspended the curation
+     * @throws IOException  if IO error
+     * @throws SQLException if database error
+     */
+    protected boolean doItemsConcurrently(TaskRunner tr, Iterator<Item> items, int poolSize)
+        throws IOException, SQLException {
+        Context context = curationContext();
+        BlockingQueue<QueuedItem> queue = new ArrayBlockingQueue<>(poolSize * 10);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Future<Boolean>> workers = new ArrayList<>(poolSize);
+        tr.resetPosition();
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                workers.add(executor.submit(new CurationWorker(tr, context, queue, done, stop)));
+            }
+            int position = 0;
+            while (items.hasNext() && !stop.get()) {
+                Item item = items.next();
+                QueuedItem queued = new QueuedItem(item.getID(), position++);
+                context.uncacheEntity(item);
+                while (!stop.get() && !queue.offer(queued, 100, TimeUnit.MILLISECONDS)) {
+                    // wait for a thread to take the next item
+                }
+            }
+            done.set(true);
+
+            boolean shouldContinue = true;
+            Throwable error = null;
+            for (Future<Boolean> worker : workers) {
+                try {
+                    shouldContinue &= worker.get();
+                } catch (ExecutionException e) {
+                    if (error == null) {
+                        error = e.getCause();
+                    }
+                }
+            }
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            } else if (error instanceof SQLException) {
+                throw (SQLException) error;
+            } else if (error != null) {
+                throw new IOException(error.getMessage(), error);
+            }
+            return shouldContinue;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while curating the items with task " + tr.task.getName(), e);
+        } finally {
+            stop.set(true);
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Record a 'visit' to a DSpace object and enforce any policies set
      * on this curator.
@@ -578,6 +706,7 @@ public class Curator {
         ResolvedTask task = null;
         int statusCode = CURATE_UNSET;
         String result = null;
+        private int lastPosition = -1;
 
         public TaskRunner(ResolvedTask task) {
             this.task = task;
@@ -588,10 +717,7 @@ public class Curator {
                 if (dso == null) {
                     throw new IOException("DSpaceObject is null");
                 }
-                statusCode = task.perform(dso);
-                String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
-                logInfo(logMessage(id));
-                visit(dso);
+                statusCode = perform(dso);
                 return !suspend(statusCode);
             } catch (IOException | SQLException e) {
                 //log error & pass exception upwards
@@ -620,6 +746,50 @@ public class Curator {
             this.result = result;
         }
 
+        /**
+         * Performs the task upon the object in the curation context of the
+         * current thread, without recording its status.
+         *
+         * @param dso the DSpace object
+         * @return the status code of the task
+         * @throws IOException  if IO error
+         * @throws SQLException if database error
+         */
+        protected int perform(DSpaceObject dso) throws IOException, SQLException {
+            int code = task.perform(dso);
+            String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
+            logInfo(logMessage(id, code));
+            visit(dso);
+            return code;
+        }
+
+        /**
+         * Forgets the positions recorded while curating the objects of a
+         * previous collection.
+         */
+        protected synchronized void resetPosition() {
+            lastPosition = -1;
+        }
+
+        /**
+         * Records the status of the task upon one of the objects curated
+         * concurrently. The status of the object coming last in the curation
+         * order is kept, unless an object suspended the curation: its status
+         * is kept then.
+         *
+         * @param code     the status code of the task upon the object
+         * @param position the position of the object in the curation order
+         * @return true if the curation must be suspended
+         */
+        protected synchronized boolean record(int code, int position) {
+            boolean suspended = suspend(code);
+            if (lastPosition < Integer.MAX_VALUE && (suspended || position > lastPosition)) {
+                statusCode = code;
+                lastPosition = suspended ? Integer.MAX_VALUE : position;
+            }
+            return suspended;
+        }
+
         protected boolean suspend(int code) {
             Invoked mode = task.getMode();
             if (mode != null && (mode.equals(Invoked.ANY) || mode.equals(iMode))) {
@@ -639,10 +809,21 @@ public class Curator {
          * @return log message text
          */
         protected String logMessage(String id) {
+            return logMessage(id, statusCode);
+        }
+
+        /**
+         * Builds a useful log message for a curation task.
+         *
+         * @param id   ID of DSpace Object
+         * @param code status code of the task
+         * @return log message text
+         */
+        protected String logMessage(String id, int code) {
             StringBuilder mb = new StringBuilder();
             mb.append("Curation task: ").append(task.getName()).
                 append(" performed on: ").append(id).
-                  append(" with status: ").append(statusCode);
+                  append(" with status: ").append(code);
             if (result != null) {
                 mb.append(". Result: '").append(result).append("'");
             }
@@ -664,6 +845,93 @@ public class Curator {
 
     }
 
+    /**
+     * Curates the items taken from a queue with a context of its own, until
+     * all the items are curated or the curation is stopped.
+     */
+    protected class CurationWorker implements Callable<Boolean> {
+        private final TaskRunner tr;
+        private final Context parent;
+        private final BlockingQueue<QueuedItem> queue;
+        private final AtomicBoolean done;
+        private final AtomicBoolean stop;
+
+        public CurationWorker(TaskRunner tr, Context parent, BlockingQueue<QueuedItem> queue, AtomicBoolean done,
+                              AtomicBoolean stop) {
+            this.tr = tr;
+            this.parent = parent;
+            this.queue = queue;
+            this.done = done;
+            this.stop = stop;
+        }
+
+        /**
+         * @return false if the task suspended the curation
+         */
+        @Override
+        public Boolean call() throws Exception {
+            Context context = new Context(parent.getCurrentMode());
+            curationCtx.set(context);
+            boolean shouldContinue = true;
+            try {
+                context.setCurrentUser(context.reloadEntity(parent.getCurrentUser()));
+                for (UUID group : parent.getSpecialGroupUuids()) {
+                    context.setSpecialGroup(group);
+                }
+                if (parent.ignoreAuthorization()) {
+                    context.turnOffAuthorisationSystem();
+                }
+                while (!stop.get()) {
+                    QueuedItem queued = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (queued == null) {
+                        if (done.get() && queue.isEmpty()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    Item item = itemService.find(context, queued.id);
+                    if (item == null) {
+                        continue;
+                    }
+                    int code = tr.perform(item);
+                    context.uncacheEntity(item);
+                    if (tr.record(code, queued.position)) {
+                        shouldContinue = false;
+                        stop.set(true);
+                    }
+                }
+                // only the 'object' scope commits, after each item; other contexts hold no changes
+                if (txScope.equals(TxScope.OBJECT)) {
+                    context.complete();
+                }
+                return shouldContinue;
+            } catch (Exception e) {
+                stop.set(true);
+                logError("Error executing curation task '" + tr.task.getName() + "'", e);
+                throw e;
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+                curationCtx.remove();
+            }
+        }
+    }
+
+    /**
+     * An item waiting to be curated by a {@link CurationWorker}, with its
+     * position in the curation order.
+     */
+    private static class QueuedItem {
+        private final UUID id;
+        private final int position;
+
+        QueuedItem(UUID id, int position) {
+            this.id = id;
+            this.position = position;
+        }
+    }
+
     /**
      * Proxt method for logging with WARN level
      *
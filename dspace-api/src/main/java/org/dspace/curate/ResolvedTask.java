@@ -28,6 +28,8 @@ public class ResolvedTask {
     // annotation data
     private boolean distributive = false;
     private boolean mutative = false;
+    private boolean concurrent = false;
+    private int maxThreads = 0;
     private Curator.Invoked mode = null;
     private int[] codes = null;
 
@@ -39,6 +41,11 @@ public class ResolvedTask {
         Class ctClass = cTask.getClass();
         distributive = ctClass.isAnnotationPresent(Distributive.class);
         mutative = ctClass.isAnnotationPresent(Mutative.class);
+        Concurrent concurrentAnno = (Concurrent) ctClass.getAnnotation(Concurrent.class);
+        if (concurrentAnno != null) {
+            concurrent = true;
+            maxThreads = concurrentAnno.maxThreads();
+        }
         Suspendable suspendAnno = (Suspendable) ctClass.getAnnotation(Suspendable.class);
         if (suspendAnno != null) {
             mode = suspendAnno.invoked();
@@ -119,6 +126,24 @@ public class ResolvedTask {
         return mutative;
     }
 
+    /**
+     * Returns whether task can be performed on several objects at the same time
+     *
+     * @return whether task can be performed on several objects at the same time
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    /**
+     * Returns the maximum number of objects the task can be performed on at the same time
+     *
+     * @return the maximum number of objects, 0 if there is no limit other than the threads of the curator
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
     public Curator.Invoked getMode() {
         return mode;
     }
@@ -0,0 +1,176 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CollectionService;
+import org.dspace.content.service.CommunityService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableCommunity;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Reindex only the items modified since the last run, together with the collections and communities that contain
+ * them.
+ * <p>
+ * The start time of the last successful run is persisted as a high-water mark in the file configured by
+ * <code>discovery.index.delta.watermark-file</code>. The modified items are read in pages ordered by last-modified
+ * date and id (keyset pagination), so a run never loads the whole item table. To not miss the items modified by
+ * transactions still running when the previous run started, the items modified in the configured overlap before
+ * the mark are reindexed again.
+ * <p>
+ * Deleted items are not detected by this mode, the clean option of the index-discovery script removes them.
+ */
+public class DeltaIndexer {
+
+    private static final Logger log = LogManager.getLogger(DeltaIndexer.class);
+
+    private static final String LAST_MODIFIED_KEY = "last_modified";
+
+    private final IndexingService indexingService;
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
+
+    private final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
+
+    private final IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    public DeltaIndexer(IndexingService indexingService) {
+        this.indexingService = indexingService;
+    }
+
+    /**
+     * Reindex the items modified since the persisted high-water mark, with their collections and communities, and
+     * move the mark to the start time of this run.
+     *
+     * @param context the DSpace context
+     * @return the number of reindexed items
+     * @throws SQLException           if database error
+     * @throws IOException            if the high-water mark cannot be read or written
+     * @throws SearchServiceException if the changes cannot be committed to solr
+     */
+    public long index(Context context) throws SQLException, IOException, SearchServiceException {
+        Instant start = Instant.now();
+        Instant watermark = readWatermark();
+        if (watermark == null) {
+            log.warn("No discovery delta index high-water mark found, all the items will be reindexed");
+            watermark = Instant.EPOCH;
+        }
+        int overlap = configurationService.getIntProperty("discovery.index.delta.overlap", 60);
+        int pageSize = configurationService.getIntProperty("discovery.index.delta.page-size", 500);
+
+        Set<UUID> collectionIds = new HashSet<>();
+        Instant lastModified = watermark.minus(overlap, ChronoUnit.SECONDS);
+        UUID lastId = null;
+        long count = 0;
+        List<Item> items;
+        do {
+            items = itemService.findByLastModifiedSince(context, lastModified, lastId, pageSize);
+            for (Item item : items) {
+                for (IndexableObject indexableObject : indexObjectServiceFactory.getIndexableObjects(context, item)) {
+                    indexingService.indexContent(context, indexableObject, true, false);
+                }
+                for (Collection collection : item.getCollections()) {
+                    collectionIds.add(collection.getID());
+                }
+                lastModified = item.getLastModified();
+                lastId = item.getID();
+                count++;
+            }
+            indexingService.commit();
+            context.uncacheEntities();
+        } while (items.size() == pageSize);
+
+        indexContainers(context, collectionIds);
+        indexingService.commit();
+        writeWatermark(start);
+        log.info("Reindexed {} items modified since {} and {} collections", count, watermark, collectionIds.size());
+        return count;
+    }
+
+    private void indexContainers(Context context, Set<UUID> collectionIds) throws SQLException,
+        SearchServiceException {
+        Set<UUID> communityIds = new HashSet<>();
+        for (UUID collectionId : collectionIds) {
+            Collection collection = collectionService.find(context, collectionId);
+            if (collection == null) {
+                continue;
+            }
+            indexingService.indexContent(context, new IndexableCollection(collection), true, false);
+            for (Community community : communityService.getAllParents(context, collection)) {
+                communityIds.add(community.getID());
+            }
+            context.uncacheEntity(collection);
+        }
+        for (UUID communityId : communityIds) {
+            Community community = communityService.find(context, communityId);
+            if (community != null) {
+                indexingService.indexContent(context, new IndexableCommunity(community), true, false);
+                context.uncacheEntity(community);
+            }
+        }
+    }
+
+    private Instant readWatermark() throws IOException {
+        File file = getWatermarkFile();
+        if (!file.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            properties.load(is);
+        }
+        String value = properties.getProperty(LAST_MODIFIED_KEY);
+        return StringUtils.isNotBlank(value) ? Instant.parse(value) : null;
+    }
+
+    private void writeWatermark(Instant watermark) throws IOException {
+        File file = getWatermarkFile();
+        file.getParentFile().mkdirs();
+        Properties properties = new Properties();
+        properties.setProperty(LAST_MODIFIED_KEY, watermark.toString());
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "High-water mark of the discovery delta index");
+        }
+    }
+
+    private File getWatermarkFile() {
+        String path = configurationService.getProperty("discovery.index.delta.watermark-file",
+            configurationService.getProperty("dspace.dir") + "/var/discovery/delta-index.properties");
+        return new File(path);
+    }
+}
@@ -214,7 +214,8 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
-        boolean metricUpdate = !commandLine.hasOption("m");
+        // the full rebuild of the metrics would defeat the purpose of a delta reindex
+        boolean metricUpdate = !commandLine.hasOption("m") && indexClientOptions != IndexClientOptions.DELTA;
         if (indexClientOptions == IndexClientOptions.REMOVE) {
             handler.logInfo("Removing " + commandLine.getOptionValue("r") + " from Index");
             for (IndexableObject idxObj : indexableObjects.get()) {
@@ -251,6 +252,13 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                                         indexableObjects.get());
             final long seconds = (System.currentTimeMillis() - startTimeMillis) / 1000;
             handler.logInfo("Indexed " + count + " object" + (count > 1 ? "s" : "") + " in " + seconds + " seconds");
+        } else if (indexClientOptions == IndexClientOptions.DELTA) {
+            handler.logInfo("Indexing the items modified since the last delta run");
+            final long startTimeMillis = System.currentTimeMillis();
+            final long count = new DeltaIndexer(indexer).index(context);
+            final long seconds = (System.currentTimeMillis() - startTimeMillis) / 1000;
+            handler.logInfo("Indexed " + count + " modified item" + (count != 1 ? "s" : "") + " in " + seconds +
+                                " seconds");
         } else if (indexClientOptions == IndexClientOptions.UPDATE ||
             indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
             handler.logInfo("Updating Index");
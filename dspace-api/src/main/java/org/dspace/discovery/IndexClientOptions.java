@@ -28,6 +28,7 @@ public enum IndexClientOptions {
     OPTIMIZE,
     SPELLCHECK,
     INDEX,
+    DELTA,
     UPDATE,
     FORCEUPDATE,
     UPDATEANDSPELLCHECK,
@@ -63,6 +64,8 @@ public enum IndexClientOptions {
             return IndexClientOptions.SPELLCHECK;
         } else if (commandLine.hasOption("i")) {
             return IndexClientOptions.INDEX;
+        } else if (commandLine.hasOption("l")) {
+            return IndexClientOptions.DELTA;
         } else {
             if (commandLine.hasOption("f") && commandLine.hasOption("s")) {
                 return IndexClientOptions.FORCEUPDATEANDSPELLCHECK;
@@ -92,6 +95,9 @@ public enum IndexClientOptions {
         options.addOption("d", "delete", false,
                 "delete all records from existing index");
         options.addOption("b", "build", false, "(re)build index, wiping out current one if it exists");
+        options.addOption("l", "delta", false,
+                          "reindex only the items modified since the last delta run, with their collections and " +
+                          "communities");
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("t", "type", true,
                           "limit the update operation to a specific indexable object type " +
@@ -24,6 +24,7 @@ import org.dspace.event.DetailType;
 import org.dspace.event.Event;
 import org.dspace.event.EventDetail;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
 
 /**
  * Class for updating search indices in discovery from content events.
@@ -52,6 +53,8 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    IndexQueueService indexQueueService = new DSpace().getSingletonService(IndexQueueService.class);
+
     @Override
     public void initialize() throws Exception {
 
@@ -216,6 +219,11 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (indexQueueService.isEnabled()) {
+            queueObjects(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
@@ -254,6 +262,28 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Record the sets of objects to delete, update and create in the discovery index queue, as part of the current
+     * transaction. The queued objects will be indexed in background by {@link IndexQueueService}.
+     */
+    private void queueObjects(Context ctx) {
+        try {
+            for (String uid : uniqueIdsToDelete) {
+                indexQueueService.queue(ctx, uid, true, false, false);
+            }
+            for (IndexableObject iu : objectsToUpdate) {
+                indexQueueService.queue(ctx, iu.getUniqueIndexID(), false, true, false);
+            }
+            for (IndexableObject iu : createdItemsToUpdate) {
+                indexQueueService.queue(ctx, iu.getUniqueIndexID(), false, true, true);
+            }
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
@@ -0,0 +1,79 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.time.Instant;
+
+/**
+ * An entry of the discovery index queue, see {@link IndexQueueService}. All the changes queued for the same
+ * indexable object are merged in a single entry.
+ */
+public class IndexQueueEntry {
+
+    private final String uniqueId;
+
+    private final boolean unindex;
+
+    private final boolean reindex;
+
+    private final boolean preDb;
+
+    private final Instant dateQueued;
+
+    private final int attempts;
+
+    public IndexQueueEntry(String uniqueId, boolean unindex, boolean reindex, boolean preDb, Instant dateQueued,
+                           int attempts) {
+        this.uniqueId = uniqueId;
+        this.unindex = unindex;
+        this.reindex = reindex;
+        this.preDb = preDb;
+        this.dateQueued = dateQueued;
+        this.attempts = attempts;
+    }
+
+    /**
+     * @return the unique index id ({type}-{identifier}) of the queued object
+     */
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * @return true if the current document must be removed from the index before the object is reindexed
+     */
+    public boolean isUnindex() {
+        return unindex;
+    }
+
+    /**
+     * @return true if the object must be (re)indexed, if it still exists
+     */
+    public boolean isReindex() {
+        return reindex;
+    }
+
+    /**
+     * @return true if the object must be indexed with a "preDB" status
+     */
+    public boolean isPreDb() {
+        return preDb;
+    }
+
+    public Instant getDateQueued() {
+        return dateQueued;
+    }
+
+    /**
+     * @return the number of failed attempts to index the queued object since it was last changed
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.dspace.core.Context;
+
+/**
+ * Service to defer the discovery indexing of the objects changed by a transaction. When the queue is enabled the
+ * {@link IndexEventConsumer} only records the changed objects, in the same database transaction, and a background
+ * drainer indexes them in batches, so that the latency of solr doesn't affect the committing request.
+ */
+public interface IndexQueueService {
+
+    /**
+     * @return true if the indexing of the changed objects must be deferred through the queue
+     */
+    boolean isEnabled();
+
+    /**
+     * Queue the given object for indexing. Repeated changes of the same object are merged in a single entry.
+     *
+     * @param context  the DSpace Context object
+     * @param uniqueId the unique index id of the changed object
+     * @param unindex  whether the current document must be removed before the reindex
+     * @param reindex  whether the object must be reindexed
+     * @param preDb    whether the object must be indexed with a "preDB" status
+     */
+    void queue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb);
+
+    /**
+     * Index a batch of the oldest queued objects and remove them from the queue, committing the context. The objects
+     * that failed to be indexed are left in the queue, after the other ones.
+     *
+     * @param context the DSpace Context object
+     * @return the number of indexed entries, 0 if the queue is empty or none of the entries could be indexed
+     * @throws SQLException if a problem with the database occurs
+     */
+    int processBatch(Context context) throws SQLException;
+
+    /**
+     * Process the queue until it is empty, or only holds objects that failed to be indexed. This is the "wait for
+     * index" hook used by the tests and by the command line tools that need the index to be up-to-date.
+     *
+     * @param context the DSpace Context object
+     * @return the number of indexed entries
+     * @throws SQLException if a problem with the database occurs
+     */
+    int waitForIndex(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of objects waiting to be indexed
+     */
+    long getQueueSize(Context context);
+
+    /**
+     * @param context the DSpace Context object
+     * @return how long the oldest queued object is waiting to be indexed, {@link Duration#ZERO} if the queue is
+     *         empty
+     */
+    Duration getLag(Context context);
+}
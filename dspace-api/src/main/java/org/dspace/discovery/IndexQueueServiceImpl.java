@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService} backed by the discovery_index_queue table.
+ * <p>
+ * The queued objects are resolved again when the queue is processed: if an object doesn't exist anymore its
+ * document is removed from the index, so the entries can be safely processed more than once and by more than one
+ * node.
+ * <p>
+ * An entry is removed from the queue only once its object has been indexed and the index committed. The entries that
+ * failed to be indexed are moved to the end of the queue and retried, up to
+ * <code>discovery.index.queue.max-attempts</code> times if set.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueServiceImpl.class);
+
+    @Autowired
+    private IndexQueueDAO indexQueueDAO;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.queue.enabled", false);
+    }
+
+    @Override
+    public void queue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb) {
+        indexQueueDAO.queue(context, uniqueId, unindex, reindex, preDb);
+    }
+
+    @Override
+    public int processBatch(Context context) throws SQLException {
+        int batchSize = configurationService.getIntProperty("discovery.index.queue.batch-size", 100);
+        List<IndexQueueEntry> entries = indexQueueDAO.findOldest(context, batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        List<IndexQueueEntry> indexed = new ArrayList<>(entries.size());
+        List<IndexQueueEntry> failed = new ArrayList<>();
+        for (IndexQueueEntry entry : entries) {
+            if (process(context, entry)) {
+                indexed.add(entry);
+            } else {
+                failed.add(entry);
+            }
+        }
+        try {
+            indexingService.commit();
+        } catch (SearchServiceException e) {
+            // the entries are left in the queue, they will be processed again
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        for (IndexQueueEntry entry : indexed) {
+            indexQueueDAO.remove(context, entry);
+        }
+        int maxAttempts = configurationService.getIntProperty("discovery.index.queue.max-attempts", 0);
+        for (IndexQueueEntry entry : failed) {
+            if (maxAttempts > 0 && entry.getAttempts() + 1 >= maxAttempts) {
+                log.error("Giving up indexing the queued object {} after {} attempts", entry.getUniqueId(),
+                          maxAttempts);
+                indexQueueDAO.remove(context, entry);
+            } else {
+                indexQueueDAO.retry(context, entry);
+            }
+        }
+        context.commit();
+        context.uncacheEntities();
+        log.info("Indexed {} queued objects, {} failed, lag {} ms", indexed.size(), failed.size(),
+                 Duration.between(entries.get(0).getDateQueued(), Instant.now()).toMillis());
+        return indexed.size();
+    }
+
+    @Override
+    public int waitForIndex(Context context) throws SQLException {
+        int processed = 0;
+        int batch;
+        while ((batch = processBatch(context)) > 0) {
+            processed += batch;
+        }
+        return processed;
+    }
+
+    @Override
+    public long getQueueSize(Context context) {
+        return indexQueueDAO.count(context);
+    }
+
+    @Override
+    public Duration getLag(Context context) {
+        Instant oldest = indexQueueDAO.findOldestDateQueued(context);
+        return oldest != null ? Duration.between(oldest, Instant.now()) : Duration.ZERO;
+    }
+
+    /**
+     * Index the object of the given entry, or remove it from the index.
+     *
+     * @return false if the indexing failed
+     */
+    @SuppressWarnings("unchecked")
+    private boolean process(Context context, IndexQueueEntry entry) {
+        String uniqueId = entry.getUniqueId();
+        try {
+            if (entry.isUnindex()) {
+                indexingService.unIndexContent(context, uniqueId, false);
+            }
+            if (!entry.isReindex()) {
+                return true;
+            }
+            IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueId);
+            Optional<IndexableObject> indexableObject = indexFactory != null ?
+                indexFactory.findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-")) :
+                Optional.empty();
+            if (indexableObject.isPresent()) {
+                indexingService.indexContent(context, indexableObject.get(), true, false, entry.isPreDb());
+            } else {
+                // the object has been deleted after being queued
+                indexingService.unIndexContent(context, uniqueId, false);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Failed while indexing queued object: " + uniqueId, e);
+            return false;
+        }
+    }
+}
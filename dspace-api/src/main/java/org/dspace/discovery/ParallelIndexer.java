@@ -0,0 +1,188 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Strings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+
+/**
+ * Reindex the whole discovery core using a pool of worker threads.
+ * <p>
+ * The objects returned by {@link IndexFactory#findAll(Context)} are ordered by their identifier, so the main
+ * thread only reads them to split the identifier space into contiguous ranges of <code>batchSize</code> objects.
+ * Each range is handed over to a worker that reloads the objects in its own {@link Context}, builds the solr
+ * documents through {@link IndexFactory#buildDocument(Context, IndexableObject)} and sends them to the search core
+ * with a single <code>add</code> request using <code>commitWithin</code>.
+ * <p>
+ * The Hibernate session is bound to the current thread, so the worker contexts are never created in the calling
+ * thread: the number of ranges waiting for a worker is bounded instead, to keep the memory footprint stable.
+ */
+public class ParallelIndexer {
+
+    private static final Logger log = LogManager.getLogger(ParallelIndexer.class);
+
+    private final SolrServiceImpl solrService;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private final int commitWithin;
+
+    private final AtomicLong indexed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param solrService  the discovery service used to check the staleness of the indexed documents
+     * @param threads      the number of worker threads
+     * @param batchSize    the number of objects handled by a worker in a single unit of work
+     * @param commitWithin the commitWithin, in milliseconds, used for the batched add requests
+     */
+    public ParallelIndexer(SolrServiceImpl solrService, int threads, int batchSize, int commitWithin) {
+        this.solrService = solrService;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.commitWithin = commitWithin;
+    }
+
+    /**
+     * Reindex all the objects of the given type, or of all the types if no type is provided.
+     *
+     * @param context the DSpace context used to enumerate the objects
+     * @param force   whether to reindex the objects even if they are not stale
+     * @param type    the type of the objects to reindex, can be null
+     * @return the number of documents sent to the search core
+     * @throws SQLException if database error
+     */
+    @SuppressWarnings("unchecked")
+    public long index(Context context, boolean force, String type) throws SQLException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // allow a couple of ranges per worker to be queued while the workers are busy
+        Semaphore pending = new Semaphore(threads * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        try {
+            for (IndexFactory indexFactory : solrService.indexObjectServiceFactory.getIndexFactories()) {
+                if (type != null && !Strings.CS.equals(indexFactory.getType(), type)) {
+                    continue;
+                }
+                List<String> range = new ArrayList<>(batchSize);
+                Iterator<IndexableObject> indexableObjects = indexFactory.findAll(context);
+                int read = 0;
+                while (indexableObjects.hasNext()) {
+                    IndexableObject indexableObject = indexableObjects.next();
+                    range.add(String.valueOf(indexableObject.getID()));
+                    context.uncacheEntity(indexableObject.getIndexedObject());
+                    read++;
+                    if ((read % 100) == 0 && indexFactory instanceof ItemIndexFactory) {
+                        context.uncacheEntities();
+                    }
+                    if (range.size() >= batchSize) {
+                        futures.add(submit(executor, pending, indexFactory, range, force));
+                        range = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!range.isEmpty()) {
+                    futures.add(submit(executor, pending, indexFactory, range, force));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the indexing workers", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Indexed {} objects with {} threads in {} ms, {} objects failed",
+                 indexed.get(), threads, System.currentTimeMillis() - start, failed.get());
+        return indexed.get();
+    }
+
+    private Future<?> submit(ExecutorService executor, Semaphore pending, IndexFactory indexFactory,
+                             List<String> range, boolean force) throws InterruptedException {
+        pending.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    indexRange(indexFactory, range, force);
+                } finally {
+                    pending.release();
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Build and send to the search core the documents for the given range of identifiers. This is always executed
+     * by a worker thread using its own Context.
+     */
+    @SuppressWarnings("unchecked")
+    private void indexRange(IndexFactory indexFactory, List<String> ids, boolean force)
+            throws SQLException, IOException, SolrServerException, SearchServiceException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        try {
+            List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context, id);
+                if (indexableObject.isEmpty()) {
+                    continue;
+                }
+                IndexableObject object = indexableObject.get();
+                if (force || solrService.requiresIndexing(object.getUniqueIndexID(), object.getLastModified())) {
+                    try {
+                        SolrInputDocument document = indexFactory.buildDocument(context, object);
+                        indexFactory.prepareDocument(context, object, document);
+                        documents.add(document);
+                    } catch (SQLException | IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.error("Error occurred while building SOLR document for {} object {}",
+                                  object.getType(), object.getID(), e);
+                    }
+                }
+                context.uncacheEntity(object.getIndexedObject());
+            }
+            SolrClient solr = solrService.getSolrSearchCore().getSolr();
+            if (solr != null && !documents.isEmpty()) {
+                solr.add(documents, commitWithin);
+                indexed.addAndGet(documents.size());
+            }
+        } finally {
+            context.abort();
+        }
+    }
+}
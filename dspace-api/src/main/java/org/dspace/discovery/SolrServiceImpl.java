@@ -63,6 +63,7 @@ import org.apache.solr.common.util.NamedList;
 import org.dspace.app.metrics.CrisMetrics;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.browse.ItemCountDAOSolr;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
@@ -354,8 +355,22 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         updateIndex(context, force, null);
     }
 
+    /**
+     * Iterates over all the objects of the given type, or of all the types if no type is provided, and updates them
+     * in the index. When <code>discovery.index.parallel.threads</code> is greater than one the objects are split in
+     * ranges that are indexed concurrently and sent to solr in batches, see {@link ParallelIndexer}.
+     *
+     * @param context the dspace context
+     * @param force   whether or not to force the reindexing
+     * @param type    the type of the objects to update, null to update all of them
+     */
     @Override
     public void updateIndex(Context context, boolean force, String type) {
+        int threads = configurationService.getIntProperty("discovery.index.parallel.threads", 1);
+        if (threads > 1) {
+            updateIndexInParallel(context, force, type, threads);
+            return;
+        }
         try {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
@@ -383,6 +398,19 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    private void updateIndexInParallel(Context context, boolean force, String type, int threads) {
+        int batchSize = configurationService.getIntProperty("discovery.index.parallel.batch-size", 500);
+        int commitWithin = configurationService.getIntProperty("discovery.index.parallel.commit-within", 10000);
+        try {
+            new ParallelIndexer(this, threads, batchSize, commitWithin).index(context, force, type);
+            if (solrSearchCore.getSolr() != null) {
+                solrSearchCore.getSolr().commit();
+            }
+        } catch (IOException | SQLException | SolrServerException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -1674,6 +1702,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         try {
             if (solrSearchCore.getSolr() != null) {
                 solrSearchCore.getSolr().commit();
+                // the item counts of the communities and collections may have changed
+                ItemCountDAOSolr.invalidateCounts();
             }
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
@@ -0,0 +1,72 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry;
+
+/**
+ * Database Access Object interface for the discovery_index_queue table, used to defer the indexing of the objects
+ * changed by a transaction.
+ */
+public interface IndexQueueDAO {
+
+    /**
+     * Add to the discovery_index_queue table an entry for the given unique index id. If an entry already exists the
+     * flags are merged with the existing ones, the queued date is updated and the failed attempts are reset, so that
+     * repeated changes of the same object are indexed only once.
+     *
+     * @param context  the DSpace Context object
+     * @param uniqueId the unique index id of the changed object
+     * @param unindex  whether the current document must be removed before the reindex
+     * @param reindex  whether the object must be reindexed
+     * @param preDb    whether the object must be indexed with a "preDB" status
+     */
+    void queue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb);
+
+    /**
+     * Read, without removing them, the oldest entries of the queue ordered by date queued asc (older first)
+     *
+     * @param context the DSpace Context object
+     * @param limit   the max number of entries to return
+     * @return the oldest entries of the queue
+     */
+    List<IndexQueueEntry> findOldest(Context context, int limit);
+
+    /**
+     * Remove the given entry from the queue, only if it has not been queued again in the meantime
+     *
+     * @param context the DSpace Context object
+     * @param entry   the processed entry
+     */
+    void remove(Context context, IndexQueueEntry entry);
+
+    /**
+     * Move the given entry, which failed to be indexed, to the end of the queue and count the failed attempt, only
+     * if it has not been queued again in the meantime
+     *
+     * @param context the DSpace Context object
+     * @param entry   the failed entry
+     */
+    void retry(Context context, IndexQueueEntry entry);
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of entries in the queue
+     */
+    long count(Context context);
+
+    /**
+     * @param context the DSpace Context object
+     * @return the queued date of the oldest entry, null if the queue is empty
+     */
+    Instant findOldestDateQueued(Context context);
+}
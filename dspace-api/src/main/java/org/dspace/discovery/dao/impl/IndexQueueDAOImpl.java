@@ -0,0 +1,177 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao.impl;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.discovery.IndexQueueEntry;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the discovery_index_queue table. This
+ * class is responsible for all database calls for the discovery index queue and is autowired by spring. This class
+ * should never be accessed directly.
+ */
+public class IndexQueueDAOImpl implements IndexQueueDAO {
+
+    @Autowired
+    ConfigurationService configurationService;
+
+    @Override
+    public void queue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb) {
+        try {
+            Session session = getHibernateSession();
+            if ("org.h2.Driver".equals(configurationService.getProperty("db.driver"))) {
+                // H2 doesn't support the INSERT OR UPDATE statement so let's do in two steps
+                String sqlUpdate = "UPDATE discovery_index_queue " +
+                    "SET unindex = (unindex OR :unindex), reindex = (reindex OR :reindex), pre_db = :pre_db, " +
+                    "date_queued = CURRENT_TIMESTAMP, attempts = 0 " +
+                    "WHERE unique_id = :unique_id";
+                NativeQuery<?> queryUpdate = session.createNativeQuery(sqlUpdate);
+                setParameters(queryUpdate, uniqueId, unindex, reindex, preDb);
+                if (queryUpdate.executeUpdate() == 0) {
+                    String sqlInsert = "INSERT INTO discovery_index_queue " +
+                        "(unique_id, unindex, reindex, pre_db, date_queued) " +
+                        "VALUES (:unique_id, :unindex, :reindex, :pre_db, CURRENT_TIMESTAMP)";
+                    NativeQuery<?> queryInsert = session.createNativeQuery(sqlInsert);
+                    setParameters(queryInsert, uniqueId, unindex, reindex, preDb);
+                    queryInsert.executeUpdate();
+                }
+            } else {
+                String sqlInsertOrUpdate = "INSERT INTO discovery_index_queue " +
+                    "(unique_id, unindex, reindex, pre_db, date_queued) " +
+                    "VALUES (:unique_id, :unindex, :reindex, :pre_db, CURRENT_TIMESTAMP) " +
+                    "ON CONFLICT (unique_id) DO UPDATE " +
+                    "SET unindex = (discovery_index_queue.unindex OR EXCLUDED.unindex), " +
+                    "reindex = (discovery_index_queue.reindex OR EXCLUDED.reindex), " +
+                    "pre_db = EXCLUDED.pre_db, date_queued = EXCLUDED.date_queued, attempts = 0";
+                NativeQuery<?> queryInsertOrUpdate = session.createNativeQuery(sqlInsertOrUpdate);
+                setParameters(queryInsertOrUpdate, uniqueId, unindex, reindex, preDb);
+                queryInsertOrUpdate.executeUpdate();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<IndexQueueEntry> findOldest(Context context, int limit) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "SELECT unique_id, unindex, reindex, pre_db, date_queued, attempts"
+                    + " FROM discovery_index_queue ORDER BY date_queued ASC";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setMaxResults(limit);
+            List<IndexQueueEntry> entries = new ArrayList<>();
+            for (Object result : query.getResultList()) {
+                Object[] row = (Object[]) result;
+                entries.add(new IndexQueueEntry((String) row[0], (Boolean) row[1], (Boolean) row[2],
+                    (Boolean) row[3], toInstant(row[4]), ((Number) row[5]).intValue()));
+            }
+            return entries;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove(Context context, IndexQueueEntry entry) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "DELETE FROM discovery_index_queue WHERE unique_id = :unique_id"
+                    + " AND date_queued = :date_queued";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setParameter("unique_id", entry.getUniqueId());
+            query.setParameter("date_queued", Timestamp.from(entry.getDateQueued()));
+            query.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void retry(Context context, IndexQueueEntry entry) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "UPDATE discovery_index_queue SET attempts = attempts + 1, date_queued = CURRENT_TIMESTAMP"
+                    + " WHERE unique_id = :unique_id AND date_queued = :date_queued";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setParameter("unique_id", entry.getUniqueId());
+            query.setParameter("date_queued", Timestamp.from(entry.getDateQueued()));
+            query.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public long count(Context context) {
+        try {
+            Session session = getHibernateSession();
+            NativeQuery<?> query = session.createNativeQuery("SELECT COUNT(*) FROM discovery_index_queue");
+            return ((Number) query.uniqueResult()).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Instant findOldestDateQueued(Context context) {
+        try {
+            Session session = getHibernateSession();
+            NativeQuery<?> query = session.createNativeQuery("SELECT MIN(date_queued) FROM discovery_index_queue");
+            Object result = query.uniqueResult();
+            return result != null ? toInstant(result) : null;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void setParameters(NativeQuery<?> query, String uniqueId, boolean unindex, boolean reindex,
+                               boolean preDb) {
+        query.setParameter("unique_id", uniqueId);
+        query.setParameter("unindex", unindex);
+        query.setParameter("reindex", reindex);
+        query.setParameter("pre_db", preDb);
+    }
+
+    private Instant toInstant(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        } else if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof Instant instant) {
+            return instant;
+        }
+        throw new RuntimeException("Unexpected result type from the database " + value);
+    }
+
+    /**
+     * The Hibernate Session used in the current thread
+     *
+     * @return the current Session.
+     * @throws SQLException
+     */
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+}
@@ -107,59 +107,76 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
             throws IOException, SolrServerException {
         final SolrClient solr = solrSearchCore.getSolr();
         if (solr != null) {
-            // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
-            if (!ConfigurationService.getBooleanProperty("discovery.ignore-fulltext", false) && streams != null
-                    && !streams.isEmpty()) {
-                // limit full text indexing to first 100,000 characters unless configured otherwise
-                final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
-                        .getIntProperty("discovery.solr.fulltext.charLimit",
-                                100000);
+            addFullText(doc, streams);
+            // Add document to index
+            solr.add(doc);
 
-                // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
-                TextAndCSVParser tikaParser = new TextAndCSVParser();
-                BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
-                Metadata tikaMetadata = new Metadata();
-                ParseContext tikaContext = new ParseContext();
+        }
+    }
 
-                // Use Apache Tika to parse the full text stream(s)
-                boolean extractionSucceeded = false;
-                try (InputStream fullTextStreams = streams.getStream()) {
-                    tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
+    @Override
+    public void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        // by default there is no additional content to add outside of buildDocument
+    }
+
+    /**
+     * Add the full text extracted from the given streams to the document, if any.
+     *
+     * @param doc     the solr document to be enriched
+     * @param streams list of bitstream content streams, can be null
+     * @throws IOException if the full text cannot be parsed
+     */
+    protected void addFullText(SolrInputDocument doc, FullTextContentStreams streams) throws IOException {
+        // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
+        if (!ConfigurationService.getBooleanProperty("discovery.ignore-fulltext", false) && streams != null
+                && !streams.isEmpty()) {
+            // limit full text indexing to first 100,000 characters unless configured otherwise
+            final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
+                    .getIntProperty("discovery.solr.fulltext.charLimit",
+                            100000);
+
+            // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
+            TextAndCSVParser tikaParser = new TextAndCSVParser();
+            BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
+            Metadata tikaMetadata = new Metadata();
+            ParseContext tikaContext = new ParseContext();
+
+            // Use Apache Tika to parse the full text stream(s)
+            boolean extractionSucceeded = false;
+            try (InputStream fullTextStreams = streams.getStream()) {
+                tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
+                extractionSucceeded = true;
+            } catch (SAXException saxe) {
+                // Check if this SAXException is just a notice that this file was longer than the character limit.
+                // Unfortunately there is not a unique, public exception type to catch here. This error is thrown
+                // by Tika's WriteOutContentHandler when it encounters a document longer than the char limit
+                // https://github.com/apache/tika/blob/main/tika-core/src/main/java/org/apache/tika/sax/WriteOutContentHandler.java
+                if (saxe.getMessage().contains("limit has been reached")) {
+                    // log that we only indexed up to that configured limit
+                    log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
+                            + " Only the first {} characters were indexed.", charLimit);
                     extractionSucceeded = true;
-                } catch (SAXException saxe) {
-                    // Check if this SAXException is just a notice that this file was longer than the character limit.
-                    // Unfortunately there is not a unique, public exception type to catch here. This error is thrown
-                    // by Tika's WriteOutContentHandler when it encounters a document longer than the char limit
-                    // https://github.com/apache/tika/blob/main/tika-core/src/main/java/org/apache/tika/sax/WriteOutContentHandler.java
-                    if (saxe.getMessage().contains("limit has been reached")) {
-                        // log that we only indexed up to that configured limit
-                        log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
-                                + " Only the first {} characters were indexed.", charLimit);
-                        extractionSucceeded = true;
-                    } else {
-                        log.error("Tika parsing error. Could not index full text.", saxe);
-                        throw new IOException("Tika parsing error. Could not index full text.", saxe);
-                    }
-                } catch (TikaException | IOException ex) {
-                    log.error("Tika parsing error. Could not index full text.", ex);
-                    throw new IOException("Tika parsing error. Could not index full text.", ex);
+                } else {
+                    log.error("Tika parsing error. Could not index full text.", saxe);
+                    throw new IOException("Tika parsing error. Could not index full text.", saxe);
                 }
-                if (extractionSucceeded) {
-                    // Write Tika metadata to "tika_meta_*" fields.
-                    // This metadata is not very useful right now,
-                    // but we'll keep it just in case it becomes more useful.
-                    for (String name : tikaMetadata.names()) {
-                        for (String value : tikaMetadata.getValues(name)) {
-                            doc.addField("tika_meta_" + name, value);
-                        }
+            } catch (TikaException | IOException ex) {
+                log.error("Tika parsing error. Could not index full text.", ex);
+                throw new IOException("Tika parsing error. Could not index full text.", ex);
+            }
+            if (extractionSucceeded) {
+                // Write Tika metadata to "tika_meta_*" fields.
+                // This metadata is not very useful right now,
+                // but we'll keep it just in case it becomes more useful.
+                for (String name : tikaMetadata.names()) {
+                    for (String value : tikaMetadata.getValues(name)) {
+                        doc.addField("tika_meta_" + name, value);
                     }
-                    // Save (parsed) full text to "fulltext" field
-                    doc.addField("fulltext", tikaHandler.toString());
                 }
+                // Save (parsed) full text to "fulltext" field
+                doc.addField("fulltext", tikaHandler.toString());
             }
-            // Add document to index
-            solr.add(doc);
-
         }
     }
 
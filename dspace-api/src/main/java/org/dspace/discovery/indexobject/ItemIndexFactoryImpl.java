@@ -761,6 +761,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         }
     }
 
+    @Override
+    public void prepareDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
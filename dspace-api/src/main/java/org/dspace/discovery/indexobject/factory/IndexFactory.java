@@ -66,6 +66,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Complete the provided document with any content that {@link #writeDocument} would add on top of
+     * {@link #buildDocument} (i.e. the extracted full text of an item), so that the document can be sent to the
+     * search core as part of a batch
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object the document has been built for
+     * @param solrInputDocument     Solr input document to complete
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
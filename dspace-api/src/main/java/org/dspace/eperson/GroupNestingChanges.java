@@ -0,0 +1,71 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * The subgroups added to or removed from groups in a {@link org.dspace.core.Context} and not yet applied to the
+ * group2groupcache table. Each change is a pair of parent and child group UUIDs.
+ * <p>
+ * A subgroup added and then removed again (or the other way around) before the changes are applied cancels out.
+ */
+public class GroupNestingChanges {
+
+    private final Set<Pair<UUID, UUID>> addedSubgroups = new LinkedHashSet<>();
+
+    private final Set<Pair<UUID, UUID>> removedSubgroups = new LinkedHashSet<>();
+
+    /**
+     * Record that the child group has been added to the parent group.
+     *
+     * @param parent Parent group UUID.
+     * @param child  Child group UUID.
+     */
+    public void addSubgroup(UUID parent, UUID child) {
+        Pair<UUID, UUID> subgroup = Pair.of(parent, child);
+        if (!removedSubgroups.remove(subgroup)) {
+            addedSubgroups.add(subgroup);
+        }
+    }
+
+    /**
+     * Record that the child group has been removed from the parent group.
+     *
+     * @param parent Parent group UUID.
+     * @param child  Child group UUID.
+     */
+    public void removeSubgroup(UUID parent, UUID child) {
+        Pair<UUID, UUID> subgroup = Pair.of(parent, child);
+        if (!addedSubgroups.remove(subgroup)) {
+            removedSubgroups.add(subgroup);
+        }
+    }
+
+    public Set<Pair<UUID, UUID>> getAddedSubgroups() {
+        return Collections.unmodifiableSet(addedSubgroups);
+    }
+
+    public Set<Pair<UUID, UUID>> getRemovedSubgroups() {
+        return Collections.unmodifiableSet(removedSubgroups);
+    }
+
+    public boolean isEmpty() {
+        return addedSubgroups.isEmpty() && removedSubgroups.isEmpty();
+    }
+
+    public void reset() {
+        addedSubgroups.clear();
+        removedSubgroups.clear();
+    }
+}
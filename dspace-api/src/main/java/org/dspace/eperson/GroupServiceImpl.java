@@ -8,7 +8,10 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -20,6 +23,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -69,6 +73,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements GroupService {
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of group UUIDs passed to a single query on the group cache
+     */
+    private static final int CACHE_QUERY_CHUNK_SIZE = 1000;
+
     @Autowired(required = true)
     protected GroupDAO groupDAO;
 
@@ -159,6 +168,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
         groupParent.addMember(groupChild);
         groupChild.addParentGroup(groupParent);
+        context.getGroupNestingChanges().addSubgroup(groupParent.getID(), groupChild.getID());
 
         context.addEvent(new Event(Event.ADD, Constants.GROUP, groupParent.getID(), Constants.GROUP, groupChild.getID(),
             groupChild.getName(), DetailType.DSO_NAME, getIdentifiers(context, groupParent)));
@@ -249,6 +259,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
         if (groupParent.remove(childGroup)) {
             childGroup.removeParentGroup(groupParent);
+            context.getGroupNestingChanges().removeSubgroup(groupParent.getID(), childGroup.getID());
             context.addEvent(
                 new Event(Event.REMOVE, Constants.GROUP, groupParent.getID(), Constants.GROUP, childGroup.getID(),
                     childGroup.getName(), DetailType.DSO_NAME, getIdentifiers(context, groupParent)));
@@ -359,10 +370,11 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         Set<Group> groups = new HashSet<>();
 
         if (ePerson != null) {
-            // two queries - first to get groups eperson is a member of
-            // second query gets parent groups for groups eperson is a member of
-            groups.addAll(groupDAO.findByEPerson(context, ePerson));
+            // single query - gets the groups eperson is a member of together with their parent groups
+            groups.addAll(groupDAO.findAllByEPerson(context, ePerson));
         }
+
+        Set<Group> otherGroups = new HashSet<>();
         // Also need to get all "Special Groups" user is a member of!
         // Otherwise, you're ignoring the user's membership to these groups!
         // However, we only do this is we are looking up the special groups
@@ -371,15 +383,16 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         if ((context.getCurrentUser() == null) || (context.getCurrentUser().equals(ePerson))) {
             List<Group> specialGroups = context.getSpecialGroups();
             for (Group special : specialGroups) {
-                groups.add(special);
+                otherGroups.add(special);
             }
         }
 
         // all the users are members of the anonymous group
-        groups.add(findByName(context, Group.ANONYMOUS));
+        otherGroups.add(findByName(context, Group.ANONYMOUS));
 
-        List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
-        // now we have all owning groups, also grab all parents of owning groups
+        List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, otherGroups);
+        // now we have the special and anonymous groups, also grab all their parents
+        groups.addAll(otherGroups);
         for (Group2GroupCache group2GroupCache : groupCache) {
             groups.add(group2GroupCache.getParent());
         }
@@ -573,6 +586,14 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // Remove any ResourcePolicies that reference this group
         authorizeService.removeGroupPolicies(context, group);
 
+        GroupNestingChanges groupNestingChanges = context.getGroupNestingChanges();
+        for (Group parentGroup : group.getParentGroups()) {
+            parentGroup.remove(group);
+            groupNestingChanges.removeSubgroup(parentGroup.getID(), group.getID());
+        }
+        for (Group memberGroup : group.getMemberGroups()) {
+            groupNestingChanges.removeSubgroup(group.getID(), memberGroup.getID());
+        }
         group.getMemberGroups().clear();
         group.getParentGroups().clear();
 
@@ -584,11 +605,11 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // update the group2groupcache table before deleting our object, otherwise we get an issue with references
+        updateGroupCache(context);
+        group2GroupCacheDAO.deleteByGroup(context, group.getID());
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -680,7 +701,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            updateGroupCache(context);
             group.clearGroupsChanged();
         }
 
@@ -737,6 +758,129 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     }
 
 
+    /**
+     * Apply the pending changes to the nesting of groups of the context to the group cache AKA the group2groupcache
+     * table in the database, touching only the rows of the ancestors and descendants of the changed groups.
+     * <p>
+     * For each added subgroup, all the pairs of an ancestor of the parent (or the parent itself) and a descendant of
+     * the child (or the child itself) are added. Then, for the removed subgroups, the same pairs are checked against
+     * the current nesting of groups and the ones no longer reachable are deleted: only the direct subgroups of the
+     * ancestors are loaded, as the cache rows of any other group cannot depend on a removed subgroup. Adding first may
+     * temporarily add pairs reachable only through a removed subgroup, which are always deleted by the second step.
+     *
+     * @param context The relevant DSpace Context.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context) throws SQLException {
+        GroupNestingChanges changes = context.getGroupNestingChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (Pair<UUID, UUID> subgroup : changes.getAddedSubgroups()) {
+            Set<UUID> ancestors = getAncestorsAndSelf(context, subgroup.getLeft());
+            Set<UUID> descendants = getDescendantsAndSelf(context, subgroup.getRight());
+            Set<Pair<UUID, UUID>> existing = getCache(context, ancestors, descendants);
+            for (UUID ancestor : ancestors) {
+                for (UUID descendant : descendants) {
+                    Pair<UUID, UUID> pair = Pair.of(ancestor, descendant);
+                    if (!ancestor.equals(descendant) && !existing.contains(pair)) {
+                        group2GroupCacheDAO.addToCache(context, ancestor, descendant);
+                    }
+                }
+            }
+        }
+
+        if (!changes.getRemovedSubgroups().isEmpty()) {
+            Set<UUID> ancestors = new HashSet<>();
+            Set<UUID> descendants = new HashSet<>();
+            for (Pair<UUID, UUID> subgroup : changes.getRemovedSubgroups()) {
+                ancestors.addAll(getAncestorsAndSelf(context, subgroup.getLeft()));
+                descendants.addAll(getDescendantsAndSelf(context, subgroup.getRight()));
+            }
+
+            // only the edges starting from the ancestors can lead to a removed subgroup, the cache rows of any other
+            // group are still valid and are used as they are
+            Map<UUID, Set<UUID>> parents = new HashMap<>();
+            for (List<UUID> chunk : ListUtils.partition(new ArrayList<>(ancestors), CACHE_QUERY_CHUNK_SIZE)) {
+                for (Pair<UUID, UUID> group2groupResult : groupDAO.getGroup2GroupResults(context, chunk)) {
+                    parents.computeIfAbsent(group2groupResult.getLeft(), parent -> new HashSet<>())
+                           .add(group2groupResult.getRight());
+                }
+            }
+
+            Set<UUID> unaffected = new HashSet<>();
+            parents.values().forEach(unaffected::addAll);
+            unaffected.removeAll(ancestors);
+            Map<UUID, Set<UUID>> cachedDescendants = new HashMap<>();
+            for (Pair<UUID, UUID> pair : getCache(context, unaffected, descendants)) {
+                cachedDescendants.computeIfAbsent(pair.getLeft(), parent -> new HashSet<>()).add(pair.getRight());
+            }
+
+            Map<UUID, Set<UUID>> reachable = new HashMap<>();
+            for (Pair<UUID, UUID> pair : getCache(context, ancestors, descendants)) {
+                Set<UUID> myDescendants = reachable.computeIfAbsent(pair.getLeft(),
+                    ancestor -> getReachableDescendants(ancestor, parents, ancestors, cachedDescendants));
+                if (!myDescendants.contains(pair.getRight())) {
+                    group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
+                }
+            }
+        }
+
+        changes.reset();
+    }
+
+    /**
+     * Returns the groups reachable from the given ancestor, following the direct subgroups of the affected ancestors
+     * and the cache rows of any other group met along the way.
+     */
+    private Set<UUID> getReachableDescendants(UUID ancestor, Map<UUID, Set<UUID>> parents, Set<UUID> ancestors,
+                                              Map<UUID, Set<UUID>> cachedDescendants) {
+        Set<UUID> reachable = new HashSet<>();
+        Set<UUID> visited = new HashSet<>();
+        Deque<UUID> toVisit = new ArrayDeque<>(parents.getOrDefault(ancestor, Collections.emptySet()));
+        while (!toVisit.isEmpty()) {
+            UUID group = toVisit.pop();
+            if (!visited.add(group)) {
+                continue;
+            }
+            reachable.add(group);
+            if (ancestors.contains(group)) {
+                toVisit.addAll(parents.getOrDefault(group, Collections.emptySet()));
+            } else {
+                reachable.addAll(cachedDescendants.getOrDefault(group, Collections.emptySet()));
+            }
+        }
+        return reachable;
+    }
+
+    private Set<UUID> getAncestorsAndSelf(Context context, UUID group) throws SQLException {
+        Set<UUID> ancestors = group2GroupCacheDAO.findParentIds(context, group);
+        ancestors.add(group);
+        return ancestors;
+    }
+
+    private Set<UUID> getDescendantsAndSelf(Context context, UUID group) throws SQLException {
+        Set<UUID> descendants = group2GroupCacheDAO.findChildIds(context, group);
+        descendants.add(group);
+        return descendants;
+    }
+
+    /**
+     * Returns the rows of the group cache between the given parents and children, querying them in chunks to keep
+     * the number of parameters of each query bounded.
+     */
+    private Set<Pair<UUID, UUID>> getCache(Context context, Set<UUID> parents, Set<UUID> children)
+        throws SQLException {
+        Set<Pair<UUID, UUID>> cache = new HashSet<>();
+        for (List<UUID> parentsChunk : ListUtils.partition(new ArrayList<>(parents), CACHE_QUERY_CHUNK_SIZE)) {
+            for (List<UUID> childrenChunk : ListUtils.partition(new ArrayList<>(children), CACHE_QUERY_CHUNK_SIZE)) {
+                cache.addAll(group2GroupCacheDAO.getCache(context, parentsChunk, childrenChunk));
+            }
+        }
+        return cache;
+    }
+
     /**
      * Regenerate the group cache AKA the group2groupcache table in the database -
      * meant to be called when a group is added or removed from another group
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -36,6 +37,35 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      */
     Set<Pair<UUID, UUID>> getCache(Context context) throws SQLException;
 
+    /**
+     * Returns the cache rows whose parent and child are both in the given sets of group UUIDs.
+     * @param context The relevant DSpace Context.
+     * @param parents Parent group UUIDs.
+     * @param children Child group UUIDs.
+     * @return Set of UUID pairs, where the first element is the parent UUID and the second one is the child UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<Pair<UUID, UUID>> getCache(Context context, Collection<UUID> parents, Collection<UUID> children)
+        throws SQLException;
+
+    /**
+     * Returns the UUIDs of all the groups the given group is a direct or indirect member of.
+     * @param context The relevant DSpace Context.
+     * @param child Child group UUID.
+     * @return Set of the UUIDs of the ancestors of the group.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<UUID> findParentIds(Context context, UUID child) throws SQLException;
+
+    /**
+     * Returns the UUIDs of all the direct or indirect members groups of the given group.
+     * @param context The relevant DSpace Context.
+     * @param parent Parent group UUID.
+     * @return Set of the UUIDs of the descendants of the group.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<UUID> findChildIds(Context context, UUID parent) throws SQLException;
+
     /**
      * Returns all cache entities that are children of a given parent Group entity.
      * @param context The relevant DSpace Context.
@@ -81,6 +111,14 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      */
     void deleteAll(Context context) throws SQLException;
 
+    /**
+     * Deletes all the cache rows where the given group is either the parent or the child.
+     * @param context The relevant DSpace Context.
+     * @param group Group UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    void deleteByGroup(Context context, UUID group) throws SQLException;
+
     /**
      * Deletes a specific cache row given parent and child groups UUIDs.
      * @param context The relevant DSpace Context.
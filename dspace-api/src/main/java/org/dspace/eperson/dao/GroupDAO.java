@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -75,6 +76,17 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      */
     List<Group> findByEPerson(Context context, EPerson ePerson) throws SQLException;
 
+    /**
+     * Find all groups that the given ePerson belongs to, either directly or as a member of one of their subgroups,
+     * in a single query joining the group memberships with the group2groupcache table.
+     *
+     * @param context The DSpace context
+     * @param ePerson The EPerson to match
+     * @return A list of all groups to which the given EPerson directly or indirectly belongs
+     * @throws SQLException if database error
+     */
+    List<Group> findAllByEPerson(Context context, EPerson ePerson) throws SQLException;
+
     /**
      * Get a list of all direct parent - child group relations in the database
      *
@@ -85,6 +97,16 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      */
     List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, boolean flushQueries) throws SQLException;
 
+    /**
+     * Get a list of the direct parent - child group relations in the database whose parent is one of the given groups
+     *
+     * @param context The DSpace context
+     * @param parents The UUIDs of the parent groups
+     * @return A list of pairs indicating parent - child
+     * @throws SQLException if database error
+     */
+    List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, Collection<UUID> parents) throws SQLException;
+
     /**
      * Return all empty groups
      *
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -99,6 +100,19 @@ public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements Grou
         return list(query);
     }
 
+    @Override
+    public List<Group> findAllByEPerson(Context context, EPerson ePerson) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT g FROM Group g WHERE g.id IN (" +
+                                      "SELECT m.id FROM Group m JOIN m.epeople e WHERE e.id = :eperson_id) " +
+                                      "OR g.id IN (" +
+                                      "SELECT c.parent.id FROM Group2GroupCache c JOIN c.child m JOIN m.epeople e " +
+                                      "WHERE e.id = :eperson_id)");
+        query.setParameter("eperson_id", ePerson.getID());
+
+        return list(query);
+    }
+
     @Override
     public Group findByName(final Context context, final String name) throws SQLException {
         Query query = createQuery(context,
@@ -228,6 +242,23 @@ public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements Grou
         return results;
     }
 
+    @Override
+    public List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, Collection<UUID> parents)
+        throws SQLException {
+        if (parents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.id, c.id) " +
+            "FROM Group g " +
+            "JOIN g.groups c " +
+            "WHERE g.id IN (:parents)");
+        query.setParameter("parents", parents);
+
+        @SuppressWarnings("unchecked")
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return results;
+    }
+
     @Override
     public List<Group> getEmptyGroups(Context context) throws SQLException {
         return list(createQuery(context, "SELECT g from Group g where g.epeople is EMPTY"));
@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.time.Instant;
+
+/**
+ * An entry of the queue of the asynchronous consumers, see
+ * {@link org.dspace.event.service.AsyncEventQueueService}: an event to deliver to a single consumer.
+ */
+public class AsyncEventQueueEntry {
+
+    private final long id;
+
+    private final String consumer;
+
+    private final String objectKey;
+
+    private final String event;
+
+    private final int attempts;
+
+    private final Instant dateQueued;
+
+    public AsyncEventQueueEntry(long id, String consumer, String objectKey, String event, int attempts,
+                                Instant dateQueued) {
+        this.id = id;
+        this.consumer = consumer;
+        this.objectKey = objectKey;
+        this.event = event;
+        this.attempts = attempts;
+        this.dateQueued = dateQueued;
+    }
+
+    /**
+     * @return the id of the entry, increasing in the order in which the events have been queued
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the name of the consumer of the event
+     */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * @return the key ({subject type}-{subject id}) of the subject of the event, the events of the same subject are
+     *         delivered to the consumer in the order in which they have been queued
+     */
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    /**
+     * @return the serialized event
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the number of failed deliveries of the event
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getDateQueued() {
+        return dateQueued;
+    }
+
+}
@@ -0,0 +1,247 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.service.EPersonService;
+import org.dspace.event.AsyncEventSerializer.StoredEvent;
+import org.dspace.event.dao.AsyncEventQueueDAO;
+import org.dspace.event.service.AsyncEventQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link AsyncEventQueueService} backed by the event_async_queue table.
+ * <p>
+ * The entries of a batch are grouped by consumer and subject and each group is delivered by a worker thread, with
+ * its own Context, in the order of the queue. Every event is consumed, ended and removed from the queue in its own
+ * transaction, so a failure only affects the failed event: it is retried after
+ * <code>event.async.retry-delay * 2^(attempts - 1)</code> seconds and the following events of the same consumer and
+ * subject wait for it. After <code>event.async.max-attempts</code> failures the event is kept as a dead letter and
+ * the following events are delivered. The delivery is at-least-once: an event consumed by a transaction that fails
+ * to commit is delivered again.
+ * <p>
+ * The order is guaranteed only if the queue is processed by a single node at a time.
+ */
+public class AsyncEventQueueServiceImpl implements AsyncEventQueueService {
+
+    private static final Logger log = LogManager.getLogger(AsyncEventQueueServiceImpl.class);
+
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+
+    @Autowired
+    private AsyncEventQueueDAO asyncEventQueueDAO;
+
+    @Autowired
+    private EPersonService ePersonService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final AsyncEventSerializer serializer = new AsyncEventSerializer();
+
+    /**
+     * The initialized consumers not used by any worker, by consumer name. The consumers keep state between the
+     * consume and end calls, so each instance is used by a single worker at a time.
+     */
+    private final Map<String, Queue<Consumer>> idleConsumers = new ConcurrentHashMap<>();
+
+    @Override
+    public void queue(Context context, String consumer, Event event) {
+        try {
+            UUID currentUser = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+            asyncEventQueueDAO.queue(context, consumer, serializer.getObjectKey(event),
+                serializer.serialize(event, currentUser));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to queue event " + event + " for consumer " + consumer, e);
+        }
+    }
+
+    @Override
+    public int processBatch(Context context) throws SQLException {
+        int batchSize = configurationService.getIntProperty("event.async.batch-size", 100);
+        List<AsyncEventQueueEntry> entries = asyncEventQueueDAO.findDeliverable(context, Instant.now(), batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<AsyncEventQueueEntry>> groups = new LinkedHashMap<>();
+        for (AsyncEventQueueEntry entry : entries) {
+            groups.computeIfAbsent(entry.getConsumer() + "|" + entry.getObjectKey(), key -> new ArrayList<>())
+                  .add(entry);
+        }
+
+        AtomicInteger delivered = new AtomicInteger();
+        int threads = Math.max(1, Math.min(configurationService.getIntProperty("event.async.threads", 4),
+                                           groups.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(groups.size());
+            for (List<AsyncEventQueueEntry> group : groups.values()) {
+                futures.add(executor.submit(() -> {
+                    delivered.addAndGet(deliver(group));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the asynchronous consumers", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Delivered {} of {} queued events to the asynchronous consumers, lag {} ms", delivered.get(),
+                 entries.size(), Duration.between(entries.get(0).getDateQueued(), Instant.now()).toMillis());
+        return entries.size();
+    }
+
+    @Override
+    public int waitForConsumers(Context context) throws SQLException {
+        int processed = 0;
+        int batch;
+        while ((batch = processBatch(context)) > 0) {
+            processed += batch;
+        }
+        return processed;
+    }
+
+    @Override
+    public long getQueueSize(Context context) {
+        return asyncEventQueueDAO.count(context, false);
+    }
+
+    @Override
+    public long getDeadLetterCount(Context context) {
+        return asyncEventQueueDAO.count(context, true);
+    }
+
+    @Override
+    public Duration getLag(Context context) {
+        Instant oldest = asyncEventQueueDAO.findOldestDateQueued(context);
+        return oldest != null ? Duration.between(oldest, Instant.now()) : Duration.ZERO;
+    }
+
+    @Override
+    public int requeueDeadLetters(Context context) {
+        return asyncEventQueueDAO.requeueDead(context);
+    }
+
+    /**
+     * Deliver, in order, the entries of a single consumer and subject, stopping at the first failure. This is
+     * always executed by a worker thread using its own Context.
+     *
+     * @return the number of delivered entries
+     */
+    private int deliver(List<AsyncEventQueueEntry> group) throws SQLException {
+        String consumerName = group.get(0).getConsumer();
+        int delivered = 0;
+        try (Context context = new Context()) {
+            context.turnOffAuthorisationSystem();
+            for (AsyncEventQueueEntry entry : group) {
+                Consumer consumer = null;
+                try {
+                    consumer = borrowConsumer(consumerName);
+                    StoredEvent storedEvent = serializer.deserialize(entry.getEvent());
+                    context.setCurrentUser(findUser(context, storedEvent));
+                    consumer.consume(context, storedEvent.getEvent());
+                    consumer.end(context);
+                    asyncEventQueueDAO.remove(context, entry.getId());
+                    context.commit();
+                    returnConsumer(consumerName, consumer);
+                    delivered++;
+                } catch (Exception e) {
+                    log.error("Consumer(\"" + consumerName + "\") failed on queued event " + entry.getId()
+                                  + " (attempt " + (entry.getAttempts() + 1) + ")", e);
+                    context.rollback();
+                    discardConsumer(context, consumer);
+                    markFailed(context, entry, e);
+                    // the following events of the same subject must wait for the failed one
+                    break;
+                } finally {
+                    context.uncacheEntities();
+                }
+            }
+            context.complete();
+        }
+        return delivered;
+    }
+
+    private EPerson findUser(Context context, StoredEvent storedEvent) throws SQLException {
+        return storedEvent.getCurrentUser() != null ? ePersonService.find(context, storedEvent.getCurrentUser())
+            : null;
+    }
+
+    private void markFailed(Context context, AsyncEventQueueEntry entry, Exception error) throws SQLException {
+        int attempts = entry.getAttempts() + 1;
+        int maxAttempts = configurationService.getIntProperty("event.async.max-attempts", 5);
+        long retryDelay = configurationService.getLongProperty("event.async.retry-delay", 60);
+        long delay = retryDelay << Math.min(attempts - 1, MAX_BACKOFF_EXPONENT);
+        boolean dead = attempts >= maxAttempts;
+        if (dead) {
+            log.warn("Queued event " + entry.getId() + " for consumer \"" + entry.getConsumer() + "\" failed "
+                         + attempts + " times, it will not be delivered anymore");
+        }
+        asyncEventQueueDAO.markFailed(context, entry.getId(), attempts, Instant.now().plusSeconds(delay), dead,
+                                      ExceptionUtils.getStackTrace(error));
+        context.commit();
+    }
+
+    private Consumer borrowConsumer(String name) throws Exception {
+        Consumer consumer = idleConsumers.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>()).poll();
+        if (consumer == null) {
+            consumer = ConsumerProfile.makeConsumerProfile(name).getConsumer();
+            consumer.initialize();
+        }
+        return consumer;
+    }
+
+    private void returnConsumer(String name, Consumer consumer) {
+        idleConsumers.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>()).offer(consumer);
+    }
+
+    /**
+     * Drop a consumer left in an unknown state by a failure.
+     */
+    private void discardConsumer(Context context, Consumer consumer) {
+        if (consumer == null) {
+            return;
+        }
+        try {
+            consumer.finish(context);
+        } catch (Exception e) {
+            log.warn("Error finishing the failed consumer " + consumer, e);
+        }
+    }
+}
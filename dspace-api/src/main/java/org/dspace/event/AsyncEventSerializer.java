@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.dspace.app.audit.MetadataEvent;
+
+/**
+ * Converts the events to deliver to the asynchronous consumers to and from the JSON stored in the queue. Together
+ * with the event the id of the user that has generated it is stored, so that the consumer can run on behalf of the
+ * same user.
+ */
+class AsyncEventSerializer {
+
+    private static final TypeReference<List<MetadataEvent>> METADATA_EVENTS = new TypeReference<>() { };
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * @param event the event to store
+     * @return the key of the subject of the given event, the events with the same key are delivered in order
+     */
+    String getObjectKey(Event event) {
+        return event.getSubjectType() + "-" + event.getSubjectID();
+    }
+
+    /**
+     * Serialize the given event.
+     *
+     * @param event       the event to store
+     * @param currentUser the id of the user that has generated the event, null if anonymous
+     * @return the JSON representation of the event
+     * @throws IOException if the details of the event cannot be serialized
+     */
+    String serialize(Event event, UUID currentUser) throws IOException {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("eventType", event.getEventType());
+        node.put("subjectType", event.getSubjectType());
+        node.put("subjectID", toString(event.getSubjectID()));
+        node.put("objectType", event.getObjectType());
+        node.put("objectID", toString(event.getObjectID()));
+        node.put("transactionID", event.getTransactionID());
+        node.put("timeStamp", event.getTimeStamp());
+        node.put("currentUser", toString(currentUser));
+        node.set("identifiers", mapper.valueToTree(event.getIdentifiers()));
+        ArrayNode details = node.putArray("details");
+        for (EventDetail detail : event.getDetailList()) {
+            ObjectNode detailNode = details.addObject();
+            detailNode.put("type", detail.getDetailType() != null ? detail.getDetailType().name() : null);
+            detailNode.set("value", mapper.valueToTree(detail.getDetailObject()));
+        }
+        return mapper.writeValueAsString(node);
+    }
+
+    /**
+     * Deserialize an event stored by {@link #serialize(Event, UUID)}.
+     *
+     * @param json the JSON representation of the event
+     * @return the event and the id of the user that has generated it
+     * @throws IOException if the JSON is not valid
+     */
+    StoredEvent deserialize(String json) throws IOException {
+        JsonNode node = mapper.readTree(json);
+        ArrayList<EventDetail> details = new ArrayList<>();
+        for (JsonNode detailNode : node.path("details")) {
+            DetailType type = detailNode.path("type").isTextual() ?
+                DetailType.valueOf(detailNode.get("type").asText()) : null;
+            JsonNode value = detailNode.path("value");
+            Object detailObject = type == DetailType.DSO_SUMMARY && value.isArray() ?
+                mapper.convertValue(value, METADATA_EVENTS) : mapper.treeToValue(value, Object.class);
+            details.add(new EventDetail(type, detailObject));
+        }
+        ArrayList<String> identifiers = new ArrayList<>();
+        for (JsonNode identifier : node.path("identifiers")) {
+            identifiers.add(identifier.asText());
+        }
+        Event event = new Event(node.get("eventType").asInt(), node.get("subjectType").asInt(),
+            toUUID(node.get("subjectID")), node.get("objectType").asInt(), toUUID(node.get("objectID")),
+            details, identifiers);
+        event.setTransactionID(node.path("transactionID").textValue());
+        if (node.path("timeStamp").canConvertToLong()) {
+            event.setTimeStamp(node.get("timeStamp").asLong());
+        }
+        return new StoredEvent(event, toUUID(node.get("currentUser")));
+    }
+
+    private String toString(UUID uuid) {
+        return uuid != null ? uuid.toString() : null;
+    }
+
+    private UUID toUUID(JsonNode node) {
+        return node != null && node.isTextual() ? UUID.fromString(node.asText()) : null;
+    }
+
+    /**
+     * An event read from the queue.
+     */
+    static class StoredEvent {
+
+        private final Event event;
+
+        private final UUID currentUser;
+
+        StoredEvent(Event event, UUID currentUser) {
+            this.event = event;
+            this.currentUser = currentUser;
+        }
+
+        Event getEvent() {
+            return event;
+        }
+
+        /**
+         * @return the id of the user that has generated the event, null if anonymous
+         */
+        UUID getCurrentUser() {
+            return currentUser;
+        }
+
+    }
+
+}
@@ -7,16 +7,31 @@
  */
 package org.dspace.event;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.AsyncEventQueueService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * BasicDispatcher implements the primary task of a Dispatcher: it delivers a
  * filtered list of events, synchronously, to a configured list of consumers. It
  * may be extended for more elaborate behavior.
+ * <p>
+ * The time spent by each consumer is recorded in the {@link DispatcherStatistics}
+ * and a warning with the transaction identifier is logged for the consumers
+ * spending more than <code>event.dispatcher.slow-consumer.threshold</code>
+ * milliseconds on a transaction.
+ * <p>
+ * The events for the consumers configured as asynchronous are not consumed but
+ * stored in the {@link AsyncEventQueueService}, in the same transaction, and
+ * delivered after the commit.
  *
  * @version $Revision$
  */
@@ -31,6 +46,8 @@ public class BasicDispatcher extends Dispatcher {
      */
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(BasicDispatcher.class);
 
+    private AsyncEventQueueService asyncEventQueueService;
+
     @Override
     public void addConsumerProfile(ConsumerProfile cp)
         throws IllegalArgumentException {
@@ -80,7 +97,12 @@ public class BasicDispatcher extends Dispatcher {
             // some letters so RDF readers don't mistake it for an integer.
             String tid = "TX" + Utils.generateKey();
 
+            long dispatchStart = System.nanoTime();
+            int eventCount = 0;
+            Map<String, Long> consumerNanos = new HashMap<>();
+
             while (ctx.hasEvents()) {
+                eventCount++;
                 Event event = ctx.pollEvent();
                 event.setDispatcher(getIdentifier());
                 event.setTransactionID(tid);
@@ -100,8 +122,14 @@ public class BasicDispatcher extends Dispatcher {
                                           + "\": " + event.toString());
                         }
 
+                        long start = System.nanoTime();
                         try {
-                            cp.getConsumer().consume(ctx, event);
+                            if (cp.isAsync()) {
+                                // delivered after the commit, queued in the same transaction
+                                getAsyncEventQueueService().queue(ctx, cp.getName(), event);
+                            } else {
+                                cp.getConsumer().consume(ctx, event);
+                            }
 
                             // Record that the event has been consumed by this
                             // consumer
@@ -109,6 +137,12 @@ public class BasicDispatcher extends Dispatcher {
                         } catch (Exception e) {
                             log.error("Consumer(\"" + cp.getName()
                                           + "\").consume threw: " + e.toString(), e);
+                        } finally {
+                            long elapsed = System.nanoTime() - start;
+                            consumerNanos.merge(cp.getName(), elapsed, Long::sum);
+                            if (statistics != null) {
+                                statistics.recordConsume(cp.getName(), elapsed);
+                            }
                         }
                     }
 
@@ -118,20 +152,61 @@ public class BasicDispatcher extends Dispatcher {
             // Call end on the consumers that got synchronous events.
             for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
                 ConsumerProfile cp = (ConsumerProfile) ci.next();
-                if (cp != null) {
+                if (cp != null && !cp.isAsync()) {
                     if (log.isDebugEnabled()) {
                         log.debug("Calling end for consumer \"" + cp.getName()
                                       + "\"");
                     }
 
+                    long start = System.nanoTime();
                     try {
                         cp.getConsumer().end(ctx);
                     } catch (Exception e) {
                         log.error("Error in Consumer(\"" + cp.getName()
                                       + "\").end: " + e.toString(), e);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        consumerNanos.merge(cp.getName(), elapsed, Long::sum);
+                        if (statistics != null) {
+                            statistics.recordEnd(cp.getName(), elapsed);
+                        }
                     }
                 }
             }
+
+            if (statistics != null) {
+                statistics.recordTransaction(eventCount, System.nanoTime() - dispatchStart);
+            }
+            warnSlowConsumers(tid, eventCount, consumerNanos);
+        }
+    }
+
+    private AsyncEventQueueService getAsyncEventQueueService() {
+        if (asyncEventQueueService == null) {
+            asyncEventQueueService = EventServiceFactory.getInstance().getAsyncEventQueueService();
+        }
+        return asyncEventQueueService;
+    }
+
+    /**
+     * Log a warning for each consumer that spent more than the configured
+     * threshold on the events of the given transaction.
+     */
+    private void warnSlowConsumers(String tid, int eventCount, Map<String, Long> consumerNanos) {
+        long threshold = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                              .getLongProperty("event.dispatcher.slow-consumer.threshold", 1000);
+        if (threshold <= 0) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : consumerNanos.entrySet()) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(entry.getValue());
+            if (millis > threshold) {
+                log.warn("Slow consumer \"" + entry.getKey() + "\" in transaction " + tid + ": " + millis
+                             + " ms on " + eventCount + " events (dispatcher " + name + ")");
+                if (statistics != null) {
+                    statistics.recordSlowConsumer(entry.getKey());
+                }
+            }
         }
     }
 
@@ -19,7 +19,8 @@ import org.dspace.services.factory.DSpaceServicesFactory;
 /**
  * An instance of this class contains the configuration profile of a specific,
  * named Consumer, <em>in the context of a specific Dispatcher</em>. This
- * includes the name, the class to instantiate and event filters. Note that all
+ * includes the name, the class to instantiate, event filters and whether the
+ * events are delivered asynchronously after the commit. Note that all
  * characteristics are "global" and the same for all dispatchers.
  */
 public class ConsumerProfile {
@@ -43,6 +44,12 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether the events must be delivered after the commit, through the
+     * {@link org.dspace.event.service.AsyncEventQueueService}
+     */
+    private boolean async;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -95,6 +102,10 @@ public class ConsumerProfile {
         String filterString = configurationService.getProperty(CONSUMER_PREFIX
                                                                    + name + ".filters");
 
+        // without the background workers the queued events would never be delivered
+        async = configurationService.getBooleanProperty("event.async.enabled", false)
+            && configurationService.getBooleanProperty(CONSUMER_PREFIX + name + ".async", false);
+
         if (className == null) {
             throw new IllegalArgumentException(
                 "No class configured for consumer named: " + name);
@@ -163,4 +174,8 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    public boolean isAsync() {
+        return async;
+    }
 }
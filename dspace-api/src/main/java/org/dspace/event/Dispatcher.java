@@ -34,6 +34,11 @@ public abstract class Dispatcher {
      */
     protected Map<String, ConsumerProfile> consumers = new LinkedHashMap<String, ConsumerProfile>();
 
+    /**
+     * Statistics updated by the dispatch, if any.
+     */
+    protected DispatcherStatistics statistics;
+
     protected Dispatcher(String name) {
         super();
         this.name = name;
@@ -51,6 +56,15 @@ public abstract class Dispatcher {
         return identifier;
     }
 
+    /**
+     * Set the statistics to update while dispatching the events.
+     *
+     * @param statistics the dispatcher statistics
+     */
+    public void setStatistics(DispatcherStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     /**
      * Add a consumer profile to the end of the list.
      *
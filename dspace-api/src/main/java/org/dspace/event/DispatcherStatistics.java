@@ -0,0 +1,218 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM wide statistics of the event dispatchers: the latency of the consume and
+ * end calls of each consumer, the number of events of each dispatched
+ * transaction and the number of slow consumer calls. The statistics are shared
+ * by all the dispatchers created by the {@link org.dspace.event.service.EventService}
+ * and are updated without locking, so they can be recorded on every commit.
+ */
+public class DispatcherStatistics {
+
+    private static final long[] LATENCY_BOUNDS_MICROS = {
+        1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000, 10_000_000
+    };
+
+    private static final long[] EVENTS_BOUNDS = {1, 10, 100, 1_000, 10_000};
+
+    private final Map<String, ConsumerStatistics> consumers = new ConcurrentHashMap<>();
+
+    private final Histogram dispatchLatency = Histogram.latency();
+
+    private final Histogram eventsPerTransaction = new Histogram(EVENTS_BOUNDS, 1, "");
+
+    private final LongAdder slowConsumerCalls = new LongAdder();
+
+    /**
+     * Record the time spent by the given consumer consuming an event.
+     *
+     * @param consumer the name of the consumer
+     * @param nanos    the elapsed time in nanoseconds
+     */
+    public void recordConsume(String consumer, long nanos) {
+        getConsumer(consumer).consumeLatency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record the time spent by the given consumer in its end call.
+     *
+     * @param consumer the name of the consumer
+     * @param nanos    the elapsed time in nanoseconds
+     */
+    public void recordEnd(String consumer, long nanos) {
+        getConsumer(consumer).endLatency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record a dispatched transaction.
+     *
+     * @param events the number of dispatched events
+     * @param nanos  the time spent dispatching them to all the consumers, in
+     *               nanoseconds
+     */
+    public void recordTransaction(int events, long nanos) {
+        eventsPerTransaction.record(events);
+        dispatchLatency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Record a consumer slower than the configured threshold in a transaction.
+     *
+     * @param consumer the name of the consumer
+     */
+    public void recordSlowConsumer(String consumer) {
+        getConsumer(consumer).slowCalls.increment();
+        slowConsumerCalls.increment();
+    }
+
+    /**
+     * @return the statistics of each consumer, sorted by name
+     */
+    public Map<String, ConsumerStatistics> getConsumerStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(consumers));
+    }
+
+    public Histogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    public Histogram getEventsPerTransaction() {
+        return eventsPerTransaction;
+    }
+
+    public long getSlowConsumerCalls() {
+        return slowConsumerCalls.sum();
+    }
+
+    private ConsumerStatistics getConsumer(String consumer) {
+        return consumers.computeIfAbsent(consumer, name -> new ConsumerStatistics());
+    }
+
+    /**
+     * The statistics of a single consumer.
+     */
+    public static class ConsumerStatistics {
+
+        private final Histogram consumeLatency = Histogram.latency();
+
+        private final Histogram endLatency = Histogram.latency();
+
+        private final LongAdder slowCalls = new LongAdder();
+
+        public Histogram getConsumeLatency() {
+            return consumeLatency;
+        }
+
+        public Histogram getEndLatency() {
+            return endLatency;
+        }
+
+        public long getSlowCalls() {
+            return slowCalls.sum();
+        }
+
+    }
+
+    /**
+     * Histogram of values with fixed bucket bounds. The values are recorded in
+     * a fine unit and reported divided by the given scale, e.g. latencies
+     * recorded in microseconds and reported in milliseconds.
+     */
+    public static class Histogram {
+
+        private final long[] bounds;
+
+        private final LongAdder[] buckets;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder sum = new LongAdder();
+
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+        private final long scale;
+
+        private final String unit;
+
+        Histogram(long[] bounds, long scale, String unit) {
+            this.bounds = bounds;
+            this.scale = scale;
+            this.unit = unit;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        static Histogram latency() {
+            return new Histogram(LATENCY_BOUNDS_MICROS, 1_000, "ms");
+        }
+
+        void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the sum of the recorded values, in the reported unit
+         */
+        public double getTotal() {
+            return (double) sum.sum() / scale;
+        }
+
+        /**
+         * @return the mean of the recorded values, in the reported unit
+         */
+        public double getMean() {
+            long currentCount = count.sum();
+            return currentCount > 0 ? (double) sum.sum() / currentCount / scale : 0;
+        }
+
+        /**
+         * @return the max of the recorded values, in the reported unit
+         */
+        public double getMax() {
+            return (double) max.get() / scale;
+        }
+
+        /**
+         * @return the number of values of each bucket, by upper bound
+         */
+        public Map<String, Long> getBuckets() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int i = 0; i < bounds.length; i++) {
+                result.put("<=" + bounds[i] / scale + unit, buckets[i].sum());
+            }
+            result.put(">" + bounds[bounds.length - 1] / scale + unit, buckets[bounds.length].sum());
+            return result;
+        }
+
+    }
+
+}
@@ -629,6 +629,16 @@ public class Event implements Serializable {
         return timeStamp;
     }
 
+    /**
+     * Sets the timestamp at which the event occurred, e.g. when an event
+     * stored for later delivery is restored.
+     *
+     * @param timeStamp count of milliseconds since the epoch.
+     */
+    public void setTimeStamp(long timeStamp) {
+        this.timeStamp = timeStamp;
+    }
+
     /**
      * @return hashcode identifier of name of Dispatcher which first dispatched
      * this event. (Needed by asynch dispatch code.)
@@ -53,6 +53,8 @@ public class EventServiceImpl implements EventService {
 
     protected String CONSUMER_PFX = "event.consumer";
 
+    protected final DispatcherStatistics dispatcherStatistics = new DispatcherStatistics();
+
 
     protected EventServiceImpl() {
         initPool();
@@ -118,6 +120,11 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    @Override
+    public DispatcherStatistics getDispatcherStatistics() {
+        return dispatcherStatistics;
+    }
+
     @Override
     public int getConsumerIndex(String consumerClass) {
         Integer index = (Integer) consumerIndicies.get(consumerClass);
@@ -182,6 +189,7 @@ public class EventServiceImpl implements EventService {
                     Object[] args = new Object[1];
                     args[0] = dispatcherName;
                     dispatcher = (Dispatcher) dc.newInstance(args);
+                    dispatcher.setStatistics(dispatcherStatistics);
 
                     // OK, now get its list of consumers/filters
                     String consumerKey = PROP_PFX + "." + dispatcherName
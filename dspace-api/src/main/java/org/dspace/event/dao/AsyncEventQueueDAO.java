@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.event.AsyncEventQueueEntry;
+
+/**
+ * Database Access Object interface for the event_async_queue table, used to deliver the events to the asynchronous
+ * consumers after the commit of the transaction that generated them.
+ */
+public interface AsyncEventQueueDAO {
+
+    /**
+     * Add an event to the queue of the given consumer.
+     *
+     * @param context   the DSpace Context object
+     * @param consumer  the name of the consumer
+     * @param objectKey the key of the subject of the event
+     * @param event     the serialized event
+     */
+    void queue(Context context, String consumer, String objectKey, String event);
+
+    /**
+     * Read, without removing them, the oldest entries that can be delivered at the given time, ordered by id. The
+     * entries of a consumer and subject waiting for a retry of a previous entry are excluded, so that the order of
+     * the events of the same subject is kept.
+     *
+     * @param context the DSpace Context object
+     * @param now     the current time
+     * @param limit   the max number of entries to return
+     * @return the oldest deliverable entries
+     */
+    List<AsyncEventQueueEntry> findDeliverable(Context context, Instant now, int limit);
+
+    /**
+     * Remove the given entry from the queue.
+     *
+     * @param context the DSpace Context object
+     * @param id      the id of the delivered entry
+     */
+    void remove(Context context, long id);
+
+    /**
+     * Record a failed delivery of the given entry.
+     *
+     * @param context     the DSpace Context object
+     * @param id          the id of the entry
+     * @param attempts    the number of failed deliveries
+     * @param nextAttempt when the delivery can be tried again
+     * @param dead        true if the entry must not be delivered anymore
+     * @param error       the description of the failure
+     */
+    void markFailed(Context context, long id, int attempts, Instant nextAttempt, boolean dead, String error);
+
+    /**
+     * Make the dead entries deliverable again.
+     *
+     * @param context the DSpace Context object
+     * @return the number of requeued entries
+     */
+    int requeueDead(Context context);
+
+    /**
+     * @param context the DSpace Context object
+     * @param dead    true to count the dead entries, false to count the pending ones
+     * @return the number of entries in the queue
+     */
+    long count(Context context, boolean dead);
+
+    /**
+     * @param context the DSpace Context object
+     * @return the queued date of the oldest pending entry, null if there is none
+     */
+    Instant findOldestDateQueued(Context context);
+}
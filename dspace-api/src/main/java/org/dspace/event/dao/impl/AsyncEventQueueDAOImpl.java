@@ -0,0 +1,175 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.dao.impl;
+
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.event.AsyncEventQueueEntry;
+import org.dspace.event.dao.AsyncEventQueueDAO;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Hibernate implementation of the Database Access Object interface class for the event_async_queue table. This
+ * class is responsible for all database calls for the queue of the asynchronous consumers and is autowired by
+ * spring. This class should never be accessed directly.
+ */
+public class AsyncEventQueueDAOImpl implements AsyncEventQueueDAO {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Override
+    public void queue(Context context, String consumer, String objectKey, String event) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "INSERT INTO event_async_queue " +
+                "(consumer, object_key, event, attempts, next_attempt, dead, date_queued) " +
+                "VALUES (:consumer, :object_key, :event, 0, CURRENT_TIMESTAMP, false, CURRENT_TIMESTAMP)";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setParameter("consumer", consumer);
+            query.setParameter("object_key", objectKey);
+            query.setParameter("event", event);
+            query.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<AsyncEventQueueEntry> findDeliverable(Context context, Instant now, int limit) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "SELECT q.id, q.consumer, q.object_key, q.event, q.attempts, q.date_queued " +
+                "FROM event_async_queue q WHERE q.dead = false AND q.next_attempt <= :now " +
+                "AND NOT EXISTS (SELECT 1 FROM event_async_queue p WHERE p.consumer = q.consumer " +
+                "AND p.object_key = q.object_key AND p.id < q.id AND p.dead = false AND p.next_attempt > :now) " +
+                "ORDER BY q.id ASC";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setParameter("now", Timestamp.from(now));
+            query.setMaxResults(limit);
+            List<AsyncEventQueueEntry> entries = new ArrayList<>();
+            for (Object result : query.getResultList()) {
+                Object[] row = (Object[]) result;
+                entries.add(new AsyncEventQueueEntry(((Number) row[0]).longValue(), (String) row[1],
+                    (String) row[2], toString(row[3]), ((Number) row[4]).intValue(), toInstant(row[5])));
+            }
+            return entries;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove(Context context, long id) {
+        try {
+            Session session = getHibernateSession();
+            NativeQuery<?> query = session.createNativeQuery("DELETE FROM event_async_queue WHERE id = :id");
+            query.setParameter("id", id);
+            query.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void markFailed(Context context, long id, int attempts, Instant nextAttempt, boolean dead,
+                           String error) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "UPDATE event_async_queue SET attempts = :attempts, next_attempt = :next_attempt, " +
+                "dead = :dead, last_error = :last_error WHERE id = :id";
+            NativeQuery<?> query = session.createNativeQuery(sql);
+            query.setParameter("attempts", attempts);
+            query.setParameter("next_attempt", Timestamp.from(nextAttempt));
+            query.setParameter("dead", dead);
+            query.setParameter("last_error", StringUtils.abbreviate(error, MAX_ERROR_LENGTH));
+            query.setParameter("id", id);
+            query.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int requeueDead(Context context) {
+        try {
+            Session session = getHibernateSession();
+            String sql = "UPDATE event_async_queue SET dead = false, attempts = 0, next_attempt = CURRENT_TIMESTAMP " +
+                "WHERE dead = true";
+            return session.createNativeQuery(sql).executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public long count(Context context, boolean dead) {
+        try {
+            Session session = getHibernateSession();
+            NativeQuery<?> query = session.createNativeQuery(
+                "SELECT COUNT(*) FROM event_async_queue WHERE dead = :dead");
+            query.setParameter("dead", dead);
+            return ((Number) query.uniqueResult()).longValue();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public Instant findOldestDateQueued(Context context) {
+        try {
+            Session session = getHibernateSession();
+            NativeQuery<?> query = session.createNativeQuery(
+                "SELECT MIN(date_queued) FROM event_async_queue WHERE dead = false");
+            Object result = query.uniqueResult();
+            return result != null ? toInstant(result) : null;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String toString(Object value) throws SQLException {
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return (String) value;
+    }
+
+    private Instant toInstant(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        } else if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof Instant instant) {
+            return instant;
+        }
+        throw new RuntimeException("Unexpected result type from the database " + value);
+    }
+
+    /**
+     * The Hibernate Session used in the current thread
+     *
+     * @return the current Session.
+     * @throws SQLException
+     */
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.event.Event;
+
+/**
+ * Service to deliver the events to the consumers configured as asynchronous
+ * (<code>event.consumer.&lt;name&gt;.async = true</code>). Instead of running the consumer inside the commit of the
+ * transaction that generated the events, the dispatcher stores them in a durable queue, in the same database
+ * transaction, and a background worker pool delivers them after the commit. The events of the same subject are
+ * delivered to a consumer in the order in which they have been generated; the failed deliveries are retried with an
+ * exponential backoff and, after too many failures, kept as dead letters.
+ */
+public interface AsyncEventQueueService {
+
+    /**
+     * Queue the given event for the given asynchronous consumer.
+     *
+     * @param context  the DSpace Context object that generated the event
+     * @param consumer the name of the consumer
+     * @param event    the event to deliver
+     */
+    void queue(Context context, String consumer, Event event);
+
+    /**
+     * Deliver a batch of the oldest deliverable events to their consumers. Each delivered event is removed from
+     * the queue in the same transaction of the changes made by its consumer.
+     *
+     * @param context the DSpace Context object
+     * @return the number of entries read from the queue, 0 if there is nothing to deliver
+     * @throws SQLException if a problem with the database occurs
+     */
+    int processBatch(Context context) throws SQLException;
+
+    /**
+     * Process the queue until there is nothing to deliver. This is the hook used by the tests and by the command
+     * line tools that need the asynchronous consumers to be up-to-date. The events waiting for a retry are not
+     * awaited.
+     *
+     * @param context the DSpace Context object
+     * @return the number of entries read from the queue
+     * @throws SQLException if a problem with the database occurs
+     */
+    int waitForConsumers(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of events waiting to be delivered, dead letters excluded
+     */
+    long getQueueSize(Context context);
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of events that won't be delivered anymore after too many failures
+     */
+    long getDeadLetterCount(Context context);
+
+    /**
+     * @param context the DSpace Context object
+     * @return how long the oldest queued event is waiting to be delivered, {@link Duration#ZERO} if the queue is
+     *         empty
+     */
+    Duration getLag(Context context);
+
+    /**
+     * Make the dead letters deliverable again, e.g. after fixing the cause of the failures.
+     *
+     * @param context the DSpace Context object
+     * @return the number of requeued events
+     */
+    int requeueDeadLetters(Context context);
+}
@@ -8,6 +8,7 @@
 package org.dspace.event.service;
 
 import org.dspace.event.Dispatcher;
+import org.dspace.event.DispatcherStatistics;
 
 /**
  * Class for managing the content event environment. The EventManager mainly
@@ -35,6 +36,14 @@ public interface EventService {
 
     public int getConsumerIndex(String consumerClass);
 
+    /**
+     * Get the statistics of all the dispatchers, as the latency of each
+     * consumer and the number of events of each transaction.
+     *
+     * @return the dispatcher statistics
+     */
+    public DispatcherStatistics getDispatcherStatistics();
+
     /**
      * Reload the dispatcher configuration.
      */
@@ -46,6 +46,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -73,6 +77,7 @@ import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.CoreAdminResponse;
 import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.LukeResponse;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.RangeFacet;
@@ -108,10 +113,13 @@ import org.dspace.eperson.EPerson;
 import org.dspace.service.ClientInfoService;
 import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.StatisticsPartitions.Granularity;
+import org.dspace.statistics.StatisticsPartitions.TimeRange;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -124,7 +132,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -137,8 +145,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected boolean useProxies;
 
-    private static final List<String> statisticYearCores = new ArrayList<>();
-    private static boolean statisticYearCoresInit = false;
+    private static final List<String> statisticYearCores = new CopyOnWriteArrayList<>();
+    /** Time range of the usage events held by each of the {@link #statisticYearCores}. */
+    private static final Map<String, TimeRange> statisticCoreRanges = new ConcurrentHashMap<>();
+    /** When the {@link #statisticYearCores} were last listed from Solr, 0 if they never were. */
+    private static long statisticYearCoresLoaded = 0;
 
     private static final String IP_V4_REGEX = "^((?:\\d{1,3}\\.){3})\\d{1,3}$";
     private static final String IP_V6_REGEX = "^(.*):.*:.*$";
@@ -162,6 +173,18 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /**
+     * Buffer of the usage events sent to Solr in the background, null if <code>solr-statistics.buffer.enabled</code>
+     * is false and the events are sent by the threads logging them.
+     */
+    protected SolrStatisticsBuffer statisticsBuffer;
+
+    /** Naming of the partition cores receiving the usage events, if <code>usage-statistics.partition</code> is set. */
+    protected StatisticsPartitions statisticsPartitions;
+
+    /** Connections to the partition and year cores, by core name. */
+    protected final Map<String, SolrClient> partitionClients = new ConcurrentHashMap<>();
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -204,6 +227,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         solr = solrStatisticsCore.getSolr();
 
+        Granularity granularity =
+            Granularity.fromString(configurationService.getProperty("usage-statistics.partition"));
+        if (statisticsCoreBase == null && granularity != Granularity.NONE) {
+            log.warn("The statistics can't be partitioned without the solr-statistics.server parameter.");
+            granularity = Granularity.NONE;
+        }
+        statisticsPartitions = new StatisticsPartitions(statisticsCoreBase, granularity);
+
         // Read in the file so we don't have to do it all the time
         //spiderIps = SpiderDetector.getSpiderIpAddresses();
 
@@ -214,6 +245,116 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             log.error(ex);
         }
         locationService = service;
+
+        if (solr != null && configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            statisticsBuffer = new SolrStatisticsBuffer(this::getSolrClient, configurationService);
+            statisticsBuffer.start();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (statisticsBuffer != null) {
+            statisticsBuffer.shutdown();
+            statisticsBuffer = null;
+        }
+    }
+
+    /**
+     * Get the buffer of the usage events sent to Solr in the background, to monitor its queue depth and drop counts.
+     *
+     * @return the buffer, or null if the usage events are not buffered
+     */
+    public SolrStatisticsBuffer getStatisticsBuffer() {
+        return statisticsBuffer;
+    }
+
+    /**
+     * Send a usage event document to Solr, or add it to the buffer if the usage events are buffered.
+     *
+     * @param document the usage event document
+     * @throws SolrServerException if Solr error
+     * @throws IOException         if IO error
+     */
+    protected void postDocument(SolrInputDocument document) throws SolrServerException, IOException {
+        if (statisticsBuffer != null) {
+            statisticsBuffer.add(document);
+            return;
+        }
+        SolrClient client = getSolrClient(document);
+        client.add(document);
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (!useAutoCommit) {
+            client.commit(false, false);
+        }
+    }
+
+    /**
+     * Get the core receiving the given usage event document: the partition core of the time of the event if the
+     * statistics are partitioned, otherwise the statistics core. The partition cores are created on demand.
+     *
+     * @param document the usage event document
+     * @return the connection to the core
+     */
+    protected SolrClient getSolrClient(SolrInputDocument document) {
+        if (!isPartitioned() || !(solr instanceof HttpSolrClient)) {
+            return solr;
+        }
+        Instant time;
+        try {
+            time = Instant.parse(String.valueOf(document.getFieldValue("time")));
+        } catch (DateTimeParseException e) {
+            time = Instant.now();
+        }
+        String coreName = statisticsPartitions.getCoreName(time);
+        try {
+            return partitionClients.computeIfAbsent(coreName, name -> {
+                try {
+                    HttpSolrClient client = createCore((HttpSolrClient) solr, name);
+                    registerStatisticsCore(name);
+                    return client;
+                } catch (IOException | SolrServerException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            log.error("Unable to create the statistics partition {}, the usage event is stored in {}",
+                      coreName, statisticsCoreBase, e);
+            return solr;
+        }
+    }
+
+    private boolean isPartitioned() {
+        return statisticsPartitions != null && statisticsPartitions.isPartitioned();
+    }
+
+    /**
+     * Get the connections to all the cores holding usage events: the statistics core, followed by the partition and
+     * year cores when the statistics are partitioned or sharded by year. The changes to the stored usage events
+     * (updates, deletions, robot marking) and the commits have to reach all of them.
+     *
+     * @return the connections to the statistics cores
+     */
+    protected List<SolrClient> getStatisticsClients() {
+        List<SolrClient> clients = new ArrayList<>();
+        clients.add(solr);
+        if (solr instanceof HttpSolrClient && statisticsCoreBase != null) {
+            initSolrYearCores();
+            String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+            for (String shard : statisticYearCores) {
+                String coreName = shard.substring(shard.lastIndexOf('/') + 1);
+                if (!coreName.equals(statisticsCoreBase)) {
+                    clients.add(partitionClients.computeIfAbsent(coreName, name ->
+                        new HttpSolrClient.Builder(baseSolrUrl + name)
+                            .withHttpClient(httpConnectionPoolService.getClient())
+                            .build()));
+                }
+            }
+        } else {
+            clients.addAll(partitionClients.values());
+        }
+        return clients;
     }
 
     @Override
@@ -271,12 +412,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            postDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -320,12 +456,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            postDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -352,13 +483,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             document.addField("statistics_type", StatisticsType.LOGIN.text());
 
-            solr.add(document);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            postDocument(document);
 
         } catch (RuntimeException re) {
             throw re;
@@ -623,7 +748,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            if (statisticsBuffer != null) {
+                statisticsBuffer.add(solrDoc);
+            } else {
+                getSolrClient(solrDoc).add(solrDoc);
+            }
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -683,13 +812,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrDoc.addField("previousActionRequiresUI", usageWorkflowEvent.isPreviousActionRequiresUI());
 
-            solr.add(solrDoc);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            postDocument(solrDoc);
 
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
@@ -739,8 +862,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void removeIndex(String query) throws IOException,
         SolrServerException {
-        solr.deleteByQuery(query);
-        solr.commit();
+        for (SolrClient client : getStatisticsClients()) {
+            client.deleteByQuery(query);
+            client.commit();
+        }
     }
 
     @Override
@@ -769,6 +894,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     public class ResultProcessor {
 
+        /** Connection to the core of the documents being processed. */
+        private SolrClient client = solr;
+
         private SolrInputDocument toSolrInputDocument(SolrDocument d) {
             SolrInputDocument doc = new SolrInputDocument();
 
@@ -779,39 +907,53 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             return doc;
         }
 
+        /**
+         * Process the documents matching the query, core by core, so that the processed documents can be written
+         * back to the core they come from, see {@link #getClient()}.
+         *
+         * @param query the query of the documents to process
+         * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+         * @throws IOException         A general class of exceptions produced by failed or interrupted I/O operations.
+         */
         public void execute(String query) throws SolrServerException, IOException {
-            Map<String, String> params = new HashMap<>();
-            params.put("q", query);
-            params.put("rows", "10");
-            if (0 < statisticYearCores.size()) {
-                params.put(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ','));
-            }
-            MapSolrParams solrParams = new MapSolrParams(params);
-            QueryResponse response = solr.query(solrParams);
-
-            SolrDocumentList results = response.getResults();
-            long numbFound = results.getNumFound();
+            for (SolrClient statisticsClient : getStatisticsClients()) {
+                client = statisticsClient;
+                Map<String, String> params = new HashMap<>();
+                params.put("q", query);
+                params.put("rows", "10");
+                MapSolrParams solrParams = new MapSolrParams(params);
+                QueryResponse response = client.query(solrParams);
 
-            // process the first batch
-            for (SolrDocument result : results) {
-                process(toSolrInputDocument(result));
-            }
+                SolrDocumentList results = response.getResults();
+                long numbFound = results.getNumFound();
 
-            // Run over the rest
-            for (int i = 10; i < numbFound; i += 10) {
-                params.put("start", String.valueOf(i));
-                solrParams = new MapSolrParams(params);
-                response = solr.query(solrParams);
-                results = response.getResults();
+                // process the first batch
                 for (SolrDocument result : results) {
                     process(toSolrInputDocument(result));
                 }
+
+                // Run over the rest
+                for (int i = 10; i < numbFound; i += 10) {
+                    params.put("start", String.valueOf(i));
+                    solrParams = new MapSolrParams(params);
+                    response = client.query(solrParams);
+                    results = response.getResults();
+                    for (SolrDocument result : results) {
+                        process(toSolrInputDocument(result));
+                    }
+                }
             }
+        }
 
+        /**
+         * @return the connection to the core of the documents being processed
+         */
+        public SolrClient getClient() {
+            return client;
         }
 
         public void commit() throws IOException, SolrServerException {
-            solr.commit();
+            SolrLoggerServiceImpl.this.commit();
         }
 
         /**
@@ -852,7 +994,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 if (SpiderDetector.isSpider(clientIP, null, hostname, agent)) {
                     doc.removeField("isBot");
                     doc.addField("isBot", true);
-                    solr.add(doc);
+                    getClient().add(doc);
                     log.info("Marked {} / {} / {} as a robot in record {}.",
                             clientIP, hostname, agent,
                             doc.getField("uid").getValue());
@@ -862,7 +1004,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         try {
             processor.execute("-isBot:true");
-            solr.commit();
+            processor.commit();
         } catch (SolrServerException | IOException ex) {
             log.error("Failed while marking robot accesses.", ex);
         }
@@ -871,7 +1013,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void deleteRobots() {
         try {
-            solr.deleteByQuery("isBot:true");
+            for (SolrClient client : getStatisticsClients()) {
+                client.deleteByQuery("isBot:true");
+            }
         } catch (IOException | SolrServerException e) {
             log.error("Failed while deleting robot accesses.", e);
         }
@@ -895,11 +1039,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // null, null, null);
 
         List<SolrInputDocument> docsToUpdate = new ArrayList<>();
+        // the core of each document, which is updated in place
+        List<SolrClient> docClients = new ArrayList<>();
 
         ResultProcessor processor = new ResultProcessor() {
             @Override
             public void process(SolrInputDocument document) {
                 docsToUpdate.add(document);
+                docClients.add(getClient());
             }
         };
 
@@ -908,9 +1055,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // Add the new (updated once
         for (int i = 0; i < docsToUpdate.size(); i++) {
             SolrInputDocument solrDocument = docsToUpdate.get(i);
+            SolrClient client = docClients.get(i);
 
             // Delete the document from the solr client
-            solr.deleteByQuery("uid:" + solrDocument.getFieldValue("uid"));
+            client.deleteByQuery("uid:" + solrDocument.getFieldValue("uid"));
 
             // Now loop over our fieldname actions
             for (int j = 0; j < fieldNames.size(); j++) {
@@ -942,10 +1090,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             // see https://stackoverflow.com/questions/26941260/normalizing-solr-records-for-sharding-version-issues
             solrDocument.removeField("_version_");
 
-            solr.add(solrDocument);
+            client.add(solrDocument);
 
             if (commit) {
-                commit();
+                client.commit();
             }
         }
         // System.out.println("SolrLogger.update(\""+query+"\"):"+(new
@@ -1174,7 +1322,6 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         SolrQuery solrQuery = new SolrQuery().setRows(rows).setQuery(query)
                                              .setFacetMinCount(facetMinCount);
-        addAdditionalSolrYearCores(solrQuery);
 
         // Set the date facet if present
         if (dateType != null) {
@@ -1262,6 +1409,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             solrQuery.add(CommonParams.FL, fieldList);
         }
 
+        // the shards are chosen by the time filters of the query
+        addAdditionalSolrYearCores(solrQuery);
+
         QueryResponse response;
         try {
             // solr.set
@@ -1403,6 +1553,50 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         FileUtils.deleteDirectory(tempDirectory);
     }
 
+    @Override
+    public void compactStatisticsPartitions() throws IOException, SolrServerException {
+        if (!(solr instanceof HttpSolrClient) || statisticsCoreBase == null) {
+            return;
+        }
+        String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
+        int currentYear = Year.now(ZoneOffset.UTC).getValue();
+
+        try (HttpSolrClient adminClient = new HttpSolrClient.Builder(baseSolrUrl).withHttpClient(
+            httpConnectionPoolService.getClient()).build()) {
+            CoreAdminRequest coresRequest = new CoreAdminRequest();
+            coresRequest.setAction(CoreAdminAction.STATUS);
+            NamedList<Object> coreStatuses = (NamedList<Object>) coresRequest.process(adminClient)
+                                                                             .getResponse().get("status");
+            StatisticsPartitions partitions = statisticsPartitions != null ? statisticsPartitions
+                : new StatisticsPartitions(statisticsCoreBase, Granularity.NONE);
+            Map<Integer, List<String>> monthlyCores = new TreeMap<>();
+            for (Map.Entry<String, Object> coreStatus : coreStatuses) {
+                int year = partitions.getMonthlyPartitionYear(coreStatus.getKey());
+                if (year > 0 && year < currentYear) {
+                    monthlyCores.computeIfAbsent(year, y -> new ArrayList<>()).add(coreStatus.getKey());
+                }
+            }
+
+            for (Map.Entry<Integer, List<String>> entry : monthlyCores.entrySet()) {
+                String yearCore = statisticsCoreBase + "-" + entry.getKey();
+                List<String> cores = entry.getValue();
+                HttpSolrClient yearServer = createCore((HttpSolrClient) solr, yearCore);
+                CoreAdminRequest.mergeIndexes(yearCore, new String[0], cores.toArray(new String[0]), adminClient);
+                yearServer.commit(true, true);
+                registerStatisticsCore(yearCore);
+
+                for (String core : cores) {
+                    String shard = getStatisticsShard(core);
+                    statisticYearCores.remove(shard);
+                    statisticCoreRanges.remove(shard);
+                    partitionClients.remove(core);
+                    CoreAdminRequest.unloadCore(core, true, true, adminClient);
+                }
+                log.info("Rolled up the statistics cores {} into core: {}", cores, yearCore);
+            }
+        }
+    }
+
     protected HttpSolrClient createCore(HttpSolrClient solr, String coreName)
             throws IOException, SolrServerException {
         String baseSolrUrl = solr.getBaseURL().replace(statisticsCoreBase, ""); // Has trailing slash
@@ -1643,7 +1837,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void commit() throws IOException, SolrServerException {
-        solr.commit();
+        for (SolrClient client : getStatisticsClients()) {
+            client.commit();
+        }
     }
 
     protected void addDocumentsToFile(Context context, SolrDocumentList docs, File exportOutput)
@@ -1700,10 +1896,62 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         //Only add if needed
         initSolrYearCores();
         if (0 < statisticYearCores.size()) {
+            // Only query the cores holding usage events in the time range the query is restricted to
+            List<String> queries = new ArrayList<>();
+            queries.add(solrQuery.getQuery());
+            if (solrQuery.getFilterQueries() != null) {
+                queries.addAll(Arrays.asList(solrQuery.getFilterQueries()));
+            }
+            TimeRange timeRange = StatisticsPartitions.parseTimeRange(queries, Instant.now());
+            List<String> shards = statisticYearCores.stream()
+                .filter(core -> timeRange.overlaps(statisticCoreRanges.getOrDefault(core, TimeRange.UNBOUNDED)))
+                .collect(Collectors.toList());
             //The shards are a comma separated list of the urls to the cores
-            solrQuery.add(ShardParams.SHARDS, StringUtils.join(statisticYearCores.iterator(), ","));
+            //Without any shard the query is only sent to the statistics core
+            if (!shards.isEmpty()) {
+                solrQuery.add(ShardParams.SHARDS, StringUtils.join(shards.iterator(), ","));
+                // a core rolled up by another process is missing until the next refresh of the cores
+                solrQuery.set(ShardParams.SHARDS_TOLERANT, true);
+            }
+        }
+
+    }
+
+    /**
+     * Add a core to the statistics cores to query, with the time range of the events it holds.
+     *
+     * @param coreName the name of the core
+     */
+    protected synchronized void registerStatisticsCore(String coreName) {
+        String shard = getStatisticsShard(coreName);
+        if (!statisticYearCores.contains(shard)) {
+            statisticYearCores.add(shard);
         }
+        statisticCoreRanges.put(shard, statisticsPartitions.getTimeRange(coreName));
+    }
 
+    private String getStatisticsShard(String coreName) {
+        return ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "")
+            .replace("http://", "").replace("https://", "") + coreName;
+    }
+
+    /**
+     * Get the time range of the usage events in the statistics core. When the statistics are partitioned the
+     * statistics core only holds the events stored before, so its range is bounded by its oldest and newest
+     * events.
+     */
+    private TimeRange getStatisticsCoreTimeRange() throws SolrServerException, IOException {
+        if (!isPartitioned()) {
+            return TimeRange.UNBOUNDED;
+        }
+        SolrQuery query = new SolrQuery("*:*").setRows(0).setGetFieldStatistics("time");
+        QueryResponse response = solr.query(query);
+        FieldStatsInfo stats = response.getFieldStatsInfo() != null ? response.getFieldStatsInfo().get("time") : null;
+        if (response.getResults().getNumFound() == 0 || stats == null || stats.getMin() == null) {
+            // nothing to query in the statistics core
+            return new TimeRange(Instant.EPOCH, Instant.EPOCH);
+        }
+        return new TimeRange(((Date) stats.getMin()).toInstant(), ((Date) stats.getMax()).toInstant().plusMillis(1));
     }
 
     /*
@@ -1712,12 +1960,25 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
      * this code triggered Tomcat to hang when statistics shards are present.
      * This code is synchronized in the event that 2 threads trigger the
      * initialization at the same time.
+     *
+     * The cores are listed again once usage-statistics.shards.refresh-interval
+     * seconds have passed, so that the cores created, rolled up or removed by
+     * another process (e.g. "dspace stats-util -c") are picked up without a
+     * restart.
      */
     protected synchronized void initSolrYearCores() {
-        if (statisticYearCoresInit || !(solr instanceof HttpSolrClient) || !configurationService.getBooleanProperty(
-            "usage-statistics.shardedByYear", false)) {
+        if (!(solr instanceof HttpSolrClient) || !(isPartitioned()
+            || configurationService.getBooleanProperty("usage-statistics.shardedByYear", false))) {
             return;
         }
+        if (statisticYearCoresLoaded > 0) {
+            long refreshInterval = configurationService.getLongProperty("usage-statistics.shards.refresh-interval",
+                                                                        300);
+            if (refreshInterval <= 0
+                || System.currentTimeMillis() - statisticYearCoresLoaded < refreshInterval * 1000) {
+                return;
+            }
+        }
 
         //Base url should like : http://localhost:{port.number}/solr
         String baseSolrUrl = ((HttpSolrClient) solr).getBaseURL().replace(statisticsCoreBase, "");
@@ -1738,26 +1999,40 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 }
             }
 
+            List<String> shards = new ArrayList<>(statCoreNames.size() + 1);
+            Map<String, TimeRange> ranges = new HashMap<>();
             for (String statCoreName : statCoreNames) {
                 log.info("Loading core with name: " + statCoreName);
 
                 createCore((HttpSolrClient) solr, statCoreName);
                 //Add it to our cores list so we can query it !
-                statisticYearCores
-                    .add(baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName);
+                String shard = baseSolrUrl.replace("http://", "").replace("https://", "") + statCoreName;
+                shards.add(shard);
+                ranges.put(shard, statisticsPartitions.getTimeRange(statCoreName));
             }
             var baseCore = ((HttpSolrClient) solr)
                 .getBaseURL()
                 .replace("http://", "")
                 .replace("https://", "");
-            if (!statisticYearCores.contains(baseCore)) {
+            if (!shards.contains(baseCore)) {
                 //Also add the core containing the current year, if it hasn't been added already
-                statisticYearCores.add(baseCore);
+                shards.add(baseCore);
+            }
+            ranges.put(baseCore, getStatisticsCoreTimeRange());
+
+            // Forget the cores that are gone before adding the new ones
+            statisticYearCores.retainAll(shards);
+            statisticCoreRanges.keySet().retainAll(shards);
+            statisticCoreRanges.putAll(ranges);
+            for (String shard : shards) {
+                if (!statisticYearCores.contains(shard)) {
+                    statisticYearCores.add(shard);
+                }
             }
         } catch (IOException | SolrServerException e) {
             log.error(e.getMessage(), e);
         }
-        statisticYearCoresInit = true;
+        statisticYearCoresLoaded = System.currentTimeMillis();
     }
 
     @Override
@@ -0,0 +1,363 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.dspace.services.ConfigurationService;
+
+/**
+ * Bounded buffer of usage event documents sent to the statistics core in batches by a background thread, so that
+ * the requests logging the events don't wait for Solr.
+ * <p>
+ * A batch is sent as soon as <code>solr-statistics.buffer.batch-size</code> documents are waiting, or
+ * <code>solr-statistics.buffer.flush-interval</code> milliseconds after its first document was added. When the
+ * buffer of <code>solr-statistics.buffer.capacity</code> documents is full, the
+ * <code>solr-statistics.buffer.overflow-policy</code> decides which document is dropped:
+ * <ul>
+ * <li><code>drop-oldest</code> (default) replaces the oldest waiting document with the new one;</li>
+ * <li><code>drop-newest</code> discards the new document;</li>
+ * <li><code>block</code> makes the caller wait up to <code>solr-statistics.buffer.block-timeout</code>
+ * milliseconds for a free slot before discarding the new document.</li>
+ * </ul>
+ * When <code>solr-statistics.buffer.spill-dir</code> is set, the batches that can't be sent to Solr and the
+ * documents still waiting at shutdown are written to that directory, and sent again once Solr accepts documents
+ * (including after a restart).
+ */
+public class SolrStatisticsBuffer {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String SPILL_FILE_PREFIX = "usage-events-";
+
+    private static final String SPILL_FILE_SUFFIX = ".javabin";
+
+    /**
+     * What to do with a new document when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        BLOCK;
+
+        public static OverflowPolicy fromString(String value) {
+            return valueOf(StringUtils.upperCase(value).replace('-', '_'));
+        }
+    }
+
+    private final Function<SolrInputDocument, SolrClient> router;
+
+    private final BlockingQueue<SolrInputDocument> queue;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int batchSize;
+
+    private final long flushInterval;
+
+    private final long blockTimeout;
+
+    private final boolean autoCommit;
+
+    private final File spillDir;
+
+    private final AtomicLong added = new AtomicLong();
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicLong spillCounter = new AtomicLong();
+
+    private final Thread flusher;
+
+    private volatile boolean running;
+
+    public SolrStatisticsBuffer(SolrClient solr, ConfigurationService configurationService) {
+        this(document -> solr, configurationService);
+    }
+
+    /**
+     * Create a buffer sending each document to the core chosen by the given router, e.g. the partition core of the
+     * time of the event.
+     *
+     * @param router               the core receiving each document
+     * @param configurationService the configuration service
+     */
+    public SolrStatisticsBuffer(Function<SolrInputDocument, SolrClient> router,
+                                ConfigurationService configurationService) {
+        this.router = router;
+        queue = new ArrayBlockingQueue<>(configurationService.getIntProperty("solr-statistics.buffer.capacity", 10000));
+        overflowPolicy = OverflowPolicy.fromString(
+            configurationService.getProperty("solr-statistics.buffer.overflow-policy", "drop-oldest"));
+        batchSize = configurationService.getIntProperty("solr-statistics.buffer.batch-size", 500);
+        flushInterval = configurationService.getLongProperty("solr-statistics.buffer.flush-interval", 1000);
+        blockTimeout = configurationService.getLongProperty("solr-statistics.buffer.block-timeout", 100);
+        autoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        String spillPath = configurationService.getProperty("solr-statistics.buffer.spill-dir");
+        spillDir = StringUtils.isNotBlank(spillPath) ? new File(spillPath) : null;
+        flusher = new Thread(this::run, "solr-statistics-flusher");
+        flusher.setDaemon(true);
+    }
+
+    /**
+     * Start the background thread sending the buffered documents.
+     */
+    public void start() {
+        if (spillDir != null) {
+            spillDir.mkdirs();
+        }
+        running = true;
+        flusher.start();
+    }
+
+    /**
+     * Stop the background thread, then send the documents still waiting in the buffer, or spill them to disk if
+     * Solr doesn't accept them.
+     */
+    public void shutdown() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<SolrInputDocument> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            send(remaining);
+        }
+        log.info("Usage event buffer stopped: {} events added, {} sent, {} dropped, {} spilled to disk",
+                 added.get(), sent.get(), dropped.get(), spilled.get());
+    }
+
+    /**
+     * Add a document to the buffer, applying the overflow policy if the buffer is full.
+     *
+     * @param document the usage event document
+     */
+    public void add(SolrInputDocument document) {
+        added.incrementAndGet();
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                if (!queue.offer(document)) {
+                    dropped.incrementAndGet();
+                }
+                break;
+            case BLOCK:
+                try {
+                    if (!queue.offer(document, blockTimeout, TimeUnit.MILLISECONDS)) {
+                        dropped.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+                break;
+            default:
+                while (!queue.offer(document)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * @return the number of documents waiting to be sent
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of documents added to the buffer
+     */
+    public long getAddedCount() {
+        return added.get();
+    }
+
+    /**
+     * @return the number of documents sent to Solr, including the ones read back from the spill directory
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * @return the number of documents dropped because the buffer was full or Solr failed without a spill directory
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of documents written to the spill directory
+     */
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    private void run() {
+        // events spilled before a restart
+        while (running && resendSpilled()) {
+            log.debug("{} usage events waiting", queue.size());
+        }
+        long lastDropped = 0;
+        while (running) {
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            try {
+                SolrInputDocument first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+                    while (batch.size() < batchSize) {
+                        queue.drainTo(batch, batchSize - batch.size());
+                        long wait = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || wait <= 0) {
+                            break;
+                        }
+                        SolrInputDocument next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // shutting down, the documents still in the queue are handled by shutdown()
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+                break;
+            }
+
+            // the spilled events are sent again only while Solr accepts the new ones
+            if (batch.isEmpty() || send(batch)) {
+                resendSpilled();
+            }
+
+            long droppedNow = dropped.get();
+            if (droppedNow > lastDropped) {
+                log.warn("Usage event buffer dropped {} events ({} in total), {} events waiting",
+                         droppedNow - lastDropped, droppedNow, queue.size());
+                lastDropped = droppedNow;
+            }
+        }
+    }
+
+    /**
+     * Send a batch of documents to Solr, spilling it to disk if it can't be sent.
+     *
+     * @return true if the batch has been sent
+     */
+    private boolean send(List<SolrInputDocument> batch) {
+        try {
+            addToSolr(batch);
+            return true;
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            log.error("Error sending {} usage events to Solr", batch.size(), e);
+            spill(batch);
+            return false;
+        }
+    }
+
+    private void addToSolr(List<SolrInputDocument> batch) throws SolrServerException, IOException {
+        Map<SolrClient, List<SolrInputDocument>> batches = new LinkedHashMap<>();
+        for (SolrInputDocument document : batch) {
+            batches.computeIfAbsent(router.apply(document), client -> new ArrayList<>()).add(document);
+        }
+        for (Map.Entry<SolrClient, List<SolrInputDocument>> entry : batches.entrySet()) {
+            entry.getKey().add(entry.getValue());
+            // commits are executed automatically using the solr autocommit
+            if (!autoCommit) {
+                entry.getKey().commit(false, false);
+            }
+        }
+        sent.addAndGet(batch.size());
+    }
+
+    private void spill(List<SolrInputDocument> batch) {
+        if (spillDir == null) {
+            dropped.addAndGet(batch.size());
+            return;
+        }
+        String name = SPILL_FILE_PREFIX + System.currentTimeMillis() + "-" + spillCounter.incrementAndGet();
+        Path file = new File(spillDir, name + SPILL_FILE_SUFFIX).toPath();
+        Path tmp = new File(spillDir, name + ".tmp").toPath();
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                new JavaBinCodec().marshal(batch, os);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            spilled.addAndGet(batch.size());
+        } catch (IOException e) {
+            log.error("Error spilling {} usage events to {}", batch.size(), file, e);
+            dropped.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Send the oldest batch found in the spill directory, if any.
+     *
+     * @return true if a spilled batch has been sent
+     */
+    @SuppressWarnings("unchecked")
+    private boolean resendSpilled() {
+        if (spillDir == null) {
+            return false;
+        }
+        File[] files = spillDir.listFiles((dir, name) -> name.startsWith(SPILL_FILE_PREFIX)
+            && name.endsWith(SPILL_FILE_SUFFIX));
+        if (files == null || files.length == 0) {
+            return false;
+        }
+        Arrays.sort(files);
+        File file = files[0];
+        try {
+            List<SolrInputDocument> batch;
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                batch = (List<SolrInputDocument>) new JavaBinCodec().unmarshal(is);
+            }
+            addToSolr(batch);
+            Files.delete(file.toPath());
+            log.info("Sent {} usage events spilled to {}", batch.size(), file);
+            return true;
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            log.error("Error sending the usage events spilled to {}", file, e);
+            return false;
+        }
+    }
+}
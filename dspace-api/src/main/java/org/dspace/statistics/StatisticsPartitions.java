@@ -0,0 +1,260 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Naming and time ranges of the time-partitioned statistics cores.
+ * <p>
+ * A partition core is named after the base statistics core, suffixed with the year (<code>statistics-2024</code>,
+ * the same names as the cores created by {@link SolrLoggerServiceImpl#shardSolrIndex()}) or with the year and month
+ * (<code>statistics-2024-05</code>) of the usage events it holds. The time range of a core is derived from its name,
+ * so that the queries filtered on the <code>time</code> field only need to be sent to the cores overlapping the
+ * filter.
+ */
+public class StatisticsPartitions {
+
+    /**
+     * Time span of the partitions receiving the new usage events.
+     */
+    public enum Granularity {
+        NONE,
+        MONTH,
+        YEAR;
+
+        public static Granularity fromString(String value) {
+            return StringUtils.isBlank(value) ? NONE : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final Pattern YEAR_SUFFIX = Pattern.compile("-(\\d{4})");
+
+    private static final Pattern MONTH_SUFFIX = Pattern.compile("-(\\d{4})-(\\d{2})");
+
+    private static final Pattern TIME_RANGE = Pattern.compile(
+        "(^|[\\s(+-])(NOT\\s+)?time\\s*:\\s*([\\[{])\\s*(\\S+)\\s+TO\\s+(\\S+?)\\s*([\\]}])");
+
+    private static final Pattern DATE_MATH = Pattern.compile("(/|[+-]\\d+)([A-Z]+)");
+
+    private final String baseCore;
+
+    private final Granularity granularity;
+
+    public StatisticsPartitions(String baseCore, Granularity granularity) {
+        this.baseCore = baseCore;
+        this.granularity = granularity;
+    }
+
+    public boolean isPartitioned() {
+        return granularity != Granularity.NONE;
+    }
+
+    /**
+     * Get the name of the partition core receiving the usage events of the given time.
+     *
+     * @param time the time of the usage event
+     * @return the name of the partition core, or the base core if the statistics are not partitioned
+     */
+    public String getCoreName(Instant time) {
+        LocalDateTime date = LocalDateTime.ofInstant(time, ZoneOffset.UTC);
+        switch (granularity) {
+            case MONTH:
+                return baseCore + "-" + YearMonth.from(date);
+            case YEAR:
+                return baseCore + "-" + date.getYear();
+            default:
+                return baseCore;
+        }
+    }
+
+    /**
+     * Get the time range of the usage events held by the given core.
+     *
+     * @param coreName the name of the core
+     * @return the time range of the partition, or an unbounded range for the base core and unknown cores
+     */
+    public TimeRange getTimeRange(String coreName) {
+        if (!StringUtils.startsWith(coreName, baseCore)) {
+            return TimeRange.UNBOUNDED;
+        }
+        String suffix = coreName.substring(baseCore.length());
+        Matcher month = MONTH_SUFFIX.matcher(suffix);
+        if (month.matches()) {
+            Instant start = YearMonth.of(Integer.parseInt(month.group(1)), Integer.parseInt(month.group(2)))
+                                     .atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            return new TimeRange(start, LocalDateTime.ofInstant(start, ZoneOffset.UTC).plusMonths(1)
+                                                     .toInstant(ZoneOffset.UTC));
+        }
+        Matcher year = YEAR_SUFFIX.matcher(suffix);
+        if (year.matches()) {
+            Instant start = LocalDateTime.of(Integer.parseInt(year.group(1)), 1, 1, 0, 0).toInstant(ZoneOffset.UTC);
+            return new TimeRange(start, LocalDateTime.ofInstant(start, ZoneOffset.UTC).plusYears(1)
+                                                     .toInstant(ZoneOffset.UTC));
+        }
+        return TimeRange.UNBOUNDED;
+    }
+
+    /**
+     * Get the year of a monthly partition core, to roll it up into the yearly core.
+     *
+     * @param coreName the name of the core
+     * @return the year of the monthly partition, or -1 if the core isn't a monthly partition
+     */
+    public int getMonthlyPartitionYear(String coreName) {
+        if (!StringUtils.startsWith(coreName, baseCore)) {
+            return -1;
+        }
+        Matcher month = MONTH_SUFFIX.matcher(coreName.substring(baseCore.length()));
+        return month.matches() ? Integer.parseInt(month.group(1)) : -1;
+    }
+
+    /**
+     * Extract the range of the <code>time</code> field the given queries are restricted to. Only a single
+     * positive range clause in queries without OR operators is recognized, anything else is considered unbounded
+     * so that no partition is wrongly left out.
+     *
+     * @param queries the query and the filter queries of a statistics request
+     * @param now     the current time, to resolve the date math expressions
+     * @return the time range matched by the queries
+     */
+    public static TimeRange parseTimeRange(List<String> queries, Instant now) {
+        List<TimeRange> ranges = new ArrayList<>();
+        for (String query : queries) {
+            if (StringUtils.isBlank(query)) {
+                continue;
+            }
+            Matcher matcher = TIME_RANGE.matcher(query);
+            while (matcher.find()) {
+                if (matcher.group(2) != null || "-".equals(matcher.group(1)) || query.contains(" OR ")) {
+                    return TimeRange.UNBOUNDED;
+                }
+                Instant start = parseDate(matcher.group(4), now);
+                Instant end = parseDate(matcher.group(5), now);
+                if ((start == null && !"*".equals(matcher.group(4)))
+                    || (end == null && !"*".equals(matcher.group(5)))) {
+                    return TimeRange.UNBOUNDED;
+                }
+                // the end of the range is made exclusive so that it can be compared with the partitions
+                ranges.add(new TimeRange(start, end != null ? end.plusMillis(1) : null));
+            }
+        }
+        return ranges.size() == 1 ? ranges.get(0) : TimeRange.UNBOUNDED;
+    }
+
+    /**
+     * Parse a date of a Solr range query, either an ISO instant or a date math expression based on NOW (e.g.
+     * <code>NOW/MONTH-2MONTHS</code>).
+     *
+     * @return the date, or null if it can't be parsed
+     */
+    protected static Instant parseDate(String value, Instant now) {
+        String date = StringUtils.remove(value, '\\');
+        if (!date.startsWith("NOW")) {
+            try {
+                return Instant.parse(date);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+        LocalDateTime result = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+        String math = date.substring(3);
+        Matcher matcher = DATE_MATH.matcher(math);
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            ChronoUnit unit = parseUnit(matcher.group(2));
+            if (unit == null) {
+                return null;
+            }
+            if ("/".equals(matcher.group(1))) {
+                result = truncate(result, unit);
+            } else {
+                result = result.plus(Long.parseLong(matcher.group(1)), unit);
+            }
+            end = matcher.end();
+        }
+        return end == math.length() ? result.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private static ChronoUnit parseUnit(String unit) {
+        switch (StringUtils.removeEnd(unit, "S")) {
+            case "YEAR":
+                return ChronoUnit.YEARS;
+            case "MONTH":
+                return ChronoUnit.MONTHS;
+            case "DAY":
+            case "DATE":
+                return ChronoUnit.DAYS;
+            case "HOUR":
+                return ChronoUnit.HOURS;
+            case "MINUTE":
+                return ChronoUnit.MINUTES;
+            case "SECOND":
+                return ChronoUnit.SECONDS;
+            default:
+                return null;
+        }
+    }
+
+    private static LocalDateTime truncate(LocalDateTime date, ChronoUnit unit) {
+        switch (unit) {
+            case YEARS:
+                return date.toLocalDate().withDayOfYear(1).atStartOfDay();
+            case MONTHS:
+                return date.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            default:
+                return date.truncatedTo(unit);
+        }
+    }
+
+    /**
+     * A range of time, the start inclusive and the end exclusive, null for an unbounded side.
+     */
+    public static class TimeRange {
+
+        public static final TimeRange UNBOUNDED = new TimeRange(null, null);
+
+        private final Instant start;
+
+        private final Instant end;
+
+        public TimeRange(Instant start, Instant end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public Instant getStart() {
+            return start;
+        }
+
+        public Instant getEnd() {
+            return end;
+        }
+
+        public boolean isUnbounded() {
+            return start == null && end == null;
+        }
+
+        public boolean overlaps(TimeRange other) {
+            return (start == null || other.end == null || start.isBefore(other.end))
+                && (end == null || other.start == null || other.start.isBefore(end));
+        }
+    }
+}
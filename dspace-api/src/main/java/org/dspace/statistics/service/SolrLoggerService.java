@@ -339,6 +339,15 @@ public interface SolrLoggerService {
 
     public void shardSolrIndex() throws IOException, SolrServerException;
 
+    /**
+     * Roll up the monthly partitions of the usage statistics of the past years into a core per year, merging
+     * their indexes and removing them.
+     *
+     * @throws IOException         passed through.
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     */
+    public void compactStatisticsPartitions() throws IOException, SolrServerException;
+
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception;
 
     /**
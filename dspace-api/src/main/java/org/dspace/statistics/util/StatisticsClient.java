@@ -73,6 +73,8 @@ public class StatisticsClient {
                           "While indexing the bundle names remove the statistics about deleted bitstreams");
         options.addOption("s", "shard-solr-index", false,
                           "Split the data from the main Solr core into separate Solr cores per year");
+        options.addOption("c", "compact-partitions", false,
+                          "Roll up the monthly Solr cores of the past years into a Solr core per year");
         options.addOption("h", "help", false, "help");
 
         CommandLine line = parser.parse(options, args);
@@ -95,6 +97,8 @@ public class StatisticsClient {
             solrLoggerService.exportHits();
         } else if (line.hasOption('s')) {
             solrLoggerService.shardSolrIndex();
+        } else if (line.hasOption('c')) {
+            solrLoggerService.compactStatisticsPartitions();
         } else {
             printHelp(options, 0);
         }
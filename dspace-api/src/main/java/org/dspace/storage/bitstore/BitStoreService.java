@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -105,6 +106,19 @@ public interface BitStoreService {
      */
     public String path(Bitstream bitstream) throws IOException;
 
+    /**
+     * Get the local file holding the bits of the bitstream, for the stores keeping them in the local file system.
+     * The file can be read through a {@link java.nio.channels.FileChannel}, at any offset, or sent with zero-copy
+     * transfers instead of going through {@link #get(Bitstream)}. The file must never be modified by the caller.
+     *
+     * @param bitstream The bitstream
+     * @return The path of the file, or null if the bits are not kept in a local file by this store
+     * @throws IOException If a problem occurs while resolving the path
+     */
+    public default Path getLocalPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Generate a presigned URL for accessing the bitstream directly.
      * This allows temporary, secure access to the bitstream without going through DSpace's authorization.
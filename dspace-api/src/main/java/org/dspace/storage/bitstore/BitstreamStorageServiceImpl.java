@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.HashMap;
@@ -225,6 +226,11 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public Path getLocalPath(Context context, Bitstream bitstream) throws IOException {
+        return this.getStore(bitstream.getStoreNumber()).getLocalPath(bitstream);
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -292,6 +292,12 @@ public class DSBitStoreService extends BaseBitStoreService {
         return getFile(bitstream).getAbsolutePath();
     }
 
+    @Override
+    public Path getLocalPath(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file.toPath() : null;
+    }
+
     public boolean isRegisteredBitstream(String internalId) {
         return internalId.startsWith(REGISTERED_FLAG);
     }
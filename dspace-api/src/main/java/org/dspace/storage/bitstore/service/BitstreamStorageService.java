@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -129,6 +130,18 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Get the local file holding the bits of the bitstream, if its store keeps them in the local file system, so
+     * that they can be read at any offset or sent with zero-copy transfers. No authorization check is performed.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream
+     * @return The path of the file, or null if the store of the bitstream does not keep it in a local file
+     * @throws IOException If a problem occurs while resolving the path
+     * @see org.dspace.storage.bitstore.BitStoreService#getLocalPath(Bitstream)
+     */
+    public Path getLocalPath(Context context, Bitstream bitstream) throws IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
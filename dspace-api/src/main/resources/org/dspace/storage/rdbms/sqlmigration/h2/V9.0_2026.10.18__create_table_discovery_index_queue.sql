@@ -0,0 +1,21 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE discovery_index_queue
+-----------------------------------------------------------------------------------
+
+CREATE TABLE discovery_index_queue
+(
+    unique_id     VARCHAR(255)  NOT NULL  PRIMARY KEY,
+    unindex       BOOLEAN       NOT NULL,
+    reindex       BOOLEAN       NOT NULL,
+    pre_db        BOOLEAN       NOT NULL,
+    date_queued   TIMESTAMP     NOT NULL
+);
+CREATE INDEX idx_discovery_index_queue_date ON discovery_index_queue(date_queued);
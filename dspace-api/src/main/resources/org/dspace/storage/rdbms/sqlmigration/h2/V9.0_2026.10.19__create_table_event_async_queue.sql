@@ -0,0 +1,26 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE event_async_queue
+-----------------------------------------------------------------------------------
+
+CREATE TABLE event_async_queue
+(
+    id            BIGINT        GENERATED BY DEFAULT AS IDENTITY  PRIMARY KEY,
+    consumer      VARCHAR(64)   NOT NULL,
+    object_key    VARCHAR(255)  NOT NULL,
+    event         CLOB          NOT NULL,
+    attempts      INTEGER       NOT NULL,
+    next_attempt  TIMESTAMP     NOT NULL,
+    dead          BOOLEAN       NOT NULL,
+    last_error    CLOB,
+    date_queued   TIMESTAMP     NOT NULL
+);
+CREATE INDEX idx_event_async_queue_object ON event_async_queue(consumer, object_key, id);
+CREATE INDEX idx_event_async_queue_next ON event_async_queue(next_attempt);
@@ -0,0 +1,13 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Count the failed indexing attempts of the entries of discovery_index_queue
+-----------------------------------------------------------------------------------
+
+ALTER TABLE discovery_index_queue ADD COLUMN attempts INTEGER DEFAULT 0 NOT NULL;
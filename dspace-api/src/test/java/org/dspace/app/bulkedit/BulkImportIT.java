@@ -457,6 +457,70 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testCreatePublicationWithAuthorityWithStreaming() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+        context.commit();
+        context.restoreAuthSystemState();
+
+        String fileLocation = getXlsFilePath("create-publication-with-authority.xlsx");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail(), "-s"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+        assertThat("Expected no errors", handler.getErrorMessages(), empty());
+
+        List<String> warningMessages = handler.getWarningMessages();
+        assertThat("Expected 1 warning message", warningMessages, hasSize(1));
+        assertThat(warningMessages.get(0), containsString("Row 2 - Invalid item left in workspace"));
+
+        assertThat(handler.getInfoMessages(), contains(
+            is("Start reading all the metadata group rows"),
+            is("Found 2 metadata groups to process"),
+            is("Start importing the items in batches of 100"),
+            is("Processed 1 items")));
+
+        Item createdItem = getItemFromMessage(warningMessages.get(0));
+        assertThat("Item expected to be created", createdItem, notNullValue());
+        assertThat(createdItem.isArchived(), is(false));
+        assertThat(findWorkspaceItem(createdItem), notNullValue());
+
+        List<MetadataValue> metadata = createdItem.getMetadata();
+        assertThat(metadata, hasItems(with("dc.contributor.author", "Author1", null, "authority1", 0, 600)));
+        assertThat(metadata, hasItems(with("dc.contributor.author", "Author2", 1)));
+        assertThat(metadata, hasItems(with("oairecerif.author.affiliation", "OrgUnit1")));
+        assertThat(metadata, hasItems(with("oairecerif.author.affiliation", "OrgUnit2", null, "authority2", 1, 400)));
+
+    }
+
+    @Test
+    public void testStreamingImportWithXlsFile() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Collection patents = createCollection(context, community)
+            .withSubmissionDefinition("patent")
+            .withAdminGroup(eperson)
+            .build();
+        context.commit();
+        context.restoreAuthSystemState();
+
+        String fileLocation = getXlsFilePath("create-patent.xls");
+        String[] args = new String[] { "bulk-import", "-c", patents.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail(), "-s"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+
+        assertThat(handler.getErrorMessages(),
+            contains(containsString("The streaming import only supports xlsx files")));
+    }
+
     @Test
     public void testManyPublicationImport() throws Exception {
 
@@ -2004,6 +2068,54 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testCreatePublicationInWorkspaceItemsAndItemHasLicenseWithStreaming() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+
+        context.commit();
+        context.restoreAuthSystemState();
+
+        String fileLocation = getXlsFilePath("items-with-bitstreams.xlsx");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail(), "-s"};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+        assertThat("Expected no errors", handler.getErrorMessages(), empty());
+        assertThat("Expected no warnings", handler.getWarningMessages(), empty());
+
+        assertThat(handler.getInfoMessages(), contains(
+            is("Start reading all the metadata group rows"),
+            is("Found 2 metadata groups to process"),
+            is("Start reading all the bitstream rows"),
+            is("Found 1 bitstreams to process"),
+            is("Start importing the items in batches of 100"),
+            containsString("Sheet bitstream-metadata - Row 2 - Bitstream created successfully"),
+            containsString("Row 2 - WorkflowItem created successfully"),
+            is("Processed 1 items")));
+
+        Item createdItem = getItemFromMessage(handler.getInfoMessages().get(6));
+        assertThat("Item expected to be created", createdItem, notNullValue());
+        assertThat(createdItem.isArchived(), is(true));
+
+        assertThat(getItemBitstreamsByBundle(createdItem, "ORIGINAL"), contains(
+            bitstreamWith("Test title.txt", "test file descr", "this is a test file for uploading bitstreams")));
+
+        List<MetadataValue> metadata = createdItem.getMetadata();
+        assertThat(metadata, hasItems(with("dc.title", "publication with attachment uploaded part second")));
+        assertThat(metadata, hasItems(with("dc.contributor.author",
+            "Lombardi, Corrado", "b5ad6864-012d-4989-8e0d-4acfa1156fd9", 0, 600)));
+        assertThat(metadata, hasItems(with("oairecerif.author.affiliation", "4Science",
+            "a14ba215-c0f0-4b74-b21a-06359bfabd45", 0, 600)));
+
+    }
+
     /**
      * Test Bitstream format of created Bitstreams.
      */
@@ -0,0 +1,77 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkimport.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dspace.app.bulkimport.util.ChildRowIndex.IndexedRow;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ChildRowIndex}.
+ */
+public class ChildRowIndexTest {
+
+    @Test
+    public void testFindRowsInInsertionOrder() throws Exception {
+        try (ChildRowIndex index = new ChildRowIndex()) {
+            index.add("ROW-ID::2", 1, 1, Arrays.asList("ROW-ID::2", "Author 1"));
+            index.add("scopus::123", 1, 2, Arrays.asList("scopus::123", "Author 2"));
+            index.add("ROW-ID::3", 1, 3, Arrays.asList("ROW-ID::3", "Author 3"));
+            index.add("ROW-ID::2", 2, 1, Arrays.asList("ROW-ID::2", null, "Affiliation"));
+            index.add("scopus::123", 3, 1, Arrays.asList("scopus::123", "file.txt"));
+
+            assertThat(index.size(), is(5));
+
+            List<IndexedRow> rows = index.find("scopus::123", "ROW-ID::2");
+            assertThat(rowNumbers(rows), contains("1/1", "1/2", "2/1", "3/1"));
+            assertThat(rows.get(2).getValues(), contains("ROW-ID::2", null, "Affiliation"));
+
+            assertThat(rowNumbers(index.find("ROW-ID::3")), contains("1/3"));
+            assertThat(index.find("ROW-ID::4"), empty());
+        }
+    }
+
+    @Test
+    public void testFindRowsWithLongValues() throws Exception {
+        String longValue = "\u00e0\u00e8\u00ec\u00f2\u00f9".repeat(20000);
+        try (ChildRowIndex index = new ChildRowIndex()) {
+            for (int i = 0; i < 1000; i++) {
+                index.add("ROW-ID::" + (i % 10), 1, i, Arrays.asList("ROW-ID::" + (i % 10), longValue + i));
+            }
+
+            List<IndexedRow> rows = index.find("ROW-ID::7");
+            assertThat(rows.size(), is(100));
+            assertThat(rows.get(99).getRowNum(), is(997));
+            assertThat(rows.get(99).getValues().get(1), is(longValue + 997));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterFind() throws Exception {
+        try (ChildRowIndex index = new ChildRowIndex()) {
+            index.add("ROW-ID::2", 1, 1, Arrays.asList("ROW-ID::2"));
+            index.find("ROW-ID::2");
+            index.add("ROW-ID::3", 1, 2, Arrays.asList("ROW-ID::3"));
+        }
+    }
+
+    private List<String> rowNumbers(List<IndexedRow> rows) {
+        return rows.stream()
+            .map(row -> row.getSheetIndex() + "/" + row.getRowNum())
+            .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MinHash}, with a comparison of the recall of its band tokens against the exact
+ * signature of the normalized values, and a benchmark of their throughput.
+ */
+public class MinHashTest {
+
+    private static final Logger log = LogManager.getLogger(MinHashTest.class);
+
+    private static final String[] WORDS = ("analysis of the effects on deep learning models for protein structure "
+        + "prediction in large scale genomic data sets with transfer methods under uncertainty").split(" ");
+
+    @Test
+    public void testBandsForThreshold() {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        assertEquals(11, minHash.getBands());
+        assertEquals(11, minHash.getRows());
+        double threshold = Math.pow(1.0 / minHash.getBands(), 1.0 / minHash.getRows());
+        assertEquals(0.8, threshold, 0.01);
+
+        minHash = new MinHash(128, 0.5, 3);
+        assertEquals(0.5, Math.pow(1.0 / minHash.getBands(), 1.0 / minHash.getRows()), 0.05);
+    }
+
+    @Test
+    public void testTokensAreStable() {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        List<String> bands = minHash.bands(minHash.sketch("deeplearningforproteinstructure"), null);
+        assertEquals(bands, new MinHash(128, 0.8, 3).bands(minHash.sketch("deeplearningforproteinstructure"), null));
+        assertEquals(11, bands.size());
+        for (String band : bands) {
+            assertTrue(band, band.matches("[0-9a-f]{18}"));
+        }
+        assertNull(minHash.sketch(""));
+    }
+
+    @Test
+    public void testScopeSeparatesTheTokens() {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        long[] sketch = minHash.sketch("deeplearningforproteinstructure");
+        List<String> publication = minHash.bands(sketch, "Publication");
+        List<String> patent = minHash.bands(sketch, "Patent");
+        assertTrue(Collections.disjoint(publication, patent));
+        assertEquals(publication, minHash.bands(sketch, "Publication"));
+    }
+
+    @Test
+    public void testSimilarity() {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        long[] sketch = minHash.sketch("deeplearningforproteinstructure");
+        assertEquals(1.0, MinHash.similarity(sketch, minHash.sketch("deeplearningforproteinstructure")), 0);
+        double typo = MinHash.similarity(sketch, minHash.sketch("deeplearningforproteinstrukture"));
+        double other = MinHash.similarity(sketch, minHash.sketch("largescalegenomicdatasets"));
+        assertTrue("similarity with a typo " + typo, typo > 0.7);
+        assertTrue("similarity with another value " + other, other < 0.2);
+        assertNotEquals(typo, other, 0.1);
+    }
+
+    /**
+     * Compare the candidates found by the band tokens with the ones found by the exact signature on random titles
+     * with a typo, and on pairs of unrelated titles.
+     */
+    @Test
+    public void testRecallAgainstExactSignature() {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        Random random = new Random(42);
+        int pairs = 1000;
+        List<String[]> duplicates = new ArrayList<>(pairs);
+        List<String[]> unrelated = new ArrayList<>(pairs);
+        for (int i = 0; i < pairs; i++) {
+            String title = randomTitle(random);
+            char[] typo = title.toCharArray();
+            typo[random.nextInt(typo.length)] = (char) ('a' + random.nextInt(26));
+            duplicates.add(new String[] { title, new String(typo) });
+            unrelated.add(new String[] { title, randomTitle(random) });
+        }
+
+        int exactFound = 0;
+        int bandsFound = 0;
+        int falsePositives = 0;
+        for (int i = 0; i < pairs; i++) {
+            String[] duplicate = duplicates.get(i);
+            if (duplicate[0].equals(duplicate[1])) {
+                exactFound++;
+            }
+            List<String> bands = minHash.bands(minHash.sketch(duplicate[0]), null);
+            if (!Collections.disjoint(bands, minHash.bands(minHash.sketch(duplicate[1]), null))) {
+                bandsFound++;
+            }
+            if (!Collections.disjoint(bands, minHash.bands(minHash.sketch(unrelated.get(i)[1]), null))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("recall of the MinHash bands " + bandsFound, bandsFound > pairs * 0.85);
+        assertTrue("false positives of the MinHash bands " + falsePositives, falsePositives < pairs * 0.01);
+        assertTrue(bandsFound > exactFound);
+    }
+
+    /**
+     * Benchmark of the throughput of the band tokens against the MD5 digest of the exact signature, run it manually
+     * by removing the {@link Ignore} annotation.
+     */
+    @Ignore
+    @Test
+    public void benchmarkThroughputAgainstExactSignature() throws Exception {
+        MinHash minHash = new MinHash(128, 0.8, 3);
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            titles.add(randomTitle(random));
+        }
+
+        long digested = 0;
+        long start = System.nanoTime();
+        for (String title : titles) {
+            digested += MessageDigest.getInstance("MD5").digest(title.getBytes(StandardCharsets.UTF_8)).length;
+        }
+        long exactTime = System.nanoTime() - start;
+
+        long tokens = 0;
+        start = System.nanoTime();
+        for (String title : titles) {
+            tokens += minHash.bands(minHash.sketch(title), null).size();
+        }
+        long bandsTime = System.nanoTime() - start;
+
+        log.info("{} titles: exact signature {} ms ({} bytes), MinHash bands {} ms ({} tokens)", titles.size(),
+                 exactTime / 1000000, digested, bandsTime / 1000000, tokens);
+    }
+
+    private String randomTitle(Random random) {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+}
@@ -8,14 +8,17 @@
 package org.dspace.app.itemexport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
@@ -227,6 +230,43 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkZip(zipFileName);
     }
 
+    @Test
+    public void exportZipItemWithBitstreamsContent() throws Exception {
+        // create item
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .withMetadata("dc", "date", "issued", dateIssued)
+                .build();
+        // create two bitstreams with the same name
+        String bitstreamContent = "TEST TEST TEST";
+        for (int i = 0; i < 2; i++) {
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent + i, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                        .withName("Bitstream")
+                        .withMimeType("text/plain")
+                        .build();
+            }
+        }
+        context.restoreAuthSystemState();
+
+        String[] args = new String[] { "export", "-t", "ITEM",
+                "-i", item.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+        perfomExportScript(args);
+
+        checkZip(zipFileName);
+        try (ZipFile zip = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            assertNotNull(zip.getEntry("1/dublin_core.xml"));
+            assertNotNull(zip.getEntry("1/collections"));
+            assertNotNull(zip.getEntry("1/handle"));
+            assertEquals(bitstreamContent + "0", readEntry(zip, "1/Bitstream"));
+            assertEquals(bitstreamContent + "1", readEntry(zip, "1/1_Bitstream"));
+            assertTrue(readEntry(zip, "1/contents").contains("1_Bitstream\tbundle:ORIGINAL"));
+            assertTrue(readEntry(zip, "1/dublin_core.xml").contains(title));
+        }
+        assertFalse(Files.exists(workDir.resolve(zipFileName)));
+    }
+
     @Test
     public void migrateCollection() throws Exception {
         // create items
@@ -356,6 +396,12 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertNotNull(itemService.find(context, item.getID()));
     }
 
+    private String readEntry(ZipFile zip, String name) throws Exception {
+        try (InputStream is = zip.getInputStream(zip.getEntry(name))) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
     private void perfomExportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
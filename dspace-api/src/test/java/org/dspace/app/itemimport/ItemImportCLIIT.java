@@ -11,11 +11,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.file.PathUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
@@ -32,6 +37,13 @@ import org.dspace.content.Relationship;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.flywaydb.core.internal.util.ExceptionUtils;
@@ -51,10 +63,13 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
     private static final String PDF_NAME = "test.pdf";
     private static final String publicationTitle = "A Tale of Two Cities";
     private static final String personTitle = "Person Test";
+    private static final String PARALLEL_TITLE = "Parallel item ";
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private RelationshipService relationshipService = ContentServiceFactory.getInstance().getRelationshipService();
     private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+    private HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
+    private SearchService searchService = SearchUtils.getSearchService();
     private Collection collection;
     private Path tempDir;
     private Path workDir;
@@ -262,6 +277,91 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkRelationship();
     }
 
+    @Test
+    public void importItemByZipSafWithBitstreamsWithThreads() throws Exception {
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-bitstreams.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", tempDir.toString() + "/mapfile.out", "-t", "2" };
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkMetadataWithAnotherSchema();
+        checkBitstream();
+
+        // the mapfile is written after the commit of each batch
+        List<String> mapfileLines = Files.readAllLines(Path.of(tempDir.toString() + "/mapfile.out"));
+        assertEquals(1, mapfileLines.size());
+        assertTrue(mapfileLines.get(0).startsWith("item_000 "));
+    }
+
+    @Test
+    public void importItemByZipSafWithRelationshipsWithThreads() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // create collection that contains person
+        Collection collectionPerson = CollectionBuilder.createCollection(context, parentCommunity)
+                .withName("Collection Person")
+                .withEntityType("Person")
+                .build();
+        // create person
+        ItemBuilder.createItem(context, collectionPerson)
+                .withTitle(personTitle)
+                .build();
+        context.restoreAuthSystemState();
+        // use simple SAF in zip format
+        Files.copy(getClass().getResourceAsStream("saf-relationships.zip"),
+                Path.of(tempDir.toString() + "/" + ZIP_NAME));
+
+        String[] args = new String[] { "import", "-a", "-p", "-e", admin.getEmail(),
+                "-c", collection.getID().toString(), "-s", tempDir.toString(), "-z", ZIP_NAME,
+                "-m", tempDir.toString() + "/mapfile.out", "-t", "2" };
+        perfomImportScript(args);
+
+        checkMetadata();
+        checkRelationship();
+    }
+
+    @Test
+    public void importItemsByZipSafWithThreads() throws Exception {
+        // more items than the batch size, so that several batches are committed by each worker
+        configurationService.setProperty("itemimport.parallel.batch-size", 2);
+        createZip(ZIP_NAME, 0, 9);
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", tempDir.toString() + "/mapfile.out", "-t", "3" };
+        perfomImportScript(args);
+
+        List<String> mapfileLines = Files.readAllLines(Path.of(tempDir.toString() + "/mapfile.out"));
+        assertEquals(9, mapfileLines.size());
+        checkImportedItems(mapfileLines, 9);
+    }
+
+    @Test
+    public void resumeImportItemsByZipSafWithThreads() throws Exception {
+        configurationService.setProperty("itemimport.parallel.batch-size", 2);
+        Path mapFile = Path.of(tempDir.toString() + "/mapfile.out");
+        // the interrupted run had imported the first items
+        createZip("saf-interrupted.zip", 0, 3);
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", "saf-interrupted.zip", "-m", mapFile.toString(), "-t", "2" };
+        perfomImportScript(args);
+        List<String> interruptedLines = Files.readAllLines(mapFile);
+        assertEquals(3, interruptedLines.size());
+
+        createZip(ZIP_NAME, 0, 9);
+        args = new String[] { "import", "-a", "-R", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", tempDir.toString(), "-z", ZIP_NAME, "-m", mapFile.toString(), "-t", "3" };
+        perfomImportScript(args);
+
+        // the mapfile is appended to, the items already imported are neither imported nor listed again
+        List<String> mapfileLines = Files.readAllLines(mapFile);
+        assertEquals(9, mapfileLines.size());
+        assertEquals(interruptedLines, mapfileLines.subList(0, 3));
+        checkImportedItems(mapfileLines, 9);
+    }
+
     @Test
     public void importItemByZipSafInvalidMimetype() throws Exception {
         // use sample PDF file
@@ -603,6 +703,51 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         assertEquals(item.getID(), relationships.get(0).getLeftItem().getID());
     }
 
+    /**
+     * Create a SAF zip with the items of the given range, titled after their number
+     */
+    private void createZip(String name, int from, int to) throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(Path.of(tempDir.toString(), name)))) {
+            for (int i = from; i < to; i++) {
+                zip.putNextEntry(new ZipEntry("saf/" + String.format("item_%03d", i) + "/dublin_core.xml"));
+                zip.write(("<dublin_core>\n    <dcvalue element=\"title\" qualifier=\"none\">" + PARALLEL_TITLE + i
+                    + "</dcvalue>\n</dublin_core>\n").getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Check that each item of the zip is listed once in the mapfile, with the handle of the imported item, and
+     * that the imported items are indexed
+     */
+    private void checkImportedItems(List<String> mapfileLines, int count) throws Exception {
+        Set<String> folders = new HashSet<>();
+        Set<String> handles = new HashSet<>();
+        for (String line : mapfileLines) {
+            String[] parts = line.split(" ");
+            assertEquals(2, parts.length);
+            assertTrue(folders.add(parts[0]));
+            assertTrue(handles.add(parts[1]));
+            Item item = (Item) handleService.resolveToObject(context, parts[1]);
+            assertTrue(item.isArchived());
+            assertEquals(PARALLEL_TITLE + Integer.parseInt(parts[0].substring("item_".length())), item.getName());
+            assertEquals(collection.getID(), item.getOwningCollection().getID());
+        }
+        assertEquals(count, folders.size());
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("*:*");
+        discoverQuery.setMaxResults(count + 1);
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        discoverQuery.addFilterQueries("location.coll:" + collection.getID());
+        Set<String> indexedHandles = new HashSet<>();
+        for (IndexableObject indexableObject : searchService.search(context, discoverQuery).getIndexableObjects()) {
+            indexedHandles.add(((Item) indexableObject.getIndexedObject()).getHandle());
+        }
+        assertEquals(handles, indexedHandles);
+    }
+
     private void perfomImportScript(String[] args)
             throws Exception {
         runDSpaceScript(args);
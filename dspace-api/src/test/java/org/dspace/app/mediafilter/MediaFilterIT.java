@@ -170,6 +170,51 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsWithThreadsTest() throws Exception {
+        // the workers read the bitstreams with contexts of their own
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "4");
+        reloadAllItems();
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptCollectionWithThreadsTest() throws Exception {
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "2", "-i", col1_1_1.getHandle());
+        reloadAllItems();
+        checkItemHasBeenProcessed(item1_1_1_a);
+        checkItemHasBeenProcessed(item1_1_1_b);
+        checkItemHasBeenNotProcessed(item1_1_2_a);
+        checkItemHasBeenNotProcessed(item1_1_2_b);
+        // run again forcing the filters, the derivative bitstreams must be replaced
+        runDSpaceScript("filter-media", "-t", "2", "-f", "-i", col1_1_1.getHandle());
+        reloadAllItems();
+        checkItemHasBeenProcessed(item1_1_1_a);
+        checkItemHasBeenProcessed(item1_1_1_b);
+    }
+
+    @Test
+    public void mediaFilterScriptMaximumWithThreadsTest() throws Exception {
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "4", "-m", "3", "-i", topComm1.getHandle());
+        reloadAllItems();
+        int processed = 0;
+        for (Item item : List.of(item1_1_a, item1_1_b, item1_2_a, item1_2_b, item1_1_1_a, item1_1_1_b, item1_1_2_a,
+                                 item1_1_2_b, item1_2_1_a, item1_2_1_b, item1_2_2_a, item1_2_2_b)) {
+            if (!item.getBundles("TEXT").isEmpty()) {
+                checkItemHasBeenProcessed(item);
+                processed++;
+            }
+        }
+        assertEquals(3, processed);
+    }
+
     @Test
     public void mediaFilterScriptAllItemsLastUpdatedTest() throws Exception {
         context.turnOffAuthorisationSystem();
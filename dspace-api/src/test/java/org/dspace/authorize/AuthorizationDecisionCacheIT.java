@@ -0,0 +1,155 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link AuthorizationDecisionCacheService}.
+ */
+public class AuthorizationDecisionCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService = AuthorizeServiceFactory.getInstance()
+                                                                                       .getResourcePolicyService();
+
+    private final AuthorizationDecisionCacheService cacheService =
+        AuthorizeServiceFactory.getInstance().getAuthorizationDecisionCacheService();
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private EPerson reader;
+
+    private Group readers;
+
+    private Item item;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("core.authorization.cache.enabled", true);
+        cacheService.clear();
+
+        context.turnOffAuthorisationSystem();
+        reader = EPersonBuilder.createEPerson(context)
+                               .withEmail("reader@example.com")
+                               .build();
+        readers = GroupBuilder.createGroup(context)
+                              .withName("Readers")
+                              .build();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Restricted item")
+                          .withReaderGroup(readers)
+                          .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        reader = context.reloadEntity(reader);
+        readers = context.reloadEntity(readers);
+        item = context.reloadEntity(item);
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("core.authorization.cache.enabled", false);
+        cacheService.clear();
+        super.destroy();
+    }
+
+    @Test
+    public void testDecisionIsSharedAcrossContexts() throws Exception {
+        assertFalse(authorizeService.authorizeActionBoolean(context, reader, item, Constants.READ, true));
+        long hits = cacheService.getHits();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, reader, item, Constants.READ, true));
+        assertEquals(hits + 1, cacheService.getHits());
+    }
+
+    @Test
+    public void testGroupMembershipInvalidatesTheDecision() throws Exception {
+        assertFalse(authorizeService.authorizeActionBoolean(context, reader, item, Constants.READ, true));
+
+        context.turnOffAuthorisationSystem();
+        readers = context.reloadEntity(readers);
+        groupService.addMember(context, readers, context.reloadEntity(reader));
+        groupService.update(context, readers);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, context.reloadEntity(reader),
+                                                           context.reloadEntity(item), Constants.READ, true));
+    }
+
+    @Test
+    public void testPolicyChangeInvalidatesTheDecision() throws Exception {
+        context.turnOffAuthorisationSystem();
+        readers = context.reloadEntity(readers);
+        groupService.addMember(context, readers, context.reloadEntity(reader));
+        groupService.update(context, readers);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, context.reloadEntity(reader),
+                                                           context.reloadEntity(item), Constants.READ, true));
+
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removePolicies(context, context.reloadEntity(item), Constants.READ);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, context.reloadEntity(reader),
+                                                            context.reloadEntity(item), Constants.READ, true));
+    }
+
+    @Test
+    public void testUncommittedChangesBypassTheCache() throws Exception {
+        assertFalse(authorizeService.authorizeActionBoolean(context, reader, item, Constants.READ, true));
+
+        context.turnOffAuthorisationSystem();
+        readers = context.reloadEntity(readers);
+        groupService.addMember(context, readers, context.reloadEntity(reader));
+        groupService.update(context, readers);
+        context.restoreAuthSystemState();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, context.reloadEntity(reader),
+                                                           context.reloadEntity(item), Constants.READ, true));
+        context.commit();
+    }
+}
@@ -11,6 +11,8 @@ package org.dspace.authorize;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
@@ -18,6 +20,7 @@ import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.factory.ContentServiceFactory;
@@ -224,6 +227,58 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
         }
     }
 
+    @Test
+    public void testBulkAuthorizeActionBooleanMatchesSingleChecks() {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        Item restrictedItem;
+        EPerson reader;
+        try {
+            context.turnOffAuthorisationSystem();
+            reader = ePersonService.create(context);
+            Community community = communityService.create(null, context);
+            Collection collection = collectionService.create(context, community);
+            Item publicItem = installItemService.installItem(context,
+                workspaceItemService.create(context, collection, false));
+            restrictedItem = installItemService.installItem(context,
+                workspaceItemService.create(context, collection, false));
+            resourcePolicyService.removePolicies(context, restrictedItem, Constants.READ);
+            dsos.add(community);
+            dsos.add(collection);
+            dsos.add(publicItem);
+            dsos.add(restrictedItem);
+            context.commit();
+        } catch (SQLException | AuthorizeException ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            context.restoreAuthSystemState();
+        }
+
+        try {
+            reader = context.reloadEntity(reader);
+            restrictedItem = context.reloadEntity(restrictedItem);
+            for (int i = 0; i < dsos.size(); i++) {
+                dsos.set(i, context.reloadEntity(dsos.get(i)));
+            }
+            context.setCurrentUser(reader);
+            Map<UUID, Boolean> decisions = authorizeService.authorizeActionBoolean(context, dsos, Constants.READ);
+            Assert.assertEquals(dsos.size(), decisions.size());
+            Assert.assertFalse(decisions.get(restrictedItem.getID()));
+            for (DSpaceObject dso : dsos) {
+                Assert.assertEquals(authorizeService.authorizeActionBoolean(context, reader, dso, Constants.READ,
+                                                                            true), decisions.get(dso.getID()));
+            }
+
+            context.setCurrentUser(null);
+            decisions = authorizeService.authorizeActionBoolean(context, dsos, Constants.READ);
+            for (DSpaceObject dso : dsos) {
+                Assert.assertEquals(authorizeService.authorizeActionBoolean(context, null, dso, Constants.READ,
+                                                                            true), decisions.get(dso.getID()));
+            }
+        } catch (SQLException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
 //
 //    @Test
 //    public void testIsCollectionAdmin() throws SQLException, AuthorizeException, IOException {
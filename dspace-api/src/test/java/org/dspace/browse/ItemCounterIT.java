@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the bulk item counts of the {@link ItemCounter}.
+ */
+public class ItemCounterIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final ItemCounter itemCounter = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(ItemCounter.class.getName(), ItemCounter.class);
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("webui.strengths.show", true);
+        ItemCountDAOSolr.invalidateCounts();
+    }
+
+    @After
+    public void cleanup() {
+        configurationService.setProperty("webui.strengths.show", null);
+        configurationService.setProperty("webui.strengths.cache", null);
+    }
+
+    @Test
+    public void testCountsAreRefreshedWhenTheIndexIsCommitted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection first = CollectionBuilder.createCollection(context, community).withName("First").build();
+        Collection second = CollectionBuilder.createCollection(context, community).withName("Second").build();
+        ItemBuilder.createItem(context, first).withTitle("Item 1").build();
+        ItemBuilder.createItem(context, first).withTitle("Item 2").build();
+        context.restoreAuthSystemState();
+
+        Map<UUID, Integer> counts = itemCounter.getCounts(context, List.of(community, first, second));
+        assertEquals(2, counts.get(community.getID()).intValue());
+        assertEquals(2, counts.get(first.getID()).intValue());
+        assertEquals(0, counts.get(second.getID()).intValue());
+
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, second).withTitle("Item 3").build();
+        context.restoreAuthSystemState();
+
+        assertEquals(3, itemCounter.getCount(context, community));
+        assertEquals(1, itemCounter.getCount(context, second));
+    }
+
+    @Test
+    public void testRealTimeCountsMatchTheCachedCounts() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection")
+                                                 .build();
+        ItemBuilder.createItem(context, collection).withTitle("Item 1").build();
+        context.restoreAuthSystemState();
+
+        Map<UUID, Integer> cached = itemCounter.getCounts(context, List.of(community, collection));
+        configurationService.setProperty("webui.strengths.cache", false);
+        Map<UUID, Integer> realTime = itemCounter.getCounts(context, List.of(community, collection));
+        assertEquals(cached, realTime);
+    }
+
+    @Test
+    public void testSharedCountsIgnoreTheUserOfTheLookup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection")
+                                                 .build();
+        Group readers = GroupBuilder.createGroup(context).withName("Readers").build();
+        ItemBuilder.createItem(context, collection).withTitle("Public item").build();
+        ItemBuilder.createItem(context, collection).withTitle("Restricted item").withReaderGroup(readers).build();
+        context.restoreAuthSystemState();
+
+        // the first lookup is done by an admin, its counts are shared with the anonymous users
+        context.setCurrentUser(admin);
+        assertEquals(1, itemCounter.getCount(context, collection));
+
+        context.setCurrentUser(null);
+        assertEquals(1, itemCounter.getCount(context, collection));
+        assertEquals(1, itemCounter.getCount(context, community));
+    }
+}
@@ -8,6 +8,7 @@
 package org.dspace.checker;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -146,6 +147,24 @@ public class ChecksumCheckerIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void testChecksumsRecordedInParallel() throws SQLException {
+        CheckerCommand checker = new CheckerCommand(context);
+        Instant checkerStartDate = Instant.now();
+        checker.setDispatcher(new SimpleDispatcher(context, checkerStartDate, false));
+        checker.setProcessStartDate(checkerStartDate);
+        checker.setThreads(2);
+        checker.process();
+
+        // every bitstream has been dispatched once and checked by the worker threads
+        for (Bitstream bitstream: bitstreams) {
+            MostRecentChecksum checksum = checksumService.findByBitstream(context, bitstream);
+            assertTrue(checksum.getProcessStartDate().isAfter(checkerStartDate));
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, checksum.getChecksumResult().getResultCode());
+            assertEquals(bitstream.getChecksum(), checksum.getCurrentChecksum());
+        }
+    }
+
     /**
      * Subclass of SimpleDispatcher that only allows a limited number of "next"
      * class before throwing a SQLException.
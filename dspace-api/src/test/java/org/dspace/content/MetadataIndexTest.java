@@ -0,0 +1,169 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link MetadataIndex}, comparing its lookups with a scan of the values of a large object.
+ */
+public class MetadataIndexTest {
+
+    private static final Logger log = LogManager.getLogger(MetadataIndexTest.class);
+
+    private static final String[][] FIELDS = {
+        {"dc", "title", null},
+        {"dc", "contributor", "author"},
+        {"dc", "contributor", "editor"},
+        {"dc", "subject", null},
+        {"dc", "subject", ""},
+        {"dc", "identifier", "doi"},
+        {"person", "affiliation", "name"},
+        {"oairecerif", "author", "affiliation"},
+    };
+
+    private List<MetadataValue> values;
+
+    @Before
+    public void init() {
+        MetadataSchema dc = schema("dc");
+        MetadataSchema person = schema("person");
+        MetadataSchema cerif = schema("oairecerif");
+        List<MetadataField> fields = new ArrayList<>();
+        for (String[] field : FIELDS) {
+            MetadataSchema schema = "dc".equals(field[0]) ? dc : "person".equals(field[0]) ? person : cerif;
+            fields.add(field(schema, field[1], field[2]));
+        }
+        values = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            MetadataValue value = new MetadataValue();
+            value.setMetadataField(fields.get(i % fields.size()));
+            value.setValue("value " + i);
+            value.setPlace(i);
+            values.add(value);
+        }
+    }
+
+    @Test
+    public void testLookupsMatchScan() {
+        MetadataIndex index = new MetadataIndex(values);
+        for (String[] field : FIELDS) {
+            for (String qualifier : new String[] {field[2], Item.ANY, null, "", "missing"}) {
+                assertEquals(texts(scan(field[0], field[1], qualifier)),
+                             texts(index.find(field[0], field[1], qualifier)));
+            }
+        }
+        assertTrue(index.find("dc", "missing", Item.ANY).isEmpty());
+        assertNull(index.find(Item.ANY, "title", null));
+        assertNull(index.find("dc", Item.ANY, Item.ANY));
+    }
+
+    @Test
+    public void testIndexIsInvalidatedByChanges() {
+        MetadataIndex index = new MetadataIndex(values);
+        assertTrue(index.isValidFor(values));
+        values.remove(0);
+        assertFalse(index.isValidFor(values));
+        assertFalse(index.isValidFor(new ArrayList<>(values)));
+    }
+
+    @Test
+    public void testRepeatedLookupsMatchTheScan() {
+        int scanned = 0;
+        for (int i = 0; i < 500; i++) {
+            scanned += scan("dc", "contributor", Item.ANY).size();
+        }
+
+        int found = 0;
+        MetadataIndex index = new MetadataIndex(values);
+        for (int i = 0; i < 500; i++) {
+            found += index.find("dc", "contributor", Item.ANY).size();
+        }
+        assertEquals(scanned, found);
+    }
+
+    /**
+     * Benchmark of the lookups through the index against the scan of the values, run it manually by removing the
+     * {@link Ignore} annotation.
+     */
+    @Ignore
+    @Test
+    public void benchmarkLookups() {
+        long start = System.nanoTime();
+        int scanned = 0;
+        for (int i = 0; i < 500; i++) {
+            scanned += scan("dc", "contributor", Item.ANY).size();
+        }
+        long scanTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int found = 0;
+        MetadataIndex index = new MetadataIndex(values);
+        for (int i = 0; i < 500; i++) {
+            found += index.find("dc", "contributor", Item.ANY).size();
+        }
+        long indexTime = System.nanoTime() - start;
+
+        log.info("500 lookups in {} values: scan {} ms ({} values), index (including its build) {} ms ({} values)",
+                 values.size(), scanTime / 1000000, scanned, indexTime / 1000000, found);
+    }
+
+    /**
+     * Reference implementation, same as {@link DSpaceObjectServiceImpl#match(String, String, String,
+     * MetadataValue)}.
+     */
+    private List<MetadataValue> scan(String schema, String element, String qualifier) {
+        return values.stream().filter(value -> {
+            MetadataField field = value.getMetadataField();
+            if (!Item.ANY.equals(element) && !element.equals(field.getElement())) {
+                return false;
+            }
+            if (StringUtils.isBlank(qualifier)) {
+                if (field.getQualifier() != null) {
+                    return false;
+                }
+            } else if (!Item.ANY.equals(qualifier) && !Objects.equals(qualifier, field.getQualifier())) {
+                return false;
+            }
+            return Item.ANY.equals(schema) || schema.equals(field.getMetadataSchema().getName());
+        }).collect(Collectors.toList());
+    }
+
+    private List<String> texts(List<MetadataValue> metadataValues) {
+        return metadataValues.stream().map(MetadataValue::getValue).collect(Collectors.toList());
+    }
+
+    private MetadataSchema schema(String name) {
+        MetadataSchema schema = new MetadataSchema();
+        schema.setName(name);
+        return schema;
+    }
+
+    private MetadataField field(MetadataSchema schema, String element, String qualifier) {
+        MetadataField field = new MetadataField();
+        field.setMetadataSchema(schema);
+        field.setElement(element);
+        field.setQualifier(qualifier);
+        return field;
+    }
+}
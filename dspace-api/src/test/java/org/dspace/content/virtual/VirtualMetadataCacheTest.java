@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link VirtualMetadataCache}.
+ */
+public class VirtualMetadataCacheTest {
+
+    private final UUID publication = UUID.randomUUID();
+
+    private final UUID author = UUID.randomUUID();
+
+    private final UUID otherAuthor = UUID.randomUUID();
+
+    private final UUID orgUnit = UUID.randomUUID();
+
+    @Test
+    public void testRelatedItemChangeInvalidatesDependents() {
+        VirtualMetadataCache cache = new VirtualMetadataCache(100, 3600);
+        cache.put(cache.getGeneration(), publication, values("Smith, John"), Set.of(author, otherAuthor));
+        cache.put(cache.getGeneration(), author, values(publication.toString()), Set.of(publication));
+        assertNotNull(cache.get(publication));
+        assertEquals("Smith, John", cache.get(publication).get(0).getValue());
+
+        // the name of an author changed: the virtual metadata of the publication must be computed again
+        cache.invalidate(Set.of(otherAuthor));
+        assertNull(cache.get(publication));
+        assertNotNull(cache.get(author));
+
+        cache.invalidate(Set.of(author));
+        assertNull(cache.get(author));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testValuesComputedDuringAnInvalidationAreNotStored() {
+        VirtualMetadataCache cache = new VirtualMetadataCache(100, 3600);
+        long generation = cache.getGeneration();
+        cache.invalidate(Set.of(author));
+        cache.put(generation, publication, values("Smith, John"), Set.of(author));
+        assertNull(cache.get(publication));
+    }
+
+    @Test
+    public void testOldestEntriesAreEvicted() {
+        VirtualMetadataCache cache = new VirtualMetadataCache(2, 3600);
+        cache.put(cache.getGeneration(), publication, values("a"), Set.of());
+        cache.put(cache.getGeneration(), author, values("b"), Set.of());
+        cache.put(cache.getGeneration(), otherAuthor, values("c"), Set.of());
+        assertEquals(2, cache.size());
+        assertNull(cache.get(publication));
+        assertNotNull(cache.get(otherAuthor));
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotReturned() {
+        VirtualMetadataCache cache = new VirtualMetadataCache(100, 0);
+        cache.put(cache.getGeneration(), publication, values("a"), Set.of());
+        assertNull(cache.get(publication));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testItemsReadThroughMoreThanOneRelationshipAreTracked() {
+        VirtualMetadataCache cache = new VirtualMetadataCache(100, 3600);
+        // the affiliation of the author is copied from the org unit related to it
+        cache.put(cache.getGeneration(), author, values("Org Unit"), Set.of(orgUnit));
+
+        Set<UUID> dependencies = new HashSet<>();
+        VirtualMetadataCache.trackDependencies(dependencies, () -> {
+            VirtualMetadataCache.recordDependency(author);
+            // the virtual metadata of the author is read from the cache
+            cache.get(author);
+            Set<UUID> nested = new HashSet<>();
+            return VirtualMetadataCache.trackDependencies(nested, () -> {
+                VirtualMetadataCache.recordDependency(otherAuthor);
+                return null;
+            });
+        });
+        assertEquals(Set.of(author, orgUnit, otherAuthor), dependencies);
+        cache.put(cache.getGeneration(), publication, values("Smith, John"), dependencies);
+
+        // a change of the org unit invalidates the publication, two relationships away
+        cache.invalidate(Set.of(orgUnit));
+        assertNull(cache.get(publication));
+        assertNull(cache.get(author));
+    }
+
+    @Test
+    public void testDependenciesAreNotRecordedOutsideATrackedComputation() {
+        VirtualMetadataCache.recordDependency(author);
+        Set<UUID> dependencies = new HashSet<>();
+        VirtualMetadataCache.trackDependencies(dependencies, () -> null);
+        assertTrue(dependencies.isEmpty());
+    }
+
+    private List<VirtualMetadataCache.Value> values(String value) {
+        return List.of(new VirtualMetadataCache.Value(1, value, "virtual::1", -1, 0, true));
+    }
+}
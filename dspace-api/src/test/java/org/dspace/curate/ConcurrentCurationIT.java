@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the curation of the items of a collection by several threads.
+ */
+public class ConcurrentCurationIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String TASK_NAME = "concurrentdummy";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private String[] taskPlugins;
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        taskPlugins = configurationService.getArrayProperty("plugin.named.org.dspace.curate.CurationTask");
+        configurationService.setProperty("plugin.named.org.dspace.curate.CurationTask",
+            ConcurrentDummyTask.class.getName() + " = " + TASK_NAME);
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        ConcurrentDummyTask.curatedHandles.clear();
+        ConcurrentDummyTask.threadNames.clear();
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void cleanup() {
+        configurationService.setProperty("plugin.named.org.dspace.curate.CurationTask", taskPlugins);
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+    }
+
+    @Test
+    public void testAllTheItemsAreCuratedByThePool() throws Exception {
+        Set<String> handles = new HashSet<>();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 25; i++) {
+            Item item = ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+            handles.add(item.getHandle());
+        }
+        context.restoreAuthSystemState();
+        // the workers curate the items with contexts of their own
+        context.commit();
+
+        StringBuilder report = new StringBuilder();
+        Curator curator = new Curator();
+        curator.setReporter(report);
+        curator.setTransactionScope(Curator.TxScope.OBJECT);
+        curator.setThreads(8);
+        curator.addTask(TASK_NAME);
+        curator.curate(context, collection);
+
+        assertEquals(handles, ConcurrentDummyTask.curatedHandles);
+        assertTrue(ConcurrentDummyTask.threadNames.size() <= 3);
+        for (String handle : handles) {
+            assertTrue(report.toString().contains("Curated " + handle + "\n"));
+        }
+        assertEquals(Curator.CURATE_SUCCESS, curator.getStatus(TASK_NAME));
+    }
+
+    @Test
+    public void testTheStatusIsTheSameAsWithOneThread() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 10; i++) {
+            ItemBuilder.createItem(context, collection).withTitle(i % 2 == 0 ? "fail" : "Item " + i).build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Item last = null;
+        Iterator<Item> items = itemService.findByCollection(context, collection);
+        while (items.hasNext()) {
+            last = items.next();
+        }
+        int expected = "fail".equals(last.getName()) ? Curator.CURATE_FAIL : Curator.CURATE_SUCCESS;
+
+        Curator sequential = new Curator();
+        sequential.setReporter(new StringBuilder());
+        sequential.addTask(TASK_NAME);
+        sequential.curate(context, collection);
+
+        Curator concurrent = new Curator();
+        concurrent.setReporter(new StringBuilder());
+        concurrent.setThreads(2);
+        concurrent.addTask(TASK_NAME);
+        concurrent.curate(context, collection);
+
+        assertEquals(10, ConcurrentDummyTask.curatedHandles.size());
+        assertEquals(expected, sequential.getStatus(TASK_NAME));
+        assertEquals(expected, concurrent.getStatus(TASK_NAME));
+    }
+
+    @Test
+    public void testMutativeTasksAreNotConcurrentWithTheCurationScope() throws Exception {
+        configurationService.setProperty("plugin.named.org.dspace.curate.CurationTask",
+            ConcurrentMutativeDummyTask.class.getName() + " = " + TASK_NAME);
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 10; i++) {
+            ItemBuilder.createItem(context, collection).withTitle("Item " + i).build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Curator curator = new Curator();
+        curator.setReporter(new StringBuilder());
+        curator.setTransactionScope(Curator.TxScope.CURATION);
+        curator.setThreads(8);
+        curator.addTask(TASK_NAME);
+        curator.curate(context, collection);
+
+        assertEquals(10, ConcurrentDummyTask.curatedHandles.size());
+        assertEquals(Set.of(Thread.currentThread().getName()), ConcurrentDummyTask.threadNames);
+    }
+}
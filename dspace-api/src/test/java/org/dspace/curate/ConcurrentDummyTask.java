@@ -0,0 +1,40 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+
+/**
+ * Makes no model changes, but records the items it is performed on. The items
+ * titled "fail" make it fail.
+ */
+@Concurrent(maxThreads = 3)
+public class ConcurrentDummyTask
+    extends AbstractCurationTask {
+
+    static final Set<String> curatedHandles = ConcurrentHashMap.newKeySet();
+
+    static final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public int perform(DSpaceObject dso)
+            throws IOException {
+        if (!(dso instanceof Item)) {
+            return Curator.CURATE_SKIP;
+        }
+        curatedHandles.add(dso.getHandle());
+        threadNames.add(Thread.currentThread().getName());
+        report("Curated " + dso.getHandle() + "\n");
+        return "fail".equals(dso.getName()) ? Curator.CURATE_FAIL : Curator.CURATE_SUCCESS;
+    }
+}
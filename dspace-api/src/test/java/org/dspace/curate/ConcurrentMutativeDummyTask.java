@@ -0,0 +1,17 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+/**
+ * A {@link ConcurrentDummyTask} declared as mutative.
+ */
+@Mutative
+@Concurrent(maxThreads = 3)
+public class ConcurrentMutativeDummyTask
+    extends ConcurrentDummyTask {
+}
@@ -0,0 +1,191 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.deduplication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.deduplication.service.impl.DedupIndexCheckpoint;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl;
+import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Integration tests for the resumable rebuild of the deduplication index.
+ */
+public class DedupIndexRebuildIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final int ITEMS = 11;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockSolrDedupCore dedupService;
+
+    private File checkpointFile;
+
+    /**
+     * The ids of the items, in the order the rebuild reads them.
+     */
+    private List<String> ids;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        dedupService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                            .getServiceByName(null, MockSolrDedupCore.class);
+        checkpointFile = new File(tempFolder.getRoot(), "index-checkpoint.properties");
+        configurationService.setProperty("deduplication.indexer.checkpoint-file", checkpointFile.getAbsolutePath());
+        configurationService.setProperty("deduplication.indexer.items.threads", 1);
+        configurationService.setProperty("deduplication.indexer.chunk-size", 2);
+        configurationService.setProperty("deduplication.indexer.batch-size", 2);
+        configurationService.setProperty("deduplication.indexer.commit-size", 2);
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(ItemBuilder.createItem(context, collection).withTitle("Item " + (char) ('a' + i)).build());
+        }
+        context.restoreAuthSystemState();
+        // the chunks are indexed with contexts of their own
+        context.commit();
+        ids = items.stream().map(item -> item.getID().toString()).sorted().collect(Collectors.toList());
+
+        // start from an empty index, whatever was indexed when the items were created
+        dedupService.reset();
+        dedupService.commit();
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("deduplication.indexer.checkpoint-file", null);
+        configurationService.setProperty("deduplication.indexer.items.threads", null);
+        configurationService.setProperty("deduplication.indexer.chunk-size", null);
+        configurationService.setProperty("deduplication.indexer.batch-size", null);
+        configurationService.setProperty("deduplication.indexer.commit-size", null);
+        super.destroy();
+    }
+
+    @Test
+    public void testCheckpointRoundTrip() throws Exception {
+        UUID lastId = UUID.randomUUID();
+        DedupIndexCheckpoint checkpoint = new DedupIndexCheckpoint(checkpointFile);
+        checkpoint.update("match", lastId);
+
+        DedupIndexCheckpoint loaded = new DedupIndexCheckpoint(checkpointFile);
+        assertTrue(loaded.load());
+        assertEquals("match", loaded.getPhase());
+        assertEquals(lastId, loaded.getLastId());
+
+        loaded.delete();
+        assertFalse(new DedupIndexCheckpoint(checkpointFile).load());
+    }
+
+    @Test
+    public void testRebuildIndexesAllTheItems() throws Exception {
+        dedupService.updateIndex(context, true, false, new TestDSpaceRunnableHandler());
+
+        assertEquals(new HashSet<>(ids), getIndexedIds());
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    public void testResumeSkipsTheIndexedChunks() throws Exception {
+        new DedupIndexCheckpoint(checkpointFile).update("fake", UUID.fromString(ids.get(3)));
+
+        dedupService.updateIndex(context, true, true, new TestDSpaceRunnableHandler());
+
+        assertEquals(new HashSet<>(ids.subList(4, ITEMS)), getIndexedIds());
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    public void testResumeSkipsTheCompletedPhases() throws Exception {
+        new DedupIndexCheckpoint(checkpointFile).update("match", null);
+
+        dedupService.updateIndex(context, true, true, new TestDSpaceRunnableHandler());
+
+        assertTrue(getIndexedIds().isEmpty());
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    public void testCancelLeavesAConsistentCheckpoint() throws Exception {
+        // cancel the rebuild at the first commit
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler() {
+            @Override
+            public void logInfo(String message) {
+                super.logInfo(message);
+                if (message.contains("items/s")) {
+                    dedupService.cancelIndex();
+                }
+            }
+        };
+        dedupService.updateIndex(context, true, false, handler);
+
+        DedupIndexCheckpoint checkpoint = new DedupIndexCheckpoint(checkpointFile);
+        assertTrue(checkpoint.load());
+        assertEquals("fake", checkpoint.getPhase());
+        assertNotNull(checkpoint.getLastId());
+        // all the items up to the checkpoint are indexed, none after it
+        String lastId = checkpoint.getLastId().toString();
+        Set<String> indexedBefore = ids.stream().filter(id -> id.compareTo(lastId) <= 0).collect(Collectors.toSet());
+        assertEquals(indexedBefore, getIndexedIds());
+        assertTrue(indexedBefore.size() < ITEMS);
+
+        // the resumed rebuild indexes the remaining items
+        dedupService.updateIndex(context, true, true, new TestDSpaceRunnableHandler());
+        assertEquals(new HashSet<>(ids), getIndexedIds());
+        assertFalse(checkpointFile.exists());
+    }
+
+    /**
+     * @return the ids of the items with a FAKE document in the index
+     */
+    private Set<String> getIndexedIds() throws Exception {
+        SolrQuery query = new SolrQuery(SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":"
+            + SolrDedupServiceImpl.DeduplicationFlag.FAKE.getDescription()).setRows(100);
+        Set<String> indexed = new HashSet<>();
+        for (SolrDocument document : dedupService.search(query).getResults()) {
+            indexed.add((String) document.getFirstValue(SolrDedupServiceImpl.RESOURCE_IDS_FIELD));
+        }
+        return indexed;
+    }
+}
@@ -16,6 +16,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -56,6 +57,7 @@ import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.indexobject.IndexableClaimedTask;
 import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.discovery.indexobject.IndexableWorkflowItem;
@@ -687,6 +689,88 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         assertSearchQuery(IndexableItem.TYPE, 3, 3, 0, -1);
     }
 
+    @Test
+    public void parallelUpdateIndexTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 1").build();
+        Collection col2 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 2").build();
+        for (int i = 0; i < 7; i++) {
+            ItemBuilder.createItem(context, i % 2 == 0 ? col1 : col2)
+                       .withTitle("Public item " + i)
+                       .withIssueDate("2020-01-0" + (i + 1))
+                       .build();
+        }
+        context.commit();
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("discovery.index.parallel.threads", 3);
+        configurationService.setProperty("discovery.index.parallel.batch-size", 2);
+        try {
+            indexer.deleteIndex();
+            assertSearchQuery(IndexableItem.TYPE, 0);
+
+            indexer.updateIndex(context, true);
+
+            assertSearchQuery(IndexableCommunity.TYPE, 1);
+            assertSearchQuery(IndexableCollection.TYPE, 2);
+            assertSearchQuery(IndexableItem.TYPE, 7);
+        } finally {
+            configurationService.setProperty("discovery.index.parallel.threads", 1);
+            configurationService.setProperty("discovery.index.parallel.batch-size", 500);
+        }
+    }
+
+    @Test
+    public void deltaIndexTest() throws Exception {
+        File watermarkFile = File.createTempFile("delta-index", ".properties");
+        watermarkFile.delete();
+        configurationService.setProperty("discovery.index.delta.watermark-file", watermarkFile.getAbsolutePath());
+        configurationService.setProperty("discovery.index.delta.overlap", 0);
+        configurationService.setProperty("discovery.index.delta.page-size", 1);
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+            Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                              .withName("Collection").build();
+            Item modifiedItem = ItemBuilder.createItem(context, col)
+                                           .withTitle("Public item 1")
+                                           .build();
+            ItemBuilder.createItem(context, col)
+                       .withTitle("Public item 2")
+                       .build();
+            context.commit();
+
+            // without a high-water mark all the items are reindexed
+            assertEquals(2, new DeltaIndexer(indexer).index(context));
+            assertTrue(watermarkFile.exists());
+
+            context.setDispatcher("noindex");
+            indexer.deleteIndex();
+            modifiedItem = context.reloadEntity(modifiedItem);
+            itemService.updateLastModified(context, modifiedItem);
+            context.commit();
+            context.restoreAuthSystemState();
+
+            // only the item modified after the previous run is reindexed, with its collection and community
+            assertEquals(1, new DeltaIndexer(indexer).index(context));
+            assertSearchQuery(IndexableItem.TYPE, 1);
+            assertSearchQuery(IndexableCollection.TYPE, 1);
+            assertSearchQuery(IndexableCommunity.TYPE, 1);
+        } finally {
+            watermarkFile.delete();
+            configurationService.setProperty("discovery.index.delta.watermark-file", null);
+            configurationService.setProperty("discovery.index.delta.overlap", null);
+            configurationService.setProperty("discovery.index.delta.page-size", null);
+        }
+    }
+
     @Test
     public void iteratorSearchServiceTest() throws SearchServiceException {
         String subject1 = "subject1";
@@ -0,0 +1,208 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests for the deferred discovery indexing through {@link IndexQueueService}.
+ */
+public class IndexQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final IndexQueueService indexQueueService = new DSpace().getSingletonService(IndexQueueService.class);
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private SearchService searchService;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        searchService = SearchUtils.getSearchService();
+        configurationService.setProperty("discovery.index.queue.enabled", true);
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("discovery.index.queue.enabled", false);
+        configurationService.setProperty("discovery.index.queue.max-attempts", null);
+        super.destroy();
+    }
+
+    @Test
+    public void testChangesAreIndexedWhenTheQueueIsProcessed() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+
+        assertEquals(0, findItemsByTitle("Queued").size());
+        assertTrue(indexQueueService.getQueueSize(context) > 0);
+
+        indexQueueService.waitForIndex(context);
+
+        assertEquals(0, indexQueueService.getQueueSize(context));
+        assertEquals(1, findItemsByTitle("Queued").size());
+
+        context.turnOffAuthorisationSystem();
+        item = context.reloadEntity(item);
+        itemService.replaceMetadata(context, item, "dc", "title", null, null, "Changed item", null, -1, 0);
+        itemService.update(context, item);
+        context.commit();
+        long queueSize = indexQueueService.getQueueSize(context);
+        item = context.reloadEntity(item);
+        itemService.replaceMetadata(context, item, "dc", "title", null, null, "Changed again", null, -1, 0);
+        itemService.update(context, item);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // the repeated changes of the same item are merged in a single entry
+        assertEquals(queueSize, indexQueueService.getQueueSize(context));
+        assertEquals(1, findItemsByTitle("Queued").size());
+
+        indexQueueService.waitForIndex(context);
+
+        assertEquals(0, findItemsByTitle("Queued").size());
+        assertEquals(1, findItemsByTitle("again").size());
+    }
+
+    @Test
+    public void testDeletedObjectsAreRemovedWhenTheQueueIsProcessed() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Deleted item")
+                               .build();
+        context.restoreAuthSystemState();
+        indexQueueService.waitForIndex(context);
+        assertEquals(1, findItemsByTitle("Deleted").size());
+
+        context.turnOffAuthorisationSystem();
+        itemService.delete(context, context.reloadEntity(item));
+        context.commit();
+        context.restoreAuthSystemState();
+
+        indexQueueService.waitForIndex(context);
+        assertEquals(0, findItemsByTitle("Deleted").size());
+    }
+
+    @Test
+    public void testFailedEntriesAreKeptInTheQueue() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item failing = ItemBuilder.createItem(context, collection)
+                                  .withTitle("Failing item")
+                                  .build();
+        ItemBuilder.createItem(context, collection)
+                   .withTitle("Indexed item")
+                   .build();
+        context.restoreAuthSystemState();
+
+        processWithFailingIndexing(failing);
+
+        // the other objects are indexed, the failed one is still queued
+        assertEquals(1, findItemsByTitle("Indexed").size());
+        assertEquals(0, findItemsByTitle("Failing").size());
+        assertEquals(1, indexQueueService.getQueueSize(context));
+
+        indexQueueService.waitForIndex(context);
+
+        assertEquals(1, findItemsByTitle("Failing").size());
+        assertEquals(0, indexQueueService.getQueueSize(context));
+    }
+
+    @Test
+    public void testFailedEntriesAreRemovedAfterTheMaxAttempts() throws Exception {
+        configurationService.setProperty("discovery.index.queue.max-attempts", 2);
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item failing = ItemBuilder.createItem(context, collection)
+                                  .withTitle("Failing item")
+                                  .build();
+        context.restoreAuthSystemState();
+        indexQueueService.waitForIndex(context);
+
+        context.turnOffAuthorisationSystem();
+        failing = context.reloadEntity(failing);
+        itemService.replaceMetadata(context, failing, "dc", "title", null, null, "Changed item", null, -1, 0);
+        itemService.update(context, failing);
+        context.commit();
+        context.restoreAuthSystemState();
+        assertEquals(1, indexQueueService.getQueueSize(context));
+
+        processWithFailingIndexing(failing);
+        assertEquals(1, indexQueueService.getQueueSize(context));
+
+        processWithFailingIndexing(failing);
+        assertEquals(0, indexQueueService.getQueueSize(context));
+        assertEquals(0, findItemsByTitle("Changed").size());
+    }
+
+    /**
+     * Process the queue with an indexing of the given item that always fails
+     */
+    private void processWithFailingIndexing(Item item) throws Exception {
+        IndexingService indexingService = new DSpace().getSingletonService(IndexingService.class);
+        IndexingService failingIndexingService = mock(IndexingService.class, delegatesTo(indexingService));
+        String uniqueId = new IndexableItem(item).getUniqueIndexID();
+        doThrow(new RuntimeException("Indexing failure")).when(failingIndexingService)
+            .indexContent(any(Context.class), argThat(object -> uniqueId.equals(object.getUniqueIndexID())),
+                          anyBoolean(), anyBoolean(), anyBoolean());
+        ReflectionTestUtils.setField(indexQueueService, "indexingService", failingIndexingService);
+        try {
+            indexQueueService.waitForIndex(context);
+        } finally {
+            ReflectionTestUtils.setField(indexQueueService, "indexingService", indexingService);
+        }
+    }
+
+    private List<IndexableObject> findItemsByTitle(String title) throws SearchServiceException {
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("dc.title:" + title);
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        return searchService.search(context, discoverQuery).getIndexableObjects();
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Integration tests for the incremental maintenance of the group2groupcache table, comparing it with a full
+ * rebuild of the cache on a synthetic hierarchy of groups.
+ */
+public class Group2GroupCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger(Group2GroupCacheIT.class);
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    @Test
+    public void testIncrementalCacheMatchesFullRebuild() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<Group> groups = createHierarchy(4, 3);
+        Random random = new Random(42);
+        for (int i = 0; i < 30; i++) {
+            Group parent = context.reloadEntity(groups.get(random.nextInt(groups.size())));
+            Group child = context.reloadEntity(groups.get(random.nextInt(groups.size())));
+            if (parent.getMemberGroups().contains(child)) {
+                groupService.removeMember(context, parent, child);
+            } else if (!isAncestor(child, parent)) {
+                groupService.addMember(context, parent, child);
+            }
+            groupService.update(context, parent);
+        }
+        context.restoreAuthSystemState();
+
+        GroupServiceImpl groupServiceImpl = (GroupServiceImpl) groupService;
+        Set<Pair<UUID, UUID>> incrementalCache = groupServiceImpl.group2GroupCacheDAO.getCache(context);
+        groupServiceImpl.rethinkGroupCache(context, true);
+        Set<Pair<UUID, UUID>> fullCache = groupServiceImpl.group2GroupCacheDAO.getCache(context);
+
+        assertEquals(fullCache, incrementalCache);
+    }
+
+    @Test
+    public void testDeleteIntermediateGroup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group top = GroupBuilder.createGroup(context).withName("top").build();
+        Group middle = GroupBuilder.createGroup(context).withName("middle").withParent(top).build();
+        Group bottom = GroupBuilder.createGroup(context).withName("bottom").withParent(middle).build();
+        EPerson member = EPersonBuilder.createEPerson(context)
+                                       .withEmail("member@example.com")
+                                       .withGroupMembership(bottom)
+                                       .build();
+        context.commit();
+
+        assertTrue(groupService.isMember(context, context.reloadEntity(member), context.reloadEntity(top)));
+
+        groupService.delete(context, context.reloadEntity(middle));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        member = context.reloadEntity(member);
+        assertFalse(groupService.allMemberGroupsSet(context, member).contains(context.reloadEntity(top)));
+        assertTrue(groupService.allMemberGroupsSet(context, member).contains(context.reloadEntity(bottom)));
+    }
+
+    @Test
+    public void testRemoveSubgroupKeepsTheOtherPaths() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group top = GroupBuilder.createGroup(context).withName("top").build();
+        Group left = GroupBuilder.createGroup(context).withName("left").withParent(top).build();
+        Group right = GroupBuilder.createGroup(context).withName("right").withParent(top).build();
+        Group middle = GroupBuilder.createGroup(context).withName("middle").withParent(right).build();
+        Group bottom = GroupBuilder.createGroup(context).withName("bottom").withParent(left).withParent(middle)
+                                   .build();
+
+        left = context.reloadEntity(left);
+        groupService.removeMember(context, left, context.reloadEntity(bottom));
+        groupService.update(context, left);
+        context.restoreAuthSystemState();
+
+        Set<Pair<UUID, UUID>> cache = ((GroupServiceImpl) groupService).group2GroupCacheDAO.getCache(context);
+        assertFalse(cache.contains(Pair.of(left.getID(), bottom.getID())));
+        assertTrue(cache.contains(Pair.of(top.getID(), bottom.getID())));
+        assertTrue(cache.contains(Pair.of(right.getID(), bottom.getID())));
+        assertTrue(cache.contains(Pair.of(middle.getID(), bottom.getID())));
+    }
+
+    @Test
+    public void testAllMemberGroupsIncludesParents() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group top = GroupBuilder.createGroup(context).withName("top").build();
+        Group middle = GroupBuilder.createGroup(context).withName("middle").withParent(top).build();
+        Group bottom = GroupBuilder.createGroup(context).withName("bottom").withParent(middle).build();
+        Group other = GroupBuilder.createGroup(context).withName("other").build();
+        EPerson member = EPersonBuilder.createEPerson(context)
+                                       .withEmail("member@example.com")
+                                       .withGroupMembership(bottom)
+                                       .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Set<Group> groups = groupService.allMemberGroupsSet(context, context.reloadEntity(member));
+        assertTrue(groups.contains(context.reloadEntity(top)));
+        assertTrue(groups.contains(context.reloadEntity(middle)));
+        assertTrue(groups.contains(context.reloadEntity(bottom)));
+        assertTrue(groups.contains(groupService.findByName(context, Group.ANONYMOUS)));
+        assertFalse(groups.contains(context.reloadEntity(other)));
+    }
+
+    /**
+     * Benchmark of the incremental maintenance of the cache against a full rebuild, on a larger hierarchy. Run it
+     * manually by removing the {@link Ignore} annotation.
+     */
+    @Ignore
+    @Test
+    public void benchmarkIncrementalCacheAgainstFullRebuild() throws Exception {
+        context.turnOffAuthorisationSystem();
+        List<Group> groups = createHierarchy(5, 6);
+        context.commit();
+        Random random = new Random(42);
+        long incrementalTime = 0;
+        for (int i = 0; i < 100; i++) {
+            Group parent = context.reloadEntity(groups.get(random.nextInt(groups.size())));
+            Group child = context.reloadEntity(groups.get(random.nextInt(groups.size())));
+            long start = System.nanoTime();
+            if (parent.getMemberGroups().contains(child)) {
+                groupService.removeMember(context, parent, child);
+            } else if (!isAncestor(child, parent)) {
+                groupService.addMember(context, parent, child);
+            }
+            groupService.update(context, parent);
+            incrementalTime += System.nanoTime() - start;
+        }
+        context.restoreAuthSystemState();
+
+        long start = System.nanoTime();
+        ((GroupServiceImpl) groupService).rethinkGroupCache(context, true);
+        long fullTime = System.nanoTime() - start;
+
+        log.info("Group cache of {} groups: 100 incremental updates took {} ms, a full rebuild {} ms",
+                 groups.size(), incrementalTime / 1000000, fullTime / 1000000);
+    }
+
+    /**
+     * Create a tree of groups with the given depth, each group having the given number of subgroups.
+     */
+    private List<Group> createHierarchy(int depth, int width) {
+        List<Group> groups = new ArrayList<>();
+        List<Group> level = List.of(GroupBuilder.createGroup(context).withName("group").build());
+        groups.addAll(level);
+        for (int i = 1; i < depth; i++) {
+            List<Group> nextLevel = new ArrayList<>();
+            for (Group parent : level) {
+                for (int j = 0; j < width; j++) {
+                    nextLevel.add(GroupBuilder.createGroup(context)
+                                              .withName(parent.getName() + "-" + j)
+                                              .withParent(parent)
+                                              .build());
+                }
+            }
+            groups.addAll(nextLevel);
+            level = nextLevel;
+        }
+        return groups;
+    }
+
+    private boolean isAncestor(Group ancestor, Group group) {
+        if (ancestor.equals(group)) {
+            return true;
+        }
+        for (Group parent : group.getParentGroups()) {
+            if (isAncestor(ancestor, parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
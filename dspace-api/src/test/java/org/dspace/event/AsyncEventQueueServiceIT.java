@@ -0,0 +1,265 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.dao.AsyncEventQueueDAO;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.event.service.AsyncEventQueueService;
+import org.dspace.event.service.EventService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the delivery of the events to the asynchronous consumers through
+ * {@link AsyncEventQueueService}.
+ */
+public class AsyncEventQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String CONSUMER = "asynctest";
+
+    private static final String DEFAULT_CONSUMERS = "event.dispatcher.default.consumers";
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final EventService eventService = EventServiceFactory.getInstance().getEventService();
+
+    private final AsyncEventQueueService asyncEventQueueService = EventServiceFactory.getInstance()
+                                                                                     .getAsyncEventQueueService();
+
+    private final AsyncEventQueueDAO asyncEventQueueDAO = new DSpace().getSingletonService(AsyncEventQueueDAO.class);
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        RecordingConsumer.reset();
+        configurationService.setProperty("event.async.enabled", true);
+        configurationService.setProperty("event.consumer." + CONSUMER + ".class", RecordingConsumer.class.getName());
+        configurationService.setProperty("event.consumer." + CONSUMER + ".filters", "Item+Create|Modify_Metadata");
+        configurationService.setProperty("event.consumer." + CONSUMER + ".async", true);
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("event.async.enabled", false);
+        eventService.reloadConfiguration();
+        purgeQueue();
+        super.destroy();
+    }
+
+    @Test
+    public void testEventsAreDeliveredInOrderAfterTheCommit() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        context.setCurrentUser(admin);
+        queue(first, "first-1");
+        queue(second, "second-1");
+        queue(first, "first-2");
+        queue(first, "first-3");
+        queue(second, "second-2");
+        context.commit();
+
+        assertThat(RecordingConsumer.getDetails(), empty());
+        assertEquals(5, asyncEventQueueService.getQueueSize(context));
+
+        assertEquals(5, asyncEventQueueService.waitForConsumers(context));
+
+        assertEquals(0, asyncEventQueueService.getQueueSize(context));
+        assertThat(RecordingConsumer.getDetails(first), contains("first-1", "first-2", "first-3"));
+        assertThat(RecordingConsumer.getDetails(second), contains("second-1", "second-2"));
+        assertThat(RecordingConsumer.getUsers(), contains(admin.getID(), admin.getID(), admin.getID(),
+                                                          admin.getID(), admin.getID()));
+    }
+
+    @Test
+    public void testAsyncConsumerIsNotRunByTheCommit() throws Exception {
+        List<String> consumers = new ArrayList<>(Arrays.asList(configurationService.getArrayProperty(
+            DEFAULT_CONSUMERS)));
+        consumers.add(CONSUMER);
+        configurationService.setProperty(DEFAULT_CONSUMERS, consumers.toArray());
+        eventService.reloadConfiguration();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Async item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertThat(RecordingConsumer.getDetails(), empty());
+        assertTrue(asyncEventQueueService.getQueueSize(context) > 0);
+
+        asyncEventQueueService.waitForConsumers(context);
+
+        assertEquals(0, asyncEventQueueService.getQueueSize(context));
+        assertThat(RecordingConsumer.getSubjects(), hasItem(item.getID()));
+    }
+
+    @Test
+    public void testFailedEventBlocksTheFollowingEventsOfTheSameObject() throws Exception {
+        configurationService.setProperty("event.async.retry-delay", 60);
+        UUID failing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        queue(failing, RecordingConsumer.FAIL);
+        queue(failing, "after-failure");
+        queue(other, "other");
+        context.commit();
+
+        asyncEventQueueService.waitForConsumers(context);
+
+        assertThat(RecordingConsumer.getDetails(failing), empty());
+        assertThat(RecordingConsumer.getDetails(other), contains("other"));
+        assertEquals(2, asyncEventQueueService.getQueueSize(context));
+        assertEquals(0, asyncEventQueueService.getDeadLetterCount(context));
+
+        // once the retry delay has passed the failed event is delivered again, before the following one
+        List<AsyncEventQueueEntry> deliverable = asyncEventQueueDAO.findDeliverable(context,
+            Instant.now().plus(2, ChronoUnit.MINUTES), 10);
+        assertThat(deliverable.size(), is(2));
+        assertThat(deliverable.get(0).getAttempts(), is(1));
+        assertThat(deliverable.get(1).getAttempts(), is(0));
+    }
+
+    @Test
+    public void testEventIsDeadLetteredAfterTooManyFailures() throws Exception {
+        configurationService.setProperty("event.async.retry-delay", 0);
+        configurationService.setProperty("event.async.max-attempts", 2);
+        UUID failing = UUID.randomUUID();
+        queue(failing, RecordingConsumer.FAIL);
+        queue(failing, "after-failure");
+        context.commit();
+
+        asyncEventQueueService.waitForConsumers(context);
+
+        assertThat(RecordingConsumer.getDetails(failing), contains("after-failure"));
+        assertEquals(0, asyncEventQueueService.getQueueSize(context));
+        assertEquals(1, asyncEventQueueService.getDeadLetterCount(context));
+
+        RecordingConsumer.failing = false;
+        assertEquals(1, asyncEventQueueService.requeueDeadLetters(context));
+        context.commit();
+        asyncEventQueueService.waitForConsumers(context);
+
+        assertThat(RecordingConsumer.getDetails(failing), contains("after-failure", RecordingConsumer.FAIL));
+        assertEquals(0, asyncEventQueueService.getDeadLetterCount(context));
+    }
+
+    private void queue(UUID subject, String detail) {
+        asyncEventQueueService.queue(context, CONSUMER, new Event(Event.MODIFY_METADATA, Constants.ITEM, subject,
+                                                                  detail, DetailType.INFO));
+    }
+
+    private void purgeQueue() throws Exception {
+        asyncEventQueueDAO.requeueDead(context);
+        List<AsyncEventQueueEntry> entries;
+        while (!(entries = asyncEventQueueDAO.findDeliverable(context, Instant.now().plus(1, ChronoUnit.DAYS), 100))
+                .isEmpty()) {
+            for (AsyncEventQueueEntry entry : entries) {
+                asyncEventQueueDAO.remove(context, entry.getId());
+            }
+        }
+        context.commit();
+    }
+
+    /**
+     * Consumer recording the delivered events, failing on the events with the {@link #FAIL} detail.
+     */
+    public static class RecordingConsumer implements Consumer {
+
+        static final String FAIL = "fail";
+
+        static volatile boolean failing = true;
+
+        private static final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+
+        private static final List<UUID> users = Collections.synchronizedList(new ArrayList<>());
+
+        static void reset() {
+            events.clear();
+            users.clear();
+            failing = true;
+        }
+
+        static List<Object> getDetails() {
+            return getDetails(null);
+        }
+
+        static List<Object> getDetails(UUID subject) {
+            synchronized (events) {
+                return events.stream()
+                             .filter(event -> subject == null || subject.equals(event.getSubjectID()))
+                             .map(event -> event.getDetail().getDetailObject())
+                             .collect(Collectors.toList());
+            }
+        }
+
+        static List<UUID> getSubjects() {
+            synchronized (events) {
+                return events.stream().map(Event::getSubjectID).collect(Collectors.toList());
+            }
+        }
+
+        static List<UUID> getUsers() {
+            return new ArrayList<>(users);
+        }
+
+        @Override
+        public void initialize() throws Exception {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) throws Exception {
+            if (failing && event.getDetail() != null && FAIL.equals(event.getDetail().getDetailObject())) {
+                throw new IllegalStateException("Failing on purpose");
+            }
+            events.add(event);
+            users.add(ctx.getCurrentUser() != null ? ctx.getCurrentUser().getID() : null);
+        }
+
+        @Override
+        public void end(Context ctx) throws Exception {
+        }
+
+        @Override
+        public void finish(Context ctx) throws Exception {
+        }
+    }
+}
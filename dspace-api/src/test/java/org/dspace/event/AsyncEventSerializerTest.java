@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.app.audit.MetadataEvent;
+import org.dspace.core.Constants;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AsyncEventSerializer}.
+ */
+public class AsyncEventSerializerTest {
+
+    private final AsyncEventSerializer serializer = new AsyncEventSerializer();
+
+    @Test
+    public void testRoundTripKeepsTheEvent() throws Exception {
+        MetadataEvent title = new MetadataEvent();
+        title.setMetadataField("dc_title");
+        title.setValue("Title");
+        title.setAuthority("authority");
+        title.setConfidence(600);
+        title.setPlace(0);
+        title.setAction(MetadataEvent.MODIFY);
+        ArrayList<EventDetail> details = new ArrayList<>();
+        details.add(new EventDetail(DetailType.DSO_SUMMARY, new ArrayList<>(List.of(title))));
+        details.add(new EventDetail(DetailType.HANDLE, "123456789/1"));
+        ArrayList<String> identifiers = new ArrayList<>(List.of("123456789/1", "doi:10.5072/1"));
+        UUID subject = UUID.randomUUID();
+        UUID object = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+        Event event = new Event(Event.MODIFY_METADATA, Constants.ITEM, subject, Constants.BITSTREAM, object,
+                                details, identifiers);
+        event.setTransactionID("transaction");
+        event.setTimeStamp(1234567890123L);
+
+        AsyncEventSerializer.StoredEvent stored = serializer.deserialize(serializer.serialize(event, user));
+
+        Event restored = stored.getEvent();
+        assertEquals(user, stored.getCurrentUser());
+        assertEquals(Event.MODIFY_METADATA, restored.getEventType());
+        assertEquals(Constants.ITEM, restored.getSubjectType());
+        assertEquals(subject, restored.getSubjectID());
+        assertEquals(Constants.BITSTREAM, restored.getObjectType());
+        assertEquals(object, restored.getObjectID());
+        assertEquals("transaction", restored.getTransactionID());
+        assertEquals(1234567890123L, restored.getTimeStamp());
+        assertEquals(identifiers, restored.getIdentifiers());
+        assertEquals(2, restored.getDetailList().size());
+        assertEquals(DetailType.DSO_SUMMARY, restored.getDetailList().get(0).getDetailType());
+        assertEquals(List.of(title), restored.getDetailList().get(0).getDetailObject());
+        assertEquals(DetailType.HANDLE, restored.getDetailList().get(1).getDetailType());
+        assertEquals("123456789/1", restored.getDetailList().get(1).getDetailObject());
+    }
+
+    @Test
+    public void testRoundTripOfAnAnonymousEvent() throws Exception {
+        UUID subject = UUID.randomUUID();
+        Event event = new Event(Event.CREATE, Constants.ITEM, subject, "123456789/2", DetailType.HANDLE);
+
+        AsyncEventSerializer.StoredEvent stored = serializer.deserialize(serializer.serialize(event, null));
+
+        assertNull(stored.getCurrentUser());
+        assertEquals(subject, stored.getEvent().getSubjectID());
+        assertNull(stored.getEvent().getObjectID());
+        assertEquals(event.getTimeStamp(), stored.getEvent().getTimeStamp());
+    }
+}
@@ -20,12 +20,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.CoreAdminRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.builder.BitstreamBuilder;
@@ -41,6 +45,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.solr.MockSolrServer;
 import org.dspace.utils.DSpace;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -80,6 +85,8 @@ public class SolrLoggerServiceImplIT
 
     private static final String Q_ALL = "*:*";
 
+    private static final String PARTITION_CORE = "statistics-2020-05";
+
     private static final String COMMUNITY_NAME = "Top";
 
     private static Path testAddressesPath;
@@ -363,4 +370,76 @@ public class SolrLoggerServiceImplIT
         QueryResponse originalResponse = solrStatisticsCore.getSolr().query(originalQuery);
         assertEquals("ORIGINAL bundle SHOULD be logged", 1, originalResponse.getResults().getNumFound());
     }
+
+    /**
+     * Test that the updates (as done by the anonymization of the statistics) and the removals of usage events reach
+     * the partition cores, and leave each event in its core.
+     */
+    @Test
+    public void testUpdateAndRemoveIndexAcrossPartitions() throws Exception {
+        EmbeddedSolrClientFactory clientFactory = new EmbeddedSolrClientFactory();
+        ContentServiceFactory csf = ContentServiceFactory.getInstance();
+        DSpace dspace = new DSpace();
+
+        SolrLoggerServiceImpl instance = new SolrLoggerServiceImpl();
+        instance.bitstreamService = csf.getBitstreamService();
+        instance.contentServiceFactory = csf;
+        instance.configurationService = cfg;
+        instance.clientInfoService = CoreServiceFactory.getInstance().getClientInfoService();
+        instance.geoIpService = dspace.getSingletonService(GeoIpService.class);
+        instance.solrStatisticsCore = dspace.getSingletonService(SolrStatisticsCore.class);
+        instance.afterPropertiesSet();
+
+        SolrClient client = clientFactory.getClient(cfg.getProperty("solr-statistics.server"));
+        client.deleteByQuery(Q_ALL);
+        client.commit(true, true);
+        // a partition core next to the statistics core, created from the same configuration
+        Path partitionDir = Paths.get(cfg.getProperty("dspace.dir"), "solr", PARTITION_CORE);
+        FileUtils.copyDirectory(Paths.get(cfg.getProperty("dspace.dir"), "solr", "statistics", "conf").toFile(),
+                                partitionDir.resolve("conf").toFile());
+        CoreAdminRequest.Create create = new CoreAdminRequest.Create();
+        create.setCoreName(PARTITION_CORE);
+        create.setInstanceDir(PARTITION_CORE);
+        create.process(client);
+        MockSolrServer partitionServer = new MockSolrServer(PARTITION_CORE);
+        try {
+            SolrClient partition = partitionServer.getSolrServer();
+            instance.partitionClients.put(PARTITION_CORE, partition);
+
+            SolrInputDocument doc = new SolrInputDocument();
+            doc.setField(F_STATISTICS_TYPE, SolrLoggerServiceImpl.StatisticsType.VIEW);
+            doc.setField(F_TYPE, String.valueOf(Constants.ITEM));
+            doc.setField(F_ID, "deleted_item");
+            doc.setField(F_IP, NOT_BOT_IP);
+            doc.setField(F_DNS, NOT_BOT_DNS);
+            doc.setField(F_TIME, "2020-05-06T07:08:09.000Z");
+            client.add(doc);
+            doc.setField(F_TIME, Instant.now().toString());
+            partition.add(doc);
+            client.commit(true, true);
+            partition.commit(true, true);
+
+            // anonymize the events, the same way as the anonymize-statistics script
+            instance.update(F_DNS + ":" + NOT_BOT_DNS, "replace", List.of(F_IP, F_DNS),
+                            List.of(List.of(instance.anonymizeIp(NOT_BOT_IP)), List.of("anonymized")), false);
+            instance.commit();
+
+            for (SolrClient core : List.of(client, partition)) {
+                SolrDocumentList documents = core.query(new SolrQuery(Q_ALL)).getResults();
+                assertEquals("Wrong number of documents --", 1, documents.getNumFound());
+                assertEquals("192.168.1.255", documents.get(0).getFieldValue(F_IP));
+                assertEquals("anonymized", documents.get(0).getFieldValue(F_DNS));
+            }
+
+            // remove the events of the item, the same way as when the item is deleted
+            instance.removeIndex(F_ID + ":deleted_item");
+
+            assertEquals(0, client.query(new SolrQuery(Q_ALL)).getResults().getNumFound());
+            assertEquals(0, partition.query(new SolrQuery(Q_ALL)).getResults().getNumFound());
+        } finally {
+            partitionServer.destroy();
+            CoreAdminRequest.unloadCore(PARTITION_CORE, true, true, client);
+            FileUtils.deleteQuietly(partitionDir.toFile());
+        }
+    }
 }
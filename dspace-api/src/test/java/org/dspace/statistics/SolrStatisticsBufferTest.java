@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.function.BooleanSupplier;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the {@link SolrStatisticsBuffer}.
+ */
+public class SolrStatisticsBufferTest extends AbstractDSpaceTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private ConfigurationService configurationService;
+
+    @Before
+    public void init() {
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("solr-statistics.buffer.batch-size", 3);
+        configurationService.setProperty("solr-statistics.buffer.flush-interval", 60000);
+    }
+
+    @After
+    public void cleanup() {
+        configurationService.setProperty("solr-statistics.buffer.batch-size", null);
+        configurationService.setProperty("solr-statistics.buffer.flush-interval", null);
+        configurationService.setProperty("solr-statistics.buffer.capacity", null);
+        configurationService.setProperty("solr-statistics.buffer.overflow-policy", null);
+        configurationService.setProperty("solr-statistics.buffer.spill-dir", null);
+    }
+
+    @Test
+    public void testFullBatchIsSent() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, configurationService);
+        buffer.start();
+        for (int i = 0; i < 3; i++) {
+            buffer.add(document(i));
+        }
+        waitFor(() -> buffer.getSentCount() == 3);
+        buffer.shutdown();
+
+        verify(solr, times(1)).add(anyCollection());
+        assertEquals(3, buffer.getAddedCount());
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testOverflowPolicies() {
+        SolrClient solr = mock(SolrClient.class);
+        configurationService.setProperty("solr-statistics.buffer.capacity", 2);
+
+        configurationService.setProperty("solr-statistics.buffer.overflow-policy", "drop-newest");
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, configurationService);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(document(i));
+        }
+        assertEquals(2, buffer.getQueueDepth());
+        assertEquals(3, buffer.getDroppedCount());
+
+        configurationService.setProperty("solr-statistics.buffer.overflow-policy", "drop-oldest");
+        buffer = new SolrStatisticsBuffer(solr, configurationService);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(document(i));
+        }
+        assertEquals(2, buffer.getQueueDepth());
+        assertEquals(3, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testSpilledEventsAreSentAfterRestart() throws Exception {
+        File spillDir = tempFolder.newFolder("spill");
+        configurationService.setProperty("solr-statistics.buffer.spill-dir", spillDir.getAbsolutePath());
+
+        SolrClient failingSolr = mock(SolrClient.class);
+        when(failingSolr.add(anyCollection())).thenThrow(new SolrServerException("Solr is down"));
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(failingSolr, configurationService);
+        buffer.start();
+        buffer.add(document(1));
+        buffer.add(document(2));
+        buffer.shutdown();
+        assertEquals(2, buffer.getSpilledCount());
+        assertEquals(1, spillDir.list().length);
+
+        SolrClient solr = mock(SolrClient.class);
+        SolrStatisticsBuffer restarted = new SolrStatisticsBuffer(solr, configurationService);
+        restarted.start();
+        waitFor(() -> restarted.getSentCount() == 2);
+        restarted.shutdown();
+        assertEquals(0, spillDir.list().length);
+    }
+
+    private SolrInputDocument document(int id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", id);
+        document.addField("statistics_type", "view");
+        return document;
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.statistics.StatisticsPartitions.Granularity;
+import org.dspace.statistics.StatisticsPartitions.TimeRange;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link StatisticsPartitions}.
+ */
+public class StatisticsPartitionsTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-17T10:15:30Z");
+
+    private final StatisticsPartitions monthly = new StatisticsPartitions("statistics", Granularity.MONTH);
+
+    @Test
+    public void testCoreNames() {
+        assertEquals("statistics-2024-05", monthly.getCoreName(NOW));
+        assertEquals("statistics-2024", new StatisticsPartitions("statistics", Granularity.YEAR).getCoreName(NOW));
+        assertEquals("statistics", new StatisticsPartitions("statistics", Granularity.NONE).getCoreName(NOW));
+    }
+
+    @Test
+    public void testCoreTimeRanges() {
+        TimeRange month = monthly.getTimeRange("statistics-2024-05");
+        assertEquals(Instant.parse("2024-05-01T00:00:00Z"), month.getStart());
+        assertEquals(Instant.parse("2024-06-01T00:00:00Z"), month.getEnd());
+
+        TimeRange year = monthly.getTimeRange("statistics-2023");
+        assertEquals(Instant.parse("2023-01-01T00:00:00Z"), year.getStart());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), year.getEnd());
+
+        assertTrue(monthly.getTimeRange("statistics").isUnbounded());
+        assertEquals(2023, monthly.getMonthlyPartitionYear("statistics-2023-12"));
+        assertEquals(-1, monthly.getMonthlyPartitionYear("statistics-2023"));
+    }
+
+    @Test
+    public void testQueriesArePrunedByTheirTimeFilter() {
+        TimeRange lastMonth = StatisticsPartitions.parseTimeRange(
+            List.of("type:2 AND id:1234", "time:[2024-04-17T00:00:00.000Z TO 2024-05-17T23:59:59.000Z]"), NOW);
+        assertTrue(lastMonth.overlaps(monthly.getTimeRange("statistics-2024-05")));
+        assertTrue(lastMonth.overlaps(monthly.getTimeRange("statistics-2024-04")));
+        assertFalse(lastMonth.overlaps(monthly.getTimeRange("statistics-2024-03")));
+        assertFalse(lastMonth.overlaps(monthly.getTimeRange("statistics-2023")));
+        assertTrue(lastMonth.overlaps(monthly.getTimeRange("statistics")));
+
+        TimeRange dateMath = StatisticsPartitions.parseTimeRange(List.of("time:[NOW/MONTH-1MONTH TO *]"), NOW);
+        assertEquals(Instant.parse("2024-04-01T00:00:00Z"), dateMath.getStart());
+        assertNull(dateMath.getEnd());
+    }
+
+    @Test
+    public void testQueriesWithoutSimpleTimeFilterAreNotPruned() {
+        assertTrue(StatisticsPartitions.parseTimeRange(List.of("type:2"), NOW).isUnbounded());
+        assertTrue(StatisticsPartitions.parseTimeRange(
+            List.of("-time:[2024-04-17T00:00:00Z TO 2024-05-17T00:00:00Z]"), NOW).isUnbounded());
+        assertTrue(StatisticsPartitions.parseTimeRange(
+            List.of("type:2 OR time:[2024-04-17T00:00:00Z TO 2024-05-17T00:00:00Z]"), NOW).isUnbounded());
+        assertTrue(StatisticsPartitions.parseTimeRange(
+            List.of("time:[2024-04-17T00:00:00Z TO 2024-05-17T00:00:00Z]",
+                    "time:[2023-04-17T00:00:00Z TO 2023-05-17T00:00:00Z]"), NOW).isUnbounded());
+    }
+}
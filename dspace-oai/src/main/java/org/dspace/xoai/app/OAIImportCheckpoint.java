@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Progress of a running <code>oai import</code>, saved to a properties file each time a batch of items is committed
+ * to the OAI core, so that an interrupted import can be resumed with <code>oai import -r</code>.
+ * <p>
+ * The items of each phase of the import are read ordered by id, the checkpoint holds the current phase and the id
+ * of the last item committed in that phase.
+ */
+public class OAIImportCheckpoint {
+
+    private static final String FULL_KEY = "full";
+
+    private static final String SINCE_KEY = "since";
+
+    private static final String PHASE_KEY = "phase";
+
+    private static final String LAST_ID_KEY = "last.id";
+
+    private final File file;
+
+    private boolean full;
+
+    private Instant since;
+
+    private String phase;
+
+    private UUID lastId;
+
+    public OAIImportCheckpoint(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the checkpoint of an interrupted import.
+     *
+     * @return true if the file of an interrupted import exists
+     * @throws IOException if the file can't be read
+     */
+    public boolean load() throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            properties.load(is);
+        }
+        full = Boolean.parseBoolean(properties.getProperty(FULL_KEY));
+        String value = properties.getProperty(SINCE_KEY);
+        since = StringUtils.isNotBlank(value) ? Instant.parse(value) : null;
+        phase = properties.getProperty(PHASE_KEY);
+        value = properties.getProperty(LAST_ID_KEY);
+        lastId = StringUtils.isNotBlank(value) ? UUID.fromString(value) : null;
+        return true;
+    }
+
+    /**
+     * Start a new import, discarding the checkpoint of a previous one.
+     *
+     * @param full  true for a full import, false for an incremental one
+     * @param since the last modification date of the items of an incremental import
+     * @throws IOException if the file can't be written
+     */
+    public void start(boolean full, Instant since) throws IOException {
+        this.full = full;
+        this.since = since;
+        this.phase = null;
+        this.lastId = null;
+        save();
+    }
+
+    /**
+     * Record that all the items of the given phase up to the given id have been committed.
+     *
+     * @param phase  the phase of the import
+     * @param lastId the id of the last committed item, null when the phase has just started
+     * @throws IOException if the file can't be written
+     */
+    public void update(String phase, UUID lastId) throws IOException {
+        this.phase = phase;
+        this.lastId = lastId;
+        save();
+    }
+
+    /**
+     * Delete the checkpoint once the import is complete.
+     *
+     * @throws IOException if the file can't be deleted
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public UUID getLastId() {
+        return lastId;
+    }
+
+    private void save() throws IOException {
+        file.getParentFile().mkdirs();
+        Properties properties = new Properties();
+        properties.setProperty(FULL_KEY, String.valueOf(full));
+        if (since != null) {
+            properties.setProperty(SINCE_KEY, since.toString());
+        }
+        if (phase != null) {
+            properties.setProperty(PHASE_KEY, phase);
+        }
+        if (lastId != null) {
+            properties.setProperty(LAST_ID_KEY, lastId.toString());
+        }
+        try (OutputStream os = Files.newOutputStream(file.toPath())) {
+            properties.store(os, "Progress of the running OAI import");
+        }
+    }
+}
@@ -15,19 +15,26 @@ import static org.apache.solr.common.params.CursorMarkParams.CURSOR_MARK_START;
 import static org.dspace.xoai.util.ItemUtils.retrieveMetadata;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -86,10 +93,22 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 public class XOAI {
     private static final Logger log = LogManager.getLogger(XOAI.class);
 
+    private static final String PHASE_DISCOVERABLE = "discoverable";
+    private static final String PHASE_NON_DISCOVERABLE = "non-discoverable";
+    private static final String PHASE_POSSIBLY_CHANGED = "possibly-changed";
+    private static final List<String> PHASES = List.of(PHASE_DISCOVERABLE, PHASE_NON_DISCOVERABLE,
+                                                       PHASE_POSSIBLY_CHANGED);
+
     // needed because the solr query only returns 10 rows by default
     private final Context context;
     private final boolean verbose;
     private boolean clean;
+    private int threads = 1;
+    private boolean resume;
+
+    private OAIImportCheckpoint checkpoint;
+    private String resumePhase;
+    private UUID resumeLastId;
 
     @Autowired
     private SolrServerResolver solrServerResolver;
@@ -108,7 +127,7 @@ public class XOAI {
 
     private final List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -147,6 +166,24 @@ public class XOAI {
                 .getServicesByType(XOAIExtensionItemCompilePlugin.class);
     }
 
+    /**
+     * Set the number of threads compiling the items.
+     *
+     * @param threads the number of threads, 1 to compile the items in the main thread
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Resume the interrupted import recorded in the checkpoint file, if any.
+     *
+     * @param resume true to resume an interrupted import
+     */
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
     private void println(String line) {
         System.out.println(line);
     }
@@ -155,9 +192,17 @@ public class XOAI {
         int result;
 
         try {
-            if (clean) {
+            checkpoint = new OAIImportCheckpoint(getCheckpointFile());
+            if (resume && checkpoint.load()) {
+                resumePhase = checkpoint.getPhase();
+                resumeLastId = checkpoint.getLastId();
+                System.out.println("Resuming the interrupted " + (checkpoint.isFull() ? "full" : "incremental")
+                                       + " import" + (resumePhase != null ? " at phase " + resumePhase : ""));
+                result = checkpoint.isFull() ? this.indexAll() : this.index(checkpoint.getSince());
+            } else if (clean) {
                 clearIndex();
                 System.out.println("Using full import.");
+                checkpoint.start(true, null);
                 result = this.indexAll();
             } else {
                 SolrQuery solrParams = new SolrQuery("*:*").addField("item.lastmodified")
@@ -166,14 +211,17 @@ public class XOAI {
                 SolrDocumentList results = DSpaceSolrSearch.query(solrServerResolver.getServer(), solrParams);
                 if (results.getNumFound() == 0) {
                     System.out.println("There are no indexed documents, using full import.");
+                    checkpoint.start(true, null);
                     result = this.indexAll();
                 } else {
-                    result = this.index(((java.util.Date) results.get(0).getFieldValue("item.lastmodified"))
-                                            .toInstant());
+                    Instant last = ((java.util.Date) results.get(0).getFieldValue("item.lastmodified")).toInstant();
+                    checkpoint.start(false, last);
+                    result = this.index(last);
                 }
             }
 
             solrServerResolver.getServer().commit();
+            checkpoint.delete();
 
             // Set last compilation date
             xoaiLastCompilationCacheService.put(Instant.now());
@@ -190,13 +238,20 @@ public class XOAI {
          * due to an embargo.
          */
         try {
-            Iterator<Item> discoverableChangedItems = itemService
-                    .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, last);
-            Iterator<Item> nonDiscoverableChangedItems = itemService
-                    .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last);
+            int result = 0;
+            if (!isPhaseDone(PHASE_DISCOVERABLE)) {
+                Iterator<Item> discoverableChangedItems = itemService
+                        .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, last);
+                result += this.index(discoverableChangedItems, PHASE_DISCOVERABLE, true);
+            }
+            if (!isPhaseDone(PHASE_NON_DISCOVERABLE)) {
+                Iterator<Item> nonDiscoverableChangedItems = itemService
+                        .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last);
+                result += this.index(nonDiscoverableChangedItems, PHASE_NON_DISCOVERABLE, true);
+            }
+            // these items are sorted by handle, the phase is restarted from the beginning when resumed
             Iterator<Item> possiblyChangedItems = getItemsWithPossibleChangesBefore(last);
-            return this.index(discoverableChangedItems) + this.index(nonDiscoverableChangedItems)
-                    + this.index(possiblyChangedItems);
+            return result + this.index(possiblyChangedItems, PHASE_POSSIBLY_CHANGED, false);
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -263,11 +318,15 @@ public class XOAI {
             // Index both in_archive items AND withdrawn items. Withdrawn items
             // will be flagged withdrawn
             // (in order to notify external OAI harvesters of their new status)
-            Iterator<Item> discoverableItems = itemService.findInArchiveOrWithdrawnDiscoverableModifiedSince(context,
-                    null);
+            int result = 0;
+            if (!isPhaseDone(PHASE_DISCOVERABLE)) {
+                Iterator<Item> discoverableItems = itemService
+                        .findInArchiveOrWithdrawnDiscoverableModifiedSince(context, null);
+                result += this.index(discoverableItems, PHASE_DISCOVERABLE, true);
+            }
             Iterator<Item> nonDiscoverableItems = itemService
                     .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, null);
-            return this.index(discoverableItems) + this.index(nonDiscoverableItems);
+            return result + this.index(nonDiscoverableItems, PHASE_NON_DISCOVERABLE, true);
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -310,19 +369,43 @@ public class XOAI {
         }
     }
 
-    private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+    /**
+     * Index the given items, in batches of <code>oai.import.batch.size</code> documents. The checkpoint is updated
+     * each time a batch is committed.
+     *
+     * @param iterator    the items to index
+     * @param phase       the phase of the import the items belong to
+     * @param orderedById true if the items are sorted by id, so that the phase can be resumed after the last
+     *                    committed item
+     * @return the number of indexed items
+     */
+    private int index(Iterator<Item> iterator, String phase, boolean orderedById) throws DSpaceSolrIndexerException {
+        UUID resumeAfter = orderedById && phase.equals(resumePhase) ? resumeLastId : null;
+        if (resumeAfter != null) {
+            System.out.println("Skipping the items already imported, up to " + resumeAfter);
+        }
         try {
+            checkpoint.update(phase, resumeAfter);
+            if (threads > 1) {
+                return indexInParallel(iterator, phase, resumeAfter);
+            }
             int i = 0;
             int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
             SolrClient server = solrServerResolver.getServer();
             ArrayList<SolrInputDocument> list = new ArrayList<>();
+            UUID lastId = resumeAfter;
             while (iterator.hasNext()) {
                 try {
                     Item item = iterator.next();
+                    if (isAlreadyIndexed(item.getID(), resumeAfter)) {
+                        context.uncacheEntity(item);
+                        continue;
+                    }
+                    lastId = item.getID();
                     if (item.getHandle() == null) {
                         log.warn("Skipped item without handle: " + item.getID());
                     } else {
-                        list.add(this.index(item));
+                        list.add(this.index(context, item));
                     }
                     // Uncache the item to keep memory consumption low
                     context.uncacheEntity(item);
@@ -338,6 +421,7 @@ public class XOAI {
                     System.out.println(i + " items imported so far...");
                     server.add(list);
                     server.commit();
+                    checkpoint.update(phase, lastId);
                     list.clear();
                     try {
                         context.uncacheEntities();
@@ -352,6 +436,7 @@ public class XOAI {
                     server.add(list);
                 }
                 server.commit(true, true);
+                checkpoint.update(phase, lastId);
                 list.clear();
             }
             return i;
@@ -360,6 +445,154 @@ public class XOAI {
         }
     }
 
+    /**
+     * Index the given items with <code>threads</code> threads. The main thread reads the ids of the items and
+     * hands them out in chunks of <code>oai.import.parallel.chunk-size</code> items to the workers, each compiling
+     * its chunk with its own read-only Context. The compiled documents are sent to Solr by the main thread in the
+     * order of the chunks, so that the checkpoint always points to an item whose predecessors are all committed.
+     */
+    private int indexInParallel(Iterator<Item> iterator, String phase, UUID resumeAfter)
+        throws DSpaceSolrIndexerException, SolrServerException, IOException {
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        int chunkSize = configurationService.getIntProperty("oai.import.parallel.chunk-size", 100);
+        SolrClient server = solrServerResolver.getServer();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<CompileTask> pending = new ArrayDeque<>();
+        List<SolrInputDocument> list = new ArrayList<>();
+        List<UUID> chunk = new ArrayList<>(chunkSize);
+        UUID lastId = resumeAfter;
+        int i = 0;
+        int sent = 0;
+        try {
+            while (iterator.hasNext() || !chunk.isEmpty() || !pending.isEmpty()) {
+                if (iterator.hasNext()) {
+                    Item item = iterator.next();
+                    UUID id = item.getID();
+                    context.uncacheEntity(item);
+                    if (isAlreadyIndexed(id, resumeAfter)) {
+                        continue;
+                    }
+                    chunk.add(id);
+                    i++;
+                }
+                if (chunk.size() >= chunkSize || (!chunk.isEmpty() && !iterator.hasNext())) {
+                    List<UUID> ids = chunk;
+                    pending.add(new CompileTask(ids, executor.submit(() -> compile(ids))));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                // bound the number of compiled documents waiting in memory
+                while (pending.size() > threads * 2 || (!pending.isEmpty() && !iterator.hasNext())) {
+                    CompileTask task = pending.poll();
+                    list.addAll(task.getDocuments());
+                    lastId = task.getLastId();
+                    sent += task.ids.size();
+                    if (list.size() >= batchSize) {
+                        System.out.println(sent + " items imported so far...");
+                        server.add(list);
+                        server.commit();
+                        checkpoint.update(phase, lastId);
+                        list.clear();
+                        try {
+                            context.uncacheEntities();
+                        } catch (SQLException ex) {
+                            log.error("Error uncaching entities", ex);
+                        }
+                    }
+                }
+            }
+            System.out.println("Total: " + i + " items");
+            if (i > 0) {
+                if (!list.isEmpty()) {
+                    server.add(list);
+                }
+                server.commit(true, true);
+                checkpoint.update(phase, lastId);
+            }
+            return i;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Compile the given items into Solr documents, with a new read-only Context for the current worker thread.
+     */
+    private List<SolrInputDocument> compile(List<UUID> ids) throws SQLException {
+        List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            for (UUID id : ids) {
+                try {
+                    Item item = itemService.find(workerContext, id);
+                    if (item == null) {
+                        continue;
+                    }
+                    if (item.getHandle() == null) {
+                        log.warn("Skipped item without handle: " + id);
+                    } else {
+                        documents.add(this.index(workerContext, item));
+                    }
+                    workerContext.uncacheEntity(item);
+                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                    log.error(ex.getMessage(), ex);
+                }
+            }
+        } finally {
+            workerContext.abort();
+        }
+        return documents;
+    }
+
+    /**
+     * Check if an item has been committed by the interrupted import being resumed. The ids are compared as
+     * strings, which matches the order of the uuid type of the database.
+     */
+    private boolean isAlreadyIndexed(UUID id, UUID resumeAfter) {
+        return resumeAfter != null && id.toString().compareTo(resumeAfter.toString()) <= 0;
+    }
+
+    /**
+     * Check if a phase has been completed by the interrupted import being resumed.
+     */
+    private boolean isPhaseDone(String phase) {
+        return resumePhase != null && PHASES.indexOf(phase) < PHASES.indexOf(resumePhase);
+    }
+
+    private static File getCheckpointFile() {
+        return new File(configurationService.getProperty("oai.import.checkpoint-file",
+            configurationService.getProperty("dspace.dir") + "/var/oai/import-checkpoint.properties"));
+    }
+
+    /**
+     * A chunk of items being compiled by a worker thread.
+     */
+    private static class CompileTask {
+
+        private final List<UUID> ids;
+
+        private final Future<List<SolrInputDocument>> documents;
+
+        private CompileTask(List<UUID> ids, Future<List<SolrInputDocument>> documents) {
+            this.ids = ids;
+            this.documents = documents;
+        }
+
+        private UUID getLastId() {
+            return ids.get(ids.size() - 1);
+        }
+
+        private List<SolrInputDocument> getDocuments() throws DSpaceSolrIndexerException {
+            try {
+                return documents.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DSpaceSolrIndexerException("Interrupted while compiling the items", e);
+            } catch (ExecutionException e) {
+                throw new DSpaceSolrIndexerException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
     /**
      * Method to get the most recent date on which the item changed concerning the
      * OAI deleted status (policy start and end dates for all anonymous READ
@@ -369,7 +602,7 @@ public class XOAI {
      * @return date
      * @throws SQLException e
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -395,7 +628,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -407,7 +640,7 @@ public class XOAI {
             doc.addField("item.legacyoaiidentifier", legacyOaiId.split(":")[2]);
         }
 
-        boolean isEmbargoed = !this.isPublic(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
         boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
         boolean isIndexed = this.checkIfIndexed(item);
 
@@ -430,7 +663,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -450,7 +683,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -487,7 +720,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -517,7 +750,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -533,7 +766,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
@@ -604,6 +837,8 @@ public class XOAI {
             options.addOption("v", "verbose", false, "Verbose output");
             options.addOption("h", "help", false, "Shows some help");
             options.addOption("n", "number", true, "FOR DEVELOPMENT MUST DELETE");
+            options.addOption("t", "threads", true, "Number of threads compiling the items");
+            options.addOption("r", "resume", false, "Resume an interrupted import");
             CommandLine line = parser.parse(options, argv);
 
             String[] validSolrCommands = { COMMAND_IMPORT, COMMAND_CLEAN_CACHE };
@@ -634,6 +869,9 @@ public class XOAI {
                 if (COMMAND_IMPORT.equals(command)) {
                     ctx = new Context(Context.Mode.READ_ONLY);
                     XOAI indexer = new XOAI(ctx, line.hasOption('c'), line.hasOption('v'));
+                    indexer.setThreads(Integer.parseInt(line.getOptionValue('t',
+                        configurationService.getProperty("oai.import.threads", "1"))));
+                    indexer.setResume(line.hasOption('r'));
 
                     applicationContext.getAutowireCapableBeanFactory().autowireBean(indexer);
 
@@ -720,6 +958,8 @@ public class XOAI {
             System.out.println("     " + COMMAND_CLEAN_CACHE + " - Cleans the OAI cached responses");
             System.out.println("> Parameters:");
             System.out.println("     -c Clear index (" + COMMAND_IMPORT + " only)");
+            System.out.println("     -t <threads> Number of threads compiling the items (" + COMMAND_IMPORT + " only)");
+            System.out.println("     -r Resume an interrupted import (" + COMMAND_IMPORT + " only)");
             System.out.println("     -v Verbose output");
             System.out.println("     -h Shows this text");
         } else {
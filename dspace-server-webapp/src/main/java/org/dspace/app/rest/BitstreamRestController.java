@@ -12,6 +12,7 @@ import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFI
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.UUID;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.Response;
+import org.apache.catalina.Globals;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +50,8 @@ import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -185,12 +189,15 @@ public class BitstreamRestController {
                             currentUser != null ? currentUser.getID() : null,
                             context.getSpecialGroupUuids(), citationEnabledForBitstream, true);
 
+            // Bitstreams kept in local files are sent by the servlet container, without opening them here
+            Path sendfilePath = citationEnabledForBitstream ? null : getSendfilePath(context, bit, request);
+
             // Set http headers
             HttpHeadersInitializer httpHeadersInitializer = new HttpHeadersInitializer()
                     .withBufferSize(BUFFER_SIZE)
                     .withFileName(name)
-                    .withChecksum(bitstreamResource.getChecksum())
-                    .withLength(bitstreamResource.contentLength())
+                    .withChecksum(sendfilePath != null ? bit.getChecksum() : bitstreamResource.getChecksum())
+                    .withLength(sendfilePath != null ? filesize : bitstreamResource.contentLength())
                     .withMimetype(mimetype)
                     .with(request)
                     .with(response);
@@ -224,6 +231,13 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                if (sendfilePath != null) {
+                    ResponseEntity sendfileResponse = sendfile(request, httpHeaders, sendfilePath, filesize);
+                    if (sendfileResponse != null) {
+                        return sendfileResponse;
+                    }
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -238,6 +252,108 @@ public class BitstreamRestController {
         return null;
     }
 
+    /**
+     * Get the local file of the bitstream if it can be sent with the sendfile support of the servlet container,
+     * which copies it to the socket without going through the JVM (zero-copy). This is the case when the store of
+     * the bitstream keeps it in the local file system, the bitstream is not smaller than the configured
+     * <code>webui.content_sendfile_threshold</code> and the container supports sendfile for the current request
+     * (e.g. Tomcat with the NIO connector, without TLS).
+     *
+     * @param context the DSpace context
+     * @param bit     the bitstream
+     * @param request the HTTP request
+     * @return the path of the local file of the bitstream, or null if it can't be sent with sendfile
+     */
+    private Path getSendfilePath(Context context, Bitstream bit, HttpServletRequest request) {
+        long threshold = configurationService.getLongProperty("webui.content_sendfile_threshold", 49152);
+        if (threshold < 0 || bit.getSizeBytes() < Math.max(threshold, 1)
+            || !Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            return null;
+        }
+        try {
+            return bitstreamStorageService.getLocalPath(context, bit);
+        } catch (IOException e) {
+            log.warn("Unable to resolve the local file of bitstream {}, it will be streamed", bit.getID(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Let the servlet container send the whole file or the single range requested with sendfile. Requests for
+     * multiple or unsatisfiable ranges are not handled here, they are served by streaming the bitstream. The range
+     * is ignored, and the whole file sent, when the <code>If-Range</code> header doesn't match the current ETag or
+     * Last-Modified date of the bitstream.
+     *
+     * @param request     the HTTP request
+     * @param httpHeaders the headers of the response
+     * @param path        the local file of the bitstream
+     * @param length      the length of the bitstream
+     * @return the response, or null if the request has to be served by streaming the bitstream
+     */
+    private ResponseEntity sendfile(HttpServletRequest request, HttpHeaders httpHeaders, Path path, long length) {
+        long start = 0;
+        long end = length;
+        HttpStatus status = HttpStatus.OK;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(range) && isIfRangeMatching(request, httpHeaders)) {
+            try {
+                List<HttpRange> httpRanges = HttpRange.parseRanges(range);
+                if (httpRanges.size() != 1) {
+                    return null;
+                }
+                start = httpRanges.get(0).getRangeStart(length);
+                end = httpRanges.get(0).getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (start >= length) {
+                return null;
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            httpHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        httpHeaders.setContentLength(end - start);
+
+        request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+        request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+        request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end);
+        log.debug("Sending bytes {}-{} of {} with sendfile", start, end, path);
+        return ResponseEntity.status(status).headers(httpHeaders).build();
+    }
+
+    /**
+     * Check whether the <code>If-Range</code> header of the request, if any, matches the current representation of
+     * the bitstream: an entity tag must be strongly equal to the ETag, a date must be equal to the Last-Modified date.
+     *
+     * @param request     the HTTP request
+     * @param httpHeaders the headers of the response
+     * @return true if the range can be served, false if the whole bitstream has to be sent
+     */
+    private boolean isIfRangeMatching(HttpServletRequest request, HttpHeaders httpHeaders) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (StringUtils.isBlank(ifRange)) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("W/")) {
+            // weak entity tags never match in If-Range
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            // the ETag is quoted by Spring when the response is written
+            String etag = httpHeaders.getFirst(HttpHeaders.ETAG);
+            return etag != null && ifRange.equals(etag.startsWith("\"") ? etag : "\"" + etag + "\"");
+        }
+        long lastModified = httpHeaders.getLastModified();
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified != -1 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Get the name for attachment disposition headers
      * @param bit bitstream
@@ -15,7 +15,11 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.audit.AuditSolrServiceImpl;
 import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.AsyncEventQueueHealthIndicator;
+import org.dspace.app.rest.health.AuthorizationCacheHealthIndicator;
+import org.dspace.app.rest.health.DiscoveryIndexQueueHealthIndicator;
 import org.dspace.app.rest.health.EPersonGroupHealthIndicator;
+import org.dspace.app.rest.health.EventDispatcherHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SiteHealthIndicator;
@@ -139,6 +143,33 @@ public class ActuatorConfiguration {
         return new SiteHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoveryIndexQueue")
+    @ConditionalOnProperty("discovery.index.queue.enabled")
+    public DiscoveryIndexQueueHealthIndicator discoveryIndexQueueHealthIndicator() {
+        return new DiscoveryIndexQueueHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("authorizationCache")
+    @ConditionalOnProperty("core.authorization.cache.enabled")
+    public AuthorizationCacheHealthIndicator authorizationCacheHealthIndicator() {
+        return new AuthorizationCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("eventDispatcher")
+    public EventDispatcherHealthIndicator eventDispatcherHealthIndicator() {
+        return new EventDispatcherHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("asyncEventQueue")
+    @ConditionalOnProperty("event.async.enabled")
+    public AsyncEventQueueHealthIndicator asyncEventQueueHealthIndicator() {
+        return new AsyncEventQueueHealthIndicator();
+    }
+
     @Bean
     @ConditionalOnEnabledHealthIndicator("ePersonGroup")
     public EPersonGroupHealthIndicator ePersonGroupHealthIndicator() {
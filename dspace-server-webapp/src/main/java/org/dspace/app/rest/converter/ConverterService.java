@@ -11,11 +11,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
@@ -32,7 +35,12 @@ import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,6 +78,11 @@ public class ConverterService {
 
     private final Map<Class<? extends RestModel>, Constructor> resourceConstructors = new HashMap<>();
 
+    /**
+     * The value of the findOne @PreAuthorize annotation of the repositories, by category and model.
+     */
+    private final Map<String, String> preAuthorizeValues = new ConcurrentHashMap<>();
+
     @Autowired
     private Utils utils;
 
@@ -88,6 +101,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private AuthorizeService authorizeService;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -132,6 +148,12 @@ public class ConverterService {
     }
 
     private String getPreAuthorizeAnnotationForBaseObject(BaseObjectRest restObject) {
+        // the repository methods are scanned only once for each category and model
+        return preAuthorizeValues.computeIfAbsent(restObject.getCategory() + "." + restObject.getTypePlural(),
+            key -> findPreAuthorizeAnnotationForBaseObject(restObject));
+    }
+
+    private String findPreAuthorizeAnnotationForBaseObject(BaseObjectRest restObject) {
         Annotation preAuthorize = getAnnotationForRestObject(restObject);
         if (preAuthorize == null) {
             preAuthorize = getDefaultFindOnePreAuthorize();
@@ -206,6 +228,7 @@ public class ConverterService {
             pageable = utils.getPageable(pageable);
         }
         List<M> pageableObjects = utils.getPageObjectList(modelObjects, pageable);
+        prefetchReadAuthorizations(pageableObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : pageableObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -230,6 +253,7 @@ public class ConverterService {
      * @return the page.
      */
     public <M, R> Page<R> toRestPage(List<M> modelObjects, Pageable pageable, long total, Projection projection) {
+        prefetchReadAuthorizations(modelObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : modelObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -244,6 +268,34 @@ public class ConverterService {
     }
 
 
+    /**
+     * Checks in bulk the READ permission of the current user on the DSpace objects among the given model objects,
+     * so that the permission checks done converting them one by one are answered by the context.
+     *
+     * @param modelObjects the model objects that are going to be converted.
+     */
+    public void prefetchReadAuthorizations(List<?> modelObjects) {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (Object modelObject : modelObjects) {
+            if (modelObject instanceof DSpaceObject) {
+                dsos.add((DSpaceObject) modelObject);
+            }
+        }
+        if (dsos.size() < 2) {
+            return;
+        }
+        Context context = ContextUtil.obtainCurrentRequestContext();
+        if (context == null) {
+            return;
+        }
+        try {
+            authorizeService.authorizeActionBoolean(context, dsos, Constants.READ);
+        } catch (SQLException e) {
+            // the objects will be checked one by one
+            log.warn("Unable to prefetch the READ permissions of " + dsos.size() + " objects", e);
+        }
+    }
+
     /**
      * Gets the converter supporting the given class as input.
      *
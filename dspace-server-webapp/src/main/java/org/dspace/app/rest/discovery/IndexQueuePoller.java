@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.discovery;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background drainer of the discovery index queue, see {@link IndexQueueService}.
+ */
+@Component
+@ConditionalOnProperty("discovery.index.queue.enabled")
+public class IndexQueuePoller {
+    private static final Logger log = LoggerFactory.getLogger(IndexQueuePoller.class);
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Scheduled(fixedDelayString = "${discovery.index.queue.delay:5000}")
+    public void pollAndIndex() {
+        try (Context context = new Context()) {
+            log.debug("discovery index queue poller executed");
+            context.turnOffAuthorisationSystem();
+            int processed = indexQueueService.waitForIndex(context);
+            log.debug("discovery index queue poller indexed {} objects", processed);
+            context.restoreAuthSystemState();
+            context.complete();
+        } catch (SQLException e) {
+            log.error("Error indexing the objects in the discovery index queue", e);
+        }
+    }
+
+    public void setIndexQueueService(IndexQueueService indexQueueService) {
+        this.indexQueueService = indexQueueService;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.event;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+import org.dspace.event.service.AsyncEventQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background worker delivering the queued events to the asynchronous consumers, see
+ * {@link AsyncEventQueueService}.
+ */
+@Component
+@ConditionalOnProperty("event.async.enabled")
+public class AsyncEventQueuePoller {
+    private static final Logger log = LoggerFactory.getLogger(AsyncEventQueuePoller.class);
+
+    @Autowired
+    private AsyncEventQueueService asyncEventQueueService;
+
+    @Scheduled(fixedDelayString = "${event.async.delay:5000}")
+    public void pollAndDeliver() {
+        try (Context context = new Context()) {
+            log.debug("asynchronous event queue poller executed");
+            int processed = asyncEventQueueService.waitForConsumers(context);
+            log.debug("asynchronous event queue poller processed {} events", processed);
+            context.complete();
+        } catch (SQLException | RuntimeException e) {
+            log.error("Error delivering the events of the asynchronous event queue", e);
+        }
+    }
+
+    public void setAsyncEventQueueService(AsyncEventQueueService asyncEventQueueService) {
+        this.asyncEventQueueService = asyncEventQueueService;
+    }
+}
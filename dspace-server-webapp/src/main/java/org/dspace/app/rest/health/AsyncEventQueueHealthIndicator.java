@@ -0,0 +1,51 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.event.service.AsyncEventQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.web.ContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the size, the lag and the dead letters of the queue of the
+ * asynchronous event consumers. Marks the status as "UP_WITH_ISSUES" if there are dead letters or if the oldest
+ * queued event waits for longer than <code>event.async.max-lag</code> seconds.
+ */
+public class AsyncEventQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private AsyncEventQueueService asyncEventQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        Context context = ContextUtil.obtainCurrentRequestContext();
+        long size = asyncEventQueueService.getQueueSize(context);
+        long deadLetters = asyncEventQueueService.getDeadLetterCount(context);
+        Duration lag = asyncEventQueueService.getLag(context);
+        long maxLag = configurationService.getLongProperty("event.async.max-lag", 300);
+        if (deadLetters > 0 || lag.getSeconds() > maxLag) {
+            builder.status(UP_WITH_ISSUES_STATUS);
+        } else {
+            builder.up();
+        }
+        builder.withDetail("size", size).withDetail("deadLetters", deadLetters)
+               .withDetail("lagSeconds", lag.getSeconds());
+    }
+}
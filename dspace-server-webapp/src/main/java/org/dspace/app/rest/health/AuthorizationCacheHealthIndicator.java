@@ -0,0 +1,38 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.authorize.service.AuthorizationDecisionCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the size and the hit/miss counters of the shared
+ * authorization decision cache.
+ */
+public class AuthorizationCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private AuthorizationDecisionCacheService authorizationDecisionCacheService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        long hits = authorizationDecisionCacheService.getHits();
+        long misses = authorizationDecisionCacheService.getMisses();
+        double hitRatio = hits + misses > 0 ? (double) hits / (hits + misses) : 0;
+        builder.up()
+               .withDetail("size", authorizationDecisionCacheService.size())
+               .withDetail("hits", hits)
+               .withDetail("misses", misses)
+               .withDetail("hitRatio", hitRatio)
+               .withDetail("evictions", authorizationDecisionCacheService.getEvictions())
+               .withDetail("invalidations", authorizationDecisionCacheService.getInvalidations());
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.web.ContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the size and the lag of the discovery index queue.
+ * Marks the status as "UP_WITH_ISSUES" if the oldest queued object waits for longer than
+ * <code>discovery.index.queue.max-lag</code> seconds.
+ */
+public class DiscoveryIndexQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        Context context = ContextUtil.obtainCurrentRequestContext();
+        long size = indexQueueService.getQueueSize(context);
+        Duration lag = indexQueueService.getLag(context);
+        long maxLag = configurationService.getLongProperty("discovery.index.queue.max-lag", 300);
+        if (lag.getSeconds() > maxLag) {
+            builder.status(UP_WITH_ISSUES_STATUS);
+        } else {
+            builder.up();
+        }
+        builder.withDetail("size", size).withDetail("lagSeconds", lag.getSeconds());
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dspace.event.DispatcherStatistics;
+import org.dspace.event.DispatcherStatistics.ConsumerStatistics;
+import org.dspace.event.DispatcherStatistics.Histogram;
+import org.dspace.event.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the statistics of the event dispatchers: the consume and
+ * end latency of each consumer, the number of events of each transaction and the number of slow consumer calls.
+ */
+public class EventDispatcherHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private EventService eventService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        DispatcherStatistics statistics = eventService.getDispatcherStatistics();
+
+        Map<String, Object> consumers = new LinkedHashMap<>();
+        for (Map.Entry<String, ConsumerStatistics> entry : statistics.getConsumerStatistics().entrySet()) {
+            Map<String, Object> consumer = new LinkedHashMap<>();
+            consumer.put("consume", toDetails(entry.getValue().getConsumeLatency()));
+            consumer.put("end", toDetails(entry.getValue().getEndLatency()));
+            consumer.put("slowCalls", entry.getValue().getSlowCalls());
+            consumers.put(entry.getKey(), consumer);
+        }
+
+        builder.up()
+               .withDetail("transactions", statistics.getEventsPerTransaction().getCount())
+               .withDetail("eventsPerTransaction", toDetails(statistics.getEventsPerTransaction()))
+               .withDetail("dispatch", toDetails(statistics.getDispatchLatency()))
+               .withDetail("slowConsumerCalls", statistics.getSlowConsumerCalls())
+               .withDetail("consumers", consumers);
+    }
+
+    private Map<String, Object> toDetails(Histogram histogram) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("count", histogram.getCount());
+        details.put("total", histogram.getTotal());
+        details.put("mean", histogram.getMean());
+        details.put("max", histogram.getMax());
+        details.put("buckets", histogram.getBuckets());
+        return details;
+    }
+}
@@ -8,6 +8,10 @@
 package org.dspace.app.rest.security;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +19,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.expression.ExpressionUtils;
 import org.springframework.security.access.expression.SecurityExpressionHandler;
 import org.springframework.security.core.Authentication;
@@ -32,6 +37,10 @@ import org.springframework.stereotype.Component;
  * This will be evaluated and if the current user has the permission to read an item with the given id,
  * a true will be returned, if not it'll be false.
  * This works on all the methods in {@link org.springframework.security.access.expression.SecurityExpressionRoot}
+ * <p>
+ * The parsed expressions are cached by their String. The expressions only checking a permission on the given id,
+ * as "hasPermission(#id, 'ITEM', 'READ')", are not evaluated through SpEL at all but passed straight to the
+ * {@link PermissionEvaluator}, which is what the expression would end up calling.
  */
 @Component
 public class WebSecurityExpressionEvaluator {
@@ -40,14 +49,26 @@ public class WebSecurityExpressionEvaluator {
         throw new UnsupportedOperationException();
     };
 
+    private static final Pattern HAS_PERMISSION_ON_ID =
+        Pattern.compile("^\\s*hasPermission\\(\\s*#id\\s*,\\s*'([^']+)'\\s*,\\s*'([^']+)'\\s*\\)\\s*$");
+
     private final List<SecurityExpressionHandler> securityExpressionHandlers;
 
+    private final PermissionEvaluator permissionEvaluator;
+
+    private final Map<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
+
+    private volatile SecurityExpressionHandler filterSecurityHandler;
+
     /**
      * Constructor for this class that sets all the {@link SecurityExpressionHandler} objects in a list
      * @param securityExpressionHandlers    The {@link SecurityExpressionHandler} for this class
+     * @param permissionEvaluator           The {@link PermissionEvaluator} used by the hasPermission expressions
      */
-    public WebSecurityExpressionEvaluator(List<SecurityExpressionHandler> securityExpressionHandlers) {
+    public WebSecurityExpressionEvaluator(List<SecurityExpressionHandler> securityExpressionHandlers,
+                                          PermissionEvaluator permissionEvaluator) {
         this.securityExpressionHandlers = securityExpressionHandlers;
+        this.permissionEvaluator = permissionEvaluator;
     }
 
     /**
@@ -65,11 +86,27 @@ public class WebSecurityExpressionEvaluator {
                             String id) {
         SecurityExpressionHandler handler = getFilterSecurityHandler();
 
-        Expression expression = handler.getExpressionParser().parseExpression(securityExpression);
+        CompiledExpression compiledExpression = compiledExpressions.computeIfAbsent(securityExpression,
+            expression -> compile(handler, expression));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (compiledExpression.targetType != null && authentication != null) {
+            return permissionEvaluator.hasPermission(authentication, id, compiledExpression.targetType,
+                                                     compiledExpression.permission);
+        }
 
         EvaluationContext evaluationContext = createEvaluationContext(handler, request, response);
         evaluationContext.setVariable("id", id);
-        return ExpressionUtils.evaluateAsBoolean(expression, evaluationContext);
+        return ExpressionUtils.evaluateAsBoolean(compiledExpression.expression, evaluationContext);
+    }
+
+    private CompiledExpression compile(SecurityExpressionHandler handler, String securityExpression) {
+        Expression expression = handler.getExpressionParser().parseExpression(securityExpression);
+        Matcher matcher = HAS_PERMISSION_ON_ID.matcher(securityExpression);
+        if (matcher.matches()) {
+            return new CompiledExpression(expression, matcher.group(1), matcher.group(2));
+        }
+        return new CompiledExpression(expression, null, null);
     }
 
     @SuppressWarnings("unchecked")
@@ -82,6 +119,13 @@ public class WebSecurityExpressionEvaluator {
     }
 
     private SecurityExpressionHandler getFilterSecurityHandler() {
+        if (filterSecurityHandler == null) {
+            filterSecurityHandler = findFilterSecurityHandler();
+        }
+        return filterSecurityHandler;
+    }
+
+    private SecurityExpressionHandler findFilterSecurityHandler() {
         return securityExpressionHandlers.stream()
                                          .filter(handler ->
                                                      FilterInvocation.class.equals(
@@ -92,4 +136,22 @@ public class WebSecurityExpressionEvaluator {
                                           " expression handler has been found! Handlers: " +
                                             securityExpressionHandlers.size()));
     }
-}
\ No newline at end of file
+
+    /**
+     * A parsed expression, with the target type and the permission when it only checks a permission on the id.
+     */
+    private static class CompiledExpression {
+
+        private final Expression expression;
+
+        private final String targetType;
+
+        private final String permission;
+
+        CompiledExpression(Expression expression, String targetType, String permission) {
+            this.expression = expression;
+            this.targetType = targetType;
+            this.permission = permission;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.oai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.solr.MockSolrServer;
+import org.dspace.xoai.app.OAIImportCheckpoint;
+import org.dspace.xoai.app.XOAI;
+import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.dspace.xoai.services.impl.DSpaceCollectionsService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests for the parallel and resumable "oai import" of {@link XOAI}.
+ */
+public class OAIImportIT extends AbstractIntegrationTestWithDatabase {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockSolrServer oaiCore;
+
+    private File checkpointFile;
+
+    private final List<Item> discoverableItems = new ArrayList<>();
+
+    private final List<Item> nonDiscoverableItems = new ArrayList<>();
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        oaiCore = new MockSolrServer("oai");
+        oaiCore.reset();
+        checkpointFile = new File(tempFolder.getRoot(), "import-checkpoint.properties");
+        configurationService.setProperty("oai.import.checkpoint-file", checkpointFile.getAbsolutePath());
+        configurationService.setProperty("oai.import.batch.size", 3);
+        configurationService.setProperty("oai.import.parallel.chunk-size", 2);
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).withName("Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, community).withName("Collection").build();
+        for (int i = 0; i < 7; i++) {
+            discoverableItems.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i)
+                                             .withIssueDate("2020-01-0" + (i + 1)).withAuthor("Author " + i)
+                                             .build());
+        }
+        for (int i = 0; i < 2; i++) {
+            nonDiscoverableItems.add(ItemBuilder.createItem(context, collection).withTitle("Private item " + i)
+                                                .makeUnDiscoverable().build());
+        }
+        context.restoreAuthSystemState();
+        // the worker threads read the items with contexts of their own
+        context.commit();
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("oai.import.checkpoint-file", null);
+        configurationService.setProperty("oai.import.batch.size", null);
+        configurationService.setProperty("oai.import.parallel.chunk-size", null);
+        oaiCore.reset();
+        oaiCore.destroy();
+        super.destroy();
+    }
+
+    @Test
+    public void testParallelImportIndexesTheSameDocumentsAsSequentialImport() throws Exception {
+        createImport(true, 1, false).index();
+        Map<String, Map<String, Object>> sequential = getIndexedDocuments();
+
+        oaiCore.reset();
+        createImport(true, 4, false).index();
+        Map<String, Map<String, Object>> parallel = getIndexedDocuments();
+
+        assertEquals(getIds(discoverableItems, nonDiscoverableItems), sequential.keySet());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testResumeSkipsTheCommittedItems() throws Exception {
+        testResumeSkipsTheCommittedItems(1);
+    }
+
+    @Test
+    public void testParallelResumeSkipsTheCommittedItems() throws Exception {
+        testResumeSkipsTheCommittedItems(4);
+    }
+
+    private void testResumeSkipsTheCommittedItems(int threads) throws Exception {
+        // the items of a phase are read ordered by id
+        List<String> ids = discoverableItems.stream().map(item -> item.getID().toString()).sorted()
+                                            .collect(Collectors.toList());
+        OAIImportCheckpoint checkpoint = new OAIImportCheckpoint(checkpointFile);
+        checkpoint.start(true, null);
+        checkpoint.update("discoverable", UUID.fromString(ids.get(2)));
+
+        int imported = createImport(false, threads, true).index();
+
+        Set<String> expected = getIds(nonDiscoverableItems);
+        expected.addAll(ids.subList(3, ids.size()));
+        assertEquals(expected, getIndexedDocuments().keySet());
+        assertEquals(expected.size(), imported);
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    public void testResumeSkipsTheCompletedPhases() throws Exception {
+        OAIImportCheckpoint checkpoint = new OAIImportCheckpoint(checkpointFile);
+        checkpoint.start(true, null);
+        checkpoint.update("non-discoverable", null);
+
+        createImport(false, 1, true).index();
+
+        assertEquals(getIds(nonDiscoverableItems), getIndexedDocuments().keySet());
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    public void testCheckpointRoundTrip() throws Exception {
+        Instant since = Instant.parse("2024-05-06T07:08:09.123Z");
+        UUID lastId = UUID.randomUUID();
+        OAIImportCheckpoint checkpoint = new OAIImportCheckpoint(checkpointFile);
+        checkpoint.start(false, since);
+        checkpoint.update("non-discoverable", lastId);
+
+        OAIImportCheckpoint loaded = new OAIImportCheckpoint(checkpointFile);
+        assertTrue(loaded.load());
+        assertFalse(loaded.isFull());
+        assertEquals(since, loaded.getSince());
+        assertEquals("non-discoverable", loaded.getPhase());
+        assertEquals(lastId, loaded.getLastId());
+
+        loaded.delete();
+        assertFalse(new OAIImportCheckpoint(checkpointFile).load());
+    }
+
+    private XOAI createImport(boolean clean, int threads, boolean resume) {
+        XOAI xoai = new XOAI(context, clean, false);
+        xoai.setThreads(threads);
+        xoai.setResume(resume);
+        ReflectionTestUtils.setField(xoai, "solrServerResolver",
+            (SolrServerResolver) () -> oaiCore.getSolrServer());
+        ReflectionTestUtils.setField(xoai, "xoaiLastCompilationCacheService",
+            mock(XOAILastCompilationCacheService.class));
+        ReflectionTestUtils.setField(xoai, "collectionsService", new DSpaceCollectionsService());
+        return xoai;
+    }
+
+    /**
+     * @return the fields of the documents of the OAI core, by item id
+     */
+    private Map<String, Map<String, Object>> getIndexedDocuments() throws Exception {
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        SolrQuery query = new SolrQuery("*:*").setRows(100);
+        for (SolrDocument document : oaiCore.getSolrServer().query(query).getResults()) {
+            Map<String, Object> fields = new HashMap<>();
+            for (String name : document.getFieldNames()) {
+                if (!"_version_".equals(name)) {
+                    fields.put(name, document.getFieldValues(name));
+                }
+            }
+            documents.put(String.valueOf(document.getFieldValue("item.id")), fields);
+        }
+        return documents;
+    }
+
+    @SafeVarargs
+    private Set<String> getIds(List<Item>... items) {
+        return Arrays.stream(items).flatMap(List::stream).map(item -> item.getID().toString())
+                     .collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -21,6 +21,7 @@ import static org.dspace.core.Constants.DEFAULT_BITSTREAM_READ;
 import static org.dspace.core.Constants.READ;
 import static org.dspace.core.Constants.WRITE;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -42,6 +43,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -60,6 +62,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import com.adobe.testing.s3mock.testcontainers.S3MockContainer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.catalina.Globals;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.CharEncoding;
@@ -438,6 +441,109 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
         checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveBitstreamWithSendfile() throws Exception {
+        configurationService.setProperty("webui.content_sendfile_threshold", 0);
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .withAuthor("Smith, Donald").withAuthor("Doe, John")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withDescription("This is a bitstream to test sendfile downloads")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //** WHEN **
+        //We download the bitstream from a container supporting sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE))
+
+                   //** THEN **
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(header().string("ETag", "\"" + bitstream.getChecksum() + "\""))
+                   //The container is asked to send the whole file
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, notNullValue()))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 0L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 10L))
+                   //The content is not written by the application
+                   .andExpect(content().bytes(new byte[0]));
+
+        //** WHEN **
+        //We download only a specific byte range of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE)
+                                .header("Range", "bytes=1-3"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 3))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   //The container is asked to send only the requested range
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 1L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 4L));
+
+        //** WHEN **
+        //We resume the download of the same version of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE)
+                                .header("Range", "bytes=1-3")
+                                .header("If-Range", "\"" + bitstream.getChecksum() + "\""))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 1L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 4L));
+
+        //** WHEN **
+        //We resume the download of another version of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE)
+                                .header("Range", "bytes=1-3")
+                                .header("If-Range", "\"another-checksum\""))
+
+                   //** THEN **
+                   //The range is ignored and the whole file is sent
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(header().doesNotExist("Content-Range"))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 0L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 10L));
+
+        //** WHEN **
+        //We download multiple ranges of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE)
+                                .header("Range", "bytes=1-3,5-6"))
+
+                   //** THEN **
+                   //The multipart response is streamed by the application
+                   .andExpect(status().is(206))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, nullValue()));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 
@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.event.DispatcherStatistics;
+import org.dspace.event.service.EventService;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Unit tests for {@link EventDispatcherHealthIndicator}.
+ */
+public class EventDispatcherHealthIndicatorTest extends AbstractUnitTest {
+
+    @Mock
+    private EventService eventService;
+
+    @InjectMocks
+    private EventDispatcherHealthIndicator eventDispatcherHealthIndicator;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConsumerStatistics() {
+        DispatcherStatistics statistics = new DispatcherStatistics();
+        statistics.recordConsume("discovery", TimeUnit.MILLISECONDS.toNanos(2));
+        statistics.recordConsume("discovery", TimeUnit.MILLISECONDS.toNanos(4));
+        statistics.recordEnd("discovery", TimeUnit.MILLISECONDS.toNanos(1500));
+        statistics.recordSlowConsumer("discovery");
+        statistics.recordEnd("eperson", TimeUnit.MICROSECONDS.toNanos(300));
+        statistics.recordTransaction(2, TimeUnit.MILLISECONDS.toNanos(1510));
+        when(eventService.getDispatcherStatistics()).thenReturn(statistics);
+
+        Health health = eventDispatcherHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails().get("transactions"), is(1L));
+        assertThat(health.getDetails().get("slowConsumerCalls"), is(1L));
+
+        Map<String, Object> consumers = (Map<String, Object>) health.getDetails().get("consumers");
+        assertThat(consumers.keySet(), contains("discovery", "eperson"));
+
+        Map<String, Object> discovery = (Map<String, Object>) consumers.get("discovery");
+        assertThat(discovery.get("slowCalls"), is(1L));
+
+        Map<String, Object> consume = (Map<String, Object>) discovery.get("consume");
+        assertThat(consume.get("count"), is(2L));
+        assertThat(consume.get("mean"), is(3.0));
+        assertThat(consume.get("max"), is(4.0));
+        assertThat(((Map<String, Long>) consume.get("buckets")).get("<=5ms"), is(2L));
+
+        Map<String, Object> end = (Map<String, Object>) discovery.get("end");
+        assertThat(((Map<String, Long>) end.get("buckets")).get("<=5000ms"), is(1L));
+
+        Map<String, Object> epersonEnd = (Map<String, Object>) ((Map<String, Object>) consumers.get("eperson"))
+            .get("end");
+        assertThat(((Map<String, Long>) epersonEnd.get("buckets")).get("<=1ms"), is(1L));
+    }
+
+    @Test
+    public void testNoTransactions() {
+        when(eventService.getDispatcherStatistics()).thenReturn(new DispatcherStatistics());
+
+        Health health = eventDispatcherHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails().get("transactions"), is(0L));
+        assertThat(health.getDetails().get("consumers"), is(Map.of()));
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.expression.DefaultWebSecurityExpressionHandler;
+
+/**
+ * Unit tests for {@link WebSecurityExpressionEvaluator}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebSecurityExpressionEvaluatorTest {
+
+    @Mock
+    private PermissionEvaluator permissionEvaluator;
+
+    private WebSecurityExpressionEvaluator evaluator;
+
+    private Authentication authentication;
+
+    @Before
+    public void setUp() {
+        DefaultWebSecurityExpressionHandler handler = new DefaultWebSecurityExpressionHandler();
+        handler.setPermissionEvaluator(permissionEvaluator);
+        evaluator = new WebSecurityExpressionEvaluator(List.of(handler), permissionEvaluator);
+
+        authentication = new UsernamePasswordAuthenticationToken("user", null,
+            List.of(new SimpleGrantedAuthority("AUTHENTICATED")));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testHasPermissionOnId() {
+        when(permissionEvaluator.hasPermission(authentication, (Serializable) "1", "ITEM", "READ")).thenReturn(true);
+
+        assertTrue(evaluate("hasPermission(#id, 'ITEM', 'READ')", "1"));
+        assertFalse(evaluate("hasPermission(#id, 'ITEM', 'READ')", "2"));
+        assertFalse(evaluate(" hasPermission( #id , 'ITEM' , 'WRITE' ) ", "1"));
+
+        verify(permissionEvaluator, times(3)).hasPermission(any(Authentication.class), any(Serializable.class),
+            anyString(), any());
+    }
+
+    @Test
+    public void testOtherExpressions() {
+        when(permissionEvaluator.hasPermission(authentication, (Serializable) "1", "ITEM", "READ")).thenReturn(true);
+
+        assertTrue(evaluate("hasAuthority('AUTHENTICATED')", "1"));
+        assertFalse(evaluate("hasAuthority('ADMIN')", "1"));
+        assertTrue(evaluate("hasAuthority('AUTHENTICATED') && hasPermission(#id, 'ITEM', 'READ')", "1"));
+        assertFalse(evaluate("hasAuthority('AUTHENTICATED') && hasPermission(#id, 'ITEM', 'READ')", "2"));
+    }
+
+    @Test
+    public void testHasPermissionOnOtherVariable() {
+        // only #id is set, the expression is evaluated through SpEL with a null target
+        assertFalse(evaluate("hasPermission(#uuid, 'ITEM', 'READ')", "1"));
+
+        verify(permissionEvaluator, never()).hasPermission(authentication, (Serializable) "1", "ITEM", "READ");
+    }
+
+    private boolean evaluate(String expression, String id) {
+        return evaluator.evaluate(expression, new MockHttpServletRequest(), new MockHttpServletResponse(), id);
+    }
+
+}